@@ -0,0 +1,207 @@
+import java.awt.*;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.image.BufferStrategy;
+import java.util.concurrent.locks.LockSupport;
+
+// Render activo: un Canvas con BufferStrategy (doble o triple búfer) y un hilo propio
+// que avanza el motor, dibuja con el código de Board y presenta cada fotograma al ritmo
+// del monitor, sin pasar por RepaintManager ni por la cola de eventos de Swing.
+public class ActiveRenderer extends Canvas {
+    // Los últimos microsegundos hasta la fecha límite se esperan activamente:
+    // parkNanos se despierta tarde con frecuencia
+    private static final long SPIN_NANOS = 1_000_000L;
+
+    private final Board board;
+    private final int buffers;
+    private final long frameNanos;
+    private volatile boolean running = false;
+    private Thread thread;
+
+    // Ritmo y estadísticas de los fotogramas presentados
+    private long deadline = -1;
+    private long lastFrame = -1;
+    private long frames = 0;
+    private long lateFrames = 0;
+    private long intervalSum = 0;
+    private double intervalSquares = 0;
+    private long maxInterval = 0;
+
+    public ActiveRenderer(Board board, int buffers, int refreshRate) {
+        if (buffers < 2 || buffers > 3) {
+            throw new IllegalArgumentException("buffers must be 2 or 3");
+        }
+        if (refreshRate <= 0) {
+            throw new IllegalArgumentException("Refresh rate must be positive");
+        }
+        this.board = board;
+        this.buffers = buffers;
+        this.frameNanos = 1_000_000_000L / refreshRate;
+        // El Swing timer del tablero ya no marca el ritmo
+        board.stopTimer();
+        setIgnoreRepaint(true);
+        setBackground(Color.BLACK);
+        setPreferredSize(new Dimension(board.getBoardWidth(), board.getBoardHeight() + Board.STATUS_PANEL_HEIGHT));
+        addKeyListener(board.getKeyHandler());
+        setFocusable(true);
+        // El tablero no está en la ventana: el tamaño disponible es el del Canvas
+        addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                fitBoard();
+            }
+        });
+        addPropertyChangeListener("graphicsConfiguration", e -> fitBoard());
+    }
+
+    private void fitBoard() {
+        board.setViewport(getWidth(), getHeight(), ViewScale.deviceScale(getGraphicsConfiguration()));
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        createBufferStrategy(buffers);
+        start();
+    }
+
+    @Override
+    public void removeNotify() {
+        stop();
+        super.removeNotify();
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::run, "pacman-render");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public void stop() {
+        Thread current;
+        synchronized (this) {
+            running = false;
+            current = thread;
+            thread = null;
+        }
+        if (current != null && current != Thread.currentThread()) {
+            current.interrupt();
+            try {
+                current.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        BufferStrategy strategy = getBufferStrategy();
+        while (running) {
+            do {
+                do {
+                    Graphics g = strategy.getDrawGraphics();
+                    try {
+                        renderFrame(g, System.nanoTime());
+                    } finally {
+                        g.dispose();
+                    }
+                } while (strategy.contentsRestored());
+                strategy.show();
+            } while (strategy.contentsLost());
+            Toolkit.getDefaultToolkit().sync();
+
+            long now = System.nanoTime();
+            recordFrame(now);
+            GameEngine engine = board.getEngine();
+            if (engine.isGameOver() || engine.isGameCompleted()) {
+                // El mensaje final es un diálogo de Swing: se muestra desde el hilo de eventos
+                running = false;
+                EventQueue.invokeLater(board::checkGameEnd);
+            } else {
+                waitUntil(nextDeadline(now));
+            }
+        }
+    }
+
+    // Avanza la lógica hasta 'now' y dibuja el fotograma con el tablero bloqueado
+    void renderFrame(Graphics g, long now) {
+        synchronized (board) {
+            board.getGameLoop().advance(now);
+            board.fillMargins(g, getWidth(), getHeight());
+            board.render(g, getGraphicsConfiguration());
+        }
+    }
+
+    // Siguiente fecha límite de presentación; si vamos más de un fotograma tarde se
+    // vuelve a sincronizar en lugar de encadenar fotogramas seguidos para recuperar
+    long nextDeadline(long now) {
+        if (deadline < 0 || now - deadline > frameNanos) {
+            if (deadline >= 0) {
+                lateFrames++;
+            }
+            deadline = now + frameNanos;
+        } else {
+            deadline += frameNanos;
+        }
+        return deadline;
+    }
+
+    void recordFrame(long now) {
+        if (lastFrame >= 0) {
+            long interval = now - lastFrame;
+            intervalSum += interval;
+            intervalSquares += (double) interval * interval;
+            maxInterval = Math.max(maxInterval, interval);
+        }
+        lastFrame = now;
+        frames++;
+    }
+
+    private void waitUntil(long target) {
+        long remaining = target - System.nanoTime();
+        if (remaining > SPIN_NANOS) {
+            LockSupport.parkNanos(remaining - SPIN_NANOS);
+        }
+        while (running && System.nanoTime() < target) {
+            Thread.onSpinWait();
+        }
+    }
+
+    public long getFrameNanos() {
+        return frameNanos;
+    }
+
+    public long getFrames() {
+        return frames;
+    }
+
+    // Fotogramas que llegaron más de un periodo tarde a su fecha límite
+    public long getLateFrames() {
+        return lateFrames;
+    }
+
+    public double getAverageIntervalNanos() {
+        return frames > 1 ? (double) intervalSum / (frames - 1) : 0;
+    }
+
+    // Desviación típica del intervalo entre fotogramas: cuanto menor, más regular
+    public double getJitterNanos() {
+        if (frames < 2) {
+            return 0;
+        }
+        double mean = getAverageIntervalNanos();
+        return Math.sqrt(Math.max(0, intervalSquares / (frames - 1) - mean * mean));
+    }
+
+    public long getMaxIntervalNanos() {
+        return maxInterval;
+    }
+}
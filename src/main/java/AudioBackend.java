@@ -0,0 +1,31 @@
+import java.awt.GraphicsEnvironment;
+
+// Destino del audio del juego. Board solo habla con esta interfaz, así que se puede jugar
+// con el dispositivo real (SoundManager), sin sonido (NullAudio) o grabando qué sonó y en
+// qué tick (CaptureAudio), sin que el tablero abra nunca una línea de audio.
+public interface AudioBackend {
+    // Propiedad del sistema que elige el destino: device, null o capture
+    String PROPERTY = "pacman.audio";
+
+    // Efecto disparado por el motor en un tick; no debe bloquear ni reservar memoria
+    void playSound(String name, long tick);
+
+    // Audio de fondo según la partida (progress de 0 a 1); por defecto no suena nada
+    default void updateBackground(double progress, boolean poweredUp) {
+    }
+
+    default void stopBackground() {
+    }
+
+    // Destino según la propiedad pacman.audio; sin ella, el dispositivo salvo en un
+    // entorno sin pantalla (servidores, CI), donde no suena nada
+    static AudioBackend fromSystem() {
+        String kind = System.getProperty(PROPERTY, GraphicsEnvironment.isHeadless() ? "null" : "device");
+        switch (kind) {
+            case "device": return SoundManager.getInstance();
+            case "null": return NullAudio.INSTANCE;
+            case "capture": return new CaptureAudio(CaptureAudio.DEFAULT_CAPACITY);
+            default: throw new IllegalArgumentException("Unknown audio backend: " + kind);
+        }
+    }
+}
@@ -0,0 +1,346 @@
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+import java.util.Arrays;
+
+// Mezclador por software: un único hilo de larga duración escribe bloques pequeños de
+// tamaño fijo en una sola SourceDataLine abierta, sumando las voces activas. Disparar un
+// sonido solo apunta el efecto en una cola fija; el hilo lo recoge al empezar el
+// siguiente bloque. La latencia queda acotada por un bloque más el búfer de la línea.
+// Las voces se reparten según la política de cada SoundEffect (máximo por efecto,
+// prioridad y robo de voces), y los disparos que llegan tarde se descartan: con
+// ráfagas de eventos el audio no se retrasa y la memoria no crece.
+// Además de los efectos sueltos suma las voces en bucle del audio de fondo (LoopVoice),
+// que se registran una vez y se encienden, apagan y afinan sin pasar por la cola.
+public class AudioMixer {
+    public static final float SAMPLE_RATE = 8000;
+    public static final AudioFormat FORMAT = new AudioFormat(SAMPLE_RATE, 16, 1, true, false);
+    // 128 muestras = 16 ms a 8 kHz
+    public static final int BLOCK_FRAMES = 128;
+    public static final int MAX_VOICES = 8;
+    // Búfer de la línea en bloques: lo justo para no quedarse sin audio
+    static final int LINE_BLOCKS = 4;
+    static final int PENDING_CAPACITY = 16;
+    static final int MAX_LOOPS = 4;
+    // Un disparo que espera más que esto (hilo de mezcla parado) ya no suena
+    static final long STALE_NANOS = 100_000_000L;
+
+    private final SourceDataLine line;
+
+    // Voces sonando (solo las toca el hilo de mezcla); order crece con cada inicio
+    private final SoundEffect[] voices = new SoundEffect[MAX_VOICES];
+    private final int[] positions = new int[MAX_VOICES];
+    private final long[] order = new long[MAX_VOICES];
+    private long sequence = 0;
+    private final int[] mix = new int[BLOCK_FRAMES];
+    private final byte[] block = new byte[BLOCK_FRAMES * 2];
+
+    // Bucles registrados: se escribe el hueco antes que el contador (volatile)
+    private final LoopVoice[] loops = new LoopVoice[MAX_LOOPS];
+    private volatile int loopCount = 0;
+
+    // Disparos pendientes: cola circular fija, protegida por el propio mezclador
+    private final SoundEffect[] pending = new SoundEffect[PENDING_CAPACITY];
+    private final long[] pendingTimes = new long[PENDING_CAPACITY];
+    private int pendingHead = 0;
+    private int pendingCount = 0;
+
+    private volatile boolean running = false;
+    private Thread thread;
+
+    // Estadísticas (disparo -> primera muestra mezclada)
+    private volatile long blocks = 0;
+    private volatile long started = 0;
+    private volatile long dropped = 0;
+    private volatile long coalesced = 0;
+    private volatile long stolen = 0;
+    private volatile long stale = 0;
+    private long latencySum = 0;
+    private volatile long maxLatency = 0;
+
+    public AudioMixer(SourceDataLine line) {
+        this.line = line;
+    }
+
+    // Abre la línea con un búfer pequeño y arranca el hilo de mezcla
+    public synchronized void start() throws LineUnavailableException {
+        if (running) {
+            return;
+        }
+        if (!line.isOpen()) {
+            line.open(FORMAT, LINE_BLOCKS * block.length);
+        }
+        line.start();
+        running = true;
+        thread = new Thread(this::run, "pacman-audio");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public void stop() {
+        Thread current;
+        synchronized (this) {
+            running = false;
+            current = thread;
+            thread = null;
+        }
+        if (current != null && current != Thread.currentThread()) {
+            try {
+                current.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        line.stop();
+        line.close();
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Pide reproducir un efecto (16 bits, mono, SAMPLE_RATE); no bloquea ni reserva memoria.
+    // Devuelve false si se descarta: cola llena de disparos de igual o mayor prioridad.
+    // El efecto debe estar ya generado: el hilo de mezcla nunca sintetiza ni lee la caché,
+    // y descarta los disparos de efectos aún sin muestras.
+    public boolean play(SoundEffect effect) {
+        return play(effect, System.nanoTime());
+    }
+
+    synchronized boolean play(SoundEffect effect, long now) {
+        int lowest = -1;
+        for (int i = 0; i < pendingCount; i++) {
+            int slot = (pendingHead + i) % PENDING_CAPACITY;
+            if (pending[slot] == effect) {
+                // Ya va a sonar en el próximo bloque: dos disparos iguales serían uno más fuerte
+                coalesced++;
+                return true;
+            }
+            if (lowest < 0 || pending[slot].getPriority() < pending[lowest].getPriority()) {
+                lowest = slot;
+            }
+        }
+        if (pendingCount == PENDING_CAPACITY) {
+            dropped++;
+            if (pending[lowest].getPriority() >= effect.getPriority()) {
+                return false;
+            }
+            // Sustituye al disparo pendiente menos importante
+            pending[lowest] = effect;
+            pendingTimes[lowest] = now;
+            return true;
+        }
+        int slot = (pendingHead + pendingCount) % PENDING_CAPACITY;
+        pending[slot] = effect;
+        pendingTimes[slot] = now;
+        pendingCount++;
+        return true;
+    }
+
+    // Registra una voz en bucle; empieza a sonar cuando se pone en marcha
+    public synchronized void addLoop(LoopVoice loop) {
+        for (int i = 0; i < loopCount; i++) {
+            if (loops[i] == loop) {
+                return;
+            }
+        }
+        if (loopCount == MAX_LOOPS) {
+            throw new IllegalStateException("Too many loops");
+        }
+        loops[loopCount] = loop;
+        loopCount++;
+    }
+
+    private void run() {
+        while (running) {
+            mixBlock(System.nanoTime());
+            // write bloquea mientras la línea está llena: marca el ritmo del hilo
+            line.write(block, 0, block.length);
+        }
+    }
+
+    // Mezcla el siguiente bloque en getBlock(): recoge los disparos pendientes y suma
+    // las voces activas y los bucles con saturación a 16 bits
+    void mixBlock(long now) {
+        takePending(now);
+        Arrays.fill(mix, 0);
+        for (int v = 0; v < MAX_VOICES; v++) {
+            if (voices[v] == null) {
+                continue;
+            }
+            // Solo se asignan voces a efectos ya generados: esto no sintetiza ni bloquea
+            short[] samples = voices[v].getSamples();
+            int position = positions[v];
+            int count = Math.min(BLOCK_FRAMES, samples.length - position);
+            for (int i = 0; i < count; i++) {
+                mix[i] += samples[position + i];
+            }
+            position += count;
+            if (position >= samples.length) {
+                voices[v] = null;
+            } else {
+                positions[v] = position;
+            }
+        }
+        int count = loopCount;
+        for (int l = 0; l < count; l++) {
+            loops[l].mixInto(mix, BLOCK_FRAMES);
+        }
+        for (int i = 0; i < BLOCK_FRAMES; i++) {
+            int sample = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, mix[i]));
+            block[2 * i] = (byte) sample;
+            block[2 * i + 1] = (byte) (sample >> 8);
+        }
+        blocks++;
+    }
+
+    private synchronized void takePending(long now) {
+        while (pendingCount > 0) {
+            int slot = pendingHead;
+            SoundEffect effect = pending[slot];
+            pending[slot] = null;
+            pendingHead = (pendingHead + 1) % PENDING_CAPACITY;
+            pendingCount--;
+            long latency = Math.max(0, now - pendingTimes[slot]);
+            if (latency > STALE_NANOS) {
+                stale++;
+                continue;
+            }
+            if (!effect.isGenerated()) {
+                dropped++;
+                continue;
+            }
+            if (!startVoice(effect)) {
+                dropped++;
+                continue;
+            }
+            latencySum += latency;
+            maxLatency = Math.max(maxLatency, latency);
+            started++;
+        }
+    }
+
+    // Asigna una voz al efecto según su política; false si no le toca sonar
+    private boolean startVoice(SoundEffect effect) {
+        if (effect.preempts()) {
+            for (int v = 0; v < MAX_VOICES; v++) {
+                if (voices[v] != null && voices[v].getPriority() < effect.getPriority()) {
+                    voices[v] = null;
+                    stolen++;
+                }
+            }
+        }
+        int own = 0;
+        int oldestOwn = -1;
+        int free = -1;
+        int victim = -1;
+        for (int v = 0; v < MAX_VOICES; v++) {
+            SoundEffect voice = voices[v];
+            if (voice == null) {
+                if (free < 0) {
+                    free = v;
+                }
+            } else if (voice == effect) {
+                own++;
+                if (oldestOwn < 0 || order[v] < order[oldestOwn]) {
+                    oldestOwn = v;
+                }
+            } else if (voice.getPriority() <= effect.getPriority() && (victim < 0
+                    || voice.getPriority() < voices[victim].getPriority()
+                    || voice.getPriority() == voices[victim].getPriority() && order[v] < order[victim])) {
+                // Candidata a robar: la de menor prioridad y, a igualdad, la más antigua
+                victim = v;
+            }
+        }
+        if (own >= effect.getMaxVoices()) {
+            if (effect.getOverflow() == SoundEffect.Overflow.DROP) {
+                return false;
+            }
+            coalesced++;
+            assign(oldestOwn, effect);
+            return true;
+        }
+        if (free < 0) {
+            if (victim < 0) {
+                return false;
+            }
+            stolen++;
+            free = victim;
+        }
+        assign(free, effect);
+        return true;
+    }
+
+    private void assign(int voice, SoundEffect effect) {
+        voices[voice] = effect;
+        positions[voice] = 0;
+        order[voice] = ++sequence;
+    }
+
+    byte[] getBlock() {
+        return block;
+    }
+
+    public int getActiveVoices() {
+        int active = 0;
+        for (SoundEffect voice : voices) {
+            if (voice != null) {
+                active++;
+            }
+        }
+        return active;
+    }
+
+    public long getBlocks() {
+        return blocks;
+    }
+
+    // Sonidos que empezaron a sonar y sonidos descartados (cola o voces ocupadas)
+    public long getStartedSounds() {
+        return started;
+    }
+
+    public long getDroppedSounds() {
+        return dropped;
+    }
+
+    // Disparos fundidos con otro igual (pendiente o reiniciando su voz)
+    public long getCoalescedSounds() {
+        return coalesced;
+    }
+
+    // Voces cortadas para dar paso a un sonido de igual o mayor prioridad
+    public long getStolenVoices() {
+        return stolen;
+    }
+
+    // Disparos descartados por llegar al mezclador con más de STALE_NANOS de retraso
+    public long getStaleSounds() {
+        return stale;
+    }
+
+    // Voces sonando ahora mismo de un efecto
+    public int getActiveVoices(SoundEffect effect) {
+        int active = 0;
+        for (SoundEffect voice : voices) {
+            if (voice == effect) {
+                active++;
+            }
+        }
+        return active;
+    }
+
+    // Tiempo desde play() hasta que el sonido entra en un bloque mezclado
+    public synchronized double getAverageTriggerLatencyNanos() {
+        return started > 0 ? (double) latencySum / started : 0;
+    }
+
+    public long getMaxTriggerLatencyNanos() {
+        return maxLatency;
+    }
+
+    // Cota de lo que tarda en oírse un sonido ya mezclado: el bloque y el búfer de la línea
+    public static long getOutputLatencyNanos() {
+        return (long) ((LINE_BLOCKS + 1) * BLOCK_FRAMES * 1e9 / SAMPLE_RATE);
+    }
+}
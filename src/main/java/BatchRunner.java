@@ -0,0 +1,134 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+
+// Juega muchas partidas con semilla en paralelo sobre un ForkJoinPool.
+// Cada partida es independiente (motor, fantasmas y política propios), así que
+// no hay estado compartido salvo el sumidero, que se llama de uno en uno.
+//   mvn exec:java -Dexec.mainClass=BatchRunner -Dexec.args="10000 1"
+public class BatchRunner {
+    public static final long DEFAULT_MAX_TICKS = 30_000;
+
+    private final ForkJoinPool pool;
+    private final int ghostCount;
+    private final long maxTicks;
+    private final LongFunction<PacmanPolicy> policyFactory;
+
+    public BatchRunner(int parallelism) {
+        this(parallelism, GameEngine.DEFAULT_GHOST_COUNT, DEFAULT_MAX_TICKS, PacmanPolicy::randomWalk);
+    }
+
+    public BatchRunner(int parallelism, int ghostCount, long maxTicks, LongFunction<PacmanPolicy> policyFactory) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        if (maxTicks < 1) {
+            throw new IllegalArgumentException("maxTicks must be positive");
+        }
+        this.pool = new ForkJoinPool(parallelism);
+        this.ghostCount = ghostCount;
+        this.maxTicks = maxTicks;
+        this.policyFactory = policyFactory;
+    }
+
+    // Juega las partidas con semillas firstSeed .. firstSeed + games - 1. Los resultados
+    // llegan al sumidero según terminan, no en orden de semilla.
+    public Summary run(long firstSeed, int games, Consumer<GameResult> sink) {
+        if (games < 0) {
+            throw new IllegalArgumentException("games must not be negative");
+        }
+        Consumer<GameResult> serialSink = result -> {
+            synchronized (sink) {
+                sink.accept(result);
+            }
+        };
+        long start = System.nanoTime();
+        pool.invoke(new Batch(firstSeed, games, serialSink));
+        return new Summary(games, System.nanoTime() - start, pool.getParallelism());
+    }
+
+    public GameResult play(long seed) {
+        GameEngine game = new GameEngine(ghostCount, seed);
+        PacmanPolicy policy = policyFactory.apply(seed);
+        while (!game.isFinished() && game.getTick() < maxTicks) {
+            game.getPacman().setDirection(policy.chooseDirection(game));
+            game.step();
+        }
+        return GameResult.of(game);
+    }
+
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    // Divide el rango de semillas por la mitad hasta llegar a una partida; el
+    // work-stealing reparte las mitades entre los hilos libres.
+    private class Batch extends RecursiveAction {
+        private final long firstSeed;
+        private final int games;
+        private final Consumer<GameResult> sink;
+
+        Batch(long firstSeed, int games, Consumer<GameResult> sink) {
+            this.firstSeed = firstSeed;
+            this.games = games;
+            this.sink = sink;
+        }
+
+        @Override
+        protected void compute() {
+            if (games == 1) {
+                sink.accept(play(firstSeed));
+            } else if (games > 1) {
+                int half = games / 2;
+                invokeAll(new Batch(firstSeed, half, sink), new Batch(firstSeed + half, games - half, sink));
+            }
+        }
+    }
+
+    public static final class Summary {
+        private final int games;
+        private final long elapsedNanos;
+        private final int parallelism;
+
+        Summary(int games, long elapsedNanos, int parallelism) {
+            this.games = games;
+            this.elapsedNanos = elapsedNanos;
+            this.parallelism = parallelism;
+        }
+
+        public int getGames() {
+            return games;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        public double getGamesPerSecond() {
+            return elapsedNanos == 0 ? 0 : games * 1e9 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d games in %.2f s on %d threads: %.1f games/s",
+                games, elapsedNanos / 1e9, parallelism, getGamesPerSecond());
+        }
+    }
+
+    // Uso: BatchRunner [partidas] [semilla inicial] [hilos]
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        long firstSeed = args.length > 1 ? Long.parseLong(args[1]) : 1L;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        BatchRunner runner = new BatchRunner(threads);
+        System.out.println(GameResult.CSV_HEADER);
+        Summary summary = runner.run(firstSeed, games, result -> System.out.println(result.toCsv()));
+        runner.shutdown();
+        System.err.println(summary);
+    }
+}
@@ -0,0 +1,62 @@
+// Tablero de bits empaquetado en long[]: una celda del laberinto por bit,
+// indexada como fila * COLS + columna.
+public final class Bitboard {
+    public static final int CELLS = GameEngine.ROWS * GameEngine.COLS;
+    public static final int WORDS = (CELLS + 63) >>> 6;
+
+    private Bitboard() {
+    }
+
+    public static long[] create() {
+        return new long[WORDS];
+    }
+
+    public static int index(int row, int col) {
+        return row * GameEngine.COLS + col;
+    }
+
+    public static boolean get(long[] board, int index) {
+        return (board[index >>> 6] & (1L << index)) != 0;
+    }
+
+    public static void set(long[] board, int index) {
+        board[index >>> 6] |= 1L << index;
+    }
+
+    public static void clear(long[] board, int index) {
+        board[index >>> 6] &= ~(1L << index);
+    }
+
+    public static int count(long[] board) {
+        int count = 0;
+        for (long word : board) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    public static void copy(long[] source, long[] target) {
+        System.arraycopy(source, 0, target, 0, WORDS);
+    }
+
+    public static long[] or(long[] a, long[] b) {
+        long[] result = create();
+        for (int i = 0; i < WORDS; i++) {
+            result[i] = a[i] | b[i];
+        }
+        return result;
+    }
+
+    // Bits de todas las celdas del nivel con el tipo indicado
+    public static long[] fromLevel(int[][] level, int cellType) {
+        long[] board = create();
+        for (int row = 0; row < level.length; row++) {
+            for (int col = 0; col < level[row].length; col++) {
+                if (level[row][col] == cellType) {
+                    set(board, index(row, col));
+                }
+            }
+        }
+        return board;
+    }
+}
@@ -1,446 +1,593 @@
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
+import java.awt.geom.AffineTransform;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
-public class Board extends JPanel implements ActionListener {
-    private static final int RESPAWN_DELAY_MS = 1000;
-    private static final int STATUS_PANEL_HEIGHT = 35;
-    private static final Color GHOST_HOUSE_FILL = new Color(100, 50, 150);
-    private static final Color GHOST_HOUSE_BORDER = new Color(150, 100, 200);
+public class Board extends JPanel implements ActionListener, Maze {
+    static final int STATUS_PANEL_HEIGHT = 35;
+    private static final int DEFAULT_RENDER_HZ = 60;
+    // Espera sin cambios de tamaño antes de regenerar las capas (al arrastrar la ventana)
+    static final int RESCALE_DELAY_MS = 150;
+    // Pintado por regiones: hasta cuántas, y cuánto mayor debe ser el rectángulo común
+    static final int MAX_SEPARATE_PAINTS = 16;
+    static final int SEPARATE_PAINT_WASTE = 4;
     
     private Timer timer;
-    private Pacman pacman;
-    private Ghost[] ghosts;
-    private int currentLevel = 0;
-    private int blockSize = 20;
-    private int[][][] levels;
-    private boolean[][] points;
-    private boolean[][] powerPellets;
-    private int totalPoints;
-    private int collectedPoints = 0;
-    private boolean gameWon = false;
-    private int[] ghostStartX;
-    private int[] ghostStartY;
-    private SoundManager soundManager;
-    
-    // 0 = empty space, 1 = wall, 2 = point, 3 = ghost house, 4 = power pellet
-    private static final int EMPTY = 0;
-    private static final int WALL = 1;
-    private static final int POINT = 2;
-    private static final int GHOST_HOUSE = 3;
-    private static final int POWER_PELLET = 4;
+    private GameEngine engine;
+    private GameLoop loop;
+    private boolean gameEnded = false;
+    private final AudioBackend audio;
+    private PacmanPolicy autopilot;
+    // Capas cacheadas a la escala de la vista; se cambian enteras en el hilo de eventos y con
+    // el tablero bloqueado, así que ningún fotograma mezcla dos escalas
+    private Artwork artwork = new Artwork(new ViewScale(1, 1, 0, 0));
+    private final AffineTransform pixelTransform = new AffineTransform();
+    private final Rectangle repaintArea = new Rectangle();
+    private final Rectangle contentArea = new Rectangle();
+    private final Rectangle repaintBounds = new Rectangle();
+    private final Timer rescaleTimer;
+    private final ExecutorService rescaler = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "pacman-rescale");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private int viewportWidth;
+    private int viewportHeight;
+    private double viewportScale = 1;
+    private int rescaleGeneration = 0;
+    private int rescales = 0;
+    private final KeyListener keyHandler = new PacmanKeyAdapter();
+    private final Hud hud = new Hud();
+    // Estado pintado en el último fotograma, para repintar solo lo que cambia
+    private final DirtyRegions dirty = new DirtyRegions();
+    private final long[] paintedPoints = Bitboard.create();
+    private final long[] paintedPowerPellets = Bitboard.create();
+    private int[] paintedSpriteX = new int[0];
+    private int[] paintedSpriteY = new int[0];
+    private int[] paintedSpriteLook = new int[0];
+    private boolean paintedPowerVisible;
+    private int paintedLevel = -1;
+    private boolean paintedLevelComplete;
+    private int paintedLives;
+    private int paintedScore;
+    private long paintedPowerSeconds;
+    private long repaintedPixels = 0;
 
     public Board() {
+        this(AudioBackend.fromSystem());
+    }
+
+    // audio: dispositivo, NullAudio (sin coste) o CaptureAudio (tests)
+    public Board(AudioBackend audio) {
         setFocusable(true);
         setBackground(Color.BLACK);
-        soundManager = SoundManager.getInstance();
-        initLevels();
-        loadLevel(0);
-        timer = new Timer(40, this);
+        this.audio = audio;
+        engine = new GameEngine();
+        engine.setSoundListener(name -> audio.playSound(name, engine.getTick()));
+        loop = new GameLoop(this::stepEngine, GameEngine.TICK_MS * 1_000_000L);
+        // El timer marca el ritmo de render; la lógica avanza a paso fijo en el GameLoop
+        timer = new Timer(1000 / DEFAULT_RENDER_HZ, this);
         timer.start();
-        addKeyListener(new PacmanKeyAdapter());
+        addKeyListener(keyHandler);
+
+        // Ventana redimensionable y HiDPI: el tamaño de celda sale del área disponible
+        setPreferredSize(new Dimension(getBoardWidth(), getBoardHeight() + STATUS_PANEL_HEIGHT));
+        rescaleTimer = new Timer(RESCALE_DELAY_MS, e -> rescale(viewportWidth, viewportHeight, viewportScale));
+        rescaleTimer.setRepeats(false);
+        addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                fitToComponent();
+            }
+        });
+        // Al pasar la ventana a un monitor con otra escala
+        addPropertyChangeListener("graphicsConfiguration", e -> fitToComponent());
     }
-    
-    private void initLevels() {
-        // 3 niveles diferentes (20 filas x 20 columnas)
-        levels = new int[3][20][20];
-        
-        // Nivel 1 - Diseño simple
-        int[][] level1 = {
-            {1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1},
-            {1,4,2,2,2,2,2,2,2,1,1,2,2,2,2,2,2,2,4,1},
-            {1,2,1,1,2,1,1,1,2,1,1,2,1,1,1,2,1,1,2,1},
-            {1,2,1,1,2,1,1,1,2,1,1,2,1,1,1,2,1,1,2,1},
-            {1,2,2,2,2,2,2,2,2,2,2,2,2,2,2,2,2,2,2,1},
-            {1,2,1,1,2,1,2,1,1,1,1,1,1,2,1,2,1,1,2,1},
-            {1,2,2,2,2,1,2,2,2,1,1,2,2,2,1,2,2,2,2,1},
-            {1,1,1,1,2,1,1,1,0,1,1,0,1,1,1,2,1,1,1,1},
-            {1,1,1,1,2,1,0,0,0,0,0,0,0,0,1,2,1,1,1,1},
-            {1,1,1,1,2,1,0,1,1,3,3,1,1,0,1,2,1,1,1,1},
-            {0,0,0,0,2,0,0,1,3,3,3,3,1,0,0,2,0,0,0,0},
-            {1,1,1,1,2,1,0,1,1,1,1,1,1,0,1,2,1,1,1,1},
-            {1,1,1,1,2,1,0,0,0,0,0,0,0,0,1,2,1,1,1,1},
-            {1,1,1,1,2,1,0,1,1,1,1,1,1,0,1,2,1,1,1,1},
-            {1,2,2,2,2,2,2,2,2,1,1,2,2,2,2,2,2,2,2,1},
-            {1,2,1,1,2,1,1,1,2,1,1,2,1,1,1,2,1,1,2,1},
-            {1,2,2,1,2,2,2,2,2,2,2,2,2,2,2,2,1,2,2,1},
-            {1,1,2,1,2,1,2,1,1,1,1,1,1,2,1,2,1,2,1,1},
-            {1,4,2,2,2,1,2,2,2,1,1,2,2,2,1,2,2,2,4,1},
-            {1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1}
-        };
-        
-        // Nivel 2 - Diseño intermedio
-        int[][] level2 = {
-            {1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1},
-            {1,4,2,2,2,2,2,2,2,2,2,2,2,2,2,2,2,2,4,1},
-            {1,2,1,1,1,2,1,1,2,1,1,2,1,1,2,1,1,1,2,1},
-            {1,2,1,0,0,2,1,1,2,1,1,2,1,1,2,0,0,1,2,1},
-            {1,2,1,1,1,2,2,2,2,2,2,2,2,2,2,1,1,1,2,1},
-            {1,2,2,2,2,2,1,1,1,1,1,1,1,1,2,2,2,2,2,1},
-            {1,2,1,1,1,2,2,2,2,1,1,2,2,2,2,1,1,1,2,1},
-            {1,2,1,1,1,1,1,1,2,1,1,2,1,1,1,1,1,1,2,1},
-            {1,2,2,2,2,2,2,2,2,1,1,2,2,2,2,2,2,2,2,1},
-            {1,1,1,2,1,1,1,1,0,3,3,0,1,1,1,2,1,1,1,1},
-            {1,1,1,2,1,0,0,0,3,3,3,3,0,0,1,2,1,1,1,1},
-            {1,2,2,2,2,2,2,2,2,1,1,2,2,2,2,2,2,2,2,1},
-            {1,2,1,1,1,1,1,1,2,1,1,2,1,1,1,1,1,1,2,1},
-            {1,2,1,1,1,2,2,2,2,1,1,2,2,2,2,1,1,1,2,1},
-            {1,2,2,2,2,2,1,1,1,1,1,1,1,1,2,2,2,2,2,1},
-            {1,2,1,1,1,2,2,2,2,2,2,2,2,2,2,1,1,1,2,1},
-            {1,2,1,0,0,2,1,1,2,1,1,2,1,1,2,0,0,1,2,1},
-            {1,2,1,1,1,2,1,1,2,1,1,2,1,1,2,1,1,1,2,1},
-            {1,4,2,2,2,2,2,2,2,2,2,2,2,2,2,2,2,2,4,1},
-            {1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1}
-        };
-        
-        // Nivel 3 - Diseño avanzado
-        int[][] level3 = {
-            {1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1},
-            {1,4,2,2,2,2,2,2,2,1,1,2,2,2,2,2,2,2,4,1},
-            {1,2,1,1,1,1,1,1,2,1,1,2,1,1,1,1,1,1,2,1},
-            {1,2,1,0,0,0,0,1,2,1,1,2,1,0,0,0,0,1,2,1},
-            {1,2,1,0,1,1,0,1,2,1,1,2,1,0,1,1,0,1,2,1},
-            {1,2,1,0,1,1,0,1,2,2,2,2,1,0,1,1,0,1,2,1},
-            {1,2,2,2,1,1,2,2,2,1,1,2,2,2,1,1,2,2,2,1},
-            {1,1,1,2,1,1,2,1,1,1,1,1,1,2,1,1,2,1,1,1},
-            {0,0,1,2,2,2,2,1,0,3,3,0,1,2,2,2,2,1,0,0},
-            {1,1,1,2,1,1,2,1,0,3,3,0,1,2,1,1,2,1,1,1},
-            {0,0,0,2,1,1,2,0,0,3,3,0,0,2,1,1,2,0,0,0},
-            {1,1,1,2,1,1,2,1,1,1,1,1,1,2,1,1,2,1,1,1},
-            {1,2,2,2,1,1,2,2,2,1,1,2,2,2,1,1,2,2,2,1},
-            {1,2,1,0,1,1,0,1,2,2,2,2,1,0,1,1,0,1,2,1},
-            {1,2,1,0,1,1,0,1,2,1,1,2,1,0,1,1,0,1,2,1},
-            {1,2,1,0,0,0,0,1,2,1,1,2,1,0,0,0,0,1,2,1},
-            {1,2,1,1,1,1,1,1,2,1,1,2,1,1,1,1,1,1,2,1},
-            {1,2,2,2,2,2,2,2,2,1,1,2,2,2,2,2,2,2,2,1},
-            {1,4,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,4,1},
-            {1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1}
-        };
-        
-        levels[0] = level1;
-        levels[1] = level2;
-        levels[2] = level3;
+
+    private void fitToComponent() {
+        setViewport(getWidth(), getHeight(), ViewScale.deviceScale(getGraphicsConfiguration()));
     }
     
-    private void loadLevel(int levelIndex) {
-        currentLevel = levelIndex;
-        int[][] level = levels[levelIndex];
-        points = new boolean[20][20];
-        powerPellets = new boolean[20][20];
-        totalPoints = 0;
-        collectedPoints = 0;
-        gameWon = false;
-        
-        // Inicializar puntos y power pellets basados en el nivel
-        for (int i = 0; i < 20; i++) {
-            for (int j = 0; j < 20; j++) {
-                if (level[i][j] == POINT) {
-                    points[i][j] = true;
-                    totalPoints++;
-                } else {
-                    points[i][j] = false;
-                }
-                
-                if (level[i][j] == POWER_PELLET) {
-                    powerPellets[i][j] = true;
-                    totalPoints++;
-                } else {
-                    powerPellets[i][j] = false;
-                }
-            }
+    @Override
+    public void paintComponent(Graphics g) {
+        if (artwork.view.isIdentity()) {
+            super.paintComponent(g);
+        } else {
+            // Con la ventana grande el tablero tapa casi todo: el fondo solo en los márgenes
+            fillMargins(g, getWidth(), getHeight());
         }
-        
-        // Posicionar Pacman en un lugar seguro del nivel
-        pacman = new Pacman(blockSize * 1, blockSize * 1, this);
-        
-        // Posicionar fantasmas
-        ghostStartX = new int[] {blockSize * 9, blockSize * 10, blockSize * 9};
-        ghostStartY = new int[] {blockSize * 9, blockSize * 9, blockSize * 10};
-        ghosts = new Ghost[] {
-            new Ghost(ghostStartX[0], ghostStartY[0], Color.RED, this),
-            new Ghost(ghostStartX[1], ghostStartY[1], Color.PINK, this),
-            new Ghost(ghostStartX[2], ghostStartY[2], Color.CYAN, this)
-        };
+        render(g, getGraphicsConfiguration());
     }
 
-    @Override
-    public void paintComponent(Graphics g) {
-        super.paintComponent(g);
-        drawStatusPanel(g);
-        drawBoard(g);
-        pacman.draw(g, STATUS_PANEL_HEIGHT);
-        for (Ghost ghost : ghosts) {
-            ghost.draw(g, STATUS_PANEL_HEIGHT);
+    // Rellena con el fondo lo que queda fuera del tablero en un área de width x height
+    void fillMargins(Graphics g, int width, int height) {
+        Rectangle r = artwork.view.contentBounds(getBoardWidth(), getBoardHeight() + STATUS_PANEL_HEIGHT, contentArea);
+        g.setColor(getBackground());
+        g.fillRect(0, 0, width, r.y);
+        g.fillRect(0, r.y + r.height, width, height - r.y - r.height);
+        g.fillRect(0, r.y, r.x, r.height);
+        g.fillRect(r.x + r.width, r.y, width - r.x - r.width, r.height);
+    }
+
+    // Dibujo completo de un fotograma; lo usan paintComponent y el render activo
+    void render(Graphics g, GraphicsConfiguration config) {
+        ViewScale view = artwork.view;
+        if (view.isIdentity() || !(g instanceof Graphics2D)) {
+            drawFrame(g, config);
+            return;
         }
+        // Se dibuja en píxeles de dispositivo, sin la escala HiDPI de Swing: las capas ya
+        // están a la escala de la vista y se copian 1:1
+        Graphics2D g2 = (Graphics2D) g;
+        AffineTransform saved = g2.getTransform();
+        pixelTransform.setToTranslation(Math.rint(saved.getTranslateX()) + view.getOffsetX(),
+            Math.rint(saved.getTranslateY()) + view.getOffsetY());
+        g2.setTransform(pixelTransform);
+        try {
+            drawFrame(g2, config);
+        } finally {
+            g2.setTransform(saved);
+        }
+    }
+
+    private void drawFrame(Graphics g, GraphicsConfiguration config) {
+        drawStatusPanel(g);
+        drawBoard(g, config);
+        drawSprites(g, config);
         
-        if (gameWon) {
-            g.setColor(Color.GREEN);
-            g.setFont(new Font("Arial", Font.BOLD, 30));
-            g.drawString("¡NIVEL COMPLETADO!", 50, 200 + STATUS_PANEL_HEIGHT);
+        if (engine.isLevelComplete()) {
+            boolean scaled = beginScaled(g);
+            hud.drawLevelComplete(g, STATUS_PANEL_HEIGHT);
+            endScaled(g, scaled);
         }
     }
-    
+
     private void drawStatusPanel(Graphics g) {
-        // Draw status panel background
-        g.setColor(new Color(20, 20, 20));
-        g.fillRect(0, 0, getBoardWidth(), STATUS_PANEL_HEIGHT);
-        
-        // Draw border
-        g.setColor(Color.CYAN);
-        g.drawRect(0, 0, getBoardWidth() - 1, STATUS_PANEL_HEIGHT - 1);
-        
-        // Draw lives
-        g.setColor(Color.YELLOW);
-        g.setFont(new Font("Arial", Font.BOLD, 12));
-        g.drawString("Vidas: " + pacman.getLives(), 5, 22);
-        
-        // Draw score
-        g.drawString("Puntos: " + pacman.getScore(), 85, 22);
-        
-        // Draw level info
-        g.drawString("Nivel: " + (currentLevel + 1), 190, 22);
-        
-        // Draw power-up timer if active
-        if (pacman.isPoweredUp()) {
-            long remaining = pacman.getRemainingPowerUpTime();
-            g.setColor(Color.GREEN);
-            g.drawString("Power: " + (remaining / 1000) + "s", 270, 22);
+        boolean scaled = beginScaled(g);
+        hud.drawStatusPanel(g, engine);
+        endScaled(g, scaled);
+    }
+
+    // Los textos y el panel se dibujan con la escala de la vista (vectoriales; los
+    // textos se maquetan de nuevo una vez por tamaño)
+    private boolean beginScaled(Graphics g) {
+        double zoom = artwork.view.getZoom();
+        if (zoom == 1 || !(g instanceof Graphics2D)) {
+            return false;
         }
+        ((Graphics2D) g).scale(zoom, zoom);
+        return true;
     }
 
-    private void drawBoard(Graphics g) {
-        int[][] level = levels[currentLevel];
-        
-        // Dibujar paredes y puntos (offset by STATUS_PANEL_HEIGHT)
-        for (int i = 0; i < 20; i++) {
-            for (int j = 0; j < 20; j++) {
-                int x = j * blockSize;
-                int y = i * blockSize + STATUS_PANEL_HEIGHT;
-                
-                if (level[i][j] == WALL) {
-                    // Dibujar pared
-                    g.setColor(Color.BLUE);
-                    g.fillRect(x, y, blockSize, blockSize);
-                    g.setColor(Color.CYAN);
-                    g.drawRect(x, y, blockSize, blockSize);
-                } else if (level[i][j] == GHOST_HOUSE) {
-                    // Draw ghost house with special walls
-                    g.setColor(GHOST_HOUSE_FILL);
-                    g.fillRect(x, y, blockSize, blockSize);
-                    g.setColor(GHOST_HOUSE_BORDER);
-                    g.drawRect(x, y, blockSize, blockSize);
-                } else if (points[i][j]) {
-                    // Dibujar punto
-                    g.setColor(Color.WHITE);
-                    g.fillOval(x + blockSize/2 - 2, y + blockSize/2 - 2, 4, 4);
-                } else if (powerPellets[i][j]) {
-                    // Dibujar power pellet (más grande y brillante)
-                    g.setColor(Color.WHITE);
-                    g.fillOval(x + blockSize/2 - 5, y + blockSize/2 - 5, 10, 10);
+    private void endScaled(Graphics g, boolean scaled) {
+        if (scaled) {
+            ((Graphics2D) g).setTransform(pixelTransform);
+        }
+    }
+
+    private void drawBoard(Graphics g, GraphicsConfiguration config) {
+        Artwork art = artwork;
+        int top = art.view.toPixels(STATUS_PANEL_HEIGHT);
+        // Paredes y puntos: capas cacheadas que solo se actualizan en las celdas que cambian
+        g.drawImage(art.pellets.get(engine, art.maze, config), 0, top, null);
+        // Power pellets con parpadeo
+        art.pellets.drawPowerPellets(g, engine, top);
+    }
+
+    // Cada personaje es una sola copia de su fotograma del atlas
+    private void drawSprites(Graphics g, GraphicsConfiguration config) {
+        Artwork art = artwork;
+        ViewScale view = art.view;
+        int top = view.toPixels(STATUS_PANEL_HEIGHT);
+        art.sprites.get(config, engine.getBlockSize());
+        double alpha = loop.getAlpha();
+        Pacman pacman = engine.getPacman();
+        art.sprites.drawPacman(g, pacman, view.toPixels(pacman.getRenderX(alpha)),
+            top + view.toPixels(pacman.getRenderY(alpha)));
+        for (Ghost ghost : engine.getGhosts()) {
+            art.sprites.drawGhost(g, ghost, view.toPixels(ghost.getRenderX(alpha)),
+                top + view.toPixels(ghost.getRenderY(alpha)));
+        }
+    }
+
+    HudText getScoreText() {
+        return hud.getScoreText();
+    }
+
+    MazeLayer getMazeLayer() {
+        return artwork.maze;
+    }
+
+    PelletLayer getPelletLayer() {
+        return artwork.pellets;
+    }
+
+    ViewScale getViewScale() {
+        return artwork.view;
+    }
+
+    // Adapta el dibujo a un área de width x height (coordenadas del componente) con la
+    // escala HiDPI dada. Mientras el tamaño siga cambiando solo se reprograma la espera;
+    // después las capas se regeneran una vez, en segundo plano. Hilo de eventos.
+    public void setViewport(int width, int height, double deviceScale) {
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+        viewportWidth = width;
+        viewportHeight = height;
+        viewportScale = deviceScale;
+        rescaleTimer.restart();
+    }
+
+    // Calcula la vista para el área y, si cambia el tamaño de celda, genera las capas nuevas
+    // en el hilo de reescalado; mientras tanto se sigue dibujando con las anteriores. Si
+    // llega otro tamaño antes de terminar, el resultado viejo se descarta. Hilo de eventos.
+    CompletableFuture<ViewScale> rescale(int width, int height, double deviceScale) {
+        ViewScale view = ViewScale.fit(width, height, deviceScale,
+            getBoardWidth(), getBoardHeight() + STATUS_PANEL_HEIGHT, getBlockSize());
+        int generation = ++rescaleGeneration;
+        if (view.getZoom() == artwork.view.getZoom()) {
+            // Mismo tamaño de celda (solo cambia el margen): las capas sirven tal cual
+            Artwork current = artwork;
+            install(new Artwork(view, current.maze, current.pellets, current.sprites));
+            return CompletableFuture.completedFuture(view);
+        }
+        GraphicsConfiguration config = getGraphicsConfiguration();
+        CompletableFuture<ViewScale> done = new CompletableFuture<>();
+        rescaler.execute(() -> {
+            Artwork art = new Artwork(view);
+            art.prepare(engine, config);
+            SwingUtilities.invokeLater(() -> {
+                if (generation == rescaleGeneration) {
+                    rescales++;
+                    install(art);
                 }
+                done.complete(artwork.view);
+            });
+        });
+        return done;
+    }
+
+    private void install(Artwork art) {
+        synchronized (this) {
+            artwork = art;
+        }
+        // Todo el tablero cambia de sitio o de tamaño
+        paintedLevel = -1;
+        repaint();
+    }
+
+    // Veces que se han regenerado las capas por un cambio de tamaño
+    int getRescaleCount() {
+        return rescales;
+    }
+
+    private void stepEngine() {
+        if (autopilot != null) {
+            engine.getPacman().setDirection(autopilot.chooseDirection(engine));
+        }
+        engine.step();
+        updateBackground();
+    }
+
+    // Sirena o bucle asustado mientras se juega; en las pausas y al terminar, silencio
+    private void updateBackground() {
+        if (engine.isPaused() || engine.isFinished() || engine.getTotalPoints() == 0) {
+            audio.stopBackground();
+        } else {
+            audio.updateBackground((double) engine.getCollectedPoints() / engine.getTotalPoints(),
+                engine.getPacman().isPoweredUp());
+        }
+    }
+
+    // Con un autopiloto, Pacman se mueve solo antes de cada tick (null = teclado)
+    public void setAutopilot(PacmanPolicy autopilot) {
+        if (this.autopilot instanceof AutoCloseable && this.autopilot != autopilot) {
+            try {
+                ((AutoCloseable) this.autopilot).close();
+            } catch (Exception e) {
+                System.err.println("Could not stop autopilot: " + e.getMessage());
             }
         }
+        this.autopilot = autopilot;
+    }
+
+    public PacmanPolicy getAutopilot() {
+        return autopilot;
     }
 
     @Override
     public void actionPerformed(ActionEvent e) {
-        if (!gameWon) {
-            pacman.move();
-            for (Ghost ghost : ghosts) {
-                ghost.move();
+        loop.advance(System.nanoTime());
+        checkGameEnd();
+        repaintChanges();
+    }
+
+    // Muestra el mensaje final una sola vez; debe llamarse desde el hilo de eventos
+    void checkGameEnd() {
+        if (!gameEnded) {
+            if (engine.isGameOver()) {
+                // Game Over
+                gameEnded = true;
+                timer.stop();
+                JOptionPane.showMessageDialog(this, 
+                    "¡Game Over! Un fantasma te atrapó.\nPuntuación: " + engine.getPacman().getScore());
+                System.exit(0);
+            } else if (engine.isGameCompleted()) {
+                // Juego completado
+                gameEnded = true;
+                timer.stop();
+                JOptionPane.showMessageDialog(this, 
+                    "¡Felicidades! Has completado todos los niveles.\nPuntuación final: " + engine.getPacman().getScore());
             }
-            
-            // Update ghost frightened state based on power-up
-            if (!pacman.isPoweredUp()) {
-                for (Ghost ghost : ghosts) {
-                    ghost.setFrightened(false);
+        }
+    }
+
+    // Repinta solo las regiones que cambiaron desde el último fotograma: posiciones
+    // anterior y nueva de cada sprite, celdas de puntos, parpadeo y panel de estado.
+    void repaintChanges() {
+        collectChanges();
+        if (dirty.isFull()) {
+            repaintedPixels += (long) getWidth() * getHeight();
+            repaint();
+        } else if (!dirty.isEmpty()) {
+            Rectangle bounds = dirty.getBounds(repaintBounds);
+            if (paintsSeparately(dirty, bounds)) {
+                // RepaintManager juntaría las peticiones en el rectángulo que las contiene
+                // (casi todo el tablero si hay sprites en esquinas opuestas): cada región
+                // se pinta y se copia a pantalla por separado
+                for (int i = 0; i < dirty.getCount(); i++) {
+                    Rectangle region = dirty.get(i);
+                    repaintedPixels += (long) region.width * region.height;
+                    paintImmediately(toComponent(region));
                 }
+            } else {
+                // Regiones juntas: un solo pintado recortado al rectángulo que las contiene
+                repaintedPixels += (long) bounds.width * bounds.height;
+                repaint(toComponent(bounds));
             }
-            
-            checkCollisions();
         }
-        repaint();
     }
-    
-    private void checkLevelCompletion() {
-        if (collectedPoints >= totalPoints) {
-            gameWon = true;
-            timer.stop();
-            soundManager.playSound("level_complete");
-            
-            // Después de 2 segundos, cargar siguiente nivel
-            Timer nextLevelTimer = new Timer(2000, new ActionListener() {
-                @Override
-                public void actionPerformed(ActionEvent e) {
-                    if (currentLevel < 2) {
-                        loadLevel(currentLevel + 1);
-                        timer.start();
-                    } else {
-                        // Juego completado
-                        JOptionPane.showMessageDialog(Board.this, 
-                            "¡Felicidades! Has completado todos los niveles.\nPuntuación final: " + pacman.getScore());
-                    }
-                    ((Timer)e.getSource()).stop();
-                }
-            });
-            nextLevelTimer.setRepeats(false);
-            nextLevelTimer.start();
+
+    // Pintar región a región compensa cuando el rectángulo que las contiene es mucho mayor
+    // que lo que ha cambiado; con muchas regiones, recorrer el fotograma tantas veces ya no
+    static boolean paintsSeparately(DirtyRegions dirty, Rectangle bounds) {
+        int count = dirty.getCount();
+        return count > 1 && count <= MAX_SEPARATE_PAINTS
+            && (long) bounds.width * bounds.height > SEPARATE_PAINT_WASTE * dirty.getArea();
+    }
+
+    // Región sucia (coordenadas lógicas) en coordenadas del componente según la vista
+    private Rectangle toComponent(Rectangle region) {
+        ViewScale view = artwork.view;
+        if (view.isIdentity()) {
+            return region;
         }
+        repaintArea.setBounds(region);
+        return view.toComponent(repaintArea);
     }
-    
-    private void checkCollisions() {
-        // Verificar colisión con puntos
-        int pacRow = pacman.getY() / blockSize;
-        int pacCol = pacman.getX() / blockSize;
-        
-        if (pacRow >= 0 && pacRow < 20 && pacCol >= 0 && pacCol < 20) {
-            if (points[pacRow][pacCol]) {
-                points[pacRow][pacCol] = false;
-                pacman.addScore(10);
-                collectedPoints++;
-                soundManager.playSound("eat_dot");
-                checkLevelCompletion();
+
+    DirtyRegions collectChanges() {
+        dirty.clear();
+        Pacman pacman = engine.getPacman();
+        Ghost[] ghosts = engine.getGhosts();
+        if (paintedLevel != engine.getCurrentLevel() || paintedLevelComplete != engine.isLevelComplete()
+                || paintedSpriteX.length != ghosts.length + 1) {
+            paintedLevel = engine.getCurrentLevel();
+            paintedLevelComplete = engine.isLevelComplete();
+            paintedSpriteX = new int[ghosts.length + 1];
+            paintedSpriteY = new int[ghosts.length + 1];
+            paintedSpriteLook = new int[ghosts.length + 1];
+            dirty.markAll();
+        }
+
+        // Sprites: caja anterior y nueva (o la misma si solo cambia su aspecto)
+        double alpha = loop.getAlpha();
+        addSprite(0, pacman.getRenderX(alpha), pacman.getRenderY(alpha), pacman.getDirection().ordinal());
+        for (int i = 0; i < ghosts.length; i++) {
+            int look = (ghosts[i].isFrightened() ? 1 : 0) | (ghosts[i].isReturning() ? 2 : 0);
+            addSprite(i + 1, ghosts[i].getRenderX(alpha), ghosts[i].getRenderY(alpha), look);
+        }
+
+        // Puntos comidos (o recuperados) y power pellets que parpadean
+        int blockSize = engine.getBlockSize();
+        boolean powerVisible = PelletLayer.isPowerPelletVisible(engine.getTick());
+        for (int w = 0; w < Bitboard.WORDS; w++) {
+            long points = engine.getPointWord(w);
+            long power = engine.getPowerPelletWord(w);
+            long changed = (points ^ paintedPoints[w]) | (power ^ paintedPowerPellets[w]);
+            if (powerVisible != paintedPowerVisible) {
+                changed |= power;
             }
-            
-            // Verificar colisión con power pellets
-            if (powerPellets[pacRow][pacCol]) {
-                powerPellets[pacRow][pacCol] = false;
-                pacman.addScore(50);
-                collectedPoints++;
-                soundManager.playSound("eat_power");
-                
-                // Activar power-up
-                pacman.activatePowerUp();
-                for (Ghost ghost : ghosts) {
-                    ghost.setFrightened(true);
-                }
-                
-                checkLevelCompletion();
+            for (long bits = changed; bits != 0; bits &= bits - 1) {
+                int cell = (w << 6) + Long.numberOfTrailingZeros(bits);
+                dirty.add(cell % GameEngine.COLS * blockSize, cell / GameEngine.COLS * blockSize + STATUS_PANEL_HEIGHT,
+                    blockSize, blockSize);
             }
+            paintedPoints[w] = points;
+            paintedPowerPellets[w] = power;
         }
-        
-        // Verificar colisión con fantasmas
-        int characterSize = Pacman.getCharacterSize();
-        for (Ghost ghost : ghosts) {
-            if (Math.abs(pacman.getX() - ghost.getX()) < characterSize && 
-                Math.abs(pacman.getY() - ghost.getY()) < characterSize) {
-                if (ghost.isFrightened()) {
-                    // Pacman come al fantasma cuando está asustado
-                    pacman.addScore(200);
-                    ghost.sendToStart();
-                    soundManager.playSound("eat_ghost");
-                } else if (!ghost.isReturning()) {
-                    // Fantasma atrapa a Pacman (solo si no está regresando al inicio)
-                    handlePacmanCaught();
-                    break;
-                }
-            }
+        paintedPowerVisible = powerVisible;
+
+        // Panel de estado solo si cambia su texto
+        long powerSeconds = Hud.powerSeconds(pacman);
+        if (pacman.getLives() != paintedLives || pacman.getScore() != paintedScore
+                || powerSeconds != paintedPowerSeconds) {
+            paintedLives = pacman.getLives();
+            paintedScore = pacman.getScore();
+            paintedPowerSeconds = powerSeconds;
+            dirty.add(0, 0, getBoardWidth(), STATUS_PANEL_HEIGHT);
         }
+        return dirty;
     }
-    
-    private void handlePacmanCaught() {
-        pacman.loseLife();
-        soundManager.playSound("death");
-        
-        if (pacman.getLives() <= 0) {
-            // Game Over
-            timer.stop();
-            JOptionPane.showMessageDialog(this, 
-                "¡Game Over! Un fantasma te atrapó.\nPuntuación: " + pacman.getScore());
-            System.exit(0);
-        } else {
-            // Resetear posiciones pero mantener el progreso
-            timer.stop();
-            pacman.resetPosition();
-            for (int i = 0; i < ghosts.length; i++) {
-                ghosts[i].resetPosition(ghostStartX[i], ghostStartY[i]);
-                // Reset ghost states when respawning
-                ghosts[i].setFrightened(false);
-            }
-            
-            // Pausar brevemente antes de continuar
-            Timer respawnTimer = new Timer(RESPAWN_DELAY_MS, new ActionListener() {
-                @Override
-                public void actionPerformed(ActionEvent e) {
-                    timer.start();
-                    ((Timer)e.getSource()).stop();
-                }
-            });
-            respawnTimer.setRepeats(false);
-            respawnTimer.start();
+
+    private void addSprite(int index, int x, int y, int look) {
+        int oldX = paintedSpriteX[index];
+        int oldY = paintedSpriteY[index];
+        if (x == oldX && y == oldY && look == paintedSpriteLook[index]) {
+            return;
         }
+        // Un píxel de margen para el borde de los arcos
+        int size = Pacman.getCharacterSize() + 2;
+        dirty.add(oldX - 1, oldY - 1 + STATUS_PANEL_HEIGHT, size, size);
+        dirty.add(x - 1, y - 1 + STATUS_PANEL_HEIGHT, size, size);
+        paintedSpriteX[index] = x;
+        paintedSpriteY[index] = y;
+        paintedSpriteLook[index] = look;
+    }
+
+    // Píxeles enviados a repintar desde el inicio (métrica para equipos de bajo consumo)
+    public long getRepaintedPixels() {
+        return repaintedPixels;
     }
     
+    @Override
     public boolean isWall(int x, int y) {
-        int row = y / blockSize;
-        int col = x / blockSize;
-        
-        // Verificar límites verticales
-        if (row < 0 || row >= 20) {
-            return true;
-        }
-        
-        // Si está fuera de los límites horizontales, verificar si es un túnel
-        if (col < 0 || col >= 20) {
-            // Permitir movimiento fuera de límites en las filas de túnel
-            // Verificar si la fila actual tiene apertura en los bordes
-            int[][] level = levels[currentLevel];
-            if (col < 0) {
-                // Verificando lado izquierdo - columna 0
-                return level[row][0] == WALL;
-            } else {
-                // Verificando lado derecho - columna 19
-                return level[row][19] == WALL;
-            }
-        }
-        
-        return levels[currentLevel][row][col] == WALL;
+        return engine.isWall(x, y);
     }
     
+    @Override
     public boolean isWallForPacman(int x, int y) {
-        int row = y / blockSize;
-        int col = x / blockSize;
-        
-        // Verificar límites verticales
-        if (row < 0 || row >= 20) {
-            return true;
-        }
-        
-        // Si está fuera de los límites horizontales, verificar si es un túnel
-        if (col < 0 || col >= 20) {
-            // Permitir movimiento fuera de límites en las filas de túnel
-            // Verificar si la fila actual tiene apertura en los bordes
-            int[][] level = levels[currentLevel];
-            if (col < 0) {
-                // Verificando lado izquierdo - columna 0
-                return level[row][0] == WALL;
-            } else {
-                // Verificando lado derecho - columna 19
-                return level[row][19] == WALL;
-            }
+        return engine.isWallForPacman(x, y);
+    }
+    
+    @Override
+    public boolean canPacmanMove(int x, int y, Direction direction, int speed) {
+        return engine.canPacmanMove(x, y, direction, speed);
+    }
+    
+    @Override
+    public boolean canGhostMove(int x, int y, Direction direction, int speed) {
+        return engine.canGhostMove(x, y, direction, speed);
+    }
+    
+    @Override
+    public int distanceToPacman(int x, int y) {
+        return engine.distanceToPacman(x, y);
+    }
+    
+    GameEngine getEngine() {
+        return engine;
+    }
+    
+    SpriteAtlas getSpriteAtlas() {
+        return artwork.sprites;
+    }
+
+    GameLoop getGameLoop() {
+        return loop;
+    }
+
+    // Detiene el timer de Swing: lo usan las pruebas y el render activo, que marca su propio ritmo
+    void stopTimer() {
+        timer.stop();
+    }
+
+    AudioBackend getAudio() {
+        return audio;
+    }
+
+    KeyListener getKeyHandler() {
+        return keyHandler;
+    }
+    
+    // Frecuencia de render independiente de la simulación (p. ej. 144 Hz)
+    public void setRenderRate(int hz) {
+        if (hz <= 0) {
+            throw new IllegalArgumentException("Render rate must be positive");
         }
-        
-        int cellValue = levels[currentLevel][row][col];
-        // Pacman cannot enter walls or ghost house
-        return cellValue == WALL || cellValue == GHOST_HOUSE;
+        timer.setDelay(Math.max(1, 1000 / hz));
     }
     
+    public int getRenderDelay() {
+        return timer.getDelay();
+    }
+    
+    // Empieza una partida nueva y reproducible con la semilla dada
+    public void setSeed(long seed) {
+        engine.setSeed(seed);
+        loop.reset();
+    }
+    
+    public long getSeed() {
+        return engine.getSeed();
+    }
+    
+    @Override
     public int getBlockSize() {
-        return blockSize;
+        return engine.getBlockSize();
     }
     
+    @Override
     public int getBoardWidth() {
-        return 20 * blockSize;
+        return engine.getBoardWidth();
     }
     
+    @Override
     public int getBoardHeight() {
-        return 20 * blockSize;
+        return engine.getBoardHeight();
+    }
+
+    // Capas del laberinto, de puntos y de sprites generadas para una misma vista
+    private static final class Artwork {
+        final ViewScale view;
+        final MazeLayer maze;
+        final PelletLayer pellets;
+        final SpriteAtlas sprites;
+
+        Artwork(ViewScale view) {
+            this(view, new MazeLayer(view.getZoom()), new PelletLayer(view.getZoom()), new SpriteAtlas(view.getZoom()));
+        }
+
+        Artwork(ViewScale view, MazeLayer maze, PelletLayer pellets, SpriteAtlas sprites) {
+            this.view = view;
+            this.maze = maze;
+            this.pellets = pellets;
+            this.sprites = sprites;
+        }
+
+        // Genera las tres capas. Se llama fuera del hilo de eventos mientras el motor sigue:
+        // la capa de puntos se pone al día en el primer fotograma (solo las celdas que
+        // cambiaron) y si el nivel cambia a medias el laberinto se vuelve a generar
+        void prepare(GameEngine engine, GraphicsConfiguration config) {
+            int level = engine.getCurrentLevel();
+            pellets.get(engine, maze, config);
+            sprites.get(config, engine.getBlockSize());
+            if (level != engine.getCurrentLevel()) {
+                maze.invalidate();
+            }
+        }
+    }
+
+    // Dirección de una flecha del teclado (null para el resto de teclas)
+    static Direction directionFor(int keyCode) {
+        switch (keyCode) {
+            case KeyEvent.VK_LEFT: return Direction.LEFT;
+            case KeyEvent.VK_RIGHT: return Direction.RIGHT;
+            case KeyEvent.VK_UP: return Direction.UP;
+            case KeyEvent.VK_DOWN: return Direction.DOWN;
+            default: return null;
+        }
     }
 
     private class PacmanKeyAdapter extends KeyAdapter {
         @Override
         public void keyPressed(KeyEvent e) {
-            pacman.keyPressed(e);
+            // El render activo avanza el motor en su propio hilo con el tablero bloqueado
+            synchronized (Board.this) {
+                if (e.getKeyCode() == KeyEvent.VK_A) {
+                    // A: activa o desactiva el autopiloto MCTS
+                    setAutopilot(autopilot == null ? new MctsPolicy(engine.getSeed()) : null);
+                    return;
+                }
+                Direction direction = directionFor(e.getKeyCode());
+                if (direction != null) {
+                    engine.getPacman().setDirection(direction);
+                }
+            }
         }
     }
 }
\ No newline at end of file
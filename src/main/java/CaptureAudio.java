@@ -0,0 +1,86 @@
+import java.util.Arrays;
+
+// Destino de audio que graba los sonidos disparados (tick y nombre) en un anillo de
+// tamaño fijo reservado al crearlo: grabar no reserva memoria y, si se llena, se pisan
+// los más antiguos. Sirve para comprobar en los tests qué sonó y cuándo.
+public final class CaptureAudio implements AudioBackend {
+    static final int DEFAULT_CAPACITY = 1024;
+
+    private final long[] ticks;
+    private final String[] names;
+    private int head = 0;
+    private int count = 0;
+    private long total = 0;
+
+    public CaptureAudio(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1");
+        }
+        ticks = new long[capacity];
+        names = new String[capacity];
+    }
+
+    @Override
+    public synchronized void playSound(String name, long tick) {
+        int slot = (head + count) % ticks.length;
+        if (count == ticks.length) {
+            head = (head + 1) % ticks.length;
+        } else {
+            count++;
+        }
+        ticks[slot] = tick;
+        names[slot] = name;
+        total++;
+    }
+
+    // Eventos guardados, del más antiguo (0) al más reciente
+    public synchronized int size() {
+        return count;
+    }
+
+    public synchronized long getTick(int index) {
+        return ticks[slot(index)];
+    }
+
+    public synchronized String getName(int index) {
+        return names[slot(index)];
+    }
+
+    // Veces que suena un efecto entre los eventos guardados
+    public synchronized int count(String name) {
+        int matches = 0;
+        for (int i = 0; i < count; i++) {
+            if (names[(head + i) % names.length].equals(name)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    // Sonidos grabados desde el principio, incluidos los que ya se pisaron
+    public synchronized long getTotal() {
+        return total;
+    }
+
+    public synchronized long getOverwritten() {
+        return total - count;
+    }
+
+    public int getCapacity() {
+        return ticks.length;
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(names, null);
+        head = 0;
+        count = 0;
+        total = 0;
+    }
+
+    private int slot(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of " + count);
+        }
+        return (head + index) % ticks.length;
+    }
+}
@@ -1,13 +1,40 @@
 public enum Direction {
-    LEFT(180), RIGHT(0), UP(90), DOWN(270);
+    LEFT(180, -1, 0), RIGHT(0, 1, 0), UP(90, 0, -1), DOWN(270, 0, 1);
 
     private final int angle;
+    private final int dx;
+    private final int dy;
 
-    Direction(int angle) {
+    private static final Direction[] VALUES = values();
+
+    Direction(int angle, int dx, int dy) {
         this.angle = angle;
+        this.dx = dx;
+        this.dy = dy;
     }
 
     public int getAngle() {
         return angle;
     }
-}
\ No newline at end of file
+
+    public int getDx() {
+        return dx;
+    }
+
+    public int getDy() {
+        return dy;
+    }
+
+    // Bit de esta dirección en las máscaras de movimiento por celda
+    public int getMask() {
+        return 1 << ordinal();
+    }
+
+    // Inversa de ordinal() para datos externos (instantáneas); rechaza valores fuera de rango
+    public static Direction fromOrdinal(int ordinal) {
+        if (ordinal < 0 || ordinal >= VALUES.length) {
+            throw new IllegalArgumentException("Invalid direction: " + ordinal);
+        }
+        return VALUES[ordinal];
+    }
+}
@@ -0,0 +1,152 @@
+import java.awt.Rectangle;
+import java.util.Arrays;
+
+// Regiones de pantalla que han cambiado en un fotograma. Cada rectángulo nuevo se
+// fusiona con uno existente si la unión no desperdicia más de lo que cubren los dos,
+// así que los cambios cercanos (un sprite y su posición anterior) acaban en un solo
+// rectángulo y los lejanos quedan separados.
+public class DirtyRegions {
+    private Rectangle[] regions = new Rectangle[8];
+    private int count = 0;
+    private boolean full = false;
+    // Bordes para getArea(), reutilizados entre llamadas
+    private int[] xEdges = new int[0];
+    private int[] yEdges = new int[0];
+
+    public DirtyRegions() {
+        for (int i = 0; i < regions.length; i++) {
+            regions[i] = new Rectangle();
+        }
+    }
+
+    public void clear() {
+        count = 0;
+        full = false;
+    }
+
+    // Todo el componente ha cambiado (nivel nuevo, mensajes, primer fotograma)
+    public void markAll() {
+        full = true;
+    }
+
+    public boolean isFull() {
+        return full;
+    }
+
+    public boolean isEmpty() {
+        return !full && count == 0;
+    }
+
+    public void add(int x, int y, int width, int height) {
+        if (full || width <= 0 || height <= 0) {
+            return;
+        }
+        for (int i = 0; i < count; i++) {
+            Rectangle r = regions[i];
+            int minX = Math.min(r.x, x);
+            int minY = Math.min(r.y, y);
+            int maxX = Math.max(r.x + r.width, x + width);
+            int maxY = Math.max(r.y + r.height, y + height);
+            long union = (long) (maxX - minX) * (maxY - minY);
+            if (union <= (long) r.width * r.height + (long) width * height) {
+                r.setBounds(minX, minY, maxX - minX, maxY - minY);
+                mergeInto(i);
+                return;
+            }
+        }
+        if (count == regions.length) {
+            Rectangle[] grown = new Rectangle[count * 2];
+            System.arraycopy(regions, 0, grown, 0, count);
+            for (int i = count; i < grown.length; i++) {
+                grown[i] = new Rectangle();
+            }
+            regions = grown;
+        }
+        regions[count++].setBounds(x, y, width, height);
+    }
+
+    // Tras crecer, la región puede solapar a otras: se absorben hasta que no quede ninguna
+    private void mergeInto(int index) {
+        Rectangle target = regions[index];
+        boolean merged;
+        do {
+            merged = false;
+            for (int i = count - 1; i >= 0; i--) {
+                Rectangle r = regions[i];
+                if (r != target && target.intersects(r)) {
+                    target.add(r);
+                    regions[i] = regions[count - 1];
+                    regions[count - 1] = r;
+                    count--;
+                    merged = true;
+                }
+            }
+        } while (merged);
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public Rectangle get(int i) {
+        return regions[i];
+    }
+
+    // Rectángulo que contiene todas las regiones (vacío si no hay); se guarda en out
+    public Rectangle getBounds(Rectangle out) {
+        if (count == 0) {
+            out.setBounds(0, 0, 0, 0);
+            return out;
+        }
+        out.setBounds(regions[0]);
+        for (int i = 1; i < count; i++) {
+            out.add(regions[i]);
+        }
+        return out;
+    }
+
+    // Píxeles cubiertos por la unión de las regiones. Dos regiones separadas pueden solaparse
+    // (se fusionan solo si la unión no desperdicia área), así que no basta con sumarlas: se
+    // parte el plano en celdas por los bordes de las regiones y se cuentan las cubiertas.
+    public long getArea() {
+        if (xEdges.length < 2 * count) {
+            xEdges = new int[2 * regions.length];
+            yEdges = new int[2 * regions.length];
+        }
+        for (int i = 0; i < count; i++) {
+            Rectangle r = regions[i];
+            xEdges[2 * i] = r.x;
+            xEdges[2 * i + 1] = r.x + r.width;
+            yEdges[2 * i] = r.y;
+            yEdges[2 * i + 1] = r.y + r.height;
+        }
+        Arrays.sort(xEdges, 0, 2 * count);
+        Arrays.sort(yEdges, 0, 2 * count);
+        long area = 0;
+        for (int i = 0; i + 1 < 2 * count; i++) {
+            int x0 = xEdges[i];
+            int x1 = xEdges[i + 1];
+            if (x0 == x1) {
+                continue;
+            }
+            for (int j = 0; j + 1 < 2 * count; j++) {
+                int y0 = yEdges[j];
+                int y1 = yEdges[j + 1];
+                if (y0 != y1 && covers(x0, y0)) {
+                    area += (long) (x1 - x0) * (y1 - y0);
+                }
+            }
+        }
+        return area;
+    }
+
+    private boolean covers(int x, int y) {
+        for (int i = 0; i < count; i++) {
+            Rectangle r = regions[i];
+            if (x >= r.x && x < r.x + r.width && y >= r.y && y < r.y + r.height) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
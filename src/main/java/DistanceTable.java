@@ -0,0 +1,59 @@
+import java.util.stream.IntStream;
+
+// Distancias mínimas (en celdas) entre todas las parejas de celdas transitables de un
+// laberinto, con los túneles laterales incluidos. Se calcula una vez por nivel con un
+// BFS por celda de origen, en paralelo; después cada consulta es un acceso a un array.
+public final class DistanceTable {
+    public static final int UNREACHABLE = -1;
+
+    private final short[] distances = new short[Bitboard.CELLS * Bitboard.CELLS];
+
+    public DistanceTable(long[] blocked) {
+        IntStream.range(0, Bitboard.CELLS).parallel().forEach(source -> search(blocked, source));
+    }
+
+    private void search(long[] blocked, int source) {
+        int offset = source * Bitboard.CELLS;
+        for (int i = 0; i < Bitboard.CELLS; i++) {
+            distances[offset + i] = UNREACHABLE;
+        }
+        if (Bitboard.get(blocked, source)) {
+            return;
+        }
+        int[] queue = new int[Bitboard.CELLS];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = source;
+        distances[offset + source] = 0;
+        while (head < tail) {
+            int cell = queue[head++];
+            int row = cell / GameEngine.COLS;
+            int col = cell % GameEngine.COLS;
+            short next = (short) (distances[offset + cell] + 1);
+            for (Direction direction : Direction.values()) {
+                int r = row + direction.getDy();
+                if (r < 0 || r >= GameEngine.ROWS) {
+                    continue;
+                }
+                // Las columnas dan la vuelta: túneles laterales
+                int c = Math.floorMod(col + direction.getDx(), GameEngine.COLS);
+                int neighbour = Bitboard.index(r, c);
+                if (!Bitboard.get(blocked, neighbour) && distances[offset + neighbour] == UNREACHABLE) {
+                    distances[offset + neighbour] = next;
+                    queue[tail++] = neighbour;
+                }
+            }
+        }
+    }
+
+    // Distancia entre dos índices de celda (Bitboard.index), o UNREACHABLE
+    public int distance(int from, int to) {
+        return distances[from * Bitboard.CELLS + to];
+    }
+
+    // Campo de distancias de todas las celdas hacia 'target'. El grafo no es dirigido,
+    // así que es la fila de 'target' y se copia de un bloque contiguo.
+    public void copyField(int target, short[] field) {
+        System.arraycopy(distances, target * Bitboard.CELLS, field, 0, Bitboard.CELLS);
+    }
+}
@@ -1,17 +1,52 @@
 import javax.swing.JFrame;
+import java.awt.DisplayMode;
+import java.util.Arrays;
 
 public class Game extends JFrame {
+    private static final int ACTIVE_BUFFERS = 3;
+    private static final int FALLBACK_REFRESH_RATE = 60;
+
+    private ActiveRenderer activeRenderer;
+
     public Game() {
-        add(new Board());
+        this(false);
+    }
+
+    // activeRendering: dibuja en un Canvas con BufferStrategy desde un hilo propio
+    // en lugar de repaint()/paintComponent de Swing
+    public Game(boolean activeRendering) {
+        Board board = new Board();
         setTitle("Pac-Man");
         setDefaultCloseOperation(EXIT_ON_CLOSE);
-        setSize(400, 455);
+        // Redimensionable: el tablero escala sus capas al área disponible
+        setResizable(true);
+        
+        // Renderizar a la frecuencia del monitor si se conoce
+        int refreshRate = getGraphicsConfiguration().getDevice().getDisplayMode().getRefreshRate();
+        if (refreshRate == DisplayMode.REFRESH_RATE_UNKNOWN) {
+            refreshRate = FALLBACK_REFRESH_RATE;
+        }
+        if (activeRendering) {
+            activeRenderer = new ActiveRenderer(board, ACTIVE_BUFFERS, refreshRate);
+            add(activeRenderer);
+        } else {
+            board.setRenderRate(refreshRate);
+            add(board);
+        }
+        // Tamaño nativo del tablero (celdas de 20 px) más el marco de la ventana
+        pack();
         setLocationRelativeTo(null);
-        setResizable(false);
+    }
+
+    public ActiveRenderer getActiveRenderer() {
+        return activeRenderer;
     }
 
     public static void main(String[] args) {
-        Game game = new Game();
+        Game game = new Game(Arrays.asList(args).contains("--active"));
         game.setVisible(true);
+        if (game.activeRenderer != null) {
+            game.activeRenderer.requestFocusInWindow();
+        }
     }
-}
\ No newline at end of file
+}
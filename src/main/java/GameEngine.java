@@ -0,0 +1,735 @@
+import java.nio.ByteBuffer;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+// Simulación pura del juego: sin Swing, sin timers y sin diálogos.
+// Cada llamada a step() avanza un tick de TICK_MS milisegundos simulados.
+public class GameEngine implements Maze {
+    public static final int TICK_MS = 40;
+    public static final int ROWS = 20;
+    public static final int COLS = 20;
+    public static final int LEVEL_COUNT = 3;
+    public static final int DEFAULT_GHOST_COUNT = 3;
+    private static final int RESPAWN_DELAY_TICKS = 1000 / TICK_MS;
+    private static final int LEVEL_TRANSITION_TICKS = 2000 / TICK_MS;
+    private static final int CHARACTER_EDGE = Pacman.getCharacterSize() - 1;
+    private static final int SNAPSHOT_MAGIC = 0x50414331;   // "PAC1"
+    private static final int ENGINE_STATE_BYTES = 2 * Integer.BYTES + 1 + 2 * Bitboard.WORDS * Long.BYTES
+        + Integer.BYTES + 1 + Long.BYTES + Integer.BYTES + 4 * Integer.BYTES + 2 * Long.BYTES;
+
+    // 0 = empty space, 1 = wall, 2 = point, 3 = ghost house, 4 = power pellet
+    public static final int EMPTY = 0;
+    public static final int WALL = 1;
+    public static final int POINT = 2;
+    public static final int GHOST_HOUSE = 3;
+    public static final int POWER_PELLET = 4;
+
+    // Diseños y bitboards de los niveles: inmutables y compartidos por todos los motores
+    private static final int[][][] LEVELS = initLevels();
+    private static final long[][] WALL_BITS = new long[LEVEL_COUNT][];
+    private static final long[][] PACMAN_BLOCK_BITS = new long[LEVEL_COUNT][];
+    private static final long[][] GHOST_HOUSE_BITS = new long[LEVEL_COUNT][];
+    private static final long[][] POINT_BITS = new long[LEVEL_COUNT][];
+    private static final long[][] POWER_PELLET_BITS = new long[LEVEL_COUNT][];
+    // Máscaras de movimiento por celda: bit Direction.getMask() activo si la celda
+    // vecina en esa dirección es transitable. Las columnas 0 y 19 apuntan a sí mismas
+    // hacia fuera, de modo que los túneles quedan abiertos si el borde lo está.
+    private static final byte[][] PACMAN_MOVES = new byte[LEVEL_COUNT][];
+    private static final byte[][] GHOST_MOVES = new byte[LEVEL_COUNT][];
+    // Tablas de distancias para la persecución, calculadas la primera vez que se carga cada nivel
+    private static final DistanceTable[] GHOST_DISTANCES = new DistanceTable[LEVEL_COUNT];
+
+    static {
+        for (int i = 0; i < LEVEL_COUNT; i++) {
+            WALL_BITS[i] = Bitboard.fromLevel(LEVELS[i], WALL);
+            GHOST_HOUSE_BITS[i] = Bitboard.fromLevel(LEVELS[i], GHOST_HOUSE);
+            PACMAN_BLOCK_BITS[i] = Bitboard.or(WALL_BITS[i], GHOST_HOUSE_BITS[i]);
+            POINT_BITS[i] = Bitboard.fromLevel(LEVELS[i], POINT);
+            POWER_PELLET_BITS[i] = Bitboard.fromLevel(LEVELS[i], POWER_PELLET);
+            PACMAN_MOVES[i] = compileMoves(PACMAN_BLOCK_BITS[i]);
+            GHOST_MOVES[i] = compileMoves(WALL_BITS[i]);
+        }
+    }
+
+    private final int blockSize = 20;
+    private int currentLevel = 0;
+    private byte[] pacmanMoves;
+    private byte[] ghostMoves;
+    private DistanceTable ghostDistances;
+    // Campo de distancias hacia Pacman compartido por todos los fantasmas; solo se
+    // rehace cuando Pacman entra en otra celda
+    private final short[] pacmanField = new short[Bitboard.CELLS];
+    private int pacmanFieldCell = -1;
+    private long pacmanFieldUpdates = 0;
+    private final long[] points = Bitboard.create();
+    private final long[] powerPellets = Bitboard.create();
+    private int totalPoints;
+    private boolean levelComplete = false;
+    private boolean gameOver = false;
+    private boolean gameCompleted = false;
+    private Pacman pacman;
+    private Ghost[] ghosts;
+    private int[] ghostStartX;
+    private int[] ghostStartY;
+    private final int ghostCount;
+    private final SpatialHash ghostIndex;
+    // Misma semilla y mismas entradas => partida idéntica
+    private long seed;
+    private final SplitMix64 random = new SplitMix64(0);
+    private long tick = 0;
+    private int pauseTicks = 0;
+    // Estadísticas de toda la partida (la puntuación de Pacman empieza de cero en cada nivel)
+    private int carriedScore = 0;
+    private int pelletsEaten = 0;
+    private int ghostsEaten = 0;
+    private int livesLost = 0;
+    private Consumer<String> soundListener = name -> { };
+
+    public GameEngine() {
+        this(DEFAULT_GHOST_COUNT);
+    }
+
+    // Modos personalizados con enjambres de fantasmas
+    public GameEngine(int ghostCount) {
+        this(ghostCount, new SplittableRandom().nextLong());
+    }
+
+    public GameEngine(int ghostCount, long seed) {
+        if (ghostCount < 1) {
+            throw new IllegalArgumentException("At least one ghost is required");
+        }
+        this.ghostCount = ghostCount;
+        this.ghostIndex = new SpatialHash(blockSize, getBoardWidth(), getBoardHeight());
+        setSeed(seed);
+    }
+
+    // Reinicia la partida desde el primer nivel con la semilla indicada
+    public void setSeed(long seed) {
+        this.seed = seed;
+        random.setState(seed);
+        tick = 0;
+        gameOver = false;
+        gameCompleted = false;
+        carriedScore = 0;
+        pelletsEaten = 0;
+        ghostsEaten = 0;
+        livesLost = 0;
+        loadLevel(0);
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    private static int[][][] initLevels() {
+        // 3 niveles diferentes (20 filas x 20 columnas)
+        int[][][] levels = new int[LEVEL_COUNT][][];
+
+        // Nivel 1 - Diseño simple
+        int[][] level1 = {
+            {1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1},
+            {1,4,2,2,2,2,2,2,2,1,1,2,2,2,2,2,2,2,4,1},
+            {1,2,1,1,2,1,1,1,2,1,1,2,1,1,1,2,1,1,2,1},
+            {1,2,1,1,2,1,1,1,2,1,1,2,1,1,1,2,1,1,2,1},
+            {1,2,2,2,2,2,2,2,2,2,2,2,2,2,2,2,2,2,2,1},
+            {1,2,1,1,2,1,2,1,1,1,1,1,1,2,1,2,1,1,2,1},
+            {1,2,2,2,2,1,2,2,2,1,1,2,2,2,1,2,2,2,2,1},
+            {1,1,1,1,2,1,1,1,0,1,1,0,1,1,1,2,1,1,1,1},
+            {1,1,1,1,2,1,0,0,0,0,0,0,0,0,1,2,1,1,1,1},
+            {1,1,1,1,2,1,0,1,1,3,3,1,1,0,1,2,1,1,1,1},
+            {0,0,0,0,2,0,0,1,3,3,3,3,1,0,0,2,0,0,0,0},
+            {1,1,1,1,2,1,0,1,1,1,1,1,1,0,1,2,1,1,1,1},
+            {1,1,1,1,2,1,0,0,0,0,0,0,0,0,1,2,1,1,1,1},
+            {1,1,1,1,2,1,0,1,1,1,1,1,1,0,1,2,1,1,1,1},
+            {1,2,2,2,2,2,2,2,2,1,1,2,2,2,2,2,2,2,2,1},
+            {1,2,1,1,2,1,1,1,2,1,1,2,1,1,1,2,1,1,2,1},
+            {1,2,2,1,2,2,2,2,2,2,2,2,2,2,2,2,1,2,2,1},
+            {1,1,2,1,2,1,2,1,1,1,1,1,1,2,1,2,1,2,1,1},
+            {1,4,2,2,2,1,2,2,2,1,1,2,2,2,1,2,2,2,4,1},
+            {1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1}
+        };
+
+        // Nivel 2 - Diseño intermedio
+        int[][] level2 = {
+            {1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1},
+            {1,4,2,2,2,2,2,2,2,2,2,2,2,2,2,2,2,2,4,1},
+            {1,2,1,1,1,2,1,1,2,1,1,2,1,1,2,1,1,1,2,1},
+            {1,2,1,0,0,2,1,1,2,1,1,2,1,1,2,0,0,1,2,1},
+            {1,2,1,1,1,2,2,2,2,2,2,2,2,2,2,1,1,1,2,1},
+            {1,2,2,2,2,2,1,1,1,1,1,1,1,1,2,2,2,2,2,1},
+            {1,2,1,1,1,2,2,2,2,1,1,2,2,2,2,1,1,1,2,1},
+            {1,2,1,1,1,1,1,1,2,1,1,2,1,1,1,1,1,1,2,1},
+            {1,2,2,2,2,2,2,2,2,1,1,2,2,2,2,2,2,2,2,1},
+            {1,1,1,2,1,1,1,1,0,3,3,0,1,1,1,2,1,1,1,1},
+            {1,1,1,2,1,0,0,0,3,3,3,3,0,0,1,2,1,1,1,1},
+            {1,2,2,2,2,2,2,2,2,1,1,2,2,2,2,2,2,2,2,1},
+            {1,2,1,1,1,1,1,1,2,1,1,2,1,1,1,1,1,1,2,1},
+            {1,2,1,1,1,2,2,2,2,1,1,2,2,2,2,1,1,1,2,1},
+            {1,2,2,2,2,2,1,1,1,1,1,1,1,1,2,2,2,2,2,1},
+            {1,2,1,1,1,2,2,2,2,2,2,2,2,2,2,1,1,1,2,1},
+            {1,2,1,0,0,2,1,1,2,1,1,2,1,1,2,0,0,1,2,1},
+            {1,2,1,1,1,2,1,1,2,1,1,2,1,1,2,1,1,1,2,1},
+            {1,4,2,2,2,2,2,2,2,2,2,2,2,2,2,2,2,2,4,1},
+            {1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1}
+        };
+
+        // Nivel 3 - Diseño avanzado
+        int[][] level3 = {
+            {1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1},
+            {1,4,2,2,2,2,2,2,2,1,1,2,2,2,2,2,2,2,4,1},
+            {1,2,1,1,1,1,1,1,2,1,1,2,1,1,1,1,1,1,2,1},
+            {1,2,1,0,0,0,0,1,2,1,1,2,1,0,0,0,0,1,2,1},
+            {1,2,1,0,1,1,0,1,2,1,1,2,1,0,1,1,0,1,2,1},
+            {1,2,1,0,1,1,0,1,2,2,2,2,1,0,1,1,0,1,2,1},
+            {1,2,2,2,1,1,2,2,2,1,1,2,2,2,1,1,2,2,2,1},
+            {1,1,1,2,1,1,2,1,1,1,1,1,1,2,1,1,2,1,1,1},
+            {0,0,1,2,2,2,2,1,0,3,3,0,1,2,2,2,2,1,0,0},
+            {1,1,1,2,1,1,2,1,0,3,3,0,1,2,1,1,2,1,1,1},
+            {0,0,0,2,1,1,2,0,0,3,3,0,0,2,1,1,2,0,0,0},
+            {1,1,1,2,1,1,2,1,1,1,1,1,1,2,1,1,2,1,1,1},
+            {1,2,2,2,1,1,2,2,2,1,1,2,2,2,1,1,2,2,2,1},
+            {1,2,1,0,1,1,0,1,2,2,2,2,1,0,1,1,0,1,2,1},
+            {1,2,1,0,1,1,0,1,2,1,1,2,1,0,1,1,0,1,2,1},
+            {1,2,1,0,0,0,0,1,2,1,1,2,1,0,0,0,0,1,2,1},
+            {1,2,1,1,1,1,1,1,2,1,1,2,1,1,1,1,1,1,2,1},
+            {1,2,2,2,2,2,2,2,2,1,1,2,2,2,2,2,2,2,2,1},
+            {1,4,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,4,1},
+            {1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1}
+        };
+
+        levels[0] = level1;
+        levels[1] = level2;
+        levels[2] = level3;
+        return levels;
+    }
+
+    private static byte[] compileMoves(long[] blocked) {
+        byte[] moves = new byte[Bitboard.CELLS];
+        for (int row = 0; row < ROWS; row++) {
+            for (int col = 0; col < COLS; col++) {
+                int mask = 0;
+                for (Direction direction : Direction.values()) {
+                    int nextRow = row + direction.getDy();
+                    int nextCol = clampCol(col + direction.getDx());
+                    if (nextRow >= 0 && nextRow < ROWS && !Bitboard.get(blocked, Bitboard.index(nextRow, nextCol))) {
+                        mask |= direction.getMask();
+                    }
+                }
+                moves[Bitboard.index(row, col)] = (byte) mask;
+            }
+        }
+        return moves;
+    }
+
+    static synchronized DistanceTable ghostDistances(int level) {
+        if (GHOST_DISTANCES[level] == null) {
+            GHOST_DISTANCES[level] = new DistanceTable(WALL_BITS[level]);
+        }
+        return GHOST_DISTANCES[level];
+    }
+
+    private static int clampCol(int col) {
+        return col < 0 ? 0 : (col >= COLS ? COLS - 1 : col);
+    }
+
+    void loadLevel(int levelIndex) {
+        currentLevel = levelIndex;
+        pacmanMoves = PACMAN_MOVES[levelIndex];
+        ghostMoves = GHOST_MOVES[levelIndex];
+        ghostDistances = ghostDistances(levelIndex);
+        pacmanFieldCell = -1;
+        levelComplete = false;
+        pauseTicks = 0;
+
+        // Inicializar puntos y power pellets con una copia de los bitboards del nivel
+        Bitboard.copy(POINT_BITS[levelIndex], points);
+        Bitboard.copy(POWER_PELLET_BITS[levelIndex], powerPellets);
+        totalPoints = getPelletsLeft();
+
+        // Posicionar Pacman en un lugar seguro del nivel
+        pacman = new Pacman(blockSize * 1, blockSize * 1, this);
+        pacman.setClock(this::getElapsedMillis);
+
+        // Posicionar fantasmas en las tres celdas de salida de la casa
+        int[] houseX = {blockSize * 9, blockSize * 10, blockSize * 9};
+        int[] houseY = {blockSize * 9, blockSize * 9, blockSize * 10};
+        ghostStartX = new int[ghostCount];
+        ghostStartY = new int[ghostCount];
+        ghosts = new Ghost[ghostCount];
+        ghostIndex.reset(ghostCount);
+        for (int i = 0; i < ghostCount; i++) {
+            ghostStartX[i] = houseX[i % houseX.length];
+            ghostStartY[i] = houseY[i % houseY.length];
+            ghosts[i] = new Ghost(ghostStartX[i], ghostStartY[i], i, this,
+                random.split());
+            ghostIndex.update(i, ghostStartX[i], ghostStartY[i]);
+        }
+    }
+
+    public void step() {
+        tick++;
+        if (gameOver || gameCompleted) {
+            holdCharacters();
+            return;
+        }
+
+        // Pausa tras perder una vida o completar un nivel
+        if (pauseTicks > 0) {
+            holdCharacters();
+            pauseTicks--;
+            if (pauseTicks == 0 && levelComplete) {
+                advanceLevel();
+            }
+            return;
+        }
+
+        pacman.move();
+        for (int i = 0; i < ghosts.length; i++) {
+            ghosts[i].move();
+            ghostIndex.update(i, ghosts[i].getX(), ghosts[i].getY());
+        }
+
+        // Update ghost frightened state based on power-up
+        if (!pacman.isPoweredUp()) {
+            for (Ghost ghost : ghosts) {
+                ghost.setFrightened(false);
+            }
+        }
+
+        checkCollisions();
+    }
+
+    private void holdCharacters() {
+        pacman.hold();
+        for (Ghost ghost : ghosts) {
+            ghost.hold();
+        }
+    }
+
+    private void advanceLevel() {
+        if (currentLevel < LEVEL_COUNT - 1) {
+            carriedScore += pacman.getScore();
+            loadLevel(currentLevel + 1);
+        } else {
+            // Juego completado
+            gameCompleted = true;
+        }
+    }
+
+    void checkLevelCompletion() {
+        if (getPelletsLeft() == 0) {
+            levelComplete = true;
+            pauseTicks = LEVEL_TRANSITION_TICKS;
+            soundListener.accept("level_complete");
+        }
+    }
+
+    void checkCollisions() {
+        // Verificar colisión con puntos
+        int pacRow = pacman.getY() / blockSize;
+        int pacCol = pacman.getX() / blockSize;
+
+        if (pacRow >= 0 && pacRow < ROWS && pacCol >= 0 && pacCol < COLS) {
+            int cell = Bitboard.index(pacRow, pacCol);
+            if (Bitboard.get(points, cell)) {
+                Bitboard.clear(points, cell);
+                pelletsEaten++;
+                pacman.addScore(10);
+                soundListener.accept("eat_dot");
+                checkLevelCompletion();
+            }
+
+            // Verificar colisión con power pellets
+            if (Bitboard.get(powerPellets, cell)) {
+                Bitboard.clear(powerPellets, cell);
+                pelletsEaten++;
+                pacman.addScore(50);
+                soundListener.accept("eat_power");
+
+                // Activar power-up
+                pacman.activatePowerUp();
+                for (Ghost ghost : ghosts) {
+                    ghost.setFrightened(true);
+                }
+
+                checkLevelCompletion();
+            }
+        }
+
+        // Verificar colisión con fantasmas: solo los de las celdas vecinas a Pacman
+        int characterSize = Pacman.getCharacterSize();
+        int nearbyCount = ghostIndex.query(pacman.getX() - characterSize + 1, pacman.getY() - characterSize + 1,
+            pacman.getX() + characterSize - 1, pacman.getY() + characterSize - 1);
+        int[] nearby = ghostIndex.getResults();
+        for (int i = 0; i < nearbyCount; i++) {
+            Ghost ghost = ghosts[nearby[i]];
+            if (Math.abs(pacman.getX() - ghost.getX()) < characterSize &&
+                Math.abs(pacman.getY() - ghost.getY()) < characterSize) {
+                if (ghost.isFrightened()) {
+                    // Pacman come al fantasma cuando está asustado
+                    pacman.addScore(200);
+                    ghostsEaten++;
+                    ghost.sendToStart();
+                    soundListener.accept("eat_ghost");
+                } else if (!ghost.isReturning()) {
+                    // Fantasma atrapa a Pacman (solo si no está regresando al inicio)
+                    handlePacmanCaught();
+                    break;
+                }
+            }
+        }
+    }
+
+    void handlePacmanCaught() {
+        pacman.loseLife();
+        livesLost++;
+        soundListener.accept("death");
+
+        if (pacman.getLives() <= 0) {
+            // Game Over
+            gameOver = true;
+        } else {
+            // Resetear posiciones pero mantener el progreso
+            pacman.resetPosition();
+            for (int i = 0; i < ghosts.length; i++) {
+                placeGhost(i, ghostStartX[i], ghostStartY[i]);
+                // Reset ghost states when respawning
+                ghosts[i].setFrightened(false);
+            }
+
+            // Pausar brevemente antes de continuar
+            pauseTicks = RESPAWN_DELAY_TICKS;
+        }
+    }
+
+    // Tamaño en bytes de una instantánea de este motor
+    public int getSnapshotSize() {
+        return ENGINE_STATE_BYTES + Pacman.STATE_BYTES + ghostCount * Ghost.STATE_BYTES;
+    }
+
+    public byte[] snapshot() {
+        byte[] data = new byte[getSnapshotSize()];
+        saveState(ByteBuffer.wrap(data));
+        return data;
+    }
+
+    public void restore(byte[] data) {
+        restoreState(ByteBuffer.wrap(data));
+    }
+
+    // Escribe el estado completo de la partida (niveles, puntos, personajes y
+    // generadores) a partir de la posición actual del buffer, sin reservar memoria.
+    public void saveState(ByteBuffer buffer) {
+        buffer.putInt(SNAPSHOT_MAGIC).putInt(ghostCount);
+        buffer.put((byte) currentLevel);
+        for (int i = 0; i < Bitboard.WORDS; i++) {
+            buffer.putLong(points[i]);
+        }
+        for (int i = 0; i < Bitboard.WORDS; i++) {
+            buffer.putLong(powerPellets[i]);
+        }
+        buffer.putInt(totalPoints);
+        buffer.put((byte) ((levelComplete ? 1 : 0) | (gameOver ? 2 : 0) | (gameCompleted ? 4 : 0)));
+        buffer.putLong(tick).putInt(pauseTicks);
+        buffer.putInt(carriedScore).putInt(pelletsEaten).putInt(ghostsEaten).putInt(livesLost);
+        buffer.putLong(seed).putLong(random.getState());
+        pacman.writeState(buffer);
+        for (Ghost ghost : ghosts) {
+            ghost.writeState(buffer);
+        }
+    }
+
+    // Restaura una instantánea de saveState(); el motor debe tener el mismo número de fantasmas.
+    // Se valida entera (con lecturas absolutas) antes de escribir nada: si es inválida el
+    // motor queda como estaba.
+    public void restoreState(ByteBuffer buffer) {
+        int start = buffer.position();
+        if (buffer.remaining() < getSnapshotSize()) {
+            throw new IllegalArgumentException("Truncated game snapshot");
+        }
+        if (buffer.getInt(start) != SNAPSHOT_MAGIC) {
+            throw new IllegalArgumentException("Not a game snapshot");
+        }
+        if (buffer.getInt(start + Integer.BYTES) != ghostCount) {
+            throw new IllegalArgumentException("Snapshot has a different number of ghosts");
+        }
+        int level = buffer.get(start + 2 * Integer.BYTES);
+        if (level < 0 || level >= LEVEL_COUNT) {
+            throw new IllegalArgumentException("Invalid level in snapshot: " + level);
+        }
+        int offset = start + ENGINE_STATE_BYTES;
+        Pacman.checkState(buffer, offset);
+        offset += Pacman.STATE_BYTES;
+        for (int i = 0; i < ghostCount; i++) {
+            Ghost.checkState(buffer, offset);
+            offset += Ghost.STATE_BYTES;
+        }
+
+        buffer.position(start + 2 * Integer.BYTES + 1);
+        currentLevel = level;
+        pacmanMoves = PACMAN_MOVES[level];
+        ghostMoves = GHOST_MOVES[level];
+        ghostDistances = ghostDistances(level);
+        pacmanFieldCell = -1;
+        for (int i = 0; i < Bitboard.WORDS; i++) {
+            points[i] = buffer.getLong();
+        }
+        for (int i = 0; i < Bitboard.WORDS; i++) {
+            powerPellets[i] = buffer.getLong();
+        }
+        totalPoints = buffer.getInt();
+        int flags = buffer.get();
+        levelComplete = (flags & 1) != 0;
+        gameOver = (flags & 2) != 0;
+        gameCompleted = (flags & 4) != 0;
+        tick = buffer.getLong();
+        pauseTicks = buffer.getInt();
+        carriedScore = buffer.getInt();
+        pelletsEaten = buffer.getInt();
+        ghostsEaten = buffer.getInt();
+        livesLost = buffer.getInt();
+        seed = buffer.getLong();
+        random.setState(buffer.getLong());
+        pacman.readState(buffer);
+        for (int i = 0; i < ghostCount; i++) {
+            ghosts[i].readState(buffer);
+            ghostIndex.update(i, ghosts[i].getX(), ghosts[i].getY());
+        }
+    }
+
+    // Cambia el azar futuro de la partida (el de cada fantasma y el que se reparte a los de
+    // niveles nuevos) por valores sacados de source; el resto del estado no se toca. Sirve
+    // para simular desde una instantánea sin conocer los próximos movimientos de los fantasmas.
+    void reseed(SplitMix64 source) {
+        random.setState(source.nextLong());
+        for (Ghost ghost : ghosts) {
+            ghost.reseed(source.nextLong());
+        }
+    }
+
+    void placeGhost(int index, int x, int y) {
+        ghosts[index].resetPosition(x, y);
+        ghostIndex.update(index, x, y);
+    }
+
+    @Override
+    public boolean isWall(int x, int y) {
+        return isBlocked(WALL_BITS[currentLevel], x, y);
+    }
+
+    @Override
+    public boolean isWallForPacman(int x, int y) {
+        // Pacman cannot enter walls or ghost house
+        return isBlocked(PACMAN_BLOCK_BITS[currentLevel], x, y);
+    }
+
+    @Override
+    public boolean canPacmanMove(int x, int y, Direction direction, int speed) {
+        return canMove(pacmanMoves, x, y, direction, speed);
+    }
+
+    @Override
+    public boolean canGhostMove(int x, int y, Direction direction, int speed) {
+        return canMove(ghostMoves, x, y, direction, speed);
+    }
+
+    @Override
+    public int distanceToPacman(int x, int y) {
+        int from = nearestCell(x, y);
+        if (from < 0 || !updatePacmanField()) {
+            return DistanceTable.UNREACHABLE;
+        }
+        return pacmanField[from];
+    }
+
+    // Rehace el campo si Pacman ha cambiado de celda; false si está fuera del laberinto
+    private boolean updatePacmanField() {
+        int cell = nearestCell(pacman.getX(), pacman.getY());
+        if (cell < 0) {
+            return false;
+        }
+        if (cell != pacmanFieldCell) {
+            ghostDistances.copyField(cell, pacmanField);
+            pacmanFieldCell = cell;
+            pacmanFieldUpdates++;
+        }
+        return true;
+    }
+
+    long getPacmanFieldUpdates() {
+        return pacmanFieldUpdates;
+    }
+
+    // Celda cuyo origen está más cerca de (x, y); las columnas dan la vuelta por los túneles
+    private int nearestCell(int x, int y) {
+        int row = Math.floorDiv(y + blockSize / 2, blockSize);
+        if (row < 0 || row >= ROWS) {
+            return -1;
+        }
+        int col = Math.floorMod(Math.floorDiv(x + blockSize / 2, blockSize), COLS);
+        return Bitboard.index(row, col);
+    }
+
+    // Equivale a comprobar las cuatro esquinas de la caja en la posición nueva, partiendo
+    // de una posición válida: solo el borde delantero puede entrar en celdas nuevas, y
+    // como speed < blockSize como mucho entra en la fila/columna vecina.
+    private boolean canMove(byte[] moves, int x, int y, Direction direction, int speed) {
+        int edge = CHARACTER_EDGE;
+        int mask = direction.getMask();
+        if (direction.getDx() != 0) {
+            int top = Math.floorDiv(y, blockSize);
+            int bottom = Math.floorDiv(y + edge, blockSize);
+            if (top < 0 || bottom >= ROWS) {
+                return false;
+            }
+            int lead = direction.getDx() < 0 ? x : x + edge;
+            int col = clampCol(Math.floorDiv(lead, blockSize));
+            if (clampCol(Math.floorDiv(lead + direction.getDx() * speed, blockSize)) == col) {
+                return true;
+            }
+            return (moves[Bitboard.index(top, col)] & mask) != 0
+                && (moves[Bitboard.index(bottom, col)] & mask) != 0;
+        }
+
+        int lead = direction.getDy() < 0 ? y : y + edge;
+        int row = Math.floorDiv(lead, blockSize);
+        if (row < 0 || row >= ROWS) {
+            return false;
+        }
+        if (Math.floorDiv(lead + direction.getDy() * speed, blockSize) == row) {
+            return true;
+        }
+        int left = clampCol(Math.floorDiv(x, blockSize));
+        int right = clampCol(Math.floorDiv(x + edge, blockSize));
+        return (moves[Bitboard.index(row, left)] & mask) != 0
+            && (moves[Bitboard.index(row, right)] & mask) != 0;
+    }
+
+    private boolean isBlocked(long[] blocked, int x, int y) {
+        int row = y / blockSize;
+        int col = x / blockSize;
+
+        // Verificar límites verticales
+        if (row < 0 || row >= ROWS) {
+            return true;
+        }
+
+        // Fuera de los límites horizontales solo se puede pasar por los túneles:
+        // se comprueba la columna del borde correspondiente (0 o 19), que nunca es casa de fantasmas
+        if (col < 0) {
+            col = 0;
+        } else if (col >= COLS) {
+            col = COLS - 1;
+        }
+
+        return Bitboard.get(blocked, Bitboard.index(row, col));
+    }
+
+    @Override
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    @Override
+    public int getBoardWidth() {
+        return COLS * blockSize;
+    }
+
+    @Override
+    public int getBoardHeight() {
+        return ROWS * blockSize;
+    }
+
+    public void setSoundListener(Consumer<String> soundListener) {
+        this.soundListener = soundListener;
+    }
+
+    public int getCell(int row, int col) {
+        return LEVELS[currentLevel][row][col];
+    }
+
+    public boolean hasPoint(int row, int col) {
+        return Bitboard.get(points, Bitboard.index(row, col));
+    }
+
+    public boolean hasPowerPellet(int row, int col) {
+        return Bitboard.get(powerPellets, Bitboard.index(row, col));
+    }
+
+    // Palabra i del bitboard de puntos / power pellets (para capas de render incrementales)
+    public long getPointWord(int i) {
+        return points[i];
+    }
+
+    public long getPowerPelletWord(int i) {
+        return powerPellets[i];
+    }
+
+    public int getPelletsLeft() {
+        return Bitboard.count(points) + Bitboard.count(powerPellets);
+    }
+
+    public Pacman getPacman() {
+        return pacman;
+    }
+
+    public Ghost[] getGhosts() {
+        return ghosts;
+    }
+
+    public int getCurrentLevel() {
+        return currentLevel;
+    }
+
+    public int getTotalPoints() {
+        return totalPoints;
+    }
+
+    public int getCollectedPoints() {
+        return totalPoints - getPelletsLeft();
+    }
+
+    public int getTotalScore() {
+        return carriedScore + pacman.getScore();
+    }
+
+    public int getPelletsEaten() {
+        return pelletsEaten;
+    }
+
+    public int getGhostsEaten() {
+        return ghostsEaten;
+    }
+
+    public int getLivesLost() {
+        return livesLost;
+    }
+
+    public boolean isFinished() {
+        return gameOver || gameCompleted;
+    }
+
+    public boolean isLevelComplete() {
+        return levelComplete;
+    }
+
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    public boolean isGameCompleted() {
+        return gameCompleted;
+    }
+
+    public boolean isPaused() {
+        return pauseTicks > 0;
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    public long getElapsedMillis() {
+        return tick * TICK_MS;
+    }
+}
@@ -0,0 +1,91 @@
+// Bucle de paso fijo con acumulador: la lógica avanza siempre en pasos de
+// stepNanos, independientemente de la frecuencia con la que se renderiza.
+public class GameLoop {
+    // Evita la "espiral de la muerte" tras una pausa larga (depurador, suspensión)
+    private static final long MAX_FRAME_NANOS = 250_000_000L;
+
+    private final Runnable step;
+    private final long stepNanos;
+    private long lastTime = -1;
+    private long accumulator = 0;
+    private long totalSteps = 0;
+    private long renderedFrames = 0;
+    private long droppedFrames = 0;
+
+    public GameLoop(Runnable step, long stepNanos) {
+        if (stepNanos <= 0) {
+            throw new IllegalArgumentException("stepNanos must be positive");
+        }
+        this.step = step;
+        this.stepNanos = stepNanos;
+    }
+
+    // Ejecuta todos los pasos pendientes hasta 'now' y devuelve cuántos se ejecutaron.
+    // Si el renderizado va retrasado se ejecutan varios pasos seguidos: se pierden
+    // fotogramas pero la velocidad del juego no cambia.
+    public int advance(long now) {
+        if (lastTime < 0) {
+            lastTime = now;
+            return 0;
+        }
+
+        long frameTime = now - lastTime;
+        lastTime = now;
+        if (frameTime > MAX_FRAME_NANOS) {
+            frameTime = MAX_FRAME_NANOS;
+        } else if (frameTime < 0) {
+            frameTime = 0;
+        }
+        accumulator += frameTime;
+
+        int steps = 0;
+        while (accumulator >= stepNanos) {
+            step.run();
+            accumulator -= stepNanos;
+            steps++;
+        }
+
+        totalSteps += steps;
+        renderedFrames++;
+        if (steps > 1) {
+            droppedFrames += steps - 1;
+        }
+        return steps;
+    }
+
+    // Fracción del siguiente paso ya transcurrida, en [0, 1)
+    public double getAlpha() {
+        return (double) accumulator / stepNanos;
+    }
+
+    public void reset() {
+        lastTime = -1;
+        accumulator = 0;
+    }
+
+    public long getStepNanos() {
+        return stepNanos;
+    }
+
+    public long getTotalSteps() {
+        return totalSteps;
+    }
+
+    public long getRenderedFrames() {
+        return renderedFrames;
+    }
+
+    public long getDroppedFrames() {
+        return droppedFrames;
+    }
+
+    // Interpola una coordenada entre dos ticks; los saltos mayores que maxJump
+    // (túneles, reaparición) se dibujan directamente en la posición nueva.
+    public static int interpolate(int previous, int current, double alpha, int maxJump) {
+        int delta = current - previous;
+        if (delta > maxJump || delta < -maxJump) {
+            return current;
+        }
+        return previous + (int) Math.round(delta * alpha);
+    }
+}
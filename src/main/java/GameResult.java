@@ -0,0 +1,92 @@
+// Resultado de una partida simulada, tal y como lo recibe el sumidero del BatchRunner
+public final class GameResult {
+    public static final String CSV_HEADER = "seed,score,livesLost,ticks,pelletsEaten,ghostsEaten,level,completed";
+
+    private final long seed;
+    private final int score;
+    private final int livesLost;
+    private final long ticks;
+    private final int pelletsEaten;
+    private final int ghostsEaten;
+    private final int level;
+    private final boolean completed;
+
+    public GameResult(long seed, int score, int livesLost, long ticks, int pelletsEaten,
+                      int ghostsEaten, int level, boolean completed) {
+        this.seed = seed;
+        this.score = score;
+        this.livesLost = livesLost;
+        this.ticks = ticks;
+        this.pelletsEaten = pelletsEaten;
+        this.ghostsEaten = ghostsEaten;
+        this.level = level;
+        this.completed = completed;
+    }
+
+    static GameResult of(GameEngine game) {
+        return new GameResult(game.getSeed(), game.getTotalScore(), game.getLivesLost(), game.getTick(),
+            game.getPelletsEaten(), game.getGhostsEaten(), game.getCurrentLevel() + 1, game.isGameCompleted());
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getLivesLost() {
+        return livesLost;
+    }
+
+    public long getTicks() {
+        return ticks;
+    }
+
+    public int getPelletsEaten() {
+        return pelletsEaten;
+    }
+
+    public int getGhostsEaten() {
+        return ghostsEaten;
+    }
+
+    // Nivel alcanzado, empezando en 1
+    public int getLevel() {
+        return level;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public String toCsv() {
+        return seed + "," + score + "," + livesLost + "," + ticks + "," + pelletsEaten + ","
+            + ghostsEaten + "," + level + "," + completed;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof GameResult)) {
+            return false;
+        }
+        GameResult that = (GameResult) other;
+        return seed == that.seed && score == that.score && livesLost == that.livesLost
+            && ticks == that.ticks && pelletsEaten == that.pelletsEaten
+            && ghostsEaten == that.ghostsEaten && level == that.level && completed == that.completed;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(seed) * 31 + score;
+    }
+
+    @Override
+    public String toString() {
+        return "GameResult[" + toCsv() + "]";
+    }
+}
@@ -1,67 +1,66 @@
-import java.awt.*;
-import java.util.Random;
+import java.nio.ByteBuffer;
 
 public class Ghost {
-    private static final int HALF_CIRCLE_DEGREES = 180;
     private static final int FRIGHTENED_SPEED = 2;
     private static final int NORMAL_SPEED = 4;
     private static final int RETURNING_DURATION_FRAMES = 50;
+    // En cada cruce persigue (o huye si está asustado) 3 de cada 4 veces; el resto elige al azar
+    private static final int CHASE_ODDS = 4;
     
     private int x, y;
+    private int prevX, prevY;
     private int startX, startY;
     private Direction direction;
-    private Color color;
-    private Random random = new Random();
-    private Board board;
+    // Posición en la paleta de colores del render (el motor no conoce los colores)
+    private final int colorIndex;
+    private final SplitMix64 random;
+    private Maze board;
     private boolean frightened = false;
     private boolean returning = false;
     private int returningTimer = 0;
 
-    public Ghost(int x, int y, Color color, Board board) {
+    public Ghost(int x, int y, int colorIndex, Maze board) {
+        this(x, y, colorIndex, board, new SplitMix64());
+    }
+
+    // Generador propio sin sincronizar; el motor lo deriva de la semilla de la partida
+    public Ghost(int x, int y, int colorIndex, Maze board, SplitMix64 random) {
+        this.random = random;
         this.x = x;
         this.y = y;
+        this.prevX = x;
+        this.prevY = y;
         this.startX = x;
         this.startY = y;
-        this.color = color;
+        this.colorIndex = colorIndex;
         this.board = board;
         this.direction = Direction.values()[random.nextInt(4)];
     }
 
-    public void draw(Graphics g, int yOffset) {
-        // Use blue color when frightened, otherwise use normal color
-        Color drawColor = (frightened && !returning) ? Color.BLUE : color;
-        g.setColor(drawColor);
-        int size = Pacman.getCharacterSize();
-        int adjustedY = y + yOffset;
-        
-        // Draw ghost shape: rounded top + wavy bottom
-        // Draw the rounded top part (semi-circle)
-        g.fillArc(x, adjustedY, size, size, 0, HALF_CIRCLE_DEGREES);
-        
-        // Draw the body rectangle
-        g.fillRect(x, adjustedY + size/2, size, size/2);
-        
-        // Draw wavy bottom (3 small arcs for the wave effect)
-        int waveWidth = size / 3;
-        for (int i = 0; i < 3; i++) {
-            g.fillArc(x + i * waveWidth, adjustedY + size - waveWidth/2, waveWidth, waveWidth/2, HALF_CIRCLE_DEGREES, HALF_CIRCLE_DEGREES);
-        }
-        
-        // Draw eyes
-        g.setColor(Color.WHITE);
-        int eyeSize = size / 5;
-        int eyeY = adjustedY + size / 3;
-        g.fillOval(x + size/4 - eyeSize/2, eyeY, eyeSize, eyeSize);
-        g.fillOval(x + 3*size/4 - eyeSize/2, eyeY, eyeSize, eyeSize);
-        
-        // Draw pupils
-        g.setColor(Color.BLACK);
-        int pupilSize = eyeSize / 2;
-        g.fillOval(x + size/4 - pupilSize/2, eyeY + pupilSize/2, pupilSize, pupilSize);
-        g.fillOval(x + 3*size/4 - pupilSize/2, eyeY + pupilSize/2, pupilSize, pupilSize);
+    public int getColorIndex() {
+        return colorIndex;
+    }
+
+    // alpha: fracción entre el tick anterior y el actual (interpolación de render)
+    public int getRenderX(double alpha) {
+        return GameLoop.interpolate(prevX, x, alpha, board.getBlockSize());
+    }
+
+    public int getRenderY(double alpha) {
+        return GameLoop.interpolate(prevY, y, alpha, board.getBlockSize());
+    }
+
+    // Tick sin movimiento (pausas, fin de partida): la posición anterior pasa a ser la
+    // actual para que la interpolación de render no oscile entre las dos
+    public void hold() {
+        prevX = x;
+        prevY = y;
     }
 
     public void move() {
+        prevX = x;
+        prevY = y;
+        
         // If returning to start, handle countdown
         if (returning) {
             returningTimer--;
@@ -74,13 +73,18 @@ public class Ghost {
             return; // Don't move while returning countdown
         }
         
-        if (random.nextInt(10) == 0) {
-            direction = Direction.values()[random.nextInt(4)];
+        int blockSize = board.getBlockSize();
+        if (x % blockSize == 0 && y % blockSize == 0) {
+            direction = chooseDirection(blockSize);
         }
         
         int newX = x;
         int newY = y;
         int speed = frightened ? FRIGHTENED_SPEED : NORMAL_SPEED; // Slower when frightened
+        if (speed == NORMAL_SPEED && (x % NORMAL_SPEED != 0 || y % NORMAL_SPEED != 0)) {
+            // Tras ir asustado a media velocidad, volver a la rejilla de 4 px para pasar por los centros
+            speed = FRIGHTENED_SPEED;
+        }
         
         switch (direction) {
             case LEFT: newX -= speed; break;
@@ -90,11 +94,7 @@ public class Ghost {
         }
         
         // Verificar colisión con paredes
-        int edge = Pacman.getCharacterSize() - 1;
-        if (!board.isWall(newX, newY) && 
-            !board.isWall(newX + edge, newY) && 
-            !board.isWall(newX, newY + edge) && 
-            !board.isWall(newX + edge, newY + edge)) {
+        if (board.canGhostMove(x, y, direction, speed)) {
             x = newX;
             y = newY;
         } else {
@@ -104,7 +104,6 @@ public class Ghost {
         
         // Teletransporte en los túneles laterales
         int boardWidth = board.getBoardWidth();
-        int blockSize = board.getBlockSize();
         
         if (x < -blockSize) {
             x = boardWidth - blockSize;
@@ -118,9 +117,51 @@ public class Ghost {
         if (y > maxY) y = maxY;
     }
     
+    // En el centro de una celda: la salida que acerca a Pacman (o aleja, si está asustado)
+    // según la tabla de distancias del laberinto. Sin media vuelta salvo en callejones.
+    private Direction chooseDirection(int blockSize) {
+        boolean chase = random.nextInt(CHASE_ODDS) != 0;
+        Direction best = null;
+        int bestScore = Integer.MAX_VALUE;
+        int ties = 0;
+        for (Direction candidate : Direction.values()) {
+            if (candidate.getDx() == -direction.getDx() && candidate.getDy() == -direction.getDy()) {
+                continue;
+            }
+            if (!board.canGhostMove(x, y, candidate, blockSize / 2)) {
+                continue;
+            }
+            int score = 0;
+            if (chase) {
+                int distance = board.distanceToPacman(x + candidate.getDx() * blockSize,
+                    y + candidate.getDy() * blockSize);
+                score = distance < 0 ? Integer.MAX_VALUE - 1 : (frightened ? -distance : distance);
+            }
+            // Empates resueltos al azar (muestreo de reservorio)
+            if (score < bestScore) {
+                best = candidate;
+                bestScore = score;
+                ties = 1;
+            } else if (score == bestScore && random.nextInt(++ties) == 0) {
+                best = candidate;
+            }
+        }
+        if (best == null) {
+            // Callejón sin salida: dar media vuelta
+            for (Direction candidate : Direction.values()) {
+                if (candidate.getDx() == -direction.getDx() && candidate.getDy() == -direction.getDy()) {
+                    return candidate;
+                }
+            }
+        }
+        return best;
+    }
+
     public void resetPosition(int x, int y) {
         this.x = x;
         this.y = y;
+        this.prevX = x;
+        this.prevY = y;
         // Reset returning state when position is reset
         this.returning = false;
         this.returningTimer = 0;
@@ -150,4 +191,41 @@ public class Ghost {
         returning = true;
         returningTimer = RETURNING_DURATION_FRAMES; // About 2 seconds (depends on Board timer interval)
     }
-}
\ No newline at end of file
+
+    // Instantánea binaria: posición, dirección, estado y generador (STATE_BYTES bytes)
+    static final int STATE_BYTES = 4 * Short.BYTES + 2 + Integer.BYTES + Long.BYTES;
+
+    void writeState(ByteBuffer buffer) {
+        buffer.putShort((short) x).putShort((short) y).putShort((short) prevX).putShort((short) prevY);
+        buffer.put((byte) direction.ordinal());
+        buffer.put((byte) ((frightened ? 1 : 0) | (returning ? 2 : 0)));
+        buffer.putInt(returningTimer);
+        buffer.putLong(random.getState());
+    }
+
+    // Valida sin moverse la instantánea que empieza en offset; readState() ya no puede fallar
+    static void checkState(ByteBuffer buffer, int offset) {
+        Direction.fromOrdinal(buffer.get(offset + 4 * Short.BYTES));
+    }
+
+    void readState(ByteBuffer buffer) {
+        x = buffer.getShort();
+        y = buffer.getShort();
+        prevX = buffer.getShort();
+        prevY = buffer.getShort();
+        direction = Direction.fromOrdinal(buffer.get());
+        int flags = buffer.get();
+        frightened = (flags & 1) != 0;
+        returning = (flags & 2) != 0;
+        returningTimer = buffer.getInt();
+        random.setState(buffer.getLong());
+    }
+
+    void reseed(long state) {
+        random.setState(state);
+    }
+
+    public Direction getDirection() {
+        return direction;
+    }
+}
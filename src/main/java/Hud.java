@@ -0,0 +1,62 @@
+import java.awt.*;
+
+// Textos superpuestos al tablero: panel de estado (vidas, puntos, nivel y power-up)
+// y cartel de nivel completado. Lo comparten Board y el render por software.
+public class Hud {
+    private static final Color STATUS_PANEL_COLOR = new Color(20, 20, 20);
+    private static final Font HUD_FONT = new Font("Arial", Font.BOLD, 12);
+    private static final Font BANNER_FONT = new Font("Arial", Font.BOLD, 30);
+    static final int BANNER_X = 50;
+    static final int BANNER_Y = 200;
+
+    // Textos maquetados una vez y reutilizados mientras su número no cambie
+    private final HudText livesText = new HudText(HUD_FONT, "Vidas: ", "");
+    private final HudText scoreText = new HudText(HUD_FONT, "Puntos: ", "");
+    private final HudText levelText = new HudText(HUD_FONT, "Nivel: ", "");
+    private final HudText powerText = new HudText(HUD_FONT, "Power: ", "s");
+    private final HudText levelCompleteText = new HudText(BANNER_FONT, "¡NIVEL COMPLETADO!");
+
+    public void drawStatusPanel(Graphics g, GameEngine engine) {
+        int width = engine.getBoardWidth();
+        // Draw status panel background
+        g.setColor(STATUS_PANEL_COLOR);
+        g.fillRect(0, 0, width, Board.STATUS_PANEL_HEIGHT);
+        
+        // Draw border
+        g.setColor(Color.CYAN);
+        g.drawRect(0, 0, width - 1, Board.STATUS_PANEL_HEIGHT - 1);
+        
+        Pacman pacman = engine.getPacman();
+
+        // Draw lives
+        g.setColor(Color.YELLOW);
+        livesText.draw(g, pacman.getLives(), 5, 22);
+        
+        // Draw score
+        scoreText.draw(g, pacman.getScore(), 85, 22);
+        
+        // Draw level info
+        levelText.draw(g, engine.getCurrentLevel() + 1, 190, 22);
+        
+        // Draw power-up timer if active
+        long seconds = powerSeconds(pacman);
+        if (seconds >= 0) {
+            g.setColor(Color.GREEN);
+            powerText.draw(g, seconds, 270, 22);
+        }
+    }
+
+    public void drawLevelComplete(Graphics g, int yOffset) {
+        g.setColor(Color.GREEN);
+        levelCompleteText.draw(g, BANNER_X, BANNER_Y + yOffset);
+    }
+
+    // Segundos de power-up que muestra el panel; -1 si no está activo
+    static long powerSeconds(Pacman pacman) {
+        return pacman.isPoweredUp() ? pacman.getRemainingPowerUpTime() / 1000 : -1;
+    }
+
+    HudText getScoreText() {
+        return scoreText;
+    }
+}
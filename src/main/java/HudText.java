@@ -0,0 +1,62 @@
+import java.awt.*;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+
+// Texto del panel de estado ("Puntos: 120") maquetado como GlyphVector y reutilizado
+// mientras el número no cambie: en estado estable pintarlo no reserva memoria.
+public class HudText {
+    private final Font font;
+    private final String prefix;
+    private final String suffix;
+    private long value;
+    private String text;
+    private GlyphVector glyphs;
+    private FontRenderContext context;
+    private int layouts = 0;
+
+    public HudText(Font font, String prefix, String suffix) {
+        this.font = font;
+        this.prefix = prefix;
+        this.suffix = suffix;
+    }
+
+    // Texto fijo, sin número
+    public HudText(Font font, String text) {
+        this(font, text, "");
+        this.text = text;
+    }
+
+    public void draw(Graphics g, long value, int x, int y) {
+        if (text == null || value != this.value) {
+            this.value = value;
+            text = prefix + value + suffix;
+            glyphs = null;
+        }
+        draw(g, x, y);
+    }
+
+    public void draw(Graphics g, int x, int y) {
+        g.setFont(font);
+        if (!(g instanceof Graphics2D)) {
+            g.drawString(text, x, y);
+            return;
+        }
+        Graphics2D g2 = (Graphics2D) g;
+        FontRenderContext current = g2.getFontRenderContext();
+        if (glyphs == null || !current.equals(context)) {
+            glyphs = font.createGlyphVector(current, text);
+            context = current;
+            layouts++;
+        }
+        g2.drawGlyphVector(glyphs, x, y);
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    // Veces que se ha maquetado el texto (para tests y métricas)
+    public int getLayoutCount() {
+        return layouts;
+    }
+}
@@ -0,0 +1,87 @@
+// Voz en bucle para el audio de fondo (sirena, modo asustado). El mezclador la suma en
+// cada bloque recorriendo sus muestras en círculo, sin huecos al dar la vuelta. El tono
+// se cambia con la velocidad de lectura (posición en punto fijo con 16 bits de fracción e
+// interpolación lineal), sin regenerar el sonido; la posición es un long, así que no se
+// desborda con ningún largo de bucle ni a la velocidad máxima. Encenderla o apagarla hace
+// una rampa de volumen de un bloque para evitar chasquidos. Los setters se llaman desde
+// cualquier hilo; la posición y el volumen actual solo los toca el hilo de mezcla.
+public final class LoopVoice {
+    static final int FRACTION_BITS = 16;
+    static final int ONE = 1 << FRACTION_BITS;
+    static final int GAIN_BITS = 12;
+    static final int FULL_GAIN = 1 << GAIN_BITS;
+    static final double MAX_RATE = 4;
+
+    private final SoundEffect effect;
+    private volatile boolean playing = false;
+    private volatile int step = ONE;
+
+    private long position = 0;
+    private int gain = 0;
+
+    public LoopVoice(SoundEffect effect) {
+        this.effect = effect;
+    }
+
+    public SoundEffect getEffect() {
+        return effect;
+    }
+
+    public void setPlaying(boolean playing) {
+        this.playing = playing;
+    }
+
+    public boolean isPlaying() {
+        return playing;
+    }
+
+    // Velocidad de lectura: 1 = tono original, 2 = una octava más aguda
+    public void setRate(double rate) {
+        if (!(rate > 0) || rate > MAX_RATE) {
+            throw new IllegalArgumentException("Rate out of range: " + rate);
+        }
+        step = (int) Math.round(rate * ONE);
+    }
+
+    public double getRate() {
+        return (double) step / ONE;
+    }
+
+    // Suena o aún se está apagando
+    public boolean isAudible() {
+        return playing || gain > 0;
+    }
+
+    // Suma frames muestras del bucle a mix; solo desde el hilo de mezcla. No genera el
+    // sonido: mientras no esté listo (calentamiento en segundo plano) no suena.
+    void mixInto(int[] mix, int frames) {
+        int target = playing ? FULL_GAIN : 0;
+        if (gain == 0 && target == 0 || !effect.isGenerated()) {
+            return;
+        }
+        short[] samples = effect.getSamples();
+        if (samples.length == 0) {
+            return;
+        }
+        long length = (long) samples.length << FRACTION_BITS;
+        int increment = step;
+        int start = gain;
+        int delta = target - start;
+        long pos = position;
+        for (int i = 0; i < frames; i++) {
+            int index = (int) (pos >>> FRACTION_BITS);
+            int next = index + 1 == samples.length ? 0 : index + 1;
+            int fraction = (int) pos & (ONE - 1);
+            // Fracción a 15 bits: la diferencia por la fracción no se desborda
+            int sample = samples[index] + ((samples[next] - samples[index]) * (fraction >> 1) >> (FRACTION_BITS - 1));
+            int g = start + delta * i / frames;
+            mix[i] += sample * g >> GAIN_BITS;
+            pos += increment;
+            while (pos >= length) {
+                pos -= length;
+            }
+        }
+        position = pos;
+        gain = target;
+    }
+}
@@ -0,0 +1,19 @@
+public interface Maze {
+    boolean isWall(int x, int y);
+
+    boolean isWallForPacman(int x, int y);
+
+    // ¿Puede un personaje en (x, y) avanzar 'speed' píxeles en 'direction'?
+    boolean canPacmanMove(int x, int y, Direction direction, int speed);
+
+    boolean canGhostMove(int x, int y, Direction direction, int speed);
+
+    // Distancia en celdas por el laberinto desde (x, y) hasta Pacman; -1 si no se conoce
+    int distanceToPacman(int x, int y);
+
+    int getBlockSize();
+
+    int getBoardWidth();
+
+    int getBoardHeight();
+}
@@ -0,0 +1,89 @@
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+// Capa estática del laberinto (fondo, paredes y casa de los fantasmas) dibujada una
+// vez en una imagen compatible. Solo se regenera al cambiar de nivel o de tamaño;
+// cada fotograma la copia de un golpe y dibuja encima las capas dinámicas. Con un zoom
+// distinto de 1 se dibuja ya escalada (celdas de zoom * blockSize píxeles).
+public class MazeLayer {
+    private static final Color GHOST_HOUSE_FILL = new Color(100, 50, 150);
+    private static final Color GHOST_HOUSE_BORDER = new Color(150, 100, 200);
+
+    private final double zoom;
+    private BufferedImage image;
+    private int level = -1;
+    private int blockSize = -1;
+    private int renders = 0;
+
+    public MazeLayer() {
+        this(1);
+    }
+
+    public MazeLayer(double zoom) {
+        this.zoom = zoom;
+    }
+
+    // Imagen del nivel actual del motor, regenerándola solo si hace falta
+    public BufferedImage get(GameEngine engine, GraphicsConfiguration config) {
+        int width = (int) Math.round(engine.getBoardWidth() * zoom);
+        int height = (int) Math.round(engine.getBoardHeight() * zoom);
+        if (image == null || level != engine.getCurrentLevel() || blockSize != engine.getBlockSize()
+                || image.getWidth() != width || image.getHeight() != height) {
+            image = createImage(config, width, height);
+            level = engine.getCurrentLevel();
+            blockSize = engine.getBlockSize();
+            render(engine);
+        }
+        return image;
+    }
+
+    public void invalidate() {
+        level = -1;
+    }
+
+    public double getZoom() {
+        return zoom;
+    }
+
+    // Número de veces que se ha dibujado la capa (para tests y métricas)
+    public int getRenderCount() {
+        return renders;
+    }
+
+    private static BufferedImage createImage(GraphicsConfiguration config, int width, int height) {
+        if (config != null) {
+            return config.createCompatibleImage(width, height, Transparency.OPAQUE);
+        }
+        return new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    }
+
+    private void render(GameEngine engine) {
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setColor(Color.BLACK);
+            g.fillRect(0, 0, image.getWidth(), image.getHeight());
+            g.scale(zoom, zoom);
+            for (int i = 0; i < GameEngine.ROWS; i++) {
+                for (int j = 0; j < GameEngine.COLS; j++) {
+                    int x = j * blockSize;
+                    int y = i * blockSize;
+                    int cell = engine.getCell(i, j);
+                    if (cell == GameEngine.WALL) {
+                        g.setColor(Color.BLUE);
+                        g.fillRect(x, y, blockSize, blockSize);
+                        g.setColor(Color.CYAN);
+                        g.drawRect(x, y, blockSize, blockSize);
+                    } else if (cell == GameEngine.GHOST_HOUSE) {
+                        g.setColor(GHOST_HOUSE_FILL);
+                        g.fillRect(x, y, blockSize, blockSize);
+                        g.setColor(GHOST_HOUSE_BORDER);
+                        g.drawRect(x, y, blockSize, blockSize);
+                    }
+                }
+            }
+        } finally {
+            g.dispose();
+        }
+        renders++;
+    }
+}
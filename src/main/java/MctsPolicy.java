@@ -0,0 +1,386 @@
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Autopiloto de Pacman por búsqueda en árbol Monte Carlo (UCT).
+// Cada hilo tiene su propio motor, su propio árbol en arrays y una copia de la
+// instantánea de la raíz: una iteración restaura la raíz, baja por el árbol, añade
+// un nodo y juega una partida aleatoria hasta el horizonte, sin reservar memoria.
+// Al acabar el presupuesto se suman las visitas de la raíz de todos los hilos.
+// Las decisiones solo se toman con Pacman en el centro de una celda.
+// La instantánea incluye los generadores de los fantasmas: cada iteración los vuelve a
+// sembrar para no jugar con sus movimientos futuros (salvo con setPerfectInformation).
+public class MctsPolicy implements PacmanPolicy, AutoCloseable {
+    public static final long DEFAULT_BUDGET_NANOS = 5_000_000L;
+    public static final int DEFAULT_HORIZON_TICKS = 150;
+
+    private static final int TREE_CAPACITY = 1 << 14;
+    private static final int MAX_DEPTH = 64;
+    // Un borde del árbol dura hasta la siguiente celda (o hasta que acabe una pausa)
+    private static final int MAX_EDGE_TICKS = 64;
+    private static final double EXPLORATION = 1.0;
+    private static final double REWARD_SCALE = 500.0;
+    private static final int DEATH_PENALTY = 1000;
+    // Descuento por tick: a igualdad de puntos gana el camino que los consigue antes
+    private static final double DISCOUNT = 0.98;
+    private static final int UNKNOWN = -1;
+
+    private final long budgetNanos;
+    private final int horizonTicks;
+    private final Worker[] workers;
+    private final ExecutorService executor;
+    private final Future<?>[] pending;
+    private final long[] rootVisits = new long[4];
+    private byte[] rootSnapshot = new byte[0];
+    private long totalRollouts = 0;
+    private long totalSearchNanos = 0;
+    private long lastRollouts = 0;
+    private boolean perfectInformation = false;
+
+    public MctsPolicy(long seed) {
+        this(seed, DEFAULT_BUDGET_NANOS, DEFAULT_HORIZON_TICKS, Runtime.getRuntime().availableProcessors());
+    }
+
+    public MctsPolicy(long seed, long budgetNanos, int horizonTicks, int threads) {
+        if (budgetNanos <= 0) {
+            throw new IllegalArgumentException("Budget must be positive");
+        }
+        if (horizonTicks <= 0) {
+            throw new IllegalArgumentException("Horizon must be positive");
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is required");
+        }
+        this.budgetNanos = budgetNanos;
+        this.horizonTicks = horizonTicks;
+        SplitMix64 seeds = new SplitMix64(seed);
+        workers = new Worker[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Worker(seeds.split());
+        }
+        // El hilo que llama hace de primer trabajador; el resto va al pool
+        pending = new Future<?>[threads - 1];
+        executor = threads == 1 ? null : Executors.newFixedThreadPool(threads - 1, runnable -> {
+            Thread thread = new Thread(runnable, "mcts-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public Direction chooseDirection(GameEngine game) {
+        Pacman pacman = game.getPacman();
+        if (game.isFinished() || !isDecisionPoint(game)) {
+            return pacman.getDirection();
+        }
+        int legal = legalMoves(game);
+        if (Integer.bitCount(legal) == 1) {
+            return Direction.values()[Integer.numberOfTrailingZeros(legal)];
+        }
+
+        if (rootSnapshot.length != game.getSnapshotSize()) {
+            rootSnapshot = new byte[game.getSnapshotSize()];
+        }
+        game.saveState(ByteBuffer.wrap(rootSnapshot));
+        long start = System.nanoTime();
+        long deadline = start + budgetNanos;
+        for (Worker worker : workers) {
+            worker.prepare(rootSnapshot, game.getGhosts().length, deadline);
+        }
+        for (int i = 0; i < pending.length; i++) {
+            pending[i] = executor.submit(workers[i + 1]);
+        }
+        workers[0].run();
+        for (int i = 0; i < pending.length; i++) {
+            try {
+                pending[i].get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return pacman.getDirection();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("MCTS worker failed", e.getCause());
+            }
+        }
+        totalSearchNanos += System.nanoTime() - start;
+
+        Arrays.fill(rootVisits, 0);
+        lastRollouts = 0;
+        for (Worker worker : workers) {
+            worker.addRootVisits(rootVisits);
+            lastRollouts += worker.rollouts;
+        }
+        totalRollouts += lastRollouts;
+
+        // La acción más visitada; en caso de empate se sigue recto para no ir y volver
+        int best = (legal & pacman.getDirection().getMask()) != 0
+            ? pacman.getDirection().ordinal() : Integer.numberOfTrailingZeros(legal);
+        for (int action = 0; action < 4; action++) {
+            if ((legal & (1 << action)) != 0 && rootVisits[action] > rootVisits[best]) {
+                best = action;
+            }
+        }
+        return Direction.values()[best];
+    }
+
+    static boolean isDecisionPoint(GameEngine game) {
+        Pacman pacman = game.getPacman();
+        int blockSize = game.getBlockSize();
+        return !game.isPaused() && pacman.getX() % blockSize == 0 && pacman.getY() % blockSize == 0;
+    }
+
+    // Máscara de direcciones transitables desde el centro de la celda actual
+    static int legalMoves(GameEngine game) {
+        Pacman pacman = game.getPacman();
+        int reach = game.getBlockSize() / 2;
+        int mask = 0;
+        for (Direction direction : Direction.values()) {
+            if (game.canPacmanMove(pacman.getX(), pacman.getY(), direction, reach)) {
+                mask |= direction.getMask();
+            }
+        }
+        return mask;
+    }
+
+    // true: las simulaciones usan el azar real de los fantasmas y ven sus próximos movimientos
+    // (cota superior con información perfecta, no una medida de la dificultad del juego).
+    // Se cambia entre decisiones, desde el hilo que llama a chooseDirection.
+    public void setPerfectInformation(boolean perfectInformation) {
+        this.perfectInformation = perfectInformation;
+    }
+
+    public boolean isPerfectInformation() {
+        return perfectInformation;
+    }
+
+    public long getLastRollouts() {
+        return lastRollouts;
+    }
+
+    public long getTotalRollouts() {
+        return totalRollouts;
+    }
+
+    public double getRolloutsPerSecond() {
+        return totalSearchNanos == 0 ? 0 : totalRollouts * 1e9 / totalSearchNanos;
+    }
+
+    public int getThreads() {
+        return workers.length;
+    }
+
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private final class Worker implements Runnable {
+        private final SplitMix64 random;
+        private final int[] children = new int[TREE_CAPACITY * 4];
+        private final int[] legal = new int[TREE_CAPACITY];
+        private final int[] visits = new int[TREE_CAPACITY];
+        private final double[] rewards = new double[TREE_CAPACITY];
+        private final int[] path = new int[MAX_DEPTH + 1];
+        private GameEngine game;
+        private ByteBuffer root;
+        private long deadline;
+        private int nodeCount;
+        private long rollouts;
+        private double gain;
+        private double weight;
+        private int lastScore;
+        private int lastLives;
+
+        Worker(SplitMix64 random) {
+            this.random = random;
+        }
+
+        void prepare(byte[] snapshot, int ghostCount, long deadline) {
+            if (game == null || game.getGhosts().length != ghostCount) {
+                game = new GameEngine(ghostCount, 0L);
+            }
+            if (root == null || root.array() != snapshot) {
+                root = ByteBuffer.wrap(snapshot);
+            }
+            this.deadline = deadline;
+            nodeCount = 1;
+            visits[0] = 0;
+            rewards[0] = 0;
+            legal[0] = UNKNOWN;
+            Arrays.fill(children, 0, 4, 0);
+            rollouts = 0;
+        }
+
+        @Override
+        public void run() {
+            do {
+                iterate();
+                rollouts++;
+            } while (System.nanoTime() < deadline);
+        }
+
+        private void iterate() {
+            root.clear();
+            game.restoreState(root);
+            if (!perfectInformation) {
+                game.reseed(random);
+            }
+            long startTick = game.getTick();
+            gain = 0;
+            weight = 1;
+            lastScore = game.getTotalScore();
+            lastLives = game.getLivesLost();
+
+            // Selección y expansión
+            int node = 0;
+            int depth = 0;
+            path[0] = 0;
+            while (depth < MAX_DEPTH && !game.isFinished() && game.getTick() - startTick < horizonTicks) {
+                if (legal[node] == UNKNOWN) {
+                    legal[node] = legalMoves(game);
+                }
+                int action = untriedAction(node);
+                if (action >= 0 && nodeCount < TREE_CAPACITY) {
+                    int child = nodeCount++;
+                    visits[child] = 0;
+                    rewards[child] = 0;
+                    legal[child] = UNKNOWN;
+                    Arrays.fill(children, child * 4, child * 4 + 4, 0);
+                    children[node * 4 + action] = child;
+                    advance(action);
+                    path[++depth] = child;
+                    break;
+                }
+                action = selectAction(node);
+                if (action < 0) {
+                    break;
+                }
+                advance(action);
+                node = children[node * 4 + action];
+                path[++depth] = node;
+            }
+
+            rollout(startTick);
+
+            double reward = gain / REWARD_SCALE;
+            for (int i = 0; i <= depth; i++) {
+                visits[path[i]]++;
+                rewards[path[i]] += reward;
+            }
+        }
+
+        private int untriedAction(int node) {
+            int mask = legal[node];
+            for (int action = 0; action < 4; action++) {
+                if ((mask & (1 << action)) != 0 && children[node * 4 + action] == 0) {
+                    return action;
+                }
+            }
+            return -1;
+        }
+
+        // UCB1 sobre los hijos ya expandidos
+        private int selectAction(int node) {
+            double logVisits = Math.log(Math.max(1, visits[node]));
+            int best = -1;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            for (int action = 0; action < 4; action++) {
+                int child = children[node * 4 + action];
+                if (child == 0) {
+                    continue;
+                }
+                double score = rewards[child] / visits[child]
+                    + EXPLORATION * Math.sqrt(logVisits / visits[child]);
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = action;
+                }
+            }
+            return best;
+        }
+
+        private void advance(int action) {
+            game.getPacman().setDirection(Direction.values()[action]);
+            int ticks = 0;
+            do {
+                step();
+                ticks++;
+            } while (ticks < MAX_EDGE_TICKS && !game.isFinished() && !isDecisionPoint(game));
+        }
+
+        // Paseo aleatorio sin media vuelta hasta el horizonte
+        private void rollout(long startTick) {
+            Pacman pacman = game.getPacman();
+            while (!game.isFinished() && game.getTick() - startTick < horizonTicks) {
+                if (isDecisionPoint(game)) {
+                    Direction current = pacman.getDirection();
+                    int mask = legalMoves(game);
+                    int forward = mask & ~reverse(current).getMask();
+                    if (forward != 0) {
+                        mask = forward;
+                    }
+                    if (mask != 0) {
+                        int pick = random.nextInt(Integer.bitCount(mask));
+                        for (int i = 0; i < pick; i++) {
+                            mask &= mask - 1;
+                        }
+                        pacman.setDirection(Direction.values()[Integer.numberOfTrailingZeros(mask)]);
+                    }
+                }
+                step();
+            }
+        }
+
+        // Avanza un tick acumulando puntos y muertes con descuento
+        private void step() {
+            game.step();
+            int score = game.getTotalScore();
+            int lives = game.getLivesLost();
+            gain += weight * (score - lastScore - DEATH_PENALTY * (lives - lastLives));
+            weight *= DISCOUNT;
+            lastScore = score;
+            lastLives = lives;
+        }
+
+        void addRootVisits(long[] totals) {
+            for (int action = 0; action < 4; action++) {
+                int child = children[action];
+                if (child != 0) {
+                    totals[action] += visits[child];
+                }
+            }
+        }
+    }
+
+    private static Direction reverse(Direction direction) {
+        switch (direction) {
+            case LEFT: return Direction.RIGHT;
+            case RIGHT: return Direction.LEFT;
+            case UP: return Direction.DOWN;
+            default: return Direction.UP;
+        }
+    }
+
+    // Juega una partida con el autopiloto e imprime la puntuación y las simulaciones por segundo.
+    // Uso: MctsPolicy [semilla] [presupuesto ms] [hilos]
+    public static void main(String[] args) {
+        long seed = args.length > 0 ? Long.parseLong(args[0]) : 1L;
+        long budget = args.length > 1 ? Long.parseLong(args[1]) * 1_000_000L : DEFAULT_BUDGET_NANOS;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        GameEngine game = new GameEngine(GameEngine.DEFAULT_GHOST_COUNT, seed);
+        try (MctsPolicy policy = new MctsPolicy(seed, budget, DEFAULT_HORIZON_TICKS, threads)) {
+            while (!game.isFinished() && game.getTick() < BatchRunner.DEFAULT_MAX_TICKS) {
+                game.getPacman().setDirection(policy.chooseDirection(game));
+                game.step();
+            }
+            System.out.println(GameResult.CSV_HEADER);
+            System.out.println(GameResult.of(game).toCsv());
+            System.err.printf("%d rollouts, %.0f rollouts/s on %d threads%n",
+                policy.getTotalRollouts(), policy.getRolloutsPerSecond(), policy.getThreads());
+        }
+    }
+}
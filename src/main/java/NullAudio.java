@@ -0,0 +1,11 @@
+// Destino de audio que no hace nada: simulaciones por lotes y servidores sin dispositivo
+public final class NullAudio implements AudioBackend {
+    public static final NullAudio INSTANCE = new NullAudio();
+
+    private NullAudio() {
+    }
+
+    @Override
+    public void playSound(String name, long tick) {
+    }
+}
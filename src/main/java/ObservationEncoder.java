@@ -0,0 +1,183 @@
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+// Observaciones compactas para agentes que aprenden a partir de "píxeles", generadas
+// directamente desde el estado del motor (sin Java2D) en un ByteBuffer directo que se
+// reutiliza en cada llamada. Cada observación parte de una copia en bloque de la capa
+// fija del nivel y se escriben solo las celdas que cambian, sin array intermedio:
+//   GRAYSCALE_84: imagen 84x84 en escala de grises del tablero (sin el panel de estado).
+//   PLANES_20:    6 planos 20x20 (una celda por byte, 0 o 1) en orden canal, fila, columna:
+//                 paredes, puntos, power pellets, Pac-Man, fantasmas y fantasmas asustados.
+// Los fantasmas comidos (solo ojos, inofensivos) no aparecen en ningún plano.
+public class ObservationEncoder {
+    public enum Layout { GRAYSCALE_84, PLANES_20 }
+
+    public static final int IMAGE_SIZE = 84;
+    public static final int CHANNELS = 6;
+    public static final int WALLS = 0;
+    public static final int POINTS = 1;
+    public static final int POWER_PELLETS = 2;
+    public static final int PACMAN = 3;
+    public static final int GHOSTS = 4;
+    public static final int FRIGHTENED_GHOSTS = 5;
+
+    // Intensidades de la imagen en escala de grises
+    static final byte GRAY_HOUSE = 32;
+    static final byte GRAY_WALL = 64;
+    static final byte GRAY_POINT = (byte) 128;
+    static final byte GRAY_FRIGHTENED = (byte) 160;
+    static final byte GRAY_POWER = (byte) 192;
+    static final byte GRAY_GHOST = (byte) 224;
+    static final byte GRAY_PACMAN = (byte) 255;
+
+    private static final int CELLS = GameEngine.ROWS * GameEngine.COLS;
+
+    private final Layout layout;
+    private final ByteBuffer buffer;
+    // Parte fija de la observación (paredes) del nivel actual
+    private final byte[] base;
+    private int level = -1;
+    private int blockSize = -1;
+
+    public ObservationEncoder(Layout layout) {
+        this.layout = layout;
+        int size = layout == Layout.GRAYSCALE_84 ? IMAGE_SIZE * IMAGE_SIZE : CHANNELS * CELLS;
+        this.buffer = ByteBuffer.allocateDirect(size).order(ByteOrder.nativeOrder());
+        this.base = new byte[size];
+    }
+
+    // Codifica el estado actual; el buffer devuelto queda en posición 0 y se sobrescribe
+    // en la siguiente llamada
+    public ByteBuffer encode(GameEngine engine) {
+        if (level != engine.getCurrentLevel() || blockSize != engine.getBlockSize()) {
+            level = engine.getCurrentLevel();
+            blockSize = engine.getBlockSize();
+            buildBase(engine);
+        }
+        buffer.clear();
+        buffer.put(base);
+        buffer.flip();
+        if (layout == Layout.GRAYSCALE_84) {
+            encodeImage(engine);
+        } else {
+            encodePlanes(engine);
+        }
+        return buffer;
+    }
+
+    public Layout getLayout() {
+        return layout;
+    }
+
+    public int getSize() {
+        return base.length;
+    }
+
+    private void buildBase(GameEngine engine) {
+        Arrays.fill(base, (byte) 0);
+        for (int row = 0; row < GameEngine.ROWS; row++) {
+            for (int col = 0; col < GameEngine.COLS; col++) {
+                int cell = engine.getCell(row, col);
+                if (cell != GameEngine.WALL && cell != GameEngine.GHOST_HOUSE) {
+                    continue;
+                }
+                if (layout == Layout.PLANES_20) {
+                    // Celdas en las que Pac-Man no puede entrar
+                    base[WALLS * CELLS + Bitboard.index(row, col)] = 1;
+                } else {
+                    fillCell(base, row, col, cell == GameEngine.WALL ? GRAY_WALL : GRAY_HOUSE);
+                }
+            }
+        }
+    }
+
+    private void encodePlanes(GameEngine engine) {
+        for (int i = 0; i < Bitboard.WORDS; i++) {
+            for (long bits = engine.getPointWord(i); bits != 0; bits &= bits - 1) {
+                buffer.put(POINTS * CELLS + (i << 6) + Long.numberOfTrailingZeros(bits), (byte) 1);
+            }
+            for (long bits = engine.getPowerPelletWord(i); bits != 0; bits &= bits - 1) {
+                buffer.put(POWER_PELLETS * CELLS + (i << 6) + Long.numberOfTrailingZeros(bits), (byte) 1);
+            }
+        }
+        Pacman pacman = engine.getPacman();
+        int cell = cellOf(pacman.getX(), pacman.getY());
+        if (cell >= 0) {
+            buffer.put(PACMAN * CELLS + cell, (byte) 1);
+        }
+        for (Ghost ghost : engine.getGhosts()) {
+            cell = cellOf(ghost.getX(), ghost.getY());
+            if (cell >= 0 && !ghost.isReturning()) {
+                buffer.put((ghost.isFrightened() ? FRIGHTENED_GHOSTS : GHOSTS) * CELLS + cell, (byte) 1);
+            }
+        }
+    }
+
+    private void encodeImage(GameEngine engine) {
+        for (int i = 0; i < Bitboard.WORDS; i++) {
+            for (long bits = engine.getPointWord(i); bits != 0; bits &= bits - 1) {
+                int cell = (i << 6) + Long.numberOfTrailingZeros(bits);
+                int x = center(cell % GameEngine.COLS);
+                int y = center(cell / GameEngine.COLS);
+                buffer.put(y * IMAGE_SIZE + x, GRAY_POINT);
+            }
+            for (long bits = engine.getPowerPelletWord(i); bits != 0; bits &= bits - 1) {
+                int cell = (i << 6) + Long.numberOfTrailingZeros(bits);
+                int x = cell % GameEngine.COLS * IMAGE_SIZE / GameEngine.COLS;
+                int y = cell / GameEngine.COLS * IMAGE_SIZE / GameEngine.ROWS;
+                fillRect(x + 1, y + 1, 2, 2, GRAY_POWER);
+            }
+        }
+        // Los personajes se escalan desde su posición en píxeles: se ve el movimiento dentro de la celda
+        int size = Math.max(1, scale(Pacman.getCharacterSize(), engine.getBoardWidth()));
+        for (Ghost ghost : engine.getGhosts()) {
+            if (!ghost.isReturning()) {
+                fillRect(scale(ghost.getX(), engine.getBoardWidth()), scale(ghost.getY(), engine.getBoardHeight()),
+                    size, size, ghost.isFrightened() ? GRAY_FRIGHTENED : GRAY_GHOST);
+            }
+        }
+        Pacman pacman = engine.getPacman();
+        fillRect(scale(pacman.getX(), engine.getBoardWidth()), scale(pacman.getY(), engine.getBoardHeight()),
+            size, size, GRAY_PACMAN);
+    }
+
+    // Celda que contiene el centro del personaje; -1 fuera del tablero (túneles)
+    private int cellOf(int x, int y) {
+        int half = Pacman.getCharacterSize() / 2;
+        int col = Math.floorDiv(x + half, blockSize);
+        int row = Math.floorDiv(y + half, blockSize);
+        if (row < 0 || row >= GameEngine.ROWS || col < 0 || col >= GameEngine.COLS) {
+            return -1;
+        }
+        return Bitboard.index(row, col);
+    }
+
+    private static int scale(int value, int extent) {
+        return Math.floorDiv(value * IMAGE_SIZE, extent);
+    }
+
+    private static int center(int cell) {
+        return (2 * cell + 1) * IMAGE_SIZE / (2 * GameEngine.COLS);
+    }
+
+    private static void fillCell(byte[] image, int row, int col, byte value) {
+        int x0 = col * IMAGE_SIZE / GameEngine.COLS;
+        int x1 = (col + 1) * IMAGE_SIZE / GameEngine.COLS;
+        int y0 = row * IMAGE_SIZE / GameEngine.ROWS;
+        int y1 = (row + 1) * IMAGE_SIZE / GameEngine.ROWS;
+        for (int y = y0; y < y1; y++) {
+            Arrays.fill(image, y * IMAGE_SIZE + x0, y * IMAGE_SIZE + x1, value);
+        }
+    }
+
+    private void fillRect(int x, int y, int w, int h, byte value) {
+        int x0 = Math.max(0, x);
+        int x1 = Math.min(IMAGE_SIZE, x + w);
+        for (int row = Math.max(0, y); row < Math.min(IMAGE_SIZE, y + h); row++) {
+            for (int i = row * IMAGE_SIZE + x0; i < row * IMAGE_SIZE + x1; i++) {
+                buffer.put(i, value);
+            }
+        }
+    }
+}
@@ -1,5 +1,5 @@
-import java.awt.*;
-import java.awt.event.*;
+import java.nio.ByteBuffer;
+import java.util.function.LongSupplier;
 
 public class Pacman {
     private static final int CHARACTER_SIZE = 15;
@@ -7,28 +7,45 @@ public class Pacman {
     private static final int POWER_UP_DURATION_MS = 10000; // 10 seconds
     
     private int x, y;
+    private int prevX, prevY;
     private int startX, startY;
     private Direction direction = Direction.LEFT;
     private int score = 0;
     private int lives = INITIAL_LIVES;
-    private Board board;
+    private Maze board;
     private boolean poweredUp = false;
     private long powerUpEndTime = 0;
+    private LongSupplier clock = System::currentTimeMillis;
 
-    public Pacman(int x, int y, Board board) {
+    public Pacman(int x, int y, Maze board) {
         this.x = x;
         this.y = y;
+        this.prevX = x;
+        this.prevY = y;
         this.startX = x;
         this.startY = y;
         this.board = board;
     }
 
-    public void draw(Graphics g, int yOffset) {
-        g.setColor(Color.YELLOW);
-        g.fillArc(x, y + yOffset, CHARACTER_SIZE, CHARACTER_SIZE, direction.getAngle(), 300);
+    // alpha: fracción entre el tick anterior y el actual (interpolación de render)
+    public int getRenderX(double alpha) {
+        return GameLoop.interpolate(prevX, x, alpha, board.getBlockSize());
+    }
+
+    public int getRenderY(double alpha) {
+        return GameLoop.interpolate(prevY, y, alpha, board.getBlockSize());
+    }
+
+    // Tick sin movimiento (pausas, fin de partida): la posición anterior pasa a ser la
+    // actual para que la interpolación de render no oscile entre las dos
+    public void hold() {
+        prevX = x;
+        prevY = y;
     }
 
     public void move() {
+        prevX = x;
+        prevY = y;
         int newX = x;
         int newY = y;
         int speed = 4;
@@ -41,11 +58,7 @@ public class Pacman {
         }
         
         // Verificar colisión con paredes
-        int edge = CHARACTER_SIZE - 1;
-        if (!board.isWallForPacman(newX, newY) && 
-            !board.isWallForPacman(newX + edge, newY) && 
-            !board.isWallForPacman(newX, newY + edge) && 
-            !board.isWallForPacman(newX + edge, newY + edge)) {
+        if (board.canPacmanMove(x, y, direction, speed)) {
             x = newX;
             y = newY;
         }
@@ -81,19 +94,25 @@ public class Pacman {
     public void resetPosition() {
         x = startX;
         y = startY;
+        prevX = startX;
+        prevY = startY;
         direction = Direction.LEFT;
         // Clear power-up state when respawning
         poweredUp = false;
         powerUpEndTime = 0;
     }
 
-    public void keyPressed(KeyEvent e) {
-        switch (e.getKeyCode()) {
-            case KeyEvent.VK_LEFT: direction = Direction.LEFT; break;
-            case KeyEvent.VK_RIGHT: direction = Direction.RIGHT; break;
-            case KeyEvent.VK_UP: direction = Direction.UP; break;
-            case KeyEvent.VK_DOWN: direction = Direction.DOWN; break;
-        }
+    public Direction getDirection() {
+        return direction;
+    }
+
+    public void setDirection(Direction direction) {
+        this.direction = direction;
+    }
+
+    // Fuente de tiempo para el power-up; el motor headless usa su reloj simulado
+    public void setClock(LongSupplier clock) {
+        this.clock = clock;
     }
 
     public int getScore() {
@@ -114,11 +133,11 @@ public class Pacman {
     
     public void activatePowerUp() {
         poweredUp = true;
-        powerUpEndTime = System.currentTimeMillis() + POWER_UP_DURATION_MS;
+        powerUpEndTime = clock.getAsLong() + POWER_UP_DURATION_MS;
     }
     
     public boolean isPoweredUp() {
-        if (poweredUp && System.currentTimeMillis() > powerUpEndTime) {
+        if (poweredUp && clock.getAsLong() > powerUpEndTime) {
             poweredUp = false;
         }
         return poweredUp;
@@ -128,7 +147,36 @@ public class Pacman {
         if (!poweredUp) {
             return 0;
         }
-        long remaining = powerUpEndTime - System.currentTimeMillis();
+        long remaining = powerUpEndTime - clock.getAsLong();
         return remaining > 0 ? remaining : 0;
     }
-}
\ No newline at end of file
+
+    // Instantánea binaria: posición, dirección, puntuación, vidas y power-up (STATE_BYTES bytes)
+    static final int STATE_BYTES = 4 * Short.BYTES + 1 + Integer.BYTES + 1 + 1 + Long.BYTES;
+
+    void writeState(ByteBuffer buffer) {
+        buffer.putShort((short) x).putShort((short) y).putShort((short) prevX).putShort((short) prevY);
+        buffer.put((byte) direction.ordinal());
+        buffer.putInt(score);
+        buffer.put((byte) lives);
+        buffer.put((byte) (poweredUp ? 1 : 0));
+        buffer.putLong(powerUpEndTime);
+    }
+
+    // Valida sin moverse la instantánea que empieza en offset; readState() ya no puede fallar
+    static void checkState(ByteBuffer buffer, int offset) {
+        Direction.fromOrdinal(buffer.get(offset + 4 * Short.BYTES));
+    }
+
+    void readState(ByteBuffer buffer) {
+        x = buffer.getShort();
+        y = buffer.getShort();
+        prevX = buffer.getShort();
+        prevY = buffer.getShort();
+        direction = Direction.fromOrdinal(buffer.get());
+        score = buffer.getInt();
+        lives = buffer.get();
+        poweredUp = buffer.get() != 0;
+        powerUpEndTime = buffer.getLong();
+    }
+}
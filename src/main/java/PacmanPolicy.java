@@ -0,0 +1,35 @@
+import java.util.SplittableRandom;
+
+// Controlador de Pacman para partidas sin teclado (simulación por lotes, autopiloto)
+public interface PacmanPolicy {
+    // Dirección para el siguiente tick; se llama antes de cada step()
+    Direction chooseDirection(GameEngine game);
+
+    // Paseo aleatorio: solo gira al llegar al centro de una celda, nunca hacia una pared
+    // y evita dar media vuelta salvo en callejones sin salida.
+    static PacmanPolicy randomWalk(long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Direction[] options = new Direction[4];
+        return game -> {
+            Pacman pacman = game.getPacman();
+            Direction current = pacman.getDirection();
+            int blockSize = game.getBlockSize();
+            if (pacman.getX() % blockSize != 0 || pacman.getY() % blockSize != 0) {
+                return current;
+            }
+            int count = 0;
+            for (Direction direction : Direction.values()) {
+                if (direction.getDx() == -current.getDx() && direction.getDy() == -current.getDy()) {
+                    continue;
+                }
+                if (game.canPacmanMove(pacman.getX(), pacman.getY(), direction, blockSize / 2)) {
+                    options[count++] = direction;
+                }
+            }
+            if (count == 0) {
+                return Direction.values()[random.nextInt(4)];
+            }
+            return options[random.nextInt(count)];
+        };
+    }
+}
@@ -0,0 +1,165 @@
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+// Capa de puntos: copia de la capa del laberinto con los puntos ya dibujados, de modo
+// que cada fotograma es una sola copia opaca. En cada fotograma se compara el bitboard
+// de puntos del motor con el último dibujado y solo se tocan las celdas que cambian
+// (borrar = copiar esa celda de la capa del laberinto). Los power pellets parpadean,
+// así que no forman parte de la capa: se dibujan encima con un sprite pequeño. Con un
+// zoom distinto de 1 puntos y sprite se dibujan ya escalados, igual que el laberinto.
+public class PelletLayer {
+    // Ticks visibles/ocultos de los power pellets (8 ticks = 320 ms)
+    public static final int BLINK_TICKS = 8;
+    private static final int POINT_SIZE = 4;
+    private static final int POWER_PELLET_SIZE = 10;
+
+    private final double zoom;
+    private final long[] drawn = Bitboard.create();
+    private BufferedImage image;
+    // Copias de celdas en píxeles y puntos en coordenadas lógicas escaladas
+    private Graphics2D graphics;
+    private Graphics2D pointGraphics;
+    private BufferedImage mazeImage;
+    private int mazeRenders = -1;
+    private int blockSize;
+    private int cellSize;
+    private BufferedImage powerPellet;
+    private int fullRenders = 0;
+    private int cellUpdates = 0;
+
+    public PelletLayer() {
+        this(1);
+    }
+
+    public PelletLayer(double zoom) {
+        this.zoom = zoom;
+    }
+
+    public BufferedImage get(GameEngine engine, MazeLayer mazeLayer, GraphicsConfiguration config) {
+        BufferedImage maze = mazeLayer.get(engine, config);
+        if (image == null || maze != mazeImage || mazeLayer.getRenderCount() != mazeRenders) {
+            renderAll(engine, maze, mazeLayer.getRenderCount(), config);
+        } else {
+            update(engine);
+        }
+        return image;
+    }
+
+    private void renderAll(GameEngine engine, BufferedImage maze, int renders, GraphicsConfiguration config) {
+        if (image == null || image.getWidth() != maze.getWidth() || image.getHeight() != maze.getHeight()) {
+            if (graphics != null) {
+                graphics.dispose();
+                pointGraphics.dispose();
+            }
+            image = config != null
+                ? config.createCompatibleImage(maze.getWidth(), maze.getHeight(), Transparency.OPAQUE)
+                : new BufferedImage(maze.getWidth(), maze.getHeight(), BufferedImage.TYPE_INT_RGB);
+            graphics = image.createGraphics();
+            pointGraphics = image.createGraphics();
+            pointGraphics.scale(zoom, zoom);
+        }
+        mazeImage = maze;
+        mazeRenders = renders;
+        blockSize = engine.getBlockSize();
+        cellSize = (int) Math.round(blockSize * zoom);
+        if (powerPellet == null) {
+            powerPellet = createPowerPelletSprite(zoom);
+        }
+        graphics.drawImage(maze, 0, 0, null);
+        pointGraphics.setColor(Color.WHITE);
+        for (int i = 0; i < Bitboard.WORDS; i++) {
+            drawn[i] = engine.getPointWord(i);
+            for (long bits = drawn[i]; bits != 0; bits &= bits - 1) {
+                drawPoint((i << 6) + Long.numberOfTrailingZeros(bits));
+            }
+        }
+        fullRenders++;
+    }
+
+    private void update(GameEngine engine) {
+        for (int i = 0; i < Bitboard.WORDS; i++) {
+            long current = engine.getPointWord(i);
+            long changed = drawn[i] ^ current;
+            for (long bits = changed; bits != 0; bits &= bits - 1) {
+                int bit = Long.numberOfTrailingZeros(bits);
+                int cell = (i << 6) + bit;
+                if ((current & (1L << bit)) != 0) {
+                    pointGraphics.setColor(Color.WHITE);
+                    drawPoint(cell);
+                } else {
+                    erase(cell);
+                }
+                cellUpdates++;
+            }
+            drawn[i] = current;
+        }
+    }
+
+    private void drawPoint(int cell) {
+        paintPoint(pointGraphics, cell % GameEngine.COLS * blockSize, cell / GameEngine.COLS * blockSize, blockSize);
+    }
+
+    // Punto centrado en la celda cuya esquina superior izquierda es (x, y), con el color actual
+    static void paintPoint(Graphics g, int x, int y, int blockSize) {
+        g.fillOval(x + blockSize / 2 - POINT_SIZE / 2, y + blockSize / 2 - POINT_SIZE / 2, POINT_SIZE, POINT_SIZE);
+    }
+
+    static BufferedImage createPowerPelletSprite() {
+        return createPowerPelletSprite(1);
+    }
+
+    static BufferedImage createPowerPelletSprite(double zoom) {
+        int size = (int) Math.round(POWER_PELLET_SIZE * zoom);
+        BufferedImage sprite = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = sprite.createGraphics();
+        g.scale(zoom, zoom);
+        g.setColor(Color.WHITE);
+        g.fillOval(0, 0, POWER_PELLET_SIZE, POWER_PELLET_SIZE);
+        g.dispose();
+        return sprite;
+    }
+
+    private void erase(int cell) {
+        int x = cell % GameEngine.COLS * cellSize;
+        int y = cell / GameEngine.COLS * cellSize;
+        graphics.drawImage(mazeImage, x, y, x + cellSize, y + cellSize, x, y, x + cellSize, y + cellSize, null);
+    }
+
+    // Superpone los power pellets que quedan, salvo en la fase apagada del parpadeo;
+    // yOffset en píxeles de la imagen
+    public void drawPowerPellets(Graphics g, GameEngine engine, int yOffset) {
+        if (!isPowerPelletVisible(engine.getTick())) {
+            return;
+        }
+        int size = (int) Math.round(engine.getBlockSize() * zoom);
+        if (powerPellet == null) {
+            powerPellet = createPowerPelletSprite(zoom);
+        }
+        int half = powerPellet.getWidth() / 2;
+        for (int i = 0; i < Bitboard.WORDS; i++) {
+            for (long bits = engine.getPowerPelletWord(i); bits != 0; bits &= bits - 1) {
+                int cell = (i << 6) + Long.numberOfTrailingZeros(bits);
+                int x = cell % GameEngine.COLS * size + size / 2 - half;
+                int y = cell / GameEngine.COLS * size + size / 2 - half + yOffset;
+                g.drawImage(powerPellet, x, y, null);
+            }
+        }
+    }
+
+    public static boolean isPowerPelletVisible(long tick) {
+        return (tick / BLINK_TICKS) % 2 == 0;
+    }
+
+    public double getZoom() {
+        return zoom;
+    }
+
+    public int getFullRenderCount() {
+        return fullRenders;
+    }
+
+    // Celdas actualizadas de forma incremental desde el último render completo
+    public int getCellUpdateCount() {
+        return cellUpdates;
+    }
+}
@@ -0,0 +1,289 @@
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+
+// Render por software: escribe el fotograma directamente en el int[] de una imagen
+// TYPE_INT_RGB, sin llamadas a Java2D por fotograma. Laberinto, puntos, power pellets
+// y sprites son arrays de píxeles precalculados (a partir de las mismas capas que usa
+// Board, así que el resultado es idéntico); el panel de estado solo se vuelve a
+// rasterizar con Java2D cuando cambia alguno de sus números.
+// El fotograma se conserva entre llamadas: solo se restauran desde el fondo los
+// rectángulos donde se dibujaron sprites, pellets y cartel, y las celdas de puntos
+// que cambian, en lugar de copiar el tablero entero.
+public class SoftwareRenderer {
+    private final int width;
+    private final int boardHeight;
+    private final int height;
+    private final BufferedImage frame;
+    private final int[] pixels;
+
+    // Fondo: laberinto con los puntos ya estampados, actualizado celda a celda
+    private final MazeLayer mazeLayer = new MazeLayer();
+    private final long[] drawn = Bitboard.create();
+    private final int[] background;
+    private int[] maze;
+    private int mazeRenders = -1;
+    private int blockSize;
+    private int[] pointTile;
+    private int[] powerPellet;
+    private int powerPelletSize;
+
+    // Sprites: fotogramas del atlas como ARGB; alfa 0 = transparente
+    private final SpriteAtlas spriteAtlas = new SpriteAtlas();
+    private int[] atlas;
+    private int atlasWidth;
+
+    // Panel de estado y cartel de nivel completado
+    private final Hud hud = new Hud();
+    private final BufferedImage statusImage;
+    private final int[] statusPixels;
+    private int statusLives = -1;
+    private int statusScore = -1;
+    private int statusLevel = -1;
+    private long statusPower = -2;
+    private int[] banner;
+    private int bannerTop;
+    private int bannerRows;
+
+    // Rectángulos dibujados encima del fondo en el último fotograma
+    private int[] overlays = new int[4 * 16];
+    private int overlayCount = 0;
+    private boolean full = true;
+
+    public SoftwareRenderer(int width, int boardHeight) {
+        this.width = width;
+        this.boardHeight = boardHeight;
+        this.height = boardHeight + Board.STATUS_PANEL_HEIGHT;
+        this.frame = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        this.pixels = ((DataBufferInt) frame.getRaster().getDataBuffer()).getData();
+        this.background = new int[width * boardHeight];
+        this.statusImage = new BufferedImage(width, Board.STATUS_PANEL_HEIGHT, BufferedImage.TYPE_INT_RGB);
+        this.statusPixels = ((DataBufferInt) statusImage.getRaster().getDataBuffer()).getData();
+    }
+
+    // Dibuja el estado del motor (alpha: interpolación entre ticks) y devuelve la imagen
+    public BufferedImage render(GameEngine engine, double alpha) {
+        if (updateStatusPanel(engine)) {
+            System.arraycopy(statusPixels, 0, pixels, 0, statusPixels.length);
+        }
+
+        updateBackground(engine);
+        if (full) {
+            System.arraycopy(background, 0, pixels, width * Board.STATUS_PANEL_HEIGHT, background.length);
+            full = false;
+        } else {
+            for (int i = 0; i < overlayCount; i++) {
+                restore(overlays[4 * i], overlays[4 * i + 1], overlays[4 * i + 2], overlays[4 * i + 3]);
+            }
+        }
+        overlayCount = 0;
+
+        if (PelletLayer.isPowerPelletVisible(engine.getTick())) {
+            drawPowerPellets(engine);
+        }
+
+        Pacman pacman = engine.getPacman();
+        int frameSize = SpriteAtlas.FRAME_SIZE;
+        blit(atlas, atlasWidth, pacman.getDirection().ordinal() * frameSize, frameSize, frameSize,
+            pacman.getRenderX(alpha), pacman.getRenderY(alpha) + Board.STATUS_PANEL_HEIGHT);
+        for (Ghost ghost : engine.getGhosts()) {
+            int x = ghost.getRenderX(alpha);
+            int y = ghost.getRenderY(alpha) + Board.STATUS_PANEL_HEIGHT;
+            blit(atlas, atlasWidth, SpriteAtlas.ghostFrame(ghost) * frameSize, frameSize, frameSize, x, y);
+        }
+
+        if (engine.isLevelComplete()) {
+            drawBanner();
+        }
+        return frame;
+    }
+
+    public BufferedImage getImage() {
+        return frame;
+    }
+
+    // Píxeles del fotograma (0xRRGGBB; el byte alto no se usa)
+    public int[] getPixels() {
+        return pixels;
+    }
+
+    private void updateBackground(GameEngine engine) {
+        BufferedImage mazeImage = mazeLayer.get(engine, null);
+        if (mazeLayer.getRenderCount() != mazeRenders) {
+            // Nivel o tamaño nuevos: se recalculan todos los arrays precalculados
+            mazeRenders = mazeLayer.getRenderCount();
+            blockSize = engine.getBlockSize();
+            maze = mazeImage.getRGB(0, 0, width, boardHeight, null, 0, width);
+            pointTile = pointTile(blockSize);
+            BufferedImage pellet = PelletLayer.createPowerPelletSprite();
+            powerPelletSize = pellet.getWidth();
+            powerPellet = pellet.getRGB(0, 0, powerPelletSize, powerPelletSize, null, 0, powerPelletSize);
+            BufferedImage atlasImage = spriteAtlas.get(null, blockSize);
+            atlasWidth = atlasImage.getWidth();
+            atlas = atlasImage.getRGB(0, 0, atlasWidth, atlasImage.getHeight(), null, 0, atlasWidth);
+            System.arraycopy(maze, 0, background, 0, background.length);
+            full = true;
+            for (int i = 0; i < Bitboard.WORDS; i++) {
+                drawn[i] = engine.getPointWord(i);
+                for (long bits = drawn[i]; bits != 0; bits &= bits - 1) {
+                    stampPoint((i << 6) + Long.numberOfTrailingZeros(bits));
+                }
+            }
+            return;
+        }
+        for (int i = 0; i < Bitboard.WORDS; i++) {
+            long current = engine.getPointWord(i);
+            for (long bits = drawn[i] ^ current; bits != 0; bits &= bits - 1) {
+                int bit = Long.numberOfTrailingZeros(bits);
+                int cell = (i << 6) + bit;
+                if ((current & (1L << bit)) != 0) {
+                    stampPoint(cell);
+                } else {
+                    eraseCell(cell);
+                }
+                restore(cell % GameEngine.COLS * blockSize, cell / GameEngine.COLS * blockSize + Board.STATUS_PANEL_HEIGHT,
+                    blockSize, blockSize);
+            }
+            drawn[i] = current;
+        }
+    }
+
+    private void stampPoint(int cell) {
+        int base = cell / GameEngine.COLS * blockSize * width + cell % GameEngine.COLS * blockSize;
+        for (int row = 0; row < blockSize; row++) {
+            int target = base + row * width;
+            int source = row * blockSize;
+            for (int col = 0; col < blockSize; col++) {
+                int argb = pointTile[source + col];
+                if (argb >>> 24 != 0) {
+                    background[target + col] = argb;
+                }
+            }
+        }
+    }
+
+    private void eraseCell(int cell) {
+        int base = cell / GameEngine.COLS * blockSize * width + cell % GameEngine.COLS * blockSize;
+        for (int row = 0; row < blockSize; row++) {
+            System.arraycopy(maze, base + row * width, background, base + row * width, blockSize);
+        }
+    }
+
+    private void drawPowerPellets(GameEngine engine) {
+        int offset = blockSize / 2 - powerPelletSize / 2;
+        for (int i = 0; i < Bitboard.WORDS; i++) {
+            for (long bits = engine.getPowerPelletWord(i); bits != 0; bits &= bits - 1) {
+                int cell = (i << 6) + Long.numberOfTrailingZeros(bits);
+                blit(powerPellet, powerPelletSize, 0, powerPelletSize, powerPelletSize,
+                    cell % GameEngine.COLS * blockSize + offset,
+                    cell / GameEngine.COLS * blockSize + offset + Board.STATUS_PANEL_HEIGHT);
+            }
+        }
+    }
+
+    // Copia un rectángulo w x h de un array ARGB (columna sx) saltando los píxeles
+    // transparentes y recortando contra los bordes del fotograma
+    private void blit(int[] source, int stride, int sx, int w, int h, int x, int y) {
+        int firstCol = Math.max(0, -x);
+        int lastCol = Math.min(w, width - x);
+        int firstRow = Math.max(0, -y);
+        int lastRow = Math.min(h, height - y);
+        if (firstCol >= lastCol || firstRow >= lastRow) {
+            return;
+        }
+        addOverlay(x + firstCol, y + firstRow, lastCol - firstCol, lastRow - firstRow);
+        for (int row = firstRow; row < lastRow; row++) {
+            int src = row * stride + sx;
+            int dst = (y + row) * width + x;
+            for (int col = firstCol; col < lastCol; col++) {
+                int argb = source[src + col];
+                if (argb >>> 24 != 0) {
+                    pixels[dst + col] = argb;
+                }
+            }
+        }
+    }
+
+    private void addOverlay(int x, int y, int w, int h) {
+        if (4 * overlayCount == overlays.length) {
+            overlays = Arrays.copyOf(overlays, overlays.length * 2);
+        }
+        overlays[4 * overlayCount] = x;
+        overlays[4 * overlayCount + 1] = y;
+        overlays[4 * overlayCount + 2] = w;
+        overlays[4 * overlayCount + 3] = h;
+        overlayCount++;
+    }
+
+    // Devuelve un rectángulo ya recortado del fotograma a su fondo (panel o tablero)
+    private void restore(int x, int y, int w, int h) {
+        for (int row = y; row < y + h; row++) {
+            if (row < Board.STATUS_PANEL_HEIGHT) {
+                System.arraycopy(statusPixels, row * width + x, pixels, row * width + x, w);
+            } else {
+                System.arraycopy(background, (row - Board.STATUS_PANEL_HEIGHT) * width + x, pixels, row * width + x, w);
+            }
+        }
+    }
+
+    // Devuelve true si el panel ha cambiado y hay que copiarlo al fotograma
+    private boolean updateStatusPanel(GameEngine engine) {
+        Pacman pacman = engine.getPacman();
+        long power = Hud.powerSeconds(pacman);
+        if (pacman.getLives() == statusLives && pacman.getScore() == statusScore
+                && engine.getCurrentLevel() == statusLevel && power == statusPower) {
+            return false;
+        }
+        statusLives = pacman.getLives();
+        statusScore = pacman.getScore();
+        statusLevel = engine.getCurrentLevel();
+        statusPower = power;
+        Graphics2D g = statusImage.createGraphics();
+        try {
+            hud.drawStatusPanel(g, engine);
+        } finally {
+            g.dispose();
+        }
+        return true;
+    }
+
+    private void drawBanner() {
+        if (banner == null) {
+            // Se rasteriza una vez sobre fondo transparente y se guardan solo sus filas
+            BufferedImage overlay = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g = overlay.createGraphics();
+            try {
+                hud.drawLevelComplete(g, Board.STATUS_PANEL_HEIGHT);
+            } finally {
+                g.dispose();
+            }
+            int[] all = overlay.getRGB(0, 0, width, height, null, 0, width);
+            int top = height;
+            int bottom = 0;
+            for (int i = 0; i < all.length; i++) {
+                if (all[i] >>> 24 != 0) {
+                    top = Math.min(top, i / width);
+                    bottom = Math.max(bottom, i / width + 1);
+                }
+            }
+            bannerTop = Math.min(top, bottom);
+            bannerRows = bottom - bannerTop;
+            banner = new int[bannerRows * width];
+            System.arraycopy(all, bannerTop * width, banner, 0, banner.length);
+        }
+        blit(banner, width, 0, width, bannerRows, 0, bannerTop);
+    }
+
+    private int[] pointTile(int size) {
+        BufferedImage tile = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = tile.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            PelletLayer.paintPoint(g, 0, 0, size);
+        } finally {
+            g.dispose();
+        }
+        return tile.getRGB(0, 0, size, size, null, 0, size);
+    }
+}
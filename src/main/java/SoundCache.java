@@ -0,0 +1,111 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.function.Supplier;
+
+// Caché en disco de los efectos generados: un fichero PCM de 16 bits (little-endian)
+// por clave, y la clave contiene todos los parámetros de síntesis. Cambiar un
+// parámetro da otra clave, así que nunca se lee un efecto desactualizado.
+// La caché es solo una ayuda: si el disco falla no se avisa, el efecto se genera en
+// memoria y, tras un fallo de escritura, se deja de intentar guardar.
+public class SoundCache {
+    private final Path directory;
+    private int hits = 0;
+    private int misses = 0;
+    private int failures = 0;
+    private volatile boolean writable = true;
+
+    public SoundCache(Path directory) {
+        this.directory = directory;
+    }
+
+    // Muestras de la clave desde disco, o generadas y guardadas si no están
+    public short[] get(String key, Supplier<short[]> generator) {
+        Path file = directory.resolve(fileName(key));
+        try {
+            if (Files.isRegularFile(file)) {
+                byte[] bytes = Files.readAllBytes(file);
+                short[] samples = new short[bytes.length / 2];
+                ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asShortBuffer().get(samples);
+                synchronized (this) {
+                    hits++;
+                }
+                return samples;
+            }
+        } catch (IOException e) {
+            // Fichero ilegible: se genera de nuevo y se sobrescribe
+            failed();
+        }
+        short[] samples = generator.get();
+        synchronized (this) {
+            misses++;
+        }
+        store(file, samples);
+        return samples;
+    }
+
+    private void store(Path file, short[] samples) {
+        if (!writable) {
+            return;
+        }
+        ByteBuffer bytes = ByteBuffer.allocate(samples.length * 2).order(ByteOrder.LITTLE_ENDIAN);
+        bytes.asShortBuffer().put(samples);
+        Path temp = null;
+        try {
+            Files.createDirectories(directory);
+            // Se escribe aparte y se renombra: nunca queda un fichero a medias con la clave
+            temp = Files.createTempFile(directory, "sound", ".tmp");
+            Files.write(temp, bytes.array());
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // Directorio sin permisos o disco lleno: el resto de la sesión sin guardar
+            writable = false;
+            failed();
+            deleteQuietly(temp);
+        }
+    }
+
+    // El temporal de una escritura fallida no se queda en el directorio
+    private void deleteQuietly(Path temp) {
+        if (temp == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(temp);
+        } catch (IOException e) {
+            failed();
+        }
+    }
+
+    private synchronized void failed() {
+        failures++;
+    }
+
+    static String fileName(String key) {
+        return key.replaceAll("[^A-Za-z0-9._-]", "_") + ".pcm";
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public synchronized int getHits() {
+        return hits;
+    }
+
+    public synchronized int getMisses() {
+        return misses;
+    }
+
+    // Lecturas o escrituras fallidas (ignoradas)
+    public synchronized int getFailures() {
+        return failures;
+    }
+
+    public boolean isWritable() {
+        return writable;
+    }
+}
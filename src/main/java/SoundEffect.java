@@ -0,0 +1,79 @@
+import java.util.function.Supplier;
+
+// Efecto de sonido con su política de voces en el mezclador: prioridad, máximo de voces
+// simultáneas y qué hacer al superarlo. Los efectos que interrumpen (muerte, nivel
+// completado) silencian al empezar todo lo de menor prioridad. Las muestras pueden
+// darse ya hechas o generarse la primera vez que se piden.
+public final class SoundEffect {
+    // Con el máximo de voces alcanzado: RETRIGGER reinicia la voz más antigua del efecto
+    // (varios disparos seguidos suenan como uno), DROP descarta el disparo nuevo
+    public enum Overflow { RETRIGGER, DROP }
+
+    private final String name;
+    private final Supplier<short[]> generator;
+    private final int priority;
+    private final int maxVoices;
+    private final Overflow overflow;
+    private final boolean preempts;
+    private volatile short[] samples;
+
+    public SoundEffect(String name, short[] samples) {
+        this(name, samples, 0, AudioMixer.MAX_VOICES, Overflow.DROP, false);
+    }
+
+    public SoundEffect(String name, short[] samples, int priority, int maxVoices, Overflow overflow, boolean preempts) {
+        this(name, () -> samples, priority, maxVoices, overflow, preempts);
+        this.samples = samples;
+    }
+
+    public SoundEffect(String name, Supplier<short[]> generator, int priority, int maxVoices,
+            Overflow overflow, boolean preempts) {
+        if (maxVoices < 1) {
+            throw new IllegalArgumentException("maxVoices must be at least 1");
+        }
+        this.name = name;
+        this.generator = generator;
+        this.priority = priority;
+        this.maxVoices = maxVoices;
+        this.overflow = overflow;
+        this.preempts = preempts;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    // Muestras del efecto, generándolas una sola vez en la primera llamada
+    public short[] getSamples() {
+        short[] result = samples;
+        if (result == null) {
+            synchronized (this) {
+                if (samples == null) {
+                    samples = generator.get();
+                }
+                result = samples;
+            }
+        }
+        return result;
+    }
+
+    public boolean isGenerated() {
+        return samples != null;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public int getMaxVoices() {
+        return maxVoices;
+    }
+
+    public Overflow getOverflow() {
+        return overflow;
+    }
+
+    public boolean preempts() {
+        return preempts;
+    }
+}
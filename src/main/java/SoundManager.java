@@ -1,21 +1,36 @@
 import javax.sound.sampled.*;
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
-import java.util.HashMap;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+public class SoundManager implements AudioBackend {
+    static final String CACHE_PROPERTY = "pacman.soundCache";
+    // Sube al cambiar la síntesis: invalida los efectos guardados en la caché
+    static final int SYNTH_VERSION = 3;
+    // Velocidad de la sirena con todos los puntos comidos (al empezar el nivel, 1)
+    static final double SIREN_MAX_RATE = 1.5;
 
-public class SoundManager {
     private static volatile SoundManager instance;
-    private Map<String, byte[]> soundData;
-    private boolean soundEnabled = true;
-    private ExecutorService soundExecutor;
+    private Map<String, SoundEffect> soundData;
+    // Audio de fondo en bucle: sirena y modo asustado
+    private final Map<String, LoopVoice> loops = new LinkedHashMap<>();
+    private LoopVoice siren;
+    private LoopVoice frightened;
+    private volatile boolean soundEnabled = true;
+    // Mezclador con una única línea abierta; null si no hay dispositivo de audio
+    private AudioMixer mixer;
+    private final SoundCache cache = createCache();
+    // Peticiones al hilo de calentamiento para que genere lo que falte al dispararse un
+    // efecto aún sin muestras
+    private final Semaphore generationRequests = new Semaphore(0);
     
     private SoundManager() {
-        soundData = new HashMap<>();
-        soundExecutor = Executors.newFixedThreadPool(4); // Limit concurrent sound threads
+        soundData = new LinkedHashMap<>();
         loadSounds();
+        openMixer();
+        startWarmUp();
     }
     
     public static SoundManager getInstance() {
@@ -32,139 +47,264 @@ public class SoundManager {
     private void loadSounds() {
         // Load all sound effects as synthetic sounds
         // We'll generate simple beep sounds programmatically to avoid external dependencies
+        // Solo se apuntan las recetas: cada efecto se sintetiza la primera vez que hace falta
+        // (o en el calentamiento en segundo plano), no al construir el gestor.
+        // Prioridad y voces de cada efecto: los puntos seguidos se funden en una sola voz,
+        // y la muerte y el nivel completado cortan todo lo demás
+        beep("eat_dot", 100, 0.05, 800, 0, 1, SoundEffect.Overflow.RETRIGGER);
+        beep("eat_power", 200, 0.2, 400, 1, 1, SoundEffect.Overflow.RETRIGGER);
+        beep("eat_ghost", 300, 0.3, 600, 2, 2, SoundEffect.Overflow.RETRIGGER);
+        add("death", "sweep-500-200-0.5", () -> generateSweep(500, 200, 0.5), 3, 1, SoundEffect.Overflow.DROP, true);
+        add("level_complete", "chord-300-0.5", () -> generateChord(300, 0.5), 3, 1, SoundEffect.Overflow.DROP, true);
+        // Bucles de fondo: un ciclo de subida y bajada que enlaza sin salto consigo mismo
+        siren = loop("siren", 250, 500, 0.4, 250);
+        frightened = loop("frightened", 300, 700, 0.15, 250);
+    }
+
+    private LoopVoice loop(String name, int low, int high, double duration, int amplitude) {
+        String recipe = "wail-" + low + "-" + high + "-" + duration + "-" + amplitude;
+        LoopVoice voice = new LoopVoice(effect(name, recipe, () -> generateWail(low, high, duration, amplitude),
+            0, 1, SoundEffect.Overflow.DROP, false));
+        loops.put(name, voice);
+        return voice;
+    }
+
+    private void beep(String name, int frequency, double duration, int amplitude, int priority, int maxVoices,
+            SoundEffect.Overflow overflow) {
+        add(name, "beep-" + frequency + "-" + duration + "-" + amplitude,
+            () -> generateBeep(frequency, duration, amplitude), priority, maxVoices, overflow, false);
+    }
+
+    // Efecto generado bajo demanda; con caché en disco, la clave lleva sus parámetros,
+    // la frecuencia de muestreo y la versión del sintetizador
+    private void add(String name, String recipe, Supplier<short[]> generator, int priority, int maxVoices,
+            SoundEffect.Overflow overflow, boolean preempts) {
+        soundData.put(name, effect(name, recipe, generator, priority, maxVoices, overflow, preempts));
+    }
+
+    private SoundEffect effect(String name, String recipe, Supplier<short[]> generator, int priority, int maxVoices,
+            SoundEffect.Overflow overflow, boolean preempts) {
+        String key = recipe + "-" + (int) AudioMixer.SAMPLE_RATE + "hz-v" + SYNTH_VERSION;
+        Supplier<short[]> source = cache == null ? generator : () -> cache.get(key, generator);
+        return new SoundEffect(name, source, priority, maxVoices, overflow, preempts);
+    }
+
+    // Genera en segundo plano los efectos que aún no se han usado y sigue esperando
+    // peticiones de playSound para los que falten
+    private void startWarmUp() {
+        Thread thread = new Thread(this::generateInBackground, "pacman-sound-warmup");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+    }
+
+    private void generateInBackground() {
+        try {
+            while (true) {
+                warmUp();
+                generationRequests.acquire();
+                generationRequests.drainPermits();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Un efecto que falla se queda sin generar y se reintenta cuando se vuelve a pedir; el
+    // sonido no se desactiva para toda la sesión
+    void warmUp() {
+        for (SoundEffect effect : soundData.values()) {
+            generate(effect);
+        }
+        for (LoopVoice loop : loops.values()) {
+            generate(loop.getEffect());
+        }
+    }
+
+    static boolean generate(SoundEffect effect) {
         try {
-            soundData.put("eat_dot", generateBeep(100, 0.05, 800));
-            soundData.put("eat_power", generateBeep(200, 0.2, 400));
-            soundData.put("eat_ghost", generateBeep(300, 0.3, 600));
-            soundData.put("death", generateSweep(500, 200, 0.5));
-            soundData.put("level_complete", generateChord(300, 0.5));
-        } catch (Exception e) {
-            System.err.println("Error loading sounds: " + e.getMessage());
-            soundEnabled = false;
+            effect.getSamples();
+            return true;
+        } catch (RuntimeException e) {
+            System.err.println("Error loading sound " + effect.getName() + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    // Caché en disco opcional: directorio en la propiedad pacman.soundCache
+    private static SoundCache createCache() {
+        String directory = System.getProperty(CACHE_PROPERTY);
+        return directory == null || directory.isEmpty() ? null : new SoundCache(Paths.get(directory));
+    }
+
+    // Una sola línea para todo el juego, abierta al inicio y mezclada por software
+    private void openMixer() {
+        try {
+            SourceDataLine line = AudioSystem.getSourceDataLine(AudioMixer.FORMAT);
+            AudioMixer candidate = new AudioMixer(line);
+            for (LoopVoice loop : loops.values()) {
+                candidate.addLoop(loop);
+            }
+            candidate.start();
+            mixer = candidate;
+        } catch (LineUnavailableException | IllegalArgumentException | SecurityException e) {
+            System.err.println("Audio device unavailable: " + e.getMessage());
         }
     }
     
     // Generate a simple beep tone
-    private byte[] generateBeep(int frequency, double duration, int amplitude) {
-        int sampleRate = 8000;
+    static short[] generateBeep(int frequency, double duration, int amplitude) {
+        int sampleRate = (int) AudioMixer.SAMPLE_RATE;
         int numSamples = (int) (sampleRate * duration);
-        byte[] buffer = new byte[numSamples * 2]; // 16-bit audio = 2 bytes per sample
+        short[] buffer = new short[numSamples];
         
+        int phase = 0;
+        int step = Wavetable.increment(frequency, sampleRate);
         for (int i = 0; i < numSamples; i++) {
-            double angle = 2.0 * Math.PI * i * frequency / sampleRate;
-            short value = (short) (Math.sin(angle) * amplitude);
-            
-            // Convert to bytes (little-endian)
-            buffer[2 * i] = (byte) (value & 0xFF);
-            buffer[2 * i + 1] = (byte) ((value >> 8) & 0xFF);
+            buffer[i] = (short) (Wavetable.sine(phase) * amplitude);
+            phase += step;
         }
         
         return buffer;
     }
     
     // Generate a frequency sweep (for death sound)
-    private byte[] generateSweep(int startFreq, int endFreq, double duration) {
-        int sampleRate = 8000;
+    static short[] generateSweep(int startFreq, int endFreq, double duration) {
+        int sampleRate = (int) AudioMixer.SAMPLE_RATE;
         int numSamples = (int) (sampleRate * duration);
-        byte[] buffer = new byte[numSamples * 2];
+        short[] buffer = new short[numSamples];
         
+        // Misma fase que la versión con Math.sin (i * frecuencia), que da el timbre
+        // característico del sonido de muerte; en 32 bits, una vuelta = 2^32
         for (int i = 0; i < numSamples; i++) {
             double progress = (double) i / numSamples;
             int frequency = (int) (startFreq + (endFreq - startFreq) * progress);
-            double angle = 2.0 * Math.PI * i * frequency / sampleRate;
-            short value = (short) (Math.sin(angle) * 1000 * (1 - progress)); // Fade out
-            
-            buffer[2 * i] = (byte) (value & 0xFF);
-            buffer[2 * i + 1] = (byte) ((value >> 8) & 0xFF);
+            int phase = (int) (((long) i * frequency << 32) / sampleRate);
+            buffer[i] = (short) (Wavetable.sine(phase) * 1000 * (1 - progress)); // Fade out
         }
         
         return buffer;
     }
     
+    // Bucle que sube de low a high y vuelve en duration segundos. La fase es la integral
+    // exacta de la frecuencia, ajustada a un número entero de ciclos: al repetirse, la
+    // última muestra enlaza con la primera sin salto.
+    static short[] generateWail(int low, int high, double duration, int amplitude) {
+        int sampleRate = (int) AudioMixer.SAMPLE_RATE;
+        int numSamples = (int) (sampleRate * duration);
+        short[] buffer = new short[numSamples];
+
+        double cycles = duration * (low + high) / 2.0;
+        double scale = Math.max(1, Math.round(cycles)) / cycles;
+        for (int i = 0; i < numSamples; i++) {
+            double u = (double) i / numSamples;
+            // Ciclos acumulados hasta u con la frecuencia en triángulo low -> high -> low
+            double rise = u <= 0.5 ? u * u : 0.5 - (1 - u) * (1 - u);
+            double elapsed = duration * (low * u + (high - low) * rise) * scale;
+            buffer[i] = (short) (Wavetable.sine((int) (long) (elapsed * 4294967296.0)) * amplitude);
+        }
+
+        return buffer;
+    }
+    
     // Generate a chord (for level complete)
-    private byte[] generateChord(int baseFreq, double duration) {
-        int sampleRate = 8000;
+    static short[] generateChord(int baseFreq, double duration) {
+        int sampleRate = (int) AudioMixer.SAMPLE_RATE;
         int numSamples = (int) (sampleRate * duration);
-        byte[] buffer = new byte[numSamples * 2];
+        short[] buffer = new short[numSamples];
         
         // Major chord: base, major third, perfect fifth
         int[] frequencies = {baseFreq, (int)(baseFreq * 1.25), (int)(baseFreq * 1.5)};
+        int[] phases = new int[frequencies.length];
+        int[] steps = new int[frequencies.length];
+        for (int f = 0; f < frequencies.length; f++) {
+            steps[f] = Wavetable.increment(frequencies[f], sampleRate);
+        }
         
         for (int i = 0; i < numSamples; i++) {
-            double sample = 0;
-            for (int freq : frequencies) {
-                double angle = 2.0 * Math.PI * i * freq / sampleRate;
-                sample += Math.sin(angle);
+            float sample = 0;
+            for (int f = 0; f < frequencies.length; f++) {
+                sample += Wavetable.sine(phases[f]);
+                phases[f] += steps[f];
             }
-            short value = (short) (sample * 300); // Amplitude
-            
-            buffer[2 * i] = (byte) (value & 0xFF);
-            buffer[2 * i + 1] = (byte) ((value >> 8) & 0xFF);
+            buffer[i] = (short) (sample * 300); // Amplitude
         }
         
         return buffer;
     }
     
+    @Override
+    public void playSound(String name, long tick) {
+        playSound(name);
+    }
+
     public void playSound(String soundName) {
-        if (!soundEnabled) {
+        if (!soundEnabled || mixer == null) {
             return;
         }
         
-        byte[] data = soundData.get(soundName);
-        if (data == null) {
+        SoundEffect effect = soundData.get(soundName);
+        if (effect == null) {
             return;
         }
         
-        // Play sound using thread pool to avoid resource exhaustion
-        soundExecutor.execute(() -> {
-            Clip clip = null;
-            try {
-                // Create audio format
-                AudioFormat format = new AudioFormat(
-                    8000,  // sample rate
-                    16,    // bits per sample
-                    1,     // channels (mono)
-                    true,  // signed
-                    false  // little-endian
-                );
-                
-                // Create audio input stream
-                try (ByteArrayInputStream bais = new ByteArrayInputStream(data);
-                     AudioInputStream audioInputStream = new AudioInputStream(
-                         bais, format, data.length / format.getFrameSize())) {
-                    
-                    // Get and open a clip
-                    clip = AudioSystem.getClip();
-                    final Clip finalClip = clip;
-                    clip.open(audioInputStream);
-                    
-                    // Add listener to close clip after playing
-                    clip.addLineListener(event -> {
-                        if (event.getType() == LineEvent.Type.STOP) {
-                            finalClip.close();
-                        }
-                    });
-                    
-                    // Start playing
-                    clip.start();
-                    
-                    // Wait for clip to finish
-                    while (clip.isRunning()) {
-                        Thread.sleep(10);
-                    }
-                }
-                
-            } catch (LineUnavailableException | IOException | InterruptedException e) {
-                System.err.println("Error playing sound: " + e.getMessage());
-                if (clip != null && clip.isOpen()) {
-                    clip.close();
-                }
-            }
-        });
+        // Solo se encola y el mezclador lo suma en el siguiente bloque
+        if (isReady(effect)) {
+            mixer.play(effect);
+        }
+    }
+
+    // Un efecto sin generar (el calentamiento no ha llegado a él o falló) no se sintetiza
+    // aquí, en el hilo del juego, con posible disco de la caché: este disparo no suena y se
+    // le pide al hilo de calentamiento. Sin bloquear ni reservar memoria.
+    boolean isReady(SoundEffect effect) {
+        if (effect.isGenerated()) {
+            return true;
+        }
+        generationRequests.release();
+        return false;
+    }
+
+    // Audio de fondo según la partida: la sirena sube de tono a medida que se comen los
+    // puntos (progress de 0 a 1) y, con Pac-Man potenciado, suena el bucle asustado en su
+    // lugar. Solo cambia el estado de los bucles: no bloquea ni reserva memoria.
+    @Override
+    public void updateBackground(double progress, boolean poweredUp) {
+        boolean enabled = soundEnabled;
+        siren.setRate(1 + (SIREN_MAX_RATE - 1) * Math.max(0, Math.min(1, progress)));
+        siren.setPlaying(enabled && !poweredUp);
+        frightened.setPlaying(enabled && poweredUp);
+    }
+
+    @Override
+    public void stopBackground() {
+        siren.setPlaying(false);
+        frightened.setPlaying(false);
+    }
+
+    // Bucle de fondo por nombre (null si no existe)
+    LoopVoice getLoop(String name) {
+        return loops.get(name);
+    }
+
+    // Efecto pregenerado con su política de voces (null si no existe)
+    SoundEffect getSoundEffect(String soundName) {
+        return soundData.get(soundName);
+    }
+
+    SoundCache getCache() {
+        return cache;
+    }
+
+    AudioMixer getMixer() {
+        return mixer;
     }
     
     public void setSoundEnabled(boolean enabled) {
         this.soundEnabled = enabled;
+        if (!enabled) {
+            stopBackground();
+        }
     }
     
     public boolean isSoundEnabled() {
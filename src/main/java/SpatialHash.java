@@ -0,0 +1,114 @@
+import java.util.Arrays;
+
+// Rejilla uniforme de celdas de cellSize píxeles para la fase amplia de colisiones.
+// Cada cubeta es una lista doblemente enlazada sobre arrays de int, así que mover
+// una entidad de celda es O(1) y no reserva memoria.
+public class SpatialHash {
+    // Celdas extra alrededor del tablero para las entidades que cruzan los túneles
+    private static final int MARGIN = 2;
+    private static final int NONE = -1;
+
+    private final int cellSize;
+    private final int cols;
+    private final int rows;
+    private final int[] head;
+    private int[] next = new int[0];
+    private int[] prev = new int[0];
+    private int[] bucketOf = new int[0];
+    private int[] results = new int[16];
+
+    public SpatialHash(int cellSize, int width, int height) {
+        this.cellSize = cellSize;
+        this.cols = (width + cellSize - 1) / cellSize + 2 * MARGIN;
+        this.rows = (height + cellSize - 1) / cellSize + 2 * MARGIN;
+        this.head = new int[cols * rows];
+        Arrays.fill(head, NONE);
+    }
+
+    // Vacía la rejilla y prepara espacio para ids en [0, capacity)
+    public void reset(int capacity) {
+        Arrays.fill(head, NONE);
+        if (bucketOf.length < capacity) {
+            next = new int[capacity];
+            prev = new int[capacity];
+            bucketOf = new int[capacity];
+        }
+        Arrays.fill(bucketOf, NONE);
+    }
+
+    public void update(int id, int x, int y) {
+        int bucket = bucket(column(x), row(y));
+        int current = bucketOf[id];
+        if (current == bucket) {
+            return;
+        }
+        if (current != NONE) {
+            unlink(id, current);
+        }
+        next[id] = head[bucket];
+        prev[id] = NONE;
+        if (head[bucket] != NONE) {
+            prev[head[bucket]] = id;
+        }
+        head[bucket] = id;
+        bucketOf[id] = bucket;
+    }
+
+    public void remove(int id) {
+        if (bucketOf[id] != NONE) {
+            unlink(id, bucketOf[id]);
+            bucketOf[id] = NONE;
+        }
+    }
+
+    private void unlink(int id, int bucket) {
+        if (prev[id] != NONE) {
+            next[prev[id]] = next[id];
+        } else {
+            head[bucket] = next[id];
+        }
+        if (next[id] != NONE) {
+            prev[next[id]] = prev[id];
+        }
+    }
+
+    // Ids cuya posición cae en alguna celda que toca el rectángulo [minX, maxX] x [minY, maxY].
+    // Se devuelven ordenados para que el recorrido sea el mismo que el de un barrido lineal.
+    public int query(int minX, int minY, int maxX, int maxY) {
+        int count = 0;
+        int lastCol = column(maxX);
+        int lastRow = row(maxY);
+        for (int r = row(minY); r <= lastRow; r++) {
+            for (int c = column(minX); c <= lastCol; c++) {
+                for (int id = head[bucket(c, r)]; id != NONE; id = next[id]) {
+                    if (count == results.length) {
+                        results = Arrays.copyOf(results, count * 2);
+                    }
+                    results[count++] = id;
+                }
+            }
+        }
+        Arrays.sort(results, 0, count);
+        return count;
+    }
+
+    public int[] getResults() {
+        return results;
+    }
+
+    private int column(int x) {
+        return clamp(Math.floorDiv(x, cellSize) + MARGIN, cols);
+    }
+
+    private int row(int y) {
+        return clamp(Math.floorDiv(y, cellSize) + MARGIN, rows);
+    }
+
+    private int bucket(int col, int row) {
+        return row * cols + col;
+    }
+
+    private static int clamp(int value, int size) {
+        return value < 0 ? 0 : (value >= size ? size - 1 : value);
+    }
+}
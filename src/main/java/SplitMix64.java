@@ -0,0 +1,45 @@
+import java.util.SplittableRandom;
+
+// Generador SplitMix64 (el mismo mezclador que SplittableRandom) con todo su estado
+// en un único long, para poder guardarlo y restaurarlo en las instantáneas.
+public final class SplitMix64 {
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private long state;
+
+    public SplitMix64(long seed) {
+        this.state = seed;
+    }
+
+    public SplitMix64() {
+        this(new SplittableRandom().nextLong());
+    }
+
+    public long nextLong() {
+        long z = (state += GOLDEN_GAMMA);
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    // Entero en [0, bound) por multiplicación de 32x32 bits (sesgo < bound / 2^32)
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound must be positive");
+        }
+        return (int) (((nextLong() >>> 32) * bound) >>> 32);
+    }
+
+    // Generador independiente derivado de este
+    public SplitMix64 split() {
+        return new SplitMix64(nextLong());
+    }
+
+    public long getState() {
+        return state;
+    }
+
+    public void setState(long state) {
+        this.state = state;
+    }
+}
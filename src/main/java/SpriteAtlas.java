@@ -0,0 +1,173 @@
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+// Atlas con todos los fotogramas de los personajes dibujados una sola vez: Pac-Man con
+// la boca en cada dirección, un fantasma por color de la paleta, el fantasma
+// asustado y los ojos del fantasma comido. Pintar un personaje es un único drawImage
+// de su celda del atlas. Se regenera si cambia el tamaño de bloque. Con un zoom distinto
+// de 1 los fotogramas se dibujan ya escalados (vectorialmente, no reescalando la imagen).
+// Aquí vive todo el aspecto de los personajes: el motor solo da posiciones, estados y el
+// índice de color de cada fantasma.
+public class SpriteAtlas {
+    // Las primitivas de arco pueden rellenar un píxel más allá del tamaño pedido
+    // (tamaño lógico; el del atlas es getFrameSize())
+    public static final int FRAME_SIZE = Pacman.getCharacterSize() + 1;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+    // Paleta de los fantasmas; el índice de color de cada uno da la vuelta sobre ella
+    private static final Color[] GHOST_COLORS = {Color.RED, Color.PINK, Color.CYAN};
+    private static final int HALF_CIRCLE_DEGREES = 180;
+    private static final int FRIGHTENED_FRAME = DIRECTIONS.length + GHOST_COLORS.length;
+    private static final int EYES_FRAME = FRIGHTENED_FRAME + 1;
+    private static final int FRAMES = EYES_FRAME + 1;
+
+    private final double zoom;
+    private final int frameSize;
+    private BufferedImage image;
+    private int blockSize = -1;
+    private int renders = 0;
+
+    public SpriteAtlas() {
+        this(1);
+    }
+
+    public SpriteAtlas(double zoom) {
+        this.zoom = zoom;
+        this.frameSize = (int) Math.ceil(FRAME_SIZE * zoom);
+    }
+
+    // Atlas para el tamaño de bloque actual, regenerándolo solo si hace falta
+    public BufferedImage get(GraphicsConfiguration config, int blockSize) {
+        if (image == null || this.blockSize != blockSize) {
+            image = createImage(config, FRAMES * frameSize, frameSize);
+            this.blockSize = blockSize;
+            render();
+        }
+        return image;
+    }
+
+    public void drawPacman(Graphics g, Pacman pacman, int x, int y) {
+        draw(g, pacman.getDirection().ordinal(), x, y);
+    }
+
+    public void drawGhost(Graphics g, Ghost ghost, int x, int y) {
+        draw(g, ghostFrame(ghost), x, y);
+    }
+
+    // Fotograma del atlas para el fantasma en su estado actual
+    static int ghostFrame(Ghost ghost) {
+        if (ghost.isReturning()) {
+            return EYES_FRAME;
+        }
+        if (ghost.isFrightened()) {
+            return FRIGHTENED_FRAME;
+        }
+        return DIRECTIONS.length + Math.floorMod(ghost.getColorIndex(), GHOST_COLORS.length);
+    }
+
+    // Color de un índice de la paleta de fantasmas
+    public static Color ghostColor(int colorIndex) {
+        return GHOST_COLORS[Math.floorMod(colorIndex, GHOST_COLORS.length)];
+    }
+
+    // Pac-Man con la boca hacia 'direction' y la esquina superior izquierda en (x, y)
+    static void paintPacman(Graphics g, int x, int y, Direction direction) {
+        int size = Pacman.getCharacterSize();
+        g.setColor(Color.YELLOW);
+        g.fillArc(x, y, size, size, direction.getAngle(), 300);
+    }
+
+    // Cuerpo y ojos de un fantasma de 'color' con la esquina superior izquierda en (x, y)
+    static void paintGhost(Graphics g, int x, int y, Color color) {
+        g.setColor(color);
+        int size = Pacman.getCharacterSize();
+
+        // Parte superior redondeada, cuerpo y borde ondulado (3 arcos pequeños)
+        g.fillArc(x, y, size, size, 0, HALF_CIRCLE_DEGREES);
+        g.fillRect(x, y + size/2, size, size/2);
+        int waveWidth = size / 3;
+        for (int i = 0; i < 3; i++) {
+            g.fillArc(x + i * waveWidth, y + size - waveWidth/2, waveWidth, waveWidth/2, HALF_CIRCLE_DEGREES, HALF_CIRCLE_DEGREES);
+        }
+        paintEyes(g, x, y);
+    }
+
+    // Ojos del fantasma (lo único que se ve del fantasma comido)
+    static void paintEyes(Graphics g, int x, int y) {
+        int size = Pacman.getCharacterSize();
+        g.setColor(Color.WHITE);
+        int eyeSize = size / 5;
+        int eyeY = y + size / 3;
+        g.fillOval(x + size/4 - eyeSize/2, eyeY, eyeSize, eyeSize);
+        g.fillOval(x + 3*size/4 - eyeSize/2, eyeY, eyeSize, eyeSize);
+
+        g.setColor(Color.BLACK);
+        int pupilSize = eyeSize / 2;
+        g.fillOval(x + size/4 - pupilSize/2, eyeY + pupilSize/2, pupilSize, pupilSize);
+        g.fillOval(x + 3*size/4 - pupilSize/2, eyeY + pupilSize/2, pupilSize, pupilSize);
+    }
+
+    private void draw(Graphics g, int frame, int x, int y) {
+        BufferedImage atlas = image != null ? image : get(null, blockSize);
+        int sx = frame * frameSize;
+        g.drawImage(atlas, x, y, x + frameSize, y + frameSize, sx, 0, sx + frameSize, frameSize, null);
+    }
+
+    public void invalidate() {
+        blockSize = -1;
+    }
+
+    // Número de veces que se ha generado el atlas (para tests y métricas)
+    public int getRenderCount() {
+        return renders;
+    }
+
+    public double getZoom() {
+        return zoom;
+    }
+
+    // Lado de cada fotograma del atlas en píxeles
+    public int getFrameSize() {
+        return frameSize;
+    }
+
+    public static int getFrameCount() {
+        return FRAMES;
+    }
+
+    private static BufferedImage createImage(GraphicsConfiguration config, int width, int height) {
+        if (config != null) {
+            return config.createCompatibleImage(width, height, Transparency.BITMASK);
+        }
+        return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    }
+
+    private void render() {
+        for (Direction direction : DIRECTIONS) {
+            Graphics2D g = frameGraphics(direction.ordinal());
+            paintPacman(g, 0, 0, direction);
+            g.dispose();
+        }
+        for (int i = 0; i < GHOST_COLORS.length; i++) {
+            Graphics2D g = frameGraphics(DIRECTIONS.length + i);
+            paintGhost(g, 0, 0, GHOST_COLORS[i]);
+            g.dispose();
+        }
+        Graphics2D frightened = frameGraphics(FRIGHTENED_FRAME);
+        paintGhost(frightened, 0, 0, Color.BLUE);
+        frightened.dispose();
+        Graphics2D eyes = frameGraphics(EYES_FRAME);
+        paintEyes(eyes, 0, 0);
+        eyes.dispose();
+        renders++;
+    }
+
+    // Graphics recortado al fotograma, con su origen y la escala del atlas
+    private Graphics2D frameGraphics(int frame) {
+        Graphics2D g = image.createGraphics();
+        g.translate(frame * frameSize, 0);
+        g.clipRect(0, 0, frameSize, frameSize);
+        g.scale(zoom, zoom);
+        return g;
+    }
+}
@@ -0,0 +1,90 @@
+import java.awt.GraphicsConfiguration;
+import java.awt.Rectangle;
+
+// Escala con la que se dibuja el tablero en píxeles de dispositivo. El tamaño de celda es
+// un número entero de píxeles sacado del área disponible (ya multiplicada por la escala
+// HiDPI del monitor), de modo que las capas cacheadas se generan a ese tamaño y cada
+// fotograma las copia 1:1, sin reescalar. La simulación sigue en coordenadas lógicas.
+public final class ViewScale {
+    private final double zoom;
+    private final double deviceScale;
+    private final int offsetX;
+    private final int offsetY;
+
+    public ViewScale(double zoom, double deviceScale, int offsetX, int offsetY) {
+        if (zoom <= 0 || deviceScale <= 0) {
+            throw new IllegalArgumentException("Scale must be positive");
+        }
+        this.zoom = zoom;
+        this.deviceScale = deviceScale;
+        this.offsetX = offsetX;
+        this.offsetY = offsetY;
+    }
+
+    // Mayor tamaño de celda entero con el que el contenido (width x height lógicos, con
+    // celdas de blockSize) cabe en el área; sobrante repartido a ambos lados
+    public static ViewScale fit(int areaWidth, int areaHeight, double deviceScale,
+            int contentWidth, int contentHeight, int blockSize) {
+        double pixelsWide = areaWidth * deviceScale;
+        double pixelsHigh = areaHeight * deviceScale;
+        double fit = Math.min(pixelsWide / contentWidth, pixelsHigh / contentHeight);
+        int cellSize = Math.max(1, (int) Math.floor(fit * blockSize));
+        double zoom = (double) cellSize / blockSize;
+        int offsetX = (int) Math.max(0, (pixelsWide - Math.round(contentWidth * zoom)) / 2);
+        int offsetY = (int) Math.max(0, (pixelsHigh - Math.round(contentHeight * zoom)) / 2);
+        return new ViewScale(zoom, deviceScale, offsetX, offsetY);
+    }
+
+    // Escala HiDPI de la configuración (1 si no se conoce)
+    public static double deviceScale(GraphicsConfiguration config) {
+        return config != null ? config.getDefaultTransform().getScaleX() : 1;
+    }
+
+    // Coordenada lógica en píxeles de dispositivo, relativa al origen del tablero
+    public int toPixels(int logical) {
+        return (int) Math.round(logical * zoom);
+    }
+
+    // Convierte en el sitio un rectángulo lógico a coordenadas del componente
+    // (las de repaint), redondeando hacia fuera
+    public Rectangle toComponent(Rectangle r) {
+        int x0 = (int) Math.floor((offsetX + r.x * zoom) / deviceScale);
+        int y0 = (int) Math.floor((offsetY + r.y * zoom) / deviceScale);
+        int x1 = (int) Math.ceil((offsetX + (r.x + r.width) * zoom) / deviceScale);
+        int y1 = (int) Math.ceil((offsetY + (r.y + r.height) * zoom) / deviceScale);
+        r.setBounds(x0, y0, x1 - x0, y1 - y0);
+        return r;
+    }
+
+    // Área que ocupa en el componente un contenido de width x height lógicos, redondeada
+    // hacia dentro (lo que seguro tapa el tablero); se guarda en out
+    public Rectangle contentBounds(int width, int height, Rectangle out) {
+        int x0 = (int) Math.ceil(offsetX / deviceScale);
+        int y0 = (int) Math.ceil(offsetY / deviceScale);
+        int x1 = (int) Math.floor((offsetX + toPixels(width)) / deviceScale);
+        int y1 = (int) Math.floor((offsetY + toPixels(height)) / deviceScale);
+        out.setBounds(x0, y0, Math.max(0, x1 - x0), Math.max(0, y1 - y0));
+        return out;
+    }
+
+    // Sin escala ni desplazamiento: se dibuja en coordenadas lógicas tal cual
+    public boolean isIdentity() {
+        return zoom == 1 && deviceScale == 1 && offsetX == 0 && offsetY == 0;
+    }
+
+    public double getZoom() {
+        return zoom;
+    }
+
+    public double getDeviceScale() {
+        return deviceScale;
+    }
+
+    public int getOffsetX() {
+        return offsetX;
+    }
+
+    public int getOffsetY() {
+        return offsetY;
+    }
+}
@@ -0,0 +1,28 @@
+// Oscilador de tabla: un periodo de seno precalculado y un acumulador de fase de 32 bits
+// que da la vuelta solo (2^32 = un periodo). Cada muestra es un desplazamiento y una
+// lectura de la tabla, sin Math.sin.
+public final class Wavetable {
+    static final int BITS = 12;
+    static final int SIZE = 1 << BITS;
+    private static final double TURN = 4294967296.0;
+    private static final float[] SINE = new float[SIZE];
+
+    static {
+        for (int i = 0; i < SIZE; i++) {
+            SINE[i] = (float) Math.sin(2 * Math.PI * i / SIZE);
+        }
+    }
+
+    private Wavetable() {
+    }
+
+    // Incremento de fase por muestra para una frecuencia
+    public static int increment(double frequency, double sampleRate) {
+        return (int) Math.round(frequency / sampleRate * TURN);
+    }
+
+    // Seno de una fase (2^32 = 2π)
+    public static float sine(int phase) {
+        return SINE[phase >>> (32 - BITS)];
+    }
+}
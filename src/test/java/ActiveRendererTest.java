@@ -0,0 +1,105 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ActiveRendererTest {
+
+    private static final int WIDTH = 400;
+    private static final int HEIGHT = 435;
+    private static final long FRAME = 1_000_000_000L / 60;
+
+    private Board board;
+    private ActiveRenderer renderer;
+
+    @BeforeEach
+    public void setUp() {
+        board = new Board();
+        renderer = new ActiveRenderer(board, 3, 60);
+        renderer.setSize(WIDTH, HEIGHT);
+    }
+
+    @Test
+    public void testRejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new ActiveRenderer(board, 1, 60));
+        assertThrows(IllegalArgumentException.class, () -> new ActiveRenderer(board, 4, 60));
+        assertThrows(IllegalArgumentException.class, () -> new ActiveRenderer(board, 2, 0));
+    }
+
+    @Test
+    public void testPreferredSizeCoversBoardAndStatusPanel() {
+        assertEquals(WIDTH, renderer.getPreferredSize().width);
+        assertEquals(HEIGHT, renderer.getPreferredSize().height);
+        assertEquals(FRAME, renderer.getFrameNanos());
+        assertFalse(renderer.isRunning());
+    }
+
+    @Test
+    public void testFrameMatchesBoardPainting() {
+        BufferedImage active = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = active.createGraphics();
+        renderer.renderFrame(g, 0);
+        g.dispose();
+
+        BufferedImage swing = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        g = swing.createGraphics();
+        board.render(g, null);
+        g.dispose();
+
+        for (int y = 0; y < HEIGHT; y += 5) {
+            for (int x = 0; x < WIDTH; x += 5) {
+                assertEquals(swing.getRGB(x, y), active.getRGB(x, y), "pixel (" + x + ", " + y + ")");
+            }
+        }
+    }
+
+    @Test
+    public void testFramesAdvanceTheGame() {
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        renderer.renderFrame(g, 0);
+        renderer.renderFrame(g, 5 * GameEngine.TICK_MS * 1_000_000L);
+        g.dispose();
+        assertEquals(5, board.getEngine().getTick());
+    }
+
+    @Test
+    public void testDeadlinesFollowRefreshRate() {
+        assertEquals(1000 + FRAME, renderer.nextDeadline(1000));
+        // A tiempo: la siguiente fecha límite es la anterior más un periodo
+        assertEquals(1000 + 2 * FRAME, renderer.nextDeadline(1000 + FRAME + 10));
+        assertEquals(0, renderer.getLateFrames());
+    }
+
+    @Test
+    public void testLateFrameResynchronizes() {
+        renderer.nextDeadline(0);
+        long late = 5 * FRAME;
+        assertEquals(late + FRAME, renderer.nextDeadline(late));
+        assertEquals(1, renderer.getLateFrames());
+    }
+
+    @Test
+    public void testFramePacingStatistics() {
+        assertEquals(0, renderer.getAverageIntervalNanos());
+        renderer.recordFrame(0);
+        renderer.recordFrame(10);
+        renderer.recordFrame(30);
+        renderer.recordFrame(40);
+
+        assertEquals(4, renderer.getFrames());
+        assertEquals(40.0 / 3, renderer.getAverageIntervalNanos(), 1e-9);
+        assertEquals(20, renderer.getMaxIntervalNanos());
+        // Intervalos 10, 20, 10
+        assertEquals(Math.sqrt(200.0 / 9), renderer.getJitterNanos(), 1e-9);
+    }
+
+    @Test
+    public void testStopWithoutStartIsHarmless() {
+        assertDoesNotThrow(renderer::stop);
+        assertFalse(renderer.isRunning());
+    }
+}
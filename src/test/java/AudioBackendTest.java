@@ -0,0 +1,47 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AudioBackendTest {
+
+    private final String saved = System.getProperty(AudioBackend.PROPERTY);
+
+    @AfterEach
+    public void tearDown() {
+        if (saved == null) {
+            System.clearProperty(AudioBackend.PROPERTY);
+        } else {
+            System.setProperty(AudioBackend.PROPERTY, saved);
+        }
+    }
+
+    @Test
+    public void testBackendIsChosenByProperty() {
+        System.setProperty(AudioBackend.PROPERTY, "null");
+        assertSame(NullAudio.INSTANCE, AudioBackend.fromSystem());
+
+        System.setProperty(AudioBackend.PROPERTY, "capture");
+        AudioBackend capture = AudioBackend.fromSystem();
+        assertTrue(capture instanceof CaptureAudio);
+        assertNotSame(capture, AudioBackend.fromSystem());
+
+        System.setProperty(AudioBackend.PROPERTY, "speakers");
+        assertThrows(IllegalArgumentException.class, AudioBackend::fromSystem);
+    }
+
+    @Test
+    public void testNullAudioIgnoresEverything() {
+        AudioBackend audio = NullAudio.INSTANCE;
+        audio.playSound("eat_dot", 1);
+        audio.updateBackground(0.5, true);
+        audio.stopBackground();
+        assertSame(NullAudio.INSTANCE, audio);
+    }
+
+    @Test
+    public void testSoundManagerIsTheDeviceBackend() {
+        System.setProperty(AudioBackend.PROPERTY, "device");
+        assertSame(SoundManager.getInstance(), AudioBackend.fromSystem());
+    }
+}
@@ -0,0 +1,295 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+
+import javax.sound.sampled.SourceDataLine;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class AudioMixerTest {
+
+    private SourceDataLine line;
+    private AudioMixer mixer;
+
+    @BeforeEach
+    public void setUp() {
+        line = mock(SourceDataLine.class);
+        mixer = new AudioMixer(line);
+    }
+
+    private static short[] constant(int length, int value) {
+        short[] samples = new short[length];
+        java.util.Arrays.fill(samples, (short) value);
+        return samples;
+    }
+
+    private static SoundEffect effect(int length, int value) {
+        return new SoundEffect("test", constant(length, value));
+    }
+
+    private short sample(int index) {
+        byte[] block = mixer.getBlock();
+        return (short) ((block[2 * index] & 0xFF) | (block[2 * index + 1] << 8));
+    }
+
+    @Test
+    public void testSilenceWithoutVoices() {
+        mixer.mixBlock(0);
+        for (int i = 0; i < AudioMixer.BLOCK_FRAMES; i++) {
+            assertEquals(0, sample(i));
+        }
+        assertEquals(1, mixer.getBlocks());
+    }
+
+    @Test
+    public void testVoicesAreSummed() {
+        mixer.play(effect(10, 100), 0);
+        mixer.play(effect(5, -30), 0);
+        mixer.mixBlock(0);
+        assertEquals(70, sample(0));
+        assertEquals(70, sample(4));
+        assertEquals(100, sample(5));
+        assertEquals(0, sample(10));
+        // Little-endian con signo, como FORMAT
+        assertFalse(AudioMixer.FORMAT.isBigEndian());
+    }
+
+    @Test
+    public void testSumSaturatesAt16Bits() {
+        mixer.play(effect(4, 30000), 0);
+        mixer.play(effect(4, 30000), 0);
+        mixer.play(effect(4, -30000), 0);
+        mixer.play(effect(4, -30000), 0);
+        mixer.play(effect(4, -30000), 0);
+        mixer.mixBlock(0);
+        assertEquals(-30000, sample(0));
+
+        mixer.play(effect(4, 30000), 0);
+        mixer.play(effect(4, 30000), 0);
+        mixer.mixBlock(0);
+        assertEquals(Short.MAX_VALUE, sample(0));
+    }
+
+    @Test
+    public void testVoiceContinuesAcrossBlocksAndEnds() {
+        int length = AudioMixer.BLOCK_FRAMES + 10;
+        short[] ramp = new short[length];
+        for (int i = 0; i < length; i++) {
+            ramp[i] = (short) i;
+        }
+        mixer.play(new SoundEffect("ramp", ramp), 0);
+        mixer.mixBlock(0);
+        assertEquals(1, mixer.getActiveVoices());
+        assertEquals(AudioMixer.BLOCK_FRAMES - 1, sample(AudioMixer.BLOCK_FRAMES - 1));
+        mixer.mixBlock(0);
+        assertEquals(AudioMixer.BLOCK_FRAMES, sample(0));
+        assertEquals(length - 1, sample(9));
+        assertEquals(0, sample(10));
+        assertEquals(0, mixer.getActiveVoices());
+    }
+
+    @Test
+    public void testFullQueueDropsAndBusyVoicesAreStolen() {
+        for (int i = 0; i < AudioMixer.PENDING_CAPACITY; i++) {
+            assertTrue(mixer.play(effect(1000, 1), 0));
+        }
+        assertFalse(mixer.play(effect(1000, 1), 0));
+        mixer.mixBlock(0);
+        // Con la misma prioridad, cada disparo nuevo se queda la voz más antigua
+        assertEquals(AudioMixer.MAX_VOICES, mixer.getActiveVoices());
+        assertEquals(AudioMixer.PENDING_CAPACITY, mixer.getStartedSounds());
+        assertEquals(AudioMixer.PENDING_CAPACITY - AudioMixer.MAX_VOICES, mixer.getStolenVoices());
+        assertEquals(1, mixer.getDroppedSounds());
+        assertEquals(AudioMixer.MAX_VOICES, sample(0));
+    }
+
+    @Test
+    public void testTriggerLatencyIsMeasured() {
+        mixer.play(effect(10, 1), 1_000_000L);
+        mixer.play(effect(10, 1), 3_000_000L);
+        mixer.mixBlock(5_000_000L);
+        assertEquals(4_000_000L, mixer.getMaxTriggerLatencyNanos());
+        assertEquals(3_000_000.0, mixer.getAverageTriggerLatencyNanos());
+        // Un bloque de 16 ms y cuatro en la línea
+        assertEquals(80_000_000L, AudioMixer.getOutputLatencyNanos());
+    }
+
+    @Test
+    public void testThreadWritesFixedBlocksToOneLine() throws Exception {
+        // Como una línea real, write bloquea hasta que cabe el bloque
+        when(line.write(any(byte[].class), anyInt(), anyInt())).thenAnswer(invocation -> {
+            Thread.sleep(2);
+            return invocation.getArgument(2);
+        });
+        mixer.start();
+        assertTrue(mixer.isRunning());
+        verify(line).open(AudioMixer.FORMAT, AudioMixer.LINE_BLOCKS * AudioMixer.BLOCK_FRAMES * 2);
+        verify(line, timeout(2000).atLeast(3)).write(any(byte[].class), eq(0), eq(AudioMixer.BLOCK_FRAMES * 2));
+        mixer.stop();
+        assertFalse(mixer.isRunning());
+        verify(line).close();
+    }
+
+    @Test
+    public void testRepeatedTriggersCoalesceIntoOneVoice() {
+        SoundEffect dot = new SoundEffect("eat_dot", constant(1000, 10), 0, 1, SoundEffect.Overflow.RETRIGGER, false);
+        // Dos disparos en el mismo bloque: uno solo pendiente
+        mixer.play(dot, 0);
+        mixer.play(dot, 0);
+        mixer.mixBlock(0);
+        assertEquals(10, sample(0));
+        assertEquals(1, mixer.getActiveVoices(dot));
+        // Otro con la voz sonando: la reinicia en lugar de sumar una segunda
+        mixer.play(dot, 0);
+        mixer.mixBlock(0);
+        assertEquals(1, mixer.getActiveVoices(dot));
+        assertEquals(10, sample(0));
+        assertEquals(2, mixer.getCoalescedSounds());
+    }
+
+    @Test
+    public void testVoiceCapDropsNewTriggers() {
+        SoundEffect ghost = new SoundEffect("eat_ghost", constant(1000, 10), 0, 2, SoundEffect.Overflow.DROP, false);
+        for (int i = 0; i < 3; i++) {
+            mixer.play(ghost, 0);
+            mixer.mixBlock(0);
+        }
+        assertEquals(2, mixer.getActiveVoices(ghost));
+        assertEquals(1, mixer.getDroppedSounds());
+    }
+
+    @Test
+    public void testHigherPriorityStealsTheOldestLowestVoice() {
+        SoundEffect[] low = new SoundEffect[AudioMixer.MAX_VOICES];
+        for (int i = 0; i < low.length; i++) {
+            low[i] = new SoundEffect("low" + i, constant(10_000, 1), i == 0 ? 1 : 0, 1, SoundEffect.Overflow.DROP, false);
+            mixer.play(low[i], 0);
+            mixer.mixBlock(0);
+        }
+        assertEquals(AudioMixer.MAX_VOICES, mixer.getActiveVoices());
+        SoundEffect high = new SoundEffect("high", constant(1000, 1), 2, 1, SoundEffect.Overflow.DROP, false);
+        mixer.play(high, 0);
+        mixer.mixBlock(0);
+        assertEquals(1, mixer.getActiveVoices(high));
+        // low0 tiene más prioridad que el resto: cae low1, la más antigua de prioridad 0
+        assertEquals(1, mixer.getActiveVoices(low[0]));
+        assertEquals(0, mixer.getActiveVoices(low[1]));
+        assertEquals(1, mixer.getStolenVoices());
+
+        // Una de prioridad menor que todas las voces no encuentra hueco
+        SoundEffect quiet = new SoundEffect("quiet", constant(1000, 1), -1, 1, SoundEffect.Overflow.DROP, false);
+        mixer.play(quiet, 0);
+        mixer.mixBlock(0);
+        assertEquals(0, mixer.getActiveVoices(quiet));
+        assertEquals(1, mixer.getDroppedSounds());
+    }
+
+    @Test
+    public void testPreemptingSoundSilencesEverythingElse() {
+        mixer.play(effect(1000, 100), 0);
+        mixer.play(new SoundEffect("other", constant(1000, 100)), 0);
+        mixer.mixBlock(0);
+        SoundEffect death = new SoundEffect("death", constant(1000, 7), 3, 1, SoundEffect.Overflow.DROP, true);
+        mixer.play(death, 0);
+        mixer.mixBlock(0);
+        assertEquals(1, mixer.getActiveVoices());
+        assertEquals(7, sample(0));
+        assertEquals(2, mixer.getStolenVoices());
+    }
+
+    @Test
+    public void testStaleTriggersAreDiscarded() {
+        mixer.play(effect(100, 5), 0);
+        mixer.mixBlock(AudioMixer.STALE_NANOS + 1);
+        assertEquals(0, mixer.getActiveVoices());
+        assertEquals(1, mixer.getStaleSounds());
+        assertEquals(0, sample(0));
+    }
+
+    @Test
+    public void testFullQueueKeepsTheMostImportantTriggers() {
+        for (int i = 0; i < AudioMixer.PENDING_CAPACITY; i++) {
+            mixer.play(effect(100, 1), 0);
+        }
+        SoundEffect death = new SoundEffect("death", constant(1000, 1), 3, 1, SoundEffect.Overflow.DROP, true);
+        assertTrue(mixer.play(death, 0));
+        mixer.mixBlock(0);
+        assertEquals(1, mixer.getActiveVoices(death));
+    }
+
+    @Test
+    public void testTriggerFloodUsesFixedMemory() {
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) java.lang.management.ManagementFactory.getThreadMXBean();
+        SoundEffect dot = new SoundEffect("eat_dot", constant(400, 10), 0, 1, SoundEffect.Overflow.RETRIGGER, false);
+        SoundEffect[] others = new SoundEffect[32];
+        for (int i = 0; i < others.length; i++) {
+            others[i] = new SoundEffect("other" + i, constant(400, 1));
+        }
+        for (int i = 0; i < 10_000; i++) {
+            mixer.play(i % 2 == 0 ? dot : others[i % others.length], i);
+            if (i % 100 == 0) {
+                mixer.mixBlock(i);
+            }
+        }
+        long thread = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < 100_000; i++) {
+            mixer.play(i % 2 == 0 ? dot : others[i % others.length], i);
+            if (i % 100 == 0) {
+                mixer.mixBlock(i);
+            }
+        }
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+        assertTrue(allocated < 1024, "allocated " + allocated + " bytes");
+        assertTrue(mixer.getActiveVoices(dot) <= 1);
+    }
+
+    @Test
+    public void testLoopsAreMixedWithEffects() {
+        short[] flat = constant(4, 500);
+        LoopVoice loop = new LoopVoice(new SoundEffect("siren", flat));
+        mixer.addLoop(loop);
+        mixer.addLoop(loop);
+        loop.setPlaying(true);
+        mixer.mixBlock(0);
+        mixer.mixBlock(0);
+        assertEquals(500, sample(0));
+
+        assertTrue(mixer.play(new SoundEffect("dot", constant(400, 400)), 0));
+        mixer.mixBlock(0);
+        assertEquals(900, sample(0));
+    }
+
+    @Test
+    public void testLoopCountIsBounded() {
+        for (int i = 0; i < AudioMixer.MAX_LOOPS; i++) {
+            mixer.addLoop(new LoopVoice(new SoundEffect("loop" + i, constant(1, 1))));
+        }
+        assertThrows(IllegalStateException.class,
+            () -> mixer.addLoop(new LoopVoice(new SoundEffect("extra", constant(1, 1)))));
+    }
+
+    @Test
+    public void testUngeneratedEffectIsNeverSynthesizedByTheMixer() {
+        AtomicInteger generated = new AtomicInteger();
+        SoundEffect lazy = new SoundEffect("lazy", () -> {
+            generated.incrementAndGet();
+            return constant(1000, 100);
+        }, 0, 1, SoundEffect.Overflow.DROP, false);
+        assertTrue(mixer.play(lazy, 0));
+        mixer.mixBlock(0);
+        assertEquals(0, generated.get());
+        assertEquals(0, mixer.getActiveVoices(lazy));
+        assertEquals(1, mixer.getDroppedSounds());
+
+        // Generado en el hilo que dispara, ya suena
+        lazy.getSamples();
+        assertTrue(mixer.play(lazy, 0));
+        mixer.mixBlock(0);
+        assertEquals(1, mixer.getActiveVoices(lazy));
+        assertEquals(100, sample(0));
+    }
+}
@@ -0,0 +1,86 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchRunnerTest {
+
+    private final List<BatchRunner> runners = new ArrayList<>();
+
+    private BatchRunner runner(int parallelism, long maxTicks) {
+        BatchRunner runner = new BatchRunner(parallelism, GameEngine.DEFAULT_GHOST_COUNT, maxTicks,
+            PacmanPolicy::randomWalk);
+        runners.add(runner);
+        return runner;
+    }
+
+    @AfterEach
+    public void tearDown() {
+        runners.forEach(BatchRunner::shutdown);
+    }
+
+    private static List<GameResult> collect(BatchRunner runner, long firstSeed, int games) {
+        List<GameResult> results = new ArrayList<>();
+        runner.run(firstSeed, games, results::add);
+        results.sort(Comparator.comparingLong(GameResult::getSeed));
+        return results;
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new BatchRunner(0));
+        assertThrows(IllegalArgumentException.class,
+            () -> new BatchRunner(1, 3, 0, PacmanPolicy::randomWalk));
+        assertThrows(IllegalArgumentException.class, () -> runner(1, 100).run(0, -1, r -> { }));
+    }
+
+    @Test
+    public void testEveryGameReachesTheSink() {
+        List<GameResult> results = collect(runner(4, 2_000), 100, 37);
+
+        assertEquals(37, results.size());
+        for (int i = 0; i < 37; i++) {
+            assertEquals(100 + i, results.get(i).getSeed());
+        }
+    }
+
+    @Test
+    public void testResultsDoNotDependOnParallelism() {
+        assertEquals(collect(runner(1, 3_000), 5, 12), collect(runner(4, 3_000), 5, 12));
+    }
+
+    @Test
+    public void testPlayStopsAtMaxTicks() {
+        GameResult result = runner(1, 50).play(9);
+        assertTrue(result.getTicks() <= 50);
+        assertTrue(result.getLevel() >= 1);
+    }
+
+    @Test
+    public void testGamesEndWithoutTickLimit() {
+        GameResult result = runner(1, Long.MAX_VALUE).play(3);
+        assertTrue(result.isCompleted() || result.getLivesLost() > 0);
+        assertTrue(result.getPelletsEaten() > 0);
+        assertTrue(result.getScore() >= result.getPelletsEaten() * 10);
+    }
+
+    @Test
+    public void testSummary() {
+        BatchRunner.Summary summary = runner(2, 500).run(0, 8, r -> { });
+        assertEquals(8, summary.getGames());
+        assertEquals(2, summary.getParallelism());
+        assertTrue(summary.getElapsedNanos() > 0);
+        assertTrue(summary.getGamesPerSecond() > 0);
+        assertTrue(summary.toString().contains("games/s"));
+    }
+
+    @Test
+    public void testEmptyBatch() {
+        BatchRunner.Summary summary = runner(2, 500).run(0, 0, r -> fail("no games expected"));
+        assertEquals(0, summary.getGames());
+    }
+}
@@ -0,0 +1,77 @@
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BitboardTest {
+
+    @Test
+    public void testSizeCoversWholeBoard() {
+        assertEquals(400, Bitboard.CELLS);
+        assertEquals(7, Bitboard.WORDS);
+        assertEquals(Bitboard.WORDS, Bitboard.create().length);
+    }
+
+    @Test
+    public void testIndex() {
+        assertEquals(0, Bitboard.index(0, 0));
+        assertEquals(21, Bitboard.index(1, 1));
+        assertEquals(399, Bitboard.index(19, 19));
+    }
+
+    @Test
+    public void testSetGetClear() {
+        long[] board = Bitboard.create();
+        for (int index : new int[] {0, 63, 64, 127, 399}) {
+            assertFalse(Bitboard.get(board, index));
+            Bitboard.set(board, index);
+            assertTrue(Bitboard.get(board, index));
+        }
+        assertEquals(5, Bitboard.count(board));
+
+        Bitboard.clear(board, 64);
+        assertFalse(Bitboard.get(board, 64));
+        assertTrue(Bitboard.get(board, 63));
+        assertEquals(4, Bitboard.count(board));
+    }
+
+    @Test
+    public void testCopy() {
+        long[] source = Bitboard.create();
+        Bitboard.set(source, 200);
+        long[] target = Bitboard.create();
+        Bitboard.set(target, 5);
+
+        Bitboard.copy(source, target);
+
+        assertArrayEquals(source, target);
+        assertNotSame(source, target);
+    }
+
+    @Test
+    public void testOr() {
+        long[] a = Bitboard.create();
+        long[] b = Bitboard.create();
+        Bitboard.set(a, 10);
+        Bitboard.set(b, 300);
+
+        long[] result = Bitboard.or(a, b);
+
+        assertTrue(Bitboard.get(result, 10));
+        assertTrue(Bitboard.get(result, 300));
+        assertEquals(2, Bitboard.count(result));
+    }
+
+    @Test
+    public void testFromLevel() {
+        int[][] level = new int[20][20];
+        level[0][0] = GameEngine.WALL;
+        level[19][19] = GameEngine.WALL;
+        level[5][5] = GameEngine.POINT;
+
+        long[] walls = Bitboard.fromLevel(level, GameEngine.WALL);
+
+        assertEquals(2, Bitboard.count(walls));
+        assertTrue(Bitboard.get(walls, Bitboard.index(19, 19)));
+        assertFalse(Bitboard.get(walls, Bitboard.index(5, 5)));
+    }
+}
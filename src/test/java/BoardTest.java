@@ -5,6 +5,7 @@ import org.mockito.Mock;
 import javax.swing.Timer;
 import java.awt.Graphics;
 import java.awt.event.ActionEvent;
+import java.awt.event.KeyEvent;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -248,6 +249,40 @@ public class BoardTest {
         });
     }
 
+    @Test
+    public void testBoardUsesHeadlessEngine() {
+        GameEngine engine = board.getEngine();
+        assertNotNull(engine);
+        assertEquals(engine.getBoardWidth(), board.getBoardWidth());
+        assertEquals(engine.isWall(0, 0), board.isWall(0, 0));
+        assertEquals(engine.isWallForPacman(180, 180), board.isWallForPacman(180, 180));
+    }
+
+    @Test
+    public void testActionPerformedStepsEngineAtFixedRate() throws InterruptedException {
+        ActionEvent event = new ActionEvent(board, ActionEvent.ACTION_PERFORMED, "test");
+        board.actionPerformed(event);
+        long before = board.getEngine().getTick();
+        Thread.sleep(3 * GameEngine.TICK_MS);
+        board.actionPerformed(event);
+        // A late frame catches up with several fixed steps instead of slowing the game
+        assertTrue(board.getEngine().getTick() - before >= 2);
+    }
+
+    @Test
+    public void testSetRenderRate() {
+        board.setRenderRate(144);
+        assertEquals(6, board.getRenderDelay());
+        board.setRenderRate(5000);
+        assertEquals(1, board.getRenderDelay());
+        assertThrows(IllegalArgumentException.class, () -> board.setRenderRate(0));
+    }
+
+    @Test
+    public void testGameLoopUsesEngineTick() {
+        assertEquals(GameEngine.TICK_MS * 1_000_000L, board.getGameLoop().getStepNanos());
+    }
+
     @Test
     public void testBoardHasTimer() {
         // The board should have started a timer
@@ -352,81 +387,29 @@ public class BoardTest {
         assertEquals(board.getBlockSize() * 20, board.getBoardHeight());
     }
 
-    @Test
-    public void testCheckLevelCompletionWithReflection() throws Exception {
-        // Use reflection to set collectedPoints equal to totalPoints
-        java.lang.reflect.Field collectedPointsField = Board.class.getDeclaredField("collectedPoints");
-        collectedPointsField.setAccessible(true);
-        
-        java.lang.reflect.Field totalPointsField = Board.class.getDeclaredField("totalPoints");
-        totalPointsField.setAccessible(true);
-        int totalPoints = totalPointsField.getInt(board);
-        
-        // Set collected points to total points - 1, then add one more
-        collectedPointsField.setInt(board, totalPoints - 1);
-        collectedPointsField.setInt(board, totalPoints);
-        
-        // Call checkLevelCompletion using reflection
-        java.lang.reflect.Method checkLevelCompletionMethod = Board.class.getDeclaredMethod("checkLevelCompletion");
-        checkLevelCompletionMethod.setAccessible(true);
-        checkLevelCompletionMethod.invoke(board);
-        
-        // Verify gameWon is set to true
-        java.lang.reflect.Field gameWonField = Board.class.getDeclaredField("gameWon");
-        gameWonField.setAccessible(true);
-        boolean gameWon = gameWonField.getBoolean(board);
-        assertTrue(gameWon, "Game should be won when all points are collected");
-    }
-
     @Test
     public void testActionPerformedWhenGameWon() throws Exception {
-        // Set gameWon to true using reflection
-        java.lang.reflect.Field gameWonField = Board.class.getDeclaredField("gameWon");
-        gameWonField.setAccessible(true);
-        gameWonField.setBoolean(board, true);
+        // Set levelComplete to true using reflection
+        java.lang.reflect.Field levelCompleteField = GameEngine.class.getDeclaredField("levelComplete");
+        levelCompleteField.setAccessible(true);
+        levelCompleteField.setBoolean(board.getEngine(), true);
         
         // Call actionPerformed - should skip game logic when won
         ActionEvent mockEvent = new ActionEvent(board, ActionEvent.ACTION_PERFORMED, "test");
         assertDoesNotThrow(() -> board.actionPerformed(mockEvent));
     }
 
-    @Test
-    public void testCheckCollisionsMethod() throws Exception {
-        // Call checkCollisions using reflection
-        java.lang.reflect.Method checkCollisionsMethod = Board.class.getDeclaredMethod("checkCollisions");
-        checkCollisionsMethod.setAccessible(true);
-        assertDoesNotThrow(() -> checkCollisionsMethod.invoke(board));
-    }
-
-    @Test
-    public void testHandlePacmanCaughtMethod() throws Exception {
-        // Test handlePacmanCaught using reflection
-        java.lang.reflect.Method handlePacmanCaughtMethod = Board.class.getDeclaredMethod("handlePacmanCaught");
-        handlePacmanCaughtMethod.setAccessible(true);
-        
-        // This might show dialogs, but should not throw
-        // We can't easily test it without mocking JOptionPane
-        assertDoesNotThrow(() -> {
-            try {
-                handlePacmanCaughtMethod.invoke(board);
-            } catch (java.lang.reflect.InvocationTargetException e) {
-                // Expected if pacman runs out of lives and System.exit is called
-                // or if JOptionPane.showMessageDialog is called
-            }
-        });
-    }
-
     @Test
     public void testDrawBoardMethod() throws Exception {
         // Test drawBoard using reflection
-        java.lang.reflect.Method drawBoardMethod = Board.class.getDeclaredMethod("drawBoard", Graphics.class);
+        java.lang.reflect.Method drawBoardMethod = Board.class.getDeclaredMethod("drawBoard", Graphics.class, java.awt.GraphicsConfiguration.class);
         drawBoardMethod.setAccessible(true);
         
         Graphics g = board.getGraphics();
         if (g != null) {
             assertDoesNotThrow(() -> {
                 try {
-                    drawBoardMethod.invoke(board, g);
+                    drawBoardMethod.invoke(board, g, null);
                 } catch (Exception e) {
                     // OK in headless environment
                 }
@@ -452,40 +435,6 @@ public class BoardTest {
         }
     }
 
-    @Test
-    public void testInitLevelsMethod() throws Exception {
-        // Verify initLevels was called during construction
-        java.lang.reflect.Field levelsField = Board.class.getDeclaredField("levels");
-        levelsField.setAccessible(true);
-        int[][][] levels = (int[][][]) levelsField.get(board);
-        
-        assertNotNull(levels);
-        assertEquals(3, levels.length, "Should have 3 levels");
-        assertEquals(20, levels[0].length, "Each level should have 20 rows");
-        assertEquals(20, levels[0][0].length, "Each row should have 20 columns");
-    }
-
-    @Test
-    public void testLoadLevelMethod() throws Exception {
-        // Test loading level 1 using reflection
-        java.lang.reflect.Method loadLevelMethod = Board.class.getDeclaredMethod("loadLevel", int.class);
-        loadLevelMethod.setAccessible(true);
-        
-        assertDoesNotThrow(() -> {
-            try {
-                loadLevelMethod.invoke(board, 1);
-            } catch (Exception e) {
-                // Should not throw
-                fail("loadLevel should not throw exception: " + e.getMessage());
-            }
-        });
-        
-        // Verify current level changed
-        java.lang.reflect.Field currentLevelField = Board.class.getDeclaredField("currentLevel");
-        currentLevelField.setAccessible(true);
-        assertEquals(1, currentLevelField.getInt(board));
-    }
-
     @Test
     public void testPacmanKeyAdapterClass() throws Exception {
         // Verify the inner class exists
@@ -557,52 +506,6 @@ public class BoardTest {
         assertNotNull(board);
     }
 
-    @Test
-    public void testGameWonScenario() throws Exception {
-        // Try to trigger game won condition
-        board = new Board();
-        
-        // Use reflection to set collected points to total points
-        java.lang.reflect.Field collectedField = Board.class.getDeclaredField("collectedPoints");
-        collectedField.setAccessible(true);
-        
-        java.lang.reflect.Field totalField = Board.class.getDeclaredField("totalPoints");
-        totalField.setAccessible(true);
-        
-        int total = totalField.getInt(board);
-        collectedField.setInt(board, total);
-        
-        // Call checkLevelCompletion
-        java.lang.reflect.Method checkMethod = Board.class.getDeclaredMethod("checkLevelCompletion");
-        checkMethod.setAccessible(true);
-        
-        assertDoesNotThrow(() -> {
-            try {
-                checkMethod.invoke(board);
-            } catch (Exception e) {
-                // Timer operations may fail in test environment
-            }
-        });
-    }
-
-    @Test
-    public void testCollisionDetectionWithGhosts() throws Exception {
-        // Test the collision detection logic
-        board = new Board();
-        
-        // Use reflection to call checkCollisions
-        java.lang.reflect.Method collisionMethod = Board.class.getDeclaredMethod("checkCollisions");
-        collisionMethod.setAccessible(true);
-        
-        assertDoesNotThrow(() -> {
-            try {
-                collisionMethod.invoke(board);
-            } catch (Exception e) {
-                // OK if fails due to test environment
-            }
-        });
-    }
-
     @Test
     public void testWallCheckingWithNegativeCoordinates() {
         // Test wall checking at negative col (-1)
@@ -619,41 +522,6 @@ public class BoardTest {
         assertNotNull(isWall);
     }
 
-    @Test
-    public void testAllLevelsLoadCorrectly() throws Exception {
-        // Load all 3 levels
-        java.lang.reflect.Method loadMethod = Board.class.getDeclaredMethod("loadLevel", int.class);
-        loadMethod.setAccessible(true);
-        
-        for (int level = 0; level < 3; level++) {
-            final int lvl = level;
-            assertDoesNotThrow(() -> {
-                try {
-                    loadMethod.invoke(board, lvl);
-                } catch (Exception e) {
-                    fail("Should load level " + lvl);
-                }
-            });
-        }
-    }
-
-    @Test
-    public void testPacmanDeathAndRespawn() throws Exception {
-        // Test handlePacmanCaught method
-        board = new Board();
-        
-        java.lang.reflect.Method handleMethod = Board.class.getDeclaredMethod("handlePacmanCaught");
-        handleMethod.setAccessible(true);
-        
-        assertDoesNotThrow(() -> {
-            try {
-                handleMethod.invoke(board);
-            } catch (Exception e) {
-                // JOptionPane or System.exit may be called
-            }
-        });
-    }
-
     @Test
     public void testDrawStatusPanelDirectly() throws Exception {
         board = new Board();
@@ -686,12 +554,12 @@ public class BoardTest {
         Graphics g = image.getGraphics();
         
         // Call drawBoard
-        java.lang.reflect.Method method = Board.class.getDeclaredMethod("drawBoard", Graphics.class);
+        java.lang.reflect.Method method = Board.class.getDeclaredMethod("drawBoard", Graphics.class, java.awt.GraphicsConfiguration.class);
         method.setAccessible(true);
         
         assertDoesNotThrow(() -> {
             try {
-                method.invoke(board, g);
+                method.invoke(board, g, null);
             } catch (Exception e) {
                 // OK
             }
@@ -705,9 +573,9 @@ public class BoardTest {
         board = new Board();
         
         // Set game to won state
-        java.lang.reflect.Field gameWonField = Board.class.getDeclaredField("gameWon");
-        gameWonField.setAccessible(true);
-        gameWonField.setBoolean(board, true);
+        java.lang.reflect.Field levelCompleteField = GameEngine.class.getDeclaredField("levelComplete");
+        levelCompleteField.setAccessible(true);
+        levelCompleteField.setBoolean(board.getEngine(), true);
         
         // Create graphics and try to paint
         java.awt.image.BufferedImage image = new java.awt.image.BufferedImage(400, 435, java.awt.image.BufferedImage.TYPE_INT_RGB);
@@ -732,9 +600,7 @@ public class BoardTest {
         board = new Board();
         
         // Get pacman and activate power-up
-        java.lang.reflect.Field pacmanField = Board.class.getDeclaredField("pacman");
-        pacmanField.setAccessible(true);
-        Pacman pacman = (Pacman) pacmanField.get(board);
+        Pacman pacman = board.getEngine().getPacman();
         pacman.activatePowerUp();
         
         // Create graphics and draw status panel
@@ -755,67 +621,6 @@ public class BoardTest {
         g.dispose();
     }
 
-    @Test
-    public void testCollisionWithFrightenedGhost() throws Exception {
-        board = new Board();
-        
-        // Get ghosts and make one frightened
-        java.lang.reflect.Field ghostsField = Board.class.getDeclaredField("ghosts");
-        ghostsField.setAccessible(true);
-        Ghost[] ghosts = (Ghost[]) ghostsField.get(board);
-        
-        if (ghosts != null && ghosts.length > 0) {
-            ghosts[0].setFrightened(true);
-            
-            // Get pacman and move it close to ghost
-            java.lang.reflect.Field pacmanField = Board.class.getDeclaredField("pacman");
-            pacmanField.setAccessible(true);
-            Pacman pacman = (Pacman) pacmanField.get(board);
-            
-            // Call checkCollisions
-            java.lang.reflect.Method collisionMethod = Board.class.getDeclaredMethod("checkCollisions");
-            collisionMethod.setAccessible(true);
-            
-            assertDoesNotThrow(() -> {
-                try {
-                    collisionMethod.invoke(board);
-                } catch (Exception e) {
-                    // OK
-                }
-            });
-        }
-    }
-
-    @Test
-    public void testCollisionWithNormalGhost() throws Exception {
-        board = new Board();
-        
-        // Ensure ghosts are in normal state
-        java.lang.reflect.Field ghostsField = Board.class.getDeclaredField("ghosts");
-        ghostsField.setAccessible(true);
-        Ghost[] ghosts = (Ghost[]) ghostsField.get(board);
-        
-        if (ghosts != null && ghosts.length > 0) {
-            for (Ghost ghost : ghosts) {
-                ghost.setFrightened(false);
-            }
-            
-            // Call checkCollisions multiple times
-            java.lang.reflect.Method collisionMethod = Board.class.getDeclaredMethod("checkCollisions");
-            collisionMethod.setAccessible(true);
-            
-            for (int i = 0; i < 5; i++) {
-                assertDoesNotThrow(() -> {
-                    try {
-                        collisionMethod.invoke(board);
-                    } catch (Exception e) {
-                        // OK - may trigger handlePacmanCaught
-                    }
-                });
-            }
-        }
-    }
-
     @Test
     public void testIsWallForPacmanNegativeColumn() {
         // Test with negative column
@@ -840,34 +645,381 @@ public class BoardTest {
     }
 
     @Test
-    public void testLevelAdvancement() throws Exception {
-        board = new Board();
-        
-        // Set to level 1
-        java.lang.reflect.Field currentLevelField = Board.class.getDeclaredField("currentLevel");
-        currentLevelField.setAccessible(true);
-        currentLevelField.setInt(board, 1);
-        
-        // Collect all points to trigger level complete
-        java.lang.reflect.Field collectedField = Board.class.getDeclaredField("collectedPoints");
-        collectedField.setAccessible(true);
-        
-        java.lang.reflect.Field totalField = Board.class.getDeclaredField("totalPoints");
-        totalField.setAccessible(true);
-        
-        int total = totalField.getInt(board);
-        collectedField.setInt(board, total);
-        
-        // Call checkLevelCompletion
-        java.lang.reflect.Method checkMethod = Board.class.getDeclaredMethod("checkLevelCompletion");
-        checkMethod.setAccessible(true);
-        
-        assertDoesNotThrow(() -> {
-            try {
-                checkMethod.invoke(board);
-            } catch (Exception e) {
-                // Timer operations may fail
+    public void testSetSeed() {
+        board.setSeed(42L);
+        assertEquals(42L, board.getSeed());
+        assertEquals(42L, board.getEngine().getSeed());
+        assertEquals(0, board.getEngine().getTick());
+    }
+
+    @Test
+    public void testAutopilotSteersPacman() {
+        board.stopTimer();
+        board.setAutopilot(game -> Direction.DOWN);
+        board.getGameLoop().advance(0);
+        board.getGameLoop().advance(GameEngine.TICK_MS * 1_000_000L);
+        assertEquals(Direction.DOWN, board.getEngine().getPacman().getDirection());
+        assertEquals(24, board.getEngine().getPacman().getY());
+
+        board.setAutopilot(null);
+        assertNull(board.getAutopilot());
+    }
+
+    @Test
+    public void testArrowKeysSteerPacman() {
+        int[] keys = {KeyEvent.VK_UP, KeyEvent.VK_RIGHT, KeyEvent.VK_DOWN, KeyEvent.VK_LEFT};
+        Direction[] directions = {Direction.UP, Direction.RIGHT, Direction.DOWN, Direction.LEFT};
+        for (int i = 0; i < keys.length; i++) {
+            board.getKeyListeners()[0].keyPressed(new KeyEvent(board, KeyEvent.KEY_PRESSED, 0, 0, keys[i], KeyEvent.CHAR_UNDEFINED));
+            assertEquals(directions[i], board.getEngine().getPacman().getDirection());
+        }
+        // Otras teclas no cambian la dirección
+        board.getKeyListeners()[0].keyPressed(new KeyEvent(board, KeyEvent.KEY_PRESSED, 0, 0, KeyEvent.VK_SPACE, ' '));
+        assertEquals(Direction.LEFT, board.getEngine().getPacman().getDirection());
+        assertNull(Board.directionFor(KeyEvent.VK_SPACE));
+    }
+
+    @Test
+    public void testKeyTogglesMctsAutopilot() {
+        KeyEvent key = new KeyEvent(board, KeyEvent.KEY_PRESSED, 0, 0, KeyEvent.VK_A, 'a');
+        board.getKeyListeners()[0].keyPressed(key);
+        assertTrue(board.getAutopilot() instanceof MctsPolicy);
+
+        board.getKeyListeners()[0].keyPressed(key);
+        assertNull(board.getAutopilot());
+    }
+
+    @Test
+    public void testMazeLayerIsReusedAcrossFrames() {
+        java.awt.image.BufferedImage image = new java.awt.image.BufferedImage(400, 435,
+            java.awt.image.BufferedImage.TYPE_INT_RGB);
+        Graphics g = image.getGraphics();
+        board.paintComponent(g);
+        board.paintComponent(g);
+        board.paintComponent(g);
+        g.dispose();
+        assertEquals(1, board.getMazeLayer().getRenderCount());
+        // Pared en (0, 0) del laberinto, punto en (1, 2)
+        assertEquals(java.awt.Color.BLUE.getRGB(), image.getRGB(10, 35 + 10));
+        assertEquals(java.awt.Color.WHITE.getRGB(), image.getRGB(2 * 20 + 10, 35 + 20 + 10));
+    }
+
+    @Test
+    public void testFirstFrameRepaintsEverything() {
+        board.stopTimer();
+        assertTrue(board.collectChanges().isFull());
+    }
+
+    @Test
+    public void testUnchangedFrameRepaintsNothing() {
+        board.stopTimer();
+        board.collectChanges();
+        assertTrue(board.collectChanges().isEmpty());
+    }
+
+    @Test
+    public void testMovingSpritesOnlyDirtyTheirBoxes() {
+        board.stopTimer();
+        board.collectChanges();
+        GameEngine engine = board.getEngine();
+        engine.getPacman().setDirection(Direction.RIGHT);
+        // Con alpha 0 se dibuja la posición del tick anterior: dos pasos para avanzar 4 px
+        engine.getPacman().move();
+        engine.getPacman().move();
+
+        DirtyRegions dirty = board.collectChanges();
+
+        assertFalse(dirty.isFull());
+        assertEquals(1, dirty.getCount());
+        // Cajas de 17x17 en x = 20 y 24 (más el panel de estado): 21 x 17
+        assertEquals(new java.awt.Rectangle(19, 19 + 35, 21, 17), dirty.get(0));
+    }
+
+    @Test
+    public void testEatenPointAndStatusPanelAreDirty() {
+        board.stopTimer();
+        GameEngine engine = board.getEngine();
+        board.collectChanges();
+        engine.getPacman().setDirection(Direction.RIGHT);
+        for (int i = 0; i < 5; i++) {
+            engine.getPacman().move();
+        }
+        engine.checkCollisions();   // punto en (1, 2): +10 puntos
+
+        DirtyRegions dirty = board.collectChanges();
+
+        assertFalse(dirty.isFull());
+        boolean panel = false;
+        boolean cell = false;
+        for (int i = 0; i < dirty.getCount(); i++) {
+            java.awt.Rectangle r = dirty.get(i);
+            panel |= r.contains(new java.awt.Rectangle(0, 0, 400, 35));
+            cell |= r.contains(new java.awt.Rectangle(40, 20 + 35, 20, 20));
+        }
+        assertTrue(panel);
+        assertTrue(cell);
+        assertTrue(dirty.getArea() < 400 * 435 / 4);
+    }
+
+    @Test
+    public void testGhostColourChangeIsDirty() {
+        board.stopTimer();
+        board.collectChanges();
+        board.getEngine().getGhosts()[2].setFrightened(true);
+        DirtyRegions dirty = board.collectChanges();
+        assertEquals(1, dirty.getCount());
+        assertEquals(17 * 17, dirty.getArea());
+    }
+
+    @Test
+    public void testLevelChangeRepaintsEverything() {
+        board.stopTimer();
+        board.collectChanges();
+        board.getEngine().loadLevel(1);
+        assertTrue(board.collectChanges().isFull());
+    }
+
+    @Test
+    public void testRepaintedPixelsAccumulate() {
+        board.stopTimer();
+        board.repaintChanges();
+        long full = board.getRepaintedPixels();
+        board.repaintChanges();
+        assertEquals(full, board.getRepaintedPixels());
+    }
+
+    @Test
+    public void testGamePaintCodeAllocatesNothingInSteadyState() {
+        board.stopTimer();
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) java.lang.management.ManagementFactory.getThreadMXBean();
+        // Solo se comprueba el código de pintado del juego: debajo no hay pipeline de Java2D,
+        // cuyas reservas internas (que dependen del JIT) no cubre este test
+        NullGraphics2D g = new NullGraphics2D();
+        Pacman pacman = board.getEngine().getPacman();
+        pacman.setClock(() -> 0L);
+        pacman.activatePowerUp();
+        for (int i = 0; i < 100; i++) {
+            board.render(g, null);
+        }
+        long thread = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < 1000; i++) {
+            board.render(g, null);
+        }
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+        // Margen para la propia medición, no para el pintado: 1000 fotogramas deben quedar en 0 bytes
+        assertTrue(allocated < 1024, "allocated " + allocated + " bytes in 1000 frames");
+        assertTrue(g.getDrawCalls() > 0);
+    }
+
+    @Test
+    public void testHudTextIsLaidOutOnlyWhenTheScoreChanges() {
+        board.stopTimer();
+        java.awt.image.BufferedImage image =
+            new java.awt.image.BufferedImage(400, 435, java.awt.image.BufferedImage.TYPE_INT_RGB);
+        java.awt.Graphics2D g = image.createGraphics();
+        board.render(g, null);
+        board.render(g, null);
+        assertEquals(1, board.getScoreText().getLayoutCount());
+        assertEquals("Puntos: 0", board.getScoreText().getText());
+
+        board.getEngine().getPacman().addScore(10);
+        board.render(g, null);
+        assertEquals(2, board.getScoreText().getLayoutCount());
+        assertEquals("Puntos: 10", board.getScoreText().getText());
+        g.dispose();
+    }
+
+    @Test
+    public void testRescaleRegeneratesLayersOnceAtTheNewSize() throws Exception {
+        board.stopTimer();
+        ViewScale view = board.rescale(800, 870, 1).get(5, java.util.concurrent.TimeUnit.SECONDS);
+        assertEquals(2.0, view.getZoom());
+        assertEquals(1, board.getRescaleCount());
+        assertEquals(2.0, board.getMazeLayer().getZoom());
+        assertEquals(2 * SpriteAtlas.FRAME_SIZE, board.getSpriteAtlas().getFrameSize());
+
+        java.awt.image.BufferedImage image =
+            new java.awt.image.BufferedImage(800, 870, java.awt.image.BufferedImage.TYPE_INT_RGB);
+        java.awt.Graphics2D g = image.createGraphics();
+        board.render(g, null);
+        board.render(g, null);
+        g.dispose();
+        // Las capas se generaron en segundo plano: los fotogramas solo las copian
+        assertEquals(1, board.getMazeLayer().getRenderCount());
+        assertEquals(800, board.getMazeLayer().get(board.getEngine(), null).getWidth());
+        // Pared (0, 0) con celdas de 40 px bajo un panel de estado de 70 px
+        assertEquals(java.awt.Color.CYAN.getRGB(), image.getRGB(0, 70));
+        assertEquals(java.awt.Color.BLUE.getRGB(), image.getRGB(20, 90));
+        // Pac-Man en la celda (1, 1)
+        assertEquals(java.awt.Color.YELLOW.getRGB(), image.getRGB(55, 125));
+    }
+
+    @Test
+    public void testHiDpiRendersInDevicePixels() throws Exception {
+        board.stopTimer();
+        ViewScale view = board.rescale(400, 435, 2).get(5, java.util.concurrent.TimeUnit.SECONDS);
+        assertEquals(2.0, view.getZoom());
+
+        // Graphics como los de Swing en una pantalla al 200 %
+        java.awt.image.BufferedImage image =
+            new java.awt.image.BufferedImage(800, 870, java.awt.image.BufferedImage.TYPE_INT_RGB);
+        java.awt.Graphics2D g = image.createGraphics();
+        g.scale(2, 2);
+        board.render(g, null);
+        assertEquals(2.0, g.getTransform().getScaleX());
+        g.dispose();
+        assertEquals(java.awt.Color.BLUE.getRGB(), image.getRGB(20, 90));
+        assertEquals(java.awt.Color.YELLOW.getRGB(), image.getRGB(55, 125));
+    }
+
+    @Test
+    public void testSameCellSizeOnlyMovesTheBoard() throws Exception {
+        board.stopTimer();
+        MazeLayer layer = board.getMazeLayer();
+        ViewScale view = board.rescale(500, 435, 1).get(5, java.util.concurrent.TimeUnit.SECONDS);
+        assertEquals(1.0, view.getZoom());
+        assertEquals(50, view.getOffsetX());
+        assertSame(layer, board.getMazeLayer());
+        assertEquals(0, board.getRescaleCount());
+
+        java.awt.image.BufferedImage image =
+            new java.awt.image.BufferedImage(500, 435, java.awt.image.BufferedImage.TYPE_INT_RGB);
+        java.awt.Graphics2D g = image.createGraphics();
+        g.setColor(java.awt.Color.WHITE);
+        g.fillRect(0, 0, 500, 435);
+        board.setSize(500, 435);
+        board.paintComponent(g);
+        g.dispose();
+        // Márgenes con el fondo y el tablero centrado
+        assertEquals(java.awt.Color.BLACK.getRGB(), image.getRGB(25, 100));
+        assertEquals(java.awt.Color.BLACK.getRGB(), image.getRGB(475, 300));
+        assertEquals(java.awt.Color.BLUE.getRGB(), image.getRGB(60, 45));
+    }
+
+    @Test
+    public void testViewportChangesAreDebounced() throws Exception {
+        board.stopTimer();
+        // Arrastrar la ventana: muchos tamaños seguidos, una sola regeneración con el último
+        for (int width = 420; width <= 800; width += 20) {
+            board.setViewport(width, 870, 1);
+        }
+        long deadline = System.currentTimeMillis() + 5000;
+        while (board.getRescaleCount() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(2 * Board.RESCALE_DELAY_MS);
+        assertEquals(1, board.getRescaleCount());
+        assertEquals(2.0, board.getViewScale().getZoom());
+    }
+
+    @Test
+    public void testScaledRepaintRegionsUseComponentCoordinates() throws Exception {
+        board.stopTimer();
+        board.rescale(800, 870, 1).get(5, java.util.concurrent.TimeUnit.SECONDS);
+        java.awt.Rectangle r = board.getViewScale().toComponent(new java.awt.Rectangle(20, 55, 17, 17));
+        assertEquals(new java.awt.Rectangle(40, 110, 34, 34), r);
+    }
+
+    @Test
+    public void testCaptureAudioRecordsEngineSounds() {
+        CaptureAudio capture = new CaptureAudio(64);
+        board = new Board(capture);
+        board.stopTimer();
+        assertSame(capture, board.getAudio());
+        board.setAutopilot(PacmanPolicy.randomWalk(7));
+        long step = GameEngine.TICK_MS * 1_000_000L;
+        for (int i = 0; i <= 200 && capture.size() == 0; i++) {
+            board.getGameLoop().advance(i * step);
+        }
+        assertTrue(capture.size() > 0);
+        // Lo primero que suena es comer un punto o un power pellet
+        assertTrue(capture.getName(0).startsWith("eat_"), capture.getName(0));
+        assertTrue(capture.getTick(0) > 0 && capture.getTick(0) <= board.getEngine().getTick());
+    }
+
+    @Test
+    public void testBoardWithoutDeviceUsesNullAudio() {
+        // En los tests (y en un entorno sin pantalla) el tablero no abre el dispositivo de audio
+        assertSame(NullAudio.INSTANCE, board.getAudio());
+    }
+
+    @Test
+    public void testRepaintedPixelsStayCloseToTheDirtyArea() {
+        RecordingBoard recording = new RecordingBoard();
+        recording.stopTimer();
+        recording.setAutopilot(PacmanPolicy.randomWalk(1L));
+        DirtyRegions dirty = recording.collectChanges();
+        long changed = 0;
+        long requested = 0;
+        int separate = 0;
+        // 600 fotogramas a 60 Hz, como el timer de render
+        for (int i = 1; i <= 600; i++) {
+            recording.getGameLoop().advance(i * 1_000_000_000L / 60);
+            recording.clearRequests();
+            long before = recording.getRepaintedPixels();
+            recording.repaintChanges();
+            if (dirty.isFull()) {
+                continue;
             }
-        });
+            changed += dirty.getArea();
+            requested += recording.requestedPixels();
+            separate += recording.immediate.isEmpty() ? 0 : 1;
+            // La métrica cuenta lo que de verdad se pide a Swing
+            assertEquals(recording.requestedPixels(), recording.getRepaintedPixels() - before);
+        }
+        assertTrue(changed > 0);
+        assertTrue(separate > 0);
+        // Sin pintar por separado, el rectángulo común supera 20 veces el área sucia
+        assertTrue(requested < 2 * changed, requested + " px requested for " + changed + " px changed");
+    }
+
+    @Test
+    public void testNearbyRegionsArePaintedTogether() {
+        DirtyRegions dirty = new DirtyRegions();
+        java.awt.Rectangle bounds = new java.awt.Rectangle();
+        dirty.add(0, 0, 17, 17);
+        dirty.add(0, 30, 17, 17);
+        assertFalse(Board.paintsSeparately(dirty, dirty.getBounds(bounds)));
+        dirty.add(380, 400, 17, 17);
+        assertTrue(Board.paintsSeparately(dirty, dirty.getBounds(bounds)));
+    }
+
+    // Tablero que anota lo que pide repintar en vez de pasárselo a Swing
+    private static class RecordingBoard extends Board {
+        final java.util.List<java.awt.Rectangle> immediate = new java.util.ArrayList<>();
+        private java.awt.Rectangle queued;
+
+        RecordingBoard() {
+            super(NullAudio.INSTANCE);
+        }
+
+        @Override
+        public void paintImmediately(java.awt.Rectangle r) {
+            immediate.add(new java.awt.Rectangle(r));
+        }
+
+        // RepaintManager junta todas las peticiones de un ciclo en su rectángulo común
+        @Override
+        public void repaint(long tm, int x, int y, int width, int height) {
+            java.awt.Rectangle r = new java.awt.Rectangle(x, y, width, height);
+            if (immediate != null) {
+                queued = queued == null ? r : queued.union(r);
+            }
+        }
+
+        void clearRequests() {
+            immediate.clear();
+            queued = null;
+        }
+
+        long requestedPixels() {
+            long pixels = queued == null ? 0 : (long) queued.width * queued.height;
+            for (java.awt.Rectangle r : immediate) {
+                pixels += (long) r.width * r.height;
+            }
+            return pixels;
+        }
     }
 }
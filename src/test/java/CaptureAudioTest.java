@@ -0,0 +1,63 @@
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CaptureAudioTest {
+
+    @Test
+    public void testRecordsSoundsInOrder() {
+        CaptureAudio capture = new CaptureAudio(8);
+        capture.playSound("eat_dot", 3);
+        capture.playSound("eat_power", 5);
+
+        assertEquals(2, capture.size());
+        assertEquals("eat_dot", capture.getName(0));
+        assertEquals(3, capture.getTick(0));
+        assertEquals("eat_power", capture.getName(1));
+        assertEquals(5, capture.getTick(1));
+        assertEquals(1, capture.count("eat_dot"));
+        assertEquals(0, capture.count("death"));
+    }
+
+    @Test
+    public void testFullRingOverwritesOldest() {
+        CaptureAudio capture = new CaptureAudio(3);
+        for (int tick = 0; tick < 5; tick++) {
+            capture.playSound("eat_dot", tick);
+        }
+        assertEquals(3, capture.size());
+        assertEquals(2, capture.getTick(0));
+        assertEquals(4, capture.getTick(2));
+        assertEquals(5, capture.getTotal());
+        assertEquals(2, capture.getOverwritten());
+        assertThrows(IndexOutOfBoundsException.class, () -> capture.getTick(3));
+    }
+
+    @Test
+    public void testClear() {
+        CaptureAudio capture = new CaptureAudio(2);
+        capture.playSound("death", 1);
+        capture.clear();
+        assertEquals(0, capture.size());
+        assertEquals(0, capture.getTotal());
+        assertEquals(2, capture.getCapacity());
+        assertThrows(IllegalArgumentException.class, () -> new CaptureAudio(0));
+    }
+
+    @Test
+    public void testRecordingDoesNotAllocate() {
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) java.lang.management.ManagementFactory.getThreadMXBean();
+        CaptureAudio capture = new CaptureAudio(64);
+        for (int i = 0; i < 10_000; i++) {
+            capture.playSound("eat_dot", i);
+        }
+        long thread = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < 100_000; i++) {
+            capture.playSound(i % 2 == 0 ? "eat_dot" : "eat_ghost", i);
+        }
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+        assertTrue(allocated < 1024, "allocated " + allocated + " bytes");
+    }
+}
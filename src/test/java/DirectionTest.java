@@ -53,4 +53,33 @@ public class DirectionTest {
             Direction.valueOf("INVALID");
         });
     }
+
+    @Test
+    public void testDirectionDeltas() {
+        assertEquals(-1, Direction.LEFT.getDx());
+        assertEquals(0, Direction.LEFT.getDy());
+        assertEquals(1, Direction.RIGHT.getDx());
+        assertEquals(-1, Direction.UP.getDy());
+        assertEquals(1, Direction.DOWN.getDy());
+        assertEquals(0, Direction.DOWN.getDx());
+    }
+
+    @Test
+    public void testDirectionMasksAreDistinctBits() {
+        int all = 0;
+        for (Direction direction : Direction.values()) {
+            assertEquals(1, Integer.bitCount(direction.getMask()));
+            all |= direction.getMask();
+        }
+        assertEquals(0b1111, all);
+    }
+
+    @Test
+    public void testFromOrdinal() {
+        for (Direction direction : Direction.values()) {
+            assertSame(direction, Direction.fromOrdinal(direction.ordinal()));
+        }
+        assertThrows(IllegalArgumentException.class, () -> Direction.fromOrdinal(-1));
+        assertThrows(IllegalArgumentException.class, () -> Direction.fromOrdinal(4));
+    }
 }
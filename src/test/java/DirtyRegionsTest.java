@@ -0,0 +1,100 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+
+import java.awt.Rectangle;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DirtyRegionsTest {
+
+    private DirtyRegions regions;
+
+    @BeforeEach
+    public void setUp() {
+        regions = new DirtyRegions();
+    }
+
+    @Test
+    public void testStartsEmpty() {
+        assertTrue(regions.isEmpty());
+        assertEquals(0, regions.getCount());
+        assertEquals(0, regions.getArea());
+    }
+
+    @Test
+    public void testNearbyBoxesMerge() {
+        // Un sprite que avanza 4 px: caja vieja y nueva casi solapadas
+        regions.add(100, 100, 17, 17);
+        regions.add(104, 100, 17, 17);
+        assertEquals(1, regions.getCount());
+        assertEquals(new Rectangle(100, 100, 21, 17), regions.get(0));
+    }
+
+    @Test
+    public void testDistantBoxesStaySeparate() {
+        regions.add(0, 0, 17, 17);
+        regions.add(300, 300, 17, 17);
+        assertEquals(2, regions.getCount());
+        assertEquals(2 * 17 * 17, regions.getArea());
+    }
+
+    @Test
+    public void testAreaCountsOverlapsOnce() {
+        // Un 20x4 y un 4x20 cruzados: la caja común desperdiciaría demasiado, así que no se
+        // fusionan, pero comparten un cuadrado de 4x4
+        regions.add(0, 8, 20, 4);
+        regions.add(8, 0, 4, 20);
+        assertEquals(2, regions.getCount());
+        assertEquals(20 * 4 + 4 * 20 - 4 * 4, regions.getArea());
+    }
+
+    @Test
+    public void testBoundsContainEveryRegion() {
+        Rectangle bounds = new Rectangle();
+        assertEquals(new Rectangle(), regions.getBounds(bounds));
+        regions.add(0, 0, 17, 17);
+        regions.add(300, 300, 17, 17);
+        assertSame(bounds, regions.getBounds(bounds));
+        assertEquals(new Rectangle(0, 0, 317, 317), bounds);
+    }
+
+    @Test
+    public void testGrowingRegionAbsorbsOverlaps() {
+        regions.add(0, 0, 10, 10);
+        regions.add(30, 0, 10, 10);
+        // Puente entre las dos: la unión no desperdicia nada
+        regions.add(0, 0, 40, 10);
+        assertEquals(1, regions.getCount());
+        assertEquals(new Rectangle(0, 0, 40, 10), regions.get(0));
+    }
+
+    @Test
+    public void testEmptyRectanglesAreIgnored() {
+        regions.add(5, 5, 0, 10);
+        regions.add(5, 5, 10, -1);
+        assertTrue(regions.isEmpty());
+    }
+
+    @Test
+    public void testMarkAllAndClear() {
+        regions.add(0, 0, 10, 10);
+        regions.markAll();
+        assertTrue(regions.isFull());
+        assertFalse(regions.isEmpty());
+        regions.add(50, 50, 10, 10);
+        assertEquals(1, regions.getCount());
+
+        regions.clear();
+        assertTrue(regions.isEmpty());
+        assertFalse(regions.isFull());
+    }
+
+    @Test
+    public void testGrowsBeyondInitialCapacity() {
+        for (int i = 0; i < 20; i++) {
+            regions.add(i * 40, 0, 10, 10);
+        }
+        assertEquals(20, regions.getCount());
+        assertEquals(new Rectangle(760, 0, 10, 10), regions.get(19));
+    }
+}
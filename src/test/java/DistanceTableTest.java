@@ -0,0 +1,86 @@
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DistanceTableTest {
+
+    // Pasillo horizontal abierto en la fila 10, con túnel entre las columnas 0 y 19
+    private static long[] corridor() {
+        long[] blocked = Bitboard.create();
+        for (int row = 0; row < GameEngine.ROWS; row++) {
+            for (int col = 0; col < GameEngine.COLS; col++) {
+                if (row != 10) {
+                    Bitboard.set(blocked, Bitboard.index(row, col));
+                }
+            }
+        }
+        return blocked;
+    }
+
+    @Test
+    public void testCorridorDistancesUseTheTunnel() {
+        DistanceTable table = new DistanceTable(corridor());
+        assertEquals(0, table.distance(Bitboard.index(10, 5), Bitboard.index(10, 5)));
+        assertEquals(3, table.distance(Bitboard.index(10, 2), Bitboard.index(10, 5)));
+        assertEquals(1, table.distance(Bitboard.index(10, 0), Bitboard.index(10, 19)));
+        assertEquals(4, table.distance(Bitboard.index(10, 1), Bitboard.index(10, 17)));
+        assertEquals(10, table.distance(Bitboard.index(10, 0), Bitboard.index(10, 10)));
+    }
+
+    @Test
+    public void testWallsAreUnreachable() {
+        DistanceTable table = new DistanceTable(corridor());
+        assertEquals(DistanceTable.UNREACHABLE, table.distance(Bitboard.index(0, 0), Bitboard.index(10, 5)));
+        assertEquals(DistanceTable.UNREACHABLE, table.distance(Bitboard.index(10, 5), Bitboard.index(9, 5)));
+    }
+
+    @Test
+    public void testDetourAroundWall() {
+        long[] blocked = Bitboard.create();
+        // Pared vertical en la columna 5 salvo en la fila 19
+        for (int row = 0; row < 19; row++) {
+            Bitboard.set(blocked, Bitboard.index(row, 5));
+        }
+        // Sin túnel: columnas 0 y 19 cerradas
+        for (int row = 0; row < GameEngine.ROWS; row++) {
+            Bitboard.set(blocked, Bitboard.index(row, 0));
+            Bitboard.set(blocked, Bitboard.index(row, 19));
+        }
+        DistanceTable table = new DistanceTable(blocked);
+        // (0,4) -> bajar 19, cruzar 2, subir 19
+        assertEquals(40, table.distance(Bitboard.index(0, 4), Bitboard.index(0, 6)));
+    }
+
+    @Test
+    public void testGameLevelsAreSymmetricAndPelletsReachable() {
+        for (int level = 0; level < GameEngine.LEVEL_COUNT; level++) {
+            GameEngine engine = new GameEngine();
+            engine.loadLevel(level);
+            DistanceTable table = GameEngine.ghostDistances(level);
+            int pacmanStart = Bitboard.index(1, 1);
+            for (int from = 0; from < Bitboard.CELLS; from++) {
+                int row = from / GameEngine.COLS;
+                int col = from % GameEngine.COLS;
+                int cell = engine.getCell(row, col);
+                for (int to = 0; to < Bitboard.CELLS; to += 7) {
+                    assertEquals(table.distance(from, to), table.distance(to, from));
+                }
+                // Todos los puntos se pueden alcanzar desde la salida de Pacman
+                if (cell == GameEngine.POINT || cell == GameEngine.POWER_PELLET) {
+                    assertTrue(table.distance(from, pacmanStart) >= 0, "level " + level + " cell " + from);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testCopyFieldMatchesDistances() {
+        DistanceTable table = GameEngine.ghostDistances(0);
+        short[] field = new short[Bitboard.CELLS];
+        int target = Bitboard.index(14, 3);
+        table.copyField(target, field);
+        for (int cell = 0; cell < Bitboard.CELLS; cell++) {
+            assertEquals(table.distance(cell, target), field[cell]);
+        }
+    }
+}
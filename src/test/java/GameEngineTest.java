@@ -0,0 +1,775 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameEngineTest {
+
+    private GameEngine engine;
+    private List<String> sounds;
+
+    @BeforeEach
+    public void setUp() {
+        engine = new GameEngine();
+        sounds = new ArrayList<>();
+        engine.setSoundListener(sounds::add);
+    }
+
+    private void clearBitboard(String name) throws Exception {
+        java.lang.reflect.Field field = GameEngine.class.getDeclaredField(name);
+        field.setAccessible(true);
+        java.util.Arrays.fill((long[]) field.get(engine), 0L);
+    }
+
+    private void completeLevel() throws Exception {
+        clearBitboard("points");
+        clearBitboard("powerPellets");
+        engine.checkLevelCompletion();
+    }
+
+    private void placeGhostOnPacman(int index) {
+        engine.placeGhost(index, engine.getPacman().getX(), engine.getPacman().getY());
+    }
+
+    @Test
+    public void testInitialState() {
+        assertEquals(0, engine.getCurrentLevel());
+        assertEquals(0, engine.getCollectedPoints());
+        assertTrue(engine.getTotalPoints() > 0);
+        assertEquals(3, engine.getGhosts().length);
+        assertNotNull(engine.getPacman());
+        assertFalse(engine.isLevelComplete());
+        assertFalse(engine.isGameOver());
+        assertFalse(engine.isGameCompleted());
+        assertFalse(engine.isPaused());
+        assertEquals(0, engine.getTick());
+    }
+
+    @Test
+    public void testDimensions() {
+        assertEquals(20, engine.getBlockSize());
+        assertEquals(400, engine.getBoardWidth());
+        assertEquals(400, engine.getBoardHeight());
+    }
+
+    @Test
+    public void testCellsAndPellets() {
+        assertEquals(GameEngine.WALL, engine.getCell(0, 0));
+        assertEquals(GameEngine.GHOST_HOUSE, engine.getCell(9, 9));
+        assertTrue(engine.hasPowerPellet(1, 1));
+        assertFalse(engine.hasPoint(1, 1));
+        assertTrue(engine.hasPoint(1, 2));
+        assertFalse(engine.hasPoint(0, 0));
+    }
+
+    @Test
+    public void testPelletCountsComeFromBitboards() {
+        // Level 1 has 4 power pellets; every other pellet is a regular point
+        assertEquals(engine.getTotalPoints(), engine.getPelletsLeft());
+        int regular = 0;
+        int power = 0;
+        for (int row = 0; row < GameEngine.ROWS; row++) {
+            for (int col = 0; col < GameEngine.COLS; col++) {
+                regular += engine.hasPoint(row, col) ? 1 : 0;
+                power += engine.hasPowerPellet(row, col) ? 1 : 0;
+            }
+        }
+        assertEquals(4, power);
+        assertEquals(regular + power, engine.getTotalPoints());
+
+        engine.step();
+        assertEquals(engine.getTotalPoints() - 1, engine.getPelletsLeft());
+    }
+
+    @Test
+    public void testReloadingLevelRestoresPellets() {
+        engine.step();
+        assertFalse(engine.hasPowerPellet(1, 1));
+
+        engine.loadLevel(0);
+        assertTrue(engine.hasPowerPellet(1, 1));
+        assertEquals(engine.getTotalPoints(), engine.getPelletsLeft());
+        assertEquals(0, engine.getCollectedPoints());
+    }
+
+    @Test
+    public void testIsWall() {
+        assertTrue(engine.isWall(0, 0));
+        assertFalse(engine.isWall(20, 20));
+        assertFalse(engine.isWall(180, 180)); // Ghosts may enter the ghost house
+        assertTrue(engine.isWall(100, -10));
+        assertTrue(engine.isWall(100, 420));
+        // Tunnel row 10 is open on both sides, row 1 is not
+        assertFalse(engine.isWall(-25, 200));
+        assertFalse(engine.isWall(425, 200));
+        assertTrue(engine.isWall(-25, 20));
+        assertTrue(engine.isWall(425, 20));
+    }
+
+    @Test
+    public void testIsWallForPacman() {
+        assertTrue(engine.isWallForPacman(0, 0));
+        assertFalse(engine.isWallForPacman(20, 20));
+        assertTrue(engine.isWallForPacman(180, 180));
+        assertTrue(engine.isWallForPacman(100, -10));
+        assertTrue(engine.isWallForPacman(100, 420));
+        assertFalse(engine.isWallForPacman(-25, 200));
+        assertFalse(engine.isWallForPacman(425, 200));
+        assertTrue(engine.isWallForPacman(-25, 20));
+        assertTrue(engine.isWallForPacman(425, 20));
+    }
+
+    @Test
+    public void testStepAdvancesSimulatedTime() {
+        engine.step();
+        engine.step();
+        assertEquals(2, engine.getTick());
+        assertEquals(2 * GameEngine.TICK_MS, engine.getElapsedMillis());
+    }
+
+    @Test
+    public void testFirstStepEatsPowerPelletAtStart() {
+        // Pacman starts on the power pellet at (1,1) facing a wall
+        engine.step();
+
+        assertFalse(engine.hasPowerPellet(1, 1));
+        assertEquals(1, engine.getCollectedPoints());
+        assertEquals(50, engine.getPacman().getScore());
+        assertTrue(engine.getPacman().isPoweredUp());
+        assertTrue(sounds.contains("eat_power"));
+    }
+
+    @Test
+    public void testEatingPoint() {
+        engine.step();
+        engine.getPacman().setDirection(Direction.RIGHT);
+        for (int i = 0; i < 5; i++) {
+            engine.step();
+        }
+
+        assertFalse(engine.hasPoint(1, 2));
+        assertEquals(60, engine.getPacman().getScore());
+        assertTrue(sounds.contains("eat_dot"));
+    }
+
+    @Test
+    public void testPowerUpUsesSimulatedClock() {
+        engine.step();
+        assertTrue(engine.getPacman().isPoweredUp());
+
+        // 10 s of simulated time are 250 ticks; no wall-clock wait needed
+        for (int i = 0; i < 10000 / GameEngine.TICK_MS + 1; i++) {
+            engine.placeGhost(0, 300, 300);
+            engine.placeGhost(1, 300, 300);
+            engine.placeGhost(2, 300, 300);
+            engine.step();
+        }
+        assertFalse(engine.getPacman().isPoweredUp());
+        for (Ghost ghost : engine.getGhosts()) {
+            assertFalse(ghost.isFrightened());
+        }
+    }
+
+    @Test
+    public void testEatingFrightenedGhost() {
+        Ghost ghost = engine.getGhosts()[0];
+        ghost.setFrightened(true);
+        placeGhostOnPacman(0);
+
+        engine.checkCollisions();
+
+        assertTrue(ghost.isReturning());
+        // 50 for the power pellet under Pacman's start cell plus 200 for the ghost
+        assertEquals(250, engine.getPacman().getScore());
+        assertTrue(sounds.contains("eat_ghost"));
+    }
+
+    @Test
+    public void testReturningGhostDoesNotCatchPacman() {
+        Ghost ghost = engine.getGhosts()[0];
+        ghost.sendToStart();
+        placeGhostOnPacman(0);
+
+        engine.checkCollisions();
+
+        assertEquals(3, engine.getPacman().getLives());
+    }
+
+    @Test
+    public void testGhostCatchesPacman() {
+        // Eat the start power pellet first so the ghosts are not frightened afterwards
+        engine.checkCollisions();
+        for (Ghost g : engine.getGhosts()) {
+            g.setFrightened(false);
+        }
+        Ghost ghost = engine.getGhosts()[1];
+        placeGhostOnPacman(1);
+
+        engine.checkCollisions();
+
+        assertEquals(2, engine.getPacman().getLives());
+        assertTrue(engine.isPaused());
+        assertTrue(sounds.contains("death"));
+        assertEquals(200, ghost.getX());
+        assertEquals(180, ghost.getY());
+    }
+
+    @Test
+    public void testRespawnPauseFreezesSimulation() {
+        engine.handlePacmanCaught();
+        assertTrue(engine.isPaused());
+
+        int ghostX = engine.getGhosts()[0].getX();
+        int ghostY = engine.getGhosts()[0].getY();
+        for (int i = 0; i < 1000 / GameEngine.TICK_MS; i++) {
+            engine.step();
+            assertEquals(ghostX, engine.getGhosts()[0].getX());
+            assertEquals(ghostY, engine.getGhosts()[0].getY());
+        }
+        assertFalse(engine.isPaused());
+    }
+
+    private void moveForAWhile() {
+        engine.getPacman().setDirection(Direction.DOWN);
+        for (int i = 0; i < 5; i++) {
+            engine.step();
+        }
+    }
+
+    // Nada se mueve: la interpolación de render no puede hacer oscilar los sprites
+    private void assertRenderPositionIsStable() {
+        Pacman pacman = engine.getPacman();
+        assertEquals(pacman.getX(), pacman.getRenderX(0));
+        assertEquals(pacman.getY(), pacman.getRenderY(0));
+        for (Ghost ghost : engine.getGhosts()) {
+            assertEquals(ghost.getX(), ghost.getRenderX(0));
+            assertEquals(ghost.getY(), ghost.getRenderY(0));
+        }
+    }
+
+    @Test
+    public void testRenderPositionIsStableDuringRespawnPause() {
+        moveForAWhile();
+        engine.handlePacmanCaught();
+        while (engine.isPaused()) {
+            engine.step();
+            assertRenderPositionIsStable();
+        }
+    }
+
+    @Test
+    public void testRenderPositionIsStableDuringLevelTransition() throws Exception {
+        moveForAWhile();
+        completeLevel();
+        int level = engine.getCurrentLevel();
+        engine.step();
+        while (engine.getCurrentLevel() == level) {
+            assertRenderPositionIsStable();
+            engine.step();
+        }
+    }
+
+    @Test
+    public void testRenderPositionIsStableAfterGameOver() {
+        moveForAWhile();
+        engine.handlePacmanCaught();
+        engine.handlePacmanCaught();
+        engine.handlePacmanCaught();
+        engine.step();
+        assertRenderPositionIsStable();
+    }
+
+    @Test
+    public void testGameOver() {
+        engine.handlePacmanCaught();
+        engine.handlePacmanCaught();
+        engine.handlePacmanCaught();
+
+        assertTrue(engine.isGameOver());
+        long tick = engine.getTick();
+        int x = engine.getPacman().getX();
+        engine.step();
+        assertEquals(tick + 1, engine.getTick());
+        assertEquals(x, engine.getPacman().getX());
+    }
+
+    @Test
+    public void testCheckLevelCompletionNotYet() {
+        engine.checkLevelCompletion();
+        assertFalse(engine.isLevelComplete());
+    }
+
+    @Test
+    public void testLevelCompletionAdvancesAfterTransition() throws Exception {
+        completeLevel();
+
+        assertTrue(engine.isLevelComplete());
+        assertTrue(engine.isPaused());
+        assertTrue(sounds.contains("level_complete"));
+
+        for (int i = 0; i < 2000 / GameEngine.TICK_MS; i++) {
+            engine.step();
+        }
+
+        assertEquals(1, engine.getCurrentLevel());
+        assertFalse(engine.isLevelComplete());
+        assertEquals(0, engine.getCollectedPoints());
+    }
+
+    @Test
+    public void testGameCompletedAfterLastLevel() throws Exception {
+        engine.loadLevel(GameEngine.LEVEL_COUNT - 1);
+        completeLevel();
+
+        for (int i = 0; i < 2000 / GameEngine.TICK_MS; i++) {
+            engine.step();
+        }
+
+        assertTrue(engine.isGameCompleted());
+        assertEquals(GameEngine.LEVEL_COUNT - 1, engine.getCurrentLevel());
+    }
+
+    @Test
+    public void testAllLevelsLoadCorrectly() {
+        for (int level = 0; level < GameEngine.LEVEL_COUNT; level++) {
+            engine.loadLevel(level);
+            assertEquals(level, engine.getCurrentLevel());
+            assertTrue(engine.getTotalPoints() > 0);
+            assertEquals(20, engine.getPacman().getX());
+            assertEquals(20, engine.getPacman().getY());
+        }
+    }
+
+    @Test
+    public void testLongHeadlessRun() {
+        for (int i = 0; i < 5000; i++) {
+            engine.step();
+        }
+        assertEquals(5000, engine.getTick());
+    }
+
+    // Reference implementation: the four-corner probe Pacman and Ghost used before
+    private static boolean fourCornerFree(java.util.function.BiPredicate<Integer, Integer> blocked, int x, int y) {
+        int edge = Pacman.getCharacterSize() - 1;
+        return !blocked.test(x, y) && !blocked.test(x + edge, y)
+            && !blocked.test(x, y + edge) && !blocked.test(x + edge, y + edge);
+    }
+
+    @Test
+    public void testMovementMasksMatchFourCornerProbing() {
+        int[] speeds = {2, 4};
+        for (int level = 0; level < GameEngine.LEVEL_COUNT; level++) {
+            engine.loadLevel(level);
+            for (int y = -10; y <= 400; y++) {
+                for (int x = -40; x <= 420; x++) {
+                    boolean pacmanHere = fourCornerFree(engine::isWallForPacman, x, y);
+                    boolean ghostHere = fourCornerFree(engine::isWall, x, y);
+                    for (Direction d : Direction.values()) {
+                        for (int speed : speeds) {
+                            int nx = x + d.getDx() * speed;
+                            int ny = y + d.getDy() * speed;
+                            if (pacmanHere) {
+                                assertEquals(fourCornerFree(engine::isWallForPacman, nx, ny),
+                                    engine.canPacmanMove(x, y, d, speed),
+                                    "Pacman level " + level + " at " + x + "," + y + " " + d);
+                            }
+                            if (ghostHere) {
+                                assertEquals(fourCornerFree(engine::isWall, nx, ny),
+                                    engine.canGhostMove(x, y, d, speed),
+                                    "Ghost level " + level + " at " + x + "," + y + " " + d);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testMovementMasksAtKnownCells() {
+        // Start cell (1,1) of level 1: wall to the left and above, open right and down
+        assertFalse(engine.canPacmanMove(20, 20, Direction.LEFT, 4));
+        assertFalse(engine.canPacmanMove(20, 20, Direction.UP, 4));
+        assertTrue(engine.canPacmanMove(20, 20, Direction.RIGHT, 4));
+        assertTrue(engine.canPacmanMove(20, 20, Direction.DOWN, 4));
+        // From (8,9) ghosts may step down into the ghost house; Pacman may not
+        assertTrue(engine.canGhostMove(180, 165, Direction.DOWN, 4));
+        assertFalse(engine.canPacmanMove(180, 165, Direction.DOWN, 4));
+        // Tunnel row 10 keeps going past the left edge
+        assertTrue(engine.canPacmanMove(-16, 200, Direction.LEFT, 4));
+    }
+
+    @Test
+    public void testMovementOutsideVerticalBoundsIsBlocked() {
+        assertFalse(engine.canPacmanMove(100, -40, Direction.LEFT, 4));
+        assertFalse(engine.canPacmanMove(100, 400, Direction.RIGHT, 4));
+        assertFalse(engine.canGhostMove(100, -40, Direction.UP, 4));
+        assertFalse(engine.canGhostMove(100, 420, Direction.DOWN, 4));
+    }
+
+    @Test
+    public void testInvalidGhostCount() {
+        assertThrows(IllegalArgumentException.class, () -> new GameEngine(0));
+    }
+
+    @Test
+    public void testGhostSwarm() {
+        GameEngine swarm = new GameEngine(500);
+        assertEquals(500, swarm.getGhosts().length);
+        for (int i = 0; i < 200; i++) {
+            swarm.step();
+        }
+        assertEquals(200, swarm.getTick());
+    }
+
+    @Test
+    public void testOnlyTouchingGhostsCollide() {
+        GameEngine swarm = new GameEngine(50);
+        swarm.checkCollisions();
+        for (Ghost ghost : swarm.getGhosts()) {
+            ghost.setFrightened(true);
+        }
+        int px = swarm.getPacman().getX();
+        int py = swarm.getPacman().getY();
+        swarm.placeGhost(7, px + 14, py - 14);   // touching corner
+        swarm.placeGhost(20, px + 15, py);       // just out of reach
+        swarm.placeGhost(33, px - 10, py + 3);   // touching
+
+        swarm.checkCollisions();
+
+        for (int i = 0; i < 50; i++) {
+            assertEquals(i == 7 || i == 33, swarm.getGhosts()[i].isReturning(), "ghost " + i);
+        }
+        assertEquals(50 + 400, swarm.getPacman().getScore());
+    }
+
+    @Test
+    public void testCollisionOrderMatchesGhostOrder() {
+        // A frightened ghost listed before a normal one is eaten before Pacman is caught
+        engine.checkCollisions();
+        engine.getGhosts()[0].setFrightened(false);
+        engine.getGhosts()[1].setFrightened(true);
+        engine.getGhosts()[2].setFrightened(false);
+        engine.placeGhost(2, 20, 20);
+        engine.placeGhost(1, 20, 20);
+        engine.placeGhost(0, 300, 300);
+        int score = engine.getPacman().getScore();
+
+        engine.checkCollisions();
+
+        assertEquals(score + 200, engine.getPacman().getScore());
+        assertEquals(2, engine.getPacman().getLives());
+    }
+
+    private static long[] trace(GameEngine game, int ticks) {
+        long[] positions = new long[ticks * game.getGhosts().length];
+        int k = 0;
+        for (int t = 0; t < ticks; t++) {
+            game.step();
+            for (Ghost ghost : game.getGhosts()) {
+                positions[k++] = ((long) ghost.getX() << 32) | (ghost.getY() & 0xFFFFFFFFL);
+            }
+        }
+        return positions;
+    }
+
+    @Test
+    public void testSameSeedProducesIdenticalGames() {
+        GameEngine first = new GameEngine(GameEngine.DEFAULT_GHOST_COUNT, 1234L);
+        GameEngine second = new GameEngine(GameEngine.DEFAULT_GHOST_COUNT, 1234L);
+        assertEquals(1234L, first.getSeed());
+        assertArrayEquals(trace(first, 500), trace(second, 500));
+        assertEquals(first.getPacman().getScore(), second.getPacman().getScore());
+        assertEquals(first.getPacman().getLives(), second.getPacman().getLives());
+    }
+
+    @Test
+    public void testDifferentSeedsDiverge() {
+        GameEngine first = new GameEngine(GameEngine.DEFAULT_GHOST_COUNT, 1L);
+        GameEngine second = new GameEngine(GameEngine.DEFAULT_GHOST_COUNT, 2L);
+        assertFalse(Arrays.equals(trace(first, 200), trace(second, 200)));
+    }
+
+    @Test
+    public void testSetSeedRestartsGame() {
+        GameEngine game = new GameEngine(GameEngine.DEFAULT_GHOST_COUNT, 77L);
+        long[] expected = trace(game, 300);
+
+        game.setSeed(77L);
+
+        assertEquals(0, game.getTick());
+        assertEquals(0, game.getCurrentLevel());
+        assertArrayEquals(expected, trace(game, 300));
+    }
+
+    @Test
+    public void testGameStatistics() {
+        engine.checkCollisions();   // power pellet at the start cell
+        assertEquals(1, engine.getPelletsEaten());
+        assertEquals(50, engine.getTotalScore());
+
+        engine.getGhosts()[0].setFrightened(true);
+        placeGhostOnPacman(0);
+        engine.checkCollisions();
+        assertEquals(1, engine.getGhostsEaten());
+
+        engine.handlePacmanCaught();
+        assertEquals(1, engine.getLivesLost());
+        assertFalse(engine.isFinished());
+    }
+
+    @Test
+    public void testTotalScoreCarriesAcrossLevels() throws Exception {
+        engine.getPacman().addScore(500);
+        completeLevel();
+        for (int i = 0; i < 60; i++) {
+            engine.step();
+        }
+        assertEquals(1, engine.getCurrentLevel());
+        assertEquals(500 + engine.getPacman().getScore(), engine.getTotalScore());
+    }
+
+    @Test
+    public void testSetSeedClearsStatistics() {
+        engine.checkCollisions();
+        engine.handlePacmanCaught();
+        engine.setSeed(3L);
+        assertEquals(0, engine.getPelletsEaten());
+        assertEquals(0, engine.getLivesLost());
+        assertEquals(0, engine.getTotalScore());
+    }
+
+    @Test
+    public void testSnapshotSize() {
+        assertEquals(engine.getSnapshotSize(), engine.snapshot().length);
+        assertTrue(engine.getSnapshotSize() < 300);
+        assertEquals(engine.getSnapshotSize() + 97 * Ghost.STATE_BYTES, new GameEngine(100, 1L).getSnapshotSize());
+    }
+
+    @Test
+    public void testRestoreReplaysIdenticalFuture() {
+        GameEngine game = new GameEngine(GameEngine.DEFAULT_GHOST_COUNT, 11L);
+        PacmanPolicy policy = PacmanPolicy.randomWalk(11L);
+        for (int i = 0; i < 300; i++) {
+            game.getPacman().setDirection(policy.chooseDirection(game));
+            game.step();
+        }
+        byte[] saved = game.snapshot();
+        long[] expected = trace(game, 400);
+        int expectedScore = game.getTotalScore();
+
+        // Otro motor con otra semilla queda exactamente en el mismo estado
+        GameEngine other = new GameEngine(GameEngine.DEFAULT_GHOST_COUNT, 99L);
+        other.restore(saved);
+        assertEquals(11L, other.getSeed());
+        assertArrayEquals(saved, other.snapshot());
+        assertArrayEquals(expected, trace(other, 400));
+        assertEquals(expectedScore, other.getTotalScore());
+
+        // Y el propio motor puede volver atrás
+        game.restore(saved);
+        assertArrayEquals(expected, trace(game, 400));
+    }
+
+    @Test
+    public void testReseedChangesOnlyTheGhostFuture() {
+        GameEngine game = new GameEngine(GameEngine.DEFAULT_GHOST_COUNT, 11L);
+        PacmanPolicy policy = PacmanPolicy.randomWalk(11L);
+        for (int i = 0; i < 300; i++) {
+            game.getPacman().setDirection(policy.chooseDirection(game));
+            game.step();
+        }
+        byte[] saved = game.snapshot();
+        long[] real = trace(game, 400);
+
+        game.restore(saved);
+        game.reseed(new SplitMix64(5L));
+        // Misma posición, mismo nivel y mismos puntos; solo cambian los generadores
+        assertEquals(saved.length, game.snapshot().length);
+        assertFalse(Arrays.equals(saved, game.snapshot()));
+        GameEngine check = new GameEngine(GameEngine.DEFAULT_GHOST_COUNT, 11L);
+        check.restore(saved);
+        assertEquals(check.getTotalScore(), game.getTotalScore());
+        for (int i = 0; i < game.getGhosts().length; i++) {
+            assertEquals(check.getGhosts()[i].getX(), game.getGhosts()[i].getX());
+            assertEquals(check.getGhosts()[i].getY(), game.getGhosts()[i].getY());
+        }
+        long[] reseeded = trace(game, 400);
+        assertFalse(Arrays.equals(real, reseeded));
+
+        // Con la misma fuente el futuro se repite
+        game.restore(saved);
+        game.reseed(new SplitMix64(5L));
+        assertArrayEquals(reseeded, trace(game, 400));
+    }
+
+    @Test
+    public void testRestoreAcrossLevels() throws Exception {
+        GameEngine second = new GameEngine(GameEngine.DEFAULT_GHOST_COUNT, 4L);
+        second.loadLevel(1);
+        second.checkCollisions();
+        byte[] saved = second.snapshot();
+
+        engine.restore(saved);
+
+        assertEquals(1, engine.getCurrentLevel());
+        assertEquals(second.getPelletsLeft(), engine.getPelletsLeft());
+        assertEquals(second.getTotalPoints(), engine.getTotalPoints());
+        assertEquals(second.isWall(100, 40), engine.isWall(100, 40));
+        for (int x = 0; x < 400; x += 20) {
+            for (Direction direction : Direction.values()) {
+                assertEquals(second.canPacmanMove(x, 20, direction, 4), engine.canPacmanMove(x, 20, direction, 4));
+            }
+        }
+    }
+
+    @Test
+    public void testRestoreUpdatesCollisionIndex() {
+        engine.checkCollisions();
+        byte[] saved = engine.snapshot();
+        engine.placeGhost(0, 20, 20);
+        engine.restore(saved);
+
+        engine.getGhosts()[0].setFrightened(false);
+        engine.checkCollisions();
+        assertEquals(3, engine.getPacman().getLives());
+    }
+
+    @Test
+    public void testSaveStateIntoDirectBuffer() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(engine.getSnapshotSize() + 8);
+        buffer.putLong(-1L);
+        engine.saveState(buffer);
+        assertEquals(engine.getSnapshotSize() + 8, buffer.position());
+
+        buffer.position(8);
+        GameEngine copy = new GameEngine();
+        copy.restoreState(buffer);
+        assertArrayEquals(engine.snapshot(), copy.snapshot());
+    }
+
+    @Test
+    public void testRestoreRejectsInvalidSnapshots() {
+        byte[] other = otherLevelSnapshot();
+        byte[] before = engine.snapshot();
+        assertThrows(IllegalArgumentException.class, () -> new GameEngine(4, 1L).restore(other));
+        assertThrows(IllegalArgumentException.class, () -> engine.restore(new byte[engine.getSnapshotSize()]));
+        assertThrows(IllegalArgumentException.class, () -> engine.restore(Arrays.copyOf(other, 40)));
+        assertThrows(IllegalArgumentException.class, () -> engine.restore(Arrays.copyOf(other, other.length - 1)));
+        byte[] badLevel = other.clone();
+        badLevel[8] = 9;
+        assertThrows(IllegalArgumentException.class, () -> engine.restore(badLevel));
+        // Un fallo no deja el motor a medio sobrescribir
+        assertArrayEquals(before, engine.snapshot());
+    }
+
+    @Test
+    public void testRestoreRejectsInvalidDirections() {
+        byte[] other = otherLevelSnapshot();
+        byte[] before = engine.snapshot();
+        int ghostsStart = other.length - engine.getGhosts().length * Ghost.STATE_BYTES;
+        // La dirección va tras las cuatro coordenadas
+        int pacmanDirection = ghostsStart - Pacman.STATE_BYTES + 4 * Short.BYTES;
+        int lastGhostDirection = other.length - Ghost.STATE_BYTES + 4 * Short.BYTES;
+
+        byte[] badPacman = other.clone();
+        badPacman[pacmanDirection] = 7;
+        assertThrows(IllegalArgumentException.class, () -> engine.restore(badPacman));
+        byte[] badGhost = other.clone();
+        badGhost[lastGhostDirection] = -1;
+        assertThrows(IllegalArgumentException.class, () -> engine.restore(badGhost));
+        assertArrayEquals(before, engine.snapshot());
+
+        // Los bytes elegidos son de verdad las direcciones
+        byte[] valid = other.clone();
+        valid[pacmanDirection] = (byte) Direction.UP.ordinal();
+        valid[lastGhostDirection] = (byte) Direction.DOWN.ordinal();
+        engine.restore(valid);
+        assertEquals(2, engine.getCurrentLevel());
+        assertEquals(Direction.UP, engine.getPacman().getDirection());
+        Ghost[] ghosts = engine.getGhosts();
+        assertEquals(Direction.DOWN, ghosts[ghosts.length - 1].getDirection());
+    }
+
+    // Instantánea de otra partida en el nivel 2 con los personajes ya movidos
+    private byte[] otherLevelSnapshot() {
+        GameEngine other = new GameEngine(engine.getGhosts().length, 7L);
+        other.loadLevel(2);
+        other.getPacman().setDirection(Direction.DOWN);
+        for (int i = 0; i < 5; i++) {
+            other.step();
+        }
+        return other.snapshot();
+    }
+
+    @Test
+    public void testDistanceToPacman() {
+        // Pacman en (1, 1)
+        assertEquals(0, engine.distanceToPacman(20, 20));
+        assertEquals(1, engine.distanceToPacman(40, 20));
+        assertEquals(2, engine.distanceToPacman(20, 60));
+        assertEquals(DistanceTable.UNREACHABLE, engine.distanceToPacman(0, 0));
+        assertEquals(DistanceTable.UNREACHABLE, engine.distanceToPacman(20, -40));
+        // Redondeo a la celda más cercana y túnel de la fila 10
+        assertEquals(engine.distanceToPacman(0, 200), engine.distanceToPacman(-8, 200));
+        assertEquals(engine.distanceToPacman(380, 200), engine.distanceToPacman(-12, 200));
+    }
+
+    @Test
+    public void testDistanceTablesAreCachedPerLevel() {
+        assertSame(GameEngine.ghostDistances(0), GameEngine.ghostDistances(0));
+        assertNotSame(GameEngine.ghostDistances(0), GameEngine.ghostDistances(1));
+    }
+
+    @Test
+    public void testRestoreSwitchesDistanceTable() {
+        GameEngine second = new GameEngine(GameEngine.DEFAULT_GHOST_COUNT, 4L);
+        second.loadLevel(2);
+        engine.restore(second.snapshot());
+        for (int x = 0; x < 400; x += 20) {
+            for (int y = 0; y < 400; y += 20) {
+                assertEquals(second.distanceToPacman(x, y), engine.distanceToPacman(x, y));
+            }
+        }
+    }
+
+    @Test
+    public void testPacmanFieldOnlyUpdatesOnCellChange() {
+        GameEngine swarm = new GameEngine(200, 6L);
+        swarm.distanceToPacman(100, 100);
+        long initial = swarm.getPacmanFieldUpdates();
+        assertEquals(1, initial);
+
+        // 200 fantasmas consultan el campo sin rehacerlo mientras Pacman no cambie de celda
+        for (int i = 0; i < 200; i++) {
+            swarm.distanceToPacman(i % 20 * 20, i / 20 * 20);
+        }
+        assertEquals(initial, swarm.getPacmanFieldUpdates());
+
+        // Pacman va a la derecha: (24, 20), (28, 20) siguen en la celda (1, 1); (32, 20) ya en (1, 2)
+        swarm.getPacman().setDirection(Direction.RIGHT);
+        swarm.getPacman().move();
+        swarm.getPacman().move();
+        assertEquals(1, swarm.distanceToPacman(40, 20));
+        assertEquals(initial, swarm.getPacmanFieldUpdates());
+        swarm.getPacman().move();
+        assertEquals(0, swarm.distanceToPacman(40, 20));
+        assertEquals(initial + 1, swarm.getPacmanFieldUpdates());
+    }
+
+    @Test
+    public void testPacmanFieldAfterRespawn() {
+        engine.getPacman().setDirection(Direction.RIGHT);
+        for (int i = 0; i < 10; i++) {
+            engine.getPacman().move();
+        }
+        assertEquals(2, engine.distanceToPacman(20, 20));
+        engine.getPacman().resetPosition();
+        assertEquals(0, engine.distanceToPacman(20, 20));
+    }
+}
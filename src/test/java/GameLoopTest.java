@@ -0,0 +1,93 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameLoopTest {
+
+    private static final long STEP = 40_000_000L;
+
+    private int steps;
+    private GameLoop loop;
+
+    @BeforeEach
+    public void setUp() {
+        steps = 0;
+        loop = new GameLoop(() -> steps++, STEP);
+    }
+
+    @Test
+    public void testInvalidStep() {
+        assertThrows(IllegalArgumentException.class, () -> new GameLoop(() -> { }, 0));
+    }
+
+    @Test
+    public void testFirstAdvanceOnlyInitializes() {
+        assertEquals(0, loop.advance(1_000_000_000L));
+        assertEquals(0, steps);
+        assertEquals(0.0, loop.getAlpha());
+    }
+
+    @Test
+    public void testFastRenderingAccumulatesWithoutStepping() {
+        loop.advance(0);
+        // 144 Hz frames: ~6.9 ms each
+        assertEquals(0, loop.advance(7_000_000L));
+        assertEquals(0, loop.advance(14_000_000L));
+        assertEquals(0, steps);
+        assertEquals(14.0 / 40.0, loop.getAlpha(), 1e-9);
+
+        assertEquals(1, loop.advance(42_000_000L));
+        assertEquals(2.0 / 40.0, loop.getAlpha(), 1e-9);
+        assertEquals(3, loop.getRenderedFrames());
+        assertEquals(0, loop.getDroppedFrames());
+    }
+
+    @Test
+    public void testSlowRenderingDropsFramesKeepingSpeed() {
+        loop.advance(0);
+        // One frame took 130 ms: three fixed steps run, game time is not stretched
+        assertEquals(3, loop.advance(130_000_000L));
+        assertEquals(3, steps);
+        assertEquals(2, loop.getDroppedFrames());
+        assertEquals(3, loop.getTotalSteps());
+        assertEquals(10.0 / 40.0, loop.getAlpha(), 1e-9);
+    }
+
+    @Test
+    public void testLongStallIsClamped() {
+        loop.advance(0);
+        assertEquals(6, loop.advance(10_000_000_000L));
+    }
+
+    @Test
+    public void testClockGoingBackwardsIsIgnored() {
+        loop.advance(100_000_000L);
+        assertEquals(0, loop.advance(50_000_000L));
+        assertEquals(0.0, loop.getAlpha());
+    }
+
+    @Test
+    public void testReset() {
+        loop.advance(0);
+        loop.advance(20_000_000L);
+        loop.reset();
+        assertEquals(0.0, loop.getAlpha());
+        assertEquals(0, loop.advance(500_000_000L));
+    }
+
+    @Test
+    public void testInterpolate() {
+        assertEquals(100, GameLoop.interpolate(100, 104, 0.0, 20));
+        assertEquals(102, GameLoop.interpolate(100, 104, 0.5, 20));
+        assertEquals(104, GameLoop.interpolate(100, 104, 1.0, 20));
+        assertEquals(98, GameLoop.interpolate(100, 96, 0.5, 20));
+    }
+
+    @Test
+    public void testInterpolateSkipsTeleports() {
+        // Tunnel wrap in either direction is drawn at the destination
+        assertEquals(380, GameLoop.interpolate(-24, 380, 0.5, 20));
+        assertEquals(0, GameLoop.interpolate(404, 0, 0.5, 20));
+    }
+}
@@ -0,0 +1,49 @@
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameResultTest {
+
+    @Test
+    public void testGetters() {
+        GameResult result = new GameResult(7L, 1230, 2, 900L, 100, 3, 2, false);
+        assertEquals(7L, result.getSeed());
+        assertEquals(1230, result.getScore());
+        assertEquals(2, result.getLivesLost());
+        assertEquals(900L, result.getTicks());
+        assertEquals(100, result.getPelletsEaten());
+        assertEquals(3, result.getGhostsEaten());
+        assertEquals(2, result.getLevel());
+        assertFalse(result.isCompleted());
+    }
+
+    @Test
+    public void testCsvMatchesHeader() {
+        GameResult result = new GameResult(7L, 1230, 2, 900L, 100, 3, 2, true);
+        assertEquals("7,1230,2,900,100,3,2,true", result.toCsv());
+        assertEquals(GameResult.CSV_HEADER.split(",").length, result.toCsv().split(",").length);
+        assertTrue(result.toString().contains(result.toCsv()));
+    }
+
+    @Test
+    public void testEquality() {
+        GameResult a = new GameResult(1L, 10, 0, 5L, 1, 0, 1, false);
+        GameResult b = new GameResult(1L, 10, 0, 5L, 1, 0, 1, false);
+        assertEquals(a, b);
+        assertEquals(a.hashCode(), b.hashCode());
+        assertEquals(a, a);
+        assertNotEquals(a, new GameResult(1L, 10, 1, 5L, 1, 0, 1, false));
+        assertNotEquals(a, "a");
+    }
+
+    @Test
+    public void testFromEngine() {
+        GameEngine game = new GameEngine(GameEngine.DEFAULT_GHOST_COUNT, 5L);
+        game.checkCollisions();
+        GameResult result = GameResult.of(game);
+        assertEquals(5L, result.getSeed());
+        assertEquals(1, result.getLevel());
+        assertEquals(1, result.getPelletsEaten());
+        assertEquals(50, result.getScore());
+    }
+}
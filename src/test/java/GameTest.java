@@ -37,10 +37,10 @@ public class GameTest {
             Game game = new Game();
             assertNotNull(game);
             assertEquals("Pac-Man", game.getTitle());
-            assertEquals(400, game.getWidth());
-            assertEquals(455, game.getHeight());
+            assertEquals(400, game.getContentPane().getWidth());
+            assertEquals(435, game.getContentPane().getHeight());
             assertEquals(JFrame.EXIT_ON_CLOSE, game.getDefaultCloseOperation());
-            assertFalse(game.isResizable());
+            assertTrue(game.isResizable());
             game.dispose();
         }
     }
@@ -0,0 +1,124 @@
+import java.util.SplittableRandom;
+
+// Benchmark de la fase amplia de colisiones Pacman-fantasma (no se ejecuta con mvn test).
+//   mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=GhostSwarmBenchmark
+//
+// Compara el barrido lineal de todos los fantasmas con la consulta a SpatialHash.
+// "uniform" reparte N fantasmas por todo el laberinto: como el tablero es de 20x20,
+// la ocupación de cada celda crece con N y la consulta también. "clustered" deja tres
+// fantasmas cerca de Pacman y el resto en el otro extremo: el coste de la consulta
+// depende solo de los vecinos, no de N.
+public class GhostSwarmBenchmark {
+    private static final int[] GHOST_COUNTS = {3, 100, 1_000, 10_000};
+    private static final int QUERIES = 200_000;
+    private static final int NEAR_GHOSTS = 3;
+    private static final int SIZE = Pacman.getCharacterSize();
+
+    public static void main(String[] args) {
+        GameEngine maze = new GameEngine();
+        System.out.printf("%-14s %8s %14s %14s%n", "layout", "ghosts", "linear ns/q", "grid ns/q");
+        for (boolean uniform : new boolean[] {true, false}) {
+            for (int n : GHOST_COUNTS) {
+                int[] xs = new int[n];
+                int[] ys = new int[n];
+                scatter(maze, xs, ys, uniform, NEAR_GHOSTS, new SplittableRandom(42));
+                SpatialHash hash = new SpatialHash(maze.getBlockSize(), maze.getBoardWidth(), maze.getBoardHeight());
+                hash.reset(n);
+                for (int i = 0; i < n; i++) {
+                    hash.update(i, xs[i], ys[i]);
+                }
+                int[] px = new int[1024];
+                int[] py = new int[1024];
+                scatter(maze, px, py, uniform, px.length, new SplittableRandom(7));
+
+                long sink = 0;
+                for (int warmup = 0; warmup < 3; warmup++) {
+                    sink += linear(xs, ys, px, py, QUERIES / 10) + grid(hash, xs, ys, px, py, QUERIES / 10);
+                }
+                long t0 = System.nanoTime();
+                sink += linear(xs, ys, px, py, QUERIES);
+                long t1 = System.nanoTime();
+                sink += grid(hash, xs, ys, px, py, QUERIES);
+                long t2 = System.nanoTime();
+                System.out.printf("%-14s %8d %14.1f %14.1f   (%d)%n", uniform ? "uniform" : "clustered",
+                    n, (t1 - t0) / (double) QUERIES, (t2 - t1) / (double) QUERIES, sink);
+            }
+        }
+
+        // Coste de mover cada fantasma un tick (incluida la persecución, que lee el campo
+        // compartido hacia Pacman): debe mantenerse plano al crecer el enjambre.
+        // Se mueven directamente para que las colisiones no terminen la partida.
+        System.out.printf("%n%8s %18s%n", "ghosts", "move ns/ghost");
+        for (int n : GHOST_COUNTS) {
+            GameEngine swarm = new GameEngine(n, 42L);
+            Ghost[] ghosts = swarm.getGhosts();
+            int ticks = Math.max(200, 4_000_000 / n);
+            long elapsed = 0;
+            for (int round = 0; round < 4; round++) {
+                long t0 = System.nanoTime();
+                for (int i = 0; i < ticks; i++) {
+                    for (Ghost ghost : ghosts) {
+                        ghost.move();
+                    }
+                }
+                elapsed = System.nanoTime() - t0;
+            }
+            System.out.printf("%8d %18.1f%n", n, elapsed / (double) ticks / n);
+        }
+    }
+
+    // uniform: todo el laberinto. clustered: las primeras 'near' entidades junto a la
+    // esquina superior izquierda y el resto en la inferior derecha.
+    private static void scatter(GameEngine maze, int[] xs, int[] ys, boolean uniform, int near,
+                                SplittableRandom random) {
+        for (int i = 0; i < xs.length; i++) {
+            int x;
+            int y;
+            do {
+                if (uniform) {
+                    x = random.nextInt(0, 400 - SIZE);
+                    y = random.nextInt(0, 400 - SIZE);
+                } else if (i < near) {
+                    x = random.nextInt(20, 80);
+                    y = random.nextInt(20, 80);
+                } else {
+                    x = random.nextInt(300, 380 - SIZE);
+                    y = random.nextInt(300, 380 - SIZE);
+                }
+            } while (maze.isWall(x, y));
+            xs[i] = x;
+            ys[i] = y;
+        }
+    }
+
+    private static long linear(int[] xs, int[] ys, int[] px, int[] py, int queries) {
+        long hits = 0;
+        for (int q = 0; q < queries; q++) {
+            int x = px[q & 1023];
+            int y = py[q & 1023];
+            for (int i = 0; i < xs.length; i++) {
+                if (Math.abs(x - xs[i]) < SIZE && Math.abs(y - ys[i]) < SIZE) {
+                    hits++;
+                }
+            }
+        }
+        return hits;
+    }
+
+    private static long grid(SpatialHash hash, int[] xs, int[] ys, int[] px, int[] py, int queries) {
+        long hits = 0;
+        for (int q = 0; q < queries; q++) {
+            int x = px[q & 1023];
+            int y = py[q & 1023];
+            int count = hash.query(x - SIZE + 1, y - SIZE + 1, x + SIZE - 1, y + SIZE - 1);
+            int[] ids = hash.getResults();
+            for (int k = 0; k < count; k++) {
+                int i = ids[k];
+                if (Math.abs(x - xs[i]) < SIZE && Math.abs(y - ys[i]) < SIZE) {
+                    hits++;
+                }
+            }
+        }
+        return hits;
+    }
+}
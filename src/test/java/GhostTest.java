@@ -3,8 +3,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
-import java.awt.Color;
-import java.awt.Graphics;
+import java.nio.ByteBuffer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -12,20 +11,17 @@ import static org.mockito.Mockito.*;
 public class GhostTest {
 
     @Mock
-    private Board mockBoard;
-    
-    @Mock
-    private Graphics mockGraphics;
+    private Maze mockMaze;
 
     private Ghost ghost;
 
     @BeforeEach
     public void setUp() {
         MockitoAnnotations.openMocks(this);
-        when(mockBoard.getBlockSize()).thenReturn(20);
-        when(mockBoard.getBoardWidth()).thenReturn(400);
-        when(mockBoard.getBoardHeight()).thenReturn(400);
-        ghost = new Ghost(100, 100, Color.RED, mockBoard);
+        when(mockMaze.getBlockSize()).thenReturn(20);
+        when(mockMaze.getBoardWidth()).thenReturn(400);
+        when(mockMaze.getBoardHeight()).thenReturn(400);
+        ghost = new Ghost(100, 100, 0, mockMaze);
     }
 
     @Test
@@ -79,7 +75,7 @@ public class GhostTest {
     @Test
     public void testResetPosition() {
         // Move ghost
-        when(mockBoard.isWall(anyInt(), anyInt())).thenReturn(false);
+        when(mockMaze.canGhostMove(anyInt(), anyInt(), any(), anyInt())).thenReturn(true);
         ghost.move();
         
         // Reset to new position
@@ -91,7 +87,7 @@ public class GhostTest {
 
     @Test
     public void testMoveWhenNotReturning() {
-        when(mockBoard.isWall(anyInt(), anyInt())).thenReturn(false);
+        when(mockMaze.canGhostMove(anyInt(), anyInt(), any(), anyInt())).thenReturn(true);
         
         int initialX = ghost.getX();
         int initialY = ghost.getY();
@@ -120,7 +116,7 @@ public class GhostTest {
 
     @Test
     public void testMoveBlockedByWall() {
-        when(mockBoard.isWall(anyInt(), anyInt())).thenReturn(true);
+        when(mockMaze.canGhostMove(anyInt(), anyInt(), any(), anyInt())).thenReturn(false);
         
         int initialX = ghost.getX();
         int initialY = ghost.getY();
@@ -131,15 +127,15 @@ public class GhostTest {
         }
         
         // Ghost might change direction but shouldn't move through walls
-        verify(mockBoard, atLeastOnce()).isWall(anyInt(), anyInt());
+        verify(mockMaze, atLeastOnce()).canGhostMove(anyInt(), anyInt(), any(), anyInt());
     }
 
     @Test
     public void testFrightenedSlowerSpeed() {
-        when(mockBoard.isWall(anyInt(), anyInt())).thenReturn(false);
+        when(mockMaze.canGhostMove(anyInt(), anyInt(), any(), anyInt())).thenReturn(true);
         
         // Test normal speed
-        Ghost normalGhost = new Ghost(100, 100, Color.RED, mockBoard);
+        Ghost normalGhost = new Ghost(100, 100, 0, mockMaze);
         int normalX1 = normalGhost.getX();
         int normalY1 = normalGhost.getY();
         for (int i = 0; i < 5; i++) {
@@ -151,7 +147,7 @@ public class GhostTest {
         );
         
         // Test frightened speed
-        Ghost frightenedGhost = new Ghost(100, 100, Color.RED, mockBoard);
+        Ghost frightenedGhost = new Ghost(100, 100, 0, mockMaze);
         frightenedGhost.setFrightened(true);
         int frightenedX1 = frightenedGhost.getX();
         int frightenedY1 = frightenedGhost.getY();
@@ -169,8 +165,8 @@ public class GhostTest {
 
     @Test
     public void testTeleportLeft() {
-        Ghost leftGhost = new Ghost(-25, 100, Color.RED, mockBoard);
-        when(mockBoard.isWall(anyInt(), anyInt())).thenReturn(false);
+        Ghost leftGhost = new Ghost(-25, 100, 0, mockMaze);
+        when(mockMaze.canGhostMove(anyInt(), anyInt(), any(), anyInt())).thenReturn(true);
         
         leftGhost.move();
         
@@ -180,8 +176,8 @@ public class GhostTest {
 
     @Test
     public void testTeleportRight() {
-        Ghost rightGhost = new Ghost(405, 100, Color.RED, mockBoard);
-        when(mockBoard.isWall(anyInt(), anyInt())).thenReturn(false);
+        Ghost rightGhost = new Ghost(405, 100, 0, mockMaze);
+        when(mockMaze.canGhostMove(anyInt(), anyInt(), any(), anyInt())).thenReturn(true);
         
         rightGhost.move();
         
@@ -191,8 +187,8 @@ public class GhostTest {
 
     @Test
     public void testVerticalBoundaryTop() {
-        Ghost topGhost = new Ghost(100, -10, Color.RED, mockBoard);
-        when(mockBoard.isWall(anyInt(), anyInt())).thenReturn(false);
+        Ghost topGhost = new Ghost(100, -10, 0, mockMaze);
+        when(mockMaze.canGhostMove(anyInt(), anyInt(), any(), anyInt())).thenReturn(true);
         
         topGhost.move();
         
@@ -201,43 +197,23 @@ public class GhostTest {
 
     @Test
     public void testVerticalBoundaryBottom() {
-        Ghost bottomGhost = new Ghost(100, 400, Color.RED, mockBoard);
-        when(mockBoard.isWall(anyInt(), anyInt())).thenReturn(false);
+        Ghost bottomGhost = new Ghost(100, 400, 0, mockMaze);
+        when(mockMaze.canGhostMove(anyInt(), anyInt(), any(), anyInt())).thenReturn(true);
         
         bottomGhost.move();
         
         assertTrue(bottomGhost.getY() <= 385, "Ghost should stay within bottom boundary");
     }
 
-    @Test
-    public void testDraw() {
-        assertDoesNotThrow(() -> ghost.draw(mockGraphics, 40));
-        verify(mockGraphics, atLeastOnce()).setColor(any());
-    }
-
-    @Test
-    public void testDrawWhenFrightened() {
-        ghost.setFrightened(true);
-        assertDoesNotThrow(() -> ghost.draw(mockGraphics, 40));
-        verify(mockGraphics, atLeastOnce()).setColor(any());
-    }
-
-    @Test
-    public void testDrawWhenReturning() {
-        ghost.sendToStart();
-        assertDoesNotThrow(() -> ghost.draw(mockGraphics, 40));
-        verify(mockGraphics, atLeastOnce()).setColor(any());
-    }
-
     @Test
     public void testMultipleGhostsDifferentColors() {
-        Ghost redGhost = new Ghost(100, 100, Color.RED, mockBoard);
-        Ghost pinkGhost = new Ghost(120, 120, Color.PINK, mockBoard);
-        Ghost cyanGhost = new Ghost(140, 140, Color.CYAN, mockBoard);
+        Ghost redGhost = new Ghost(100, 100, 0, mockMaze);
+        Ghost pinkGhost = new Ghost(120, 120, 1, mockMaze);
+        Ghost cyanGhost = new Ghost(140, 140, 2, mockMaze);
         
-        assertNotNull(redGhost);
-        assertNotNull(pinkGhost);
-        assertNotNull(cyanGhost);
+        assertEquals(0, redGhost.getColorIndex());
+        assertEquals(1, pinkGhost.getColorIndex());
+        assertEquals(2, cyanGhost.getColorIndex());
     }
 
     @Test
@@ -246,7 +222,7 @@ public class GhostTest {
         assertTrue(ghost.isReturning());
         
         // Move multiple times to countdown the timer
-        when(mockBoard.isWall(anyInt(), anyInt())).thenReturn(false);
+        when(mockMaze.canGhostMove(anyInt(), anyInt(), any(), anyInt())).thenReturn(true);
         for (int i = 0; i < 60; i++) {
             ghost.move();
         }
@@ -269,7 +245,7 @@ public class GhostTest {
 
     @Test
     public void testRandomDirectionChanges() {
-        when(mockBoard.isWall(anyInt(), anyInt())).thenReturn(false);
+        when(mockMaze.canGhostMove(anyInt(), anyInt(), any(), anyInt())).thenReturn(true);
         
         int initialX = ghost.getX();
         int initialY = ghost.getY();
@@ -301,7 +277,7 @@ public class GhostTest {
         assertTrue(ghost.isReturning());
         
         // Return to normal after timer
-        when(mockBoard.isWall(anyInt(), anyInt())).thenReturn(false);
+        when(mockMaze.canGhostMove(anyInt(), anyInt(), any(), anyInt())).thenReturn(true);
         for (int i = 0; i < 60; i++) {
             ghost.move();
         }
@@ -309,23 +285,9 @@ public class GhostTest {
         assertFalse(ghost.isReturning());
     }
 
-    @Test
-    public void testDrawColorWhenReturningAndNotFrightened() {
-        // Set up ghost as returning but not frightened
-        ghost.setFrightened(false);
-        ghost.sendToStart();
-        
-        assertTrue(ghost.isReturning());
-        assertFalse(ghost.isFrightened());
-        
-        // Draw should use original color when returning (not blue)
-        assertDoesNotThrow(() -> ghost.draw(mockGraphics, 40));
-        verify(mockGraphics, atLeastOnce()).setColor(any());
-    }
-
     @Test
     public void testAllSwitchCaseDirections() {
-        when(mockBoard.isWall(anyInt(), anyInt())).thenReturn(false);
+        when(mockMaze.canGhostMove(anyInt(), anyInt(), any(), anyInt())).thenReturn(true);
         
         // Test all four direction cases in the switch
         // Move multiple times to potentially hit all switch cases
@@ -334,46 +296,157 @@ public class GhostTest {
         }
         
         // Verify ghost moved (which means switch statement was executed)
-        verify(mockBoard, atLeastOnce()).isWall(anyInt(), anyInt());
+        verify(mockMaze, atLeastOnce()).canGhostMove(anyInt(), anyInt(), any(), anyInt());
     }
 
     @Test
-    public void testDrawColorCombinationFrightenedAndReturning() {
-        // Test the specific case: frightened=true, returning=true
-        // This is possible when a ghost is frightened and then sent to start
-        ghost.setFrightened(true);
-        ghost.sendToStart(); // This sets returning=true (frightened stays true until timer expires)
-        
-        // At this point: both can be true temporarily
-        assertTrue(ghost.isReturning());
-        
-        // Draw should work correctly in this state
-        assertDoesNotThrow(() -> ghost.draw(mockGraphics, 40));
+    public void testRenderPositionInterpolatesBetweenTicks() {
+        when(mockMaze.canGhostMove(anyInt(), anyInt(), any(), anyInt())).thenReturn(true);
+        ghost.move();
+        int dx = ghost.getX() - 100;
+        int dy = ghost.getY() - 100;
+
+        assertEquals(100, ghost.getRenderX(0.0));
+        assertEquals(100, ghost.getRenderY(0.0));
+        assertEquals(100 + dx / 2, ghost.getRenderX(0.5));
+        assertEquals(100 + dy / 2, ghost.getRenderY(0.5));
+        assertEquals(ghost.getX(), ghost.getRenderX(1.0));
     }
 
     @Test
-    public void testDrawColorAllStates() {
-        // Test all possible state combinations for complete branch coverage
-        
-        // State 1: Normal (not frightened, not returning)
-        ghost.setFrightened(false);
-        assertDoesNotThrow(() -> ghost.draw(mockGraphics, 40));
-        
-        // State 2: Frightened only (frightened=true, returning=false)
-        ghost = new Ghost(100, 100, Color.RED, mockBoard);
+    public void testResetPositionDoesNotInterpolate() {
+        ghost.resetPosition(300, 300);
+        assertEquals(300, ghost.getRenderX(0.0));
+        assertEquals(300, ghost.getRenderY(0.0));
+    }
+
+    @Test
+    public void testMoveQueriesMazeWithSpeed() {
+        when(mockMaze.canGhostMove(anyInt(), anyInt(), any(), anyInt())).thenReturn(false);
+        ghost.move();
+        verify(mockMaze).canGhostMove(eq(100), eq(100), any(), eq(4));
+
         ghost.setFrightened(true);
-        assertTrue(ghost.isFrightened());
-        assertFalse(ghost.isReturning());
-        assertDoesNotThrow(() -> ghost.draw(mockGraphics, 40));
-        
-        // State 3: Returning only (frightened=false, returning=true)
-        ghost = new Ghost(100, 100, Color.RED, mockBoard);
-        ghost.sendToStart();
-        assertFalse(ghost.isFrightened());
-        assertTrue(ghost.isReturning());
-        assertDoesNotThrow(() -> ghost.draw(mockGraphics, 40));
-        
-        // Verify all cases executed
-        verify(mockGraphics, atLeast(3)).setColor(any());
+        ghost.move();
+        verify(mockMaze).canGhostMove(eq(100), eq(100), any(), eq(2));
+        verify(mockMaze, never()).isWall(anyInt(), anyInt());
+    }
+
+    @Test
+    public void testSeededGhostsMoveIdentically() {
+        when(mockMaze.canGhostMove(anyInt(), anyInt(), any(), anyInt())).thenReturn(true);
+        Ghost first = new Ghost(100, 100, 0, mockMaze, new SplitMix64(99));
+        Ghost second = new Ghost(100, 100, 0, mockMaze, new SplitMix64(99));
+
+        for (int i = 0; i < 200; i++) {
+            first.move();
+            second.move();
+            assertEquals(first.getX(), second.getX());
+            assertEquals(first.getY(), second.getY());
+        }
+    }
+
+    @Test
+    public void testStateRoundTrip() {
+        when(mockMaze.canGhostMove(anyInt(), anyInt(), any(), anyInt())).thenReturn(true);
+        Ghost original = new Ghost(100, 100, 0, mockMaze, new SplitMix64(5));
+        original.move();
+        original.setFrightened(true);
+        original.sendToStart();
+        original.move();
+        ByteBuffer buffer = ByteBuffer.allocate(Ghost.STATE_BYTES);
+        original.writeState(buffer);
+        assertEquals(Ghost.STATE_BYTES, buffer.position());
+
+        Ghost copy = new Ghost(0, 0, 0, mockMaze, new SplitMix64(0));
+        buffer.flip();
+        copy.readState(buffer);
+
+        assertEquals(original.getX(), copy.getX());
+        assertEquals(original.getY(), copy.getY());
+        assertEquals(original.getDirection(), copy.getDirection());
+        assertEquals(original.getRenderX(0.5), copy.getRenderX(0.5));
+        assertTrue(copy.isReturning());
+        // Same timer and random state: both finish returning and wander identically
+        original.resetPosition(100, 100);
+        copy.resetPosition(100, 100);
+        for (int i = 0; i < 100; i++) {
+            original.move();
+            copy.move();
+            assertEquals(original.getX(), copy.getX());
+            assertEquals(original.getY(), copy.getY());
+        }
+    }
+
+    @Test
+    public void testChasesAlongShortestPath() {
+        when(mockMaze.canGhostMove(anyInt(), anyInt(), any(), anyInt())).thenReturn(true);
+        // Pacman está abajo: la celda de abajo es la más cercana
+        when(mockMaze.distanceToPacman(anyInt(), anyInt())).thenReturn(10);
+        when(mockMaze.distanceToPacman(100, 120)).thenReturn(3);
+        int chased = 0;
+        int eligible = 0;
+        for (long seed = 0; seed < 60; seed++) {
+            Ghost chaser = new Ghost(100, 100, 0, mockMaze, new SplitMix64(seed));
+            if (chaser.getDirection() == Direction.UP) {
+                continue;   // bajar sería dar media vuelta
+            }
+            eligible++;
+            chaser.move();
+            if (chaser.getY() == 104) {
+                chased++;
+            }
+        }
+        // Persigue 3 de cada 4 veces (más las veces que el azar también elige bajar)
+        assertTrue(chased >= eligible * 2 / 3, "chased " + chased + " of " + eligible);
+    }
+
+    @Test
+    public void testFrightenedGhostFlees() {
+        when(mockMaze.canGhostMove(anyInt(), anyInt(), any(), anyInt())).thenReturn(true);
+        when(mockMaze.distanceToPacman(anyInt(), anyInt())).thenReturn(5);
+        when(mockMaze.distanceToPacman(80, 100)).thenReturn(9);
+        int fled = 0;
+        int eligible = 0;
+        for (long seed = 0; seed < 60; seed++) {
+            Ghost scared = new Ghost(100, 100, 0, mockMaze, new SplitMix64(seed));
+            if (scared.getDirection() == Direction.RIGHT) {
+                continue;
+            }
+            eligible++;
+            scared.setFrightened(true);
+            scared.move();
+            if (scared.getX() == 98) {
+                fled++;
+            }
+        }
+        assertTrue(fled >= eligible * 2 / 3, "fled " + fled + " of " + eligible);
+    }
+
+    @Test
+    public void testNoReverseExceptInDeadEnds() {
+        when(mockMaze.distanceToPacman(anyInt(), anyInt())).thenReturn(1);
+        // Solo se puede seguir hacia atrás
+        Ghost ghost = new Ghost(100, 100, 0, mockMaze, new SplitMix64(1));
+        Direction back = ghost.getDirection();
+        Direction reverse = Direction.values()[back.ordinal() ^ 1];
+        when(mockMaze.canGhostMove(anyInt(), anyInt(), any(), anyInt())).thenReturn(false);
+        when(mockMaze.canGhostMove(anyInt(), anyInt(), eq(reverse), anyInt())).thenReturn(true);
+
+        ghost.move();
+
+        assertEquals(reverse, ghost.getDirection());
+        assertEquals(100 + reverse.getDx() * 4, ghost.getX());
+        assertEquals(100 + reverse.getDy() * 4, ghost.getY());
+    }
+
+    @Test
+    public void testRealignsToGridAfterFrightenedMode() {
+        when(mockMaze.canGhostMove(anyInt(), anyInt(), any(), anyInt())).thenReturn(true);
+        Ghost ghost = new Ghost(102, 100, 0, mockMaze, new SplitMix64(3));
+        ghost.move();
+        // Un paso de 2 px vuelve a la rejilla de 4 px
+        assertEquals(0, ghost.getX() % 4);
+        assertEquals(0, ghost.getY() % 4);
     }
 }
@@ -0,0 +1,89 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+
+import java.awt.Font;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class HudTextTest {
+
+    private static final Font FONT = new Font("Arial", Font.BOLD, 12);
+
+    private BufferedImage image;
+    private Graphics2D g;
+
+    @BeforeEach
+    public void setUp() {
+        image = new BufferedImage(100, 30, BufferedImage.TYPE_INT_RGB);
+        g = image.createGraphics();
+    }
+
+    @Test
+    public void testLaysOutOnlyWhenValueChanges() {
+        HudText text = new HudText(FONT, "Vidas: ", "");
+        text.draw(g, 3, 5, 20);
+        text.draw(g, 3, 5, 20);
+        assertEquals(1, text.getLayoutCount());
+        assertEquals("Vidas: 3", text.getText());
+
+        text.draw(g, 2, 5, 20);
+        assertEquals(2, text.getLayoutCount());
+        assertEquals("Vidas: 2", text.getText());
+    }
+
+    @Test
+    public void testSuffixAndFixedText() {
+        HudText power = new HudText(FONT, "Power: ", "s");
+        power.draw(g, 7, 0, 20);
+        assertEquals("Power: 7s", power.getText());
+
+        HudText banner = new HudText(FONT, "¡NIVEL COMPLETADO!");
+        banner.draw(g, 0, 20);
+        banner.draw(g, 0, 20);
+        assertEquals("¡NIVEL COMPLETADO!", banner.getText());
+        assertEquals(1, banner.getLayoutCount());
+    }
+
+    @Test
+    public void testRelayoutWhenRenderContextChanges() {
+        HudText text = new HudText(FONT, "Nivel: ", "");
+        text.draw(g, 1, 0, 20);
+        g.setTransform(AffineTransform.getScaleInstance(2, 2));
+        text.draw(g, 1, 0, 20);
+        assertEquals(2, text.getLayoutCount());
+    }
+
+    @Test
+    public void testDrawsSameTextAsDrawString() {
+        HudText text = new HudText(FONT, "Puntos: ", "");
+        text.draw(g, 120, 5, 20);
+
+        BufferedImage expected = new BufferedImage(100, 30, BufferedImage.TYPE_INT_RGB);
+        Graphics2D reference = expected.createGraphics();
+        reference.setFont(FONT);
+        reference.drawString("Puntos: 120", 5, 20);
+        reference.dispose();
+
+        for (int y = 0; y < 30; y++) {
+            for (int x = 0; x < 100; x++) {
+                assertEquals(expected.getRGB(x, y), image.getRGB(x, y), "pixel (" + x + ", " + y + ")");
+            }
+        }
+    }
+
+    @Test
+    public void testPlainGraphicsFallsBackToDrawString() {
+        Graphics plain = mock(Graphics.class);
+        HudText text = new HudText(FONT, "Puntos: ", "");
+        text.draw(plain, 50, 85, 22);
+        verify(plain).setFont(FONT);
+        verify(plain).drawString(eq("Puntos: 50"), eq(85), eq(22));
+        assertEquals(0, text.getLayoutCount());
+    }
+}
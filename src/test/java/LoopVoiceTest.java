@@ -0,0 +1,153 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LoopVoiceTest {
+
+    private static short[] ramp(int length) {
+        short[] samples = new short[length];
+        for (int i = 0; i < length; i++) {
+            samples[i] = (short) (i * 10);
+        }
+        return samples;
+    }
+
+    private static int[] block(LoopVoice loop) {
+        int[] mix = new int[AudioMixer.BLOCK_FRAMES];
+        loop.mixInto(mix, mix.length);
+        return mix;
+    }
+
+    @Test
+    public void testLoopWrapsWithoutGap() {
+        short[] samples = SoundManager.generateWail(250, 500, 0.4, 250);
+        LoopVoice loop = new LoopVoice(new SoundEffect("siren", samples));
+        loop.setPlaying(true);
+        block(loop);
+        // Tras el bloque de entrada, el bucle sale muestra a muestra dando la vuelta sin huecos
+        int frame = AudioMixer.BLOCK_FRAMES;
+        for (int b = 0; b < 60; b++) {
+            int[] mix = block(loop);
+            for (int i = 0; i < mix.length; i++, frame++) {
+                assertEquals(samples[frame % samples.length], mix[i], "frame " + frame);
+            }
+        }
+    }
+
+    @Test
+    public void testRateChangesPitchWithoutRegenerating() {
+        AtomicInteger generated = new AtomicInteger();
+        SoundEffect effect = new SoundEffect("ramp", () -> {
+            generated.incrementAndGet();
+            return ramp(1000);
+        }, 0, 1, SoundEffect.Overflow.DROP, false);
+        effect.getSamples();
+        LoopVoice loop = new LoopVoice(effect);
+        loop.setPlaying(true);
+        block(loop);
+
+        // A doble velocidad se salta una muestra de cada dos
+        loop.setRate(2);
+        int[] mix = block(loop);
+        assertEquals(1280, mix[0]);
+        assertEquals(1300, mix[1]);
+        // A 1.5 la posición cae entre muestras y se interpola
+        loop.setRate(1.5);
+        mix = block(loop);
+        int start = mix[0];
+        assertEquals(start + 15, mix[1]);
+        assertEquals(start + 30, mix[2]);
+        assertEquals(1.5, loop.getRate(), 1e-9);
+        assertEquals(1, generated.get());
+    }
+
+    @Test
+    public void testStartAndStopRampInOneBlock() {
+        short[] samples = new short[256];
+        java.util.Arrays.fill(samples, (short) 1000);
+        LoopVoice loop = new LoopVoice(new SoundEffect("flat", samples));
+        assertFalse(loop.isAudible());
+
+        loop.setPlaying(true);
+        int[] mix = block(loop);
+        assertEquals(0, mix[0]);
+        assertTrue(mix[mix.length - 1] > 900 && mix[mix.length - 1] < 1000);
+        assertEquals(1000, block(loop)[0]);
+
+        loop.setPlaying(false);
+        assertTrue(loop.isAudible());
+        mix = block(loop);
+        assertEquals(1000, mix[0]);
+        assertTrue(mix[mix.length - 1] < 100);
+        assertFalse(loop.isAudible());
+        assertEquals(0, block(loop)[0]);
+    }
+
+    @Test
+    public void testUngeneratedLoopIsSilent() {
+        AtomicInteger generated = new AtomicInteger();
+        SoundEffect effect = new SoundEffect("lazy", () -> {
+            generated.incrementAndGet();
+            return ramp(100);
+        }, 0, 1, SoundEffect.Overflow.DROP, false);
+        LoopVoice loop = new LoopVoice(effect);
+        loop.setPlaying(true);
+        // El hilo de mezcla nunca sintetiza: espera al calentamiento
+        assertEquals(0, block(loop)[10]);
+        assertEquals(0, generated.get());
+    }
+
+    @Test
+    public void testRateOutOfRangeIsRejected() {
+        LoopVoice loop = new LoopVoice(new SoundEffect("ramp", ramp(10)));
+        assertThrows(IllegalArgumentException.class, () -> loop.setRate(0));
+        assertThrows(IllegalArgumentException.class, () -> loop.setRate(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> loop.setRate(LoopVoice.MAX_RATE + 1));
+    }
+
+    @Test
+    public void testLongLoopAtMaximumRate() {
+        // Más largo que lo que cabe en un índice 16.16 de int: antes se silenciaba, y cerca
+        // de ese límite la posición se desbordaba al sumar el paso
+        short[] samples = ramp(Short.MAX_VALUE + 3);
+        LoopVoice loop = new LoopVoice(new SoundEffect("long", samples));
+        loop.setPlaying(true);
+        loop.setRate(LoopVoice.MAX_RATE);
+        int[] mix = block(loop);
+        int frame = AudioMixer.BLOCK_FRAMES * (int) LoopVoice.MAX_RATE;
+        // Varias vueltas completas, siempre sobre las muestras del bucle
+        int blocks = 3 * samples.length / frame + 1;
+        for (int b = 0; b < blocks; b++) {
+            mix = block(loop);
+            for (int i = 0; i < mix.length; i++) {
+                int expected = samples[(int) ((long) (frame + i * (int) LoopVoice.MAX_RATE) % samples.length)];
+                assertEquals(expected, mix[i], "block " + b + " frame " + i);
+            }
+            frame += mix.length * (int) LoopVoice.MAX_RATE;
+        }
+    }
+
+    @Test
+    public void testMixingDoesNotAllocate() {
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) java.lang.management.ManagementFactory.getThreadMXBean();
+        LoopVoice loop = new LoopVoice(new SoundEffect("siren", SoundManager.generateWail(250, 500, 0.4, 250)));
+        loop.setPlaying(true);
+        int[] mix = new int[AudioMixer.BLOCK_FRAMES];
+        for (int i = 0; i < 10_000; i++) {
+            loop.setRate(1 + (i % 50) / 100.0);
+            loop.mixInto(mix, mix.length);
+        }
+        long thread = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < 100_000; i++) {
+            loop.setRate(1 + (i % 50) / 100.0);
+            loop.setPlaying(i % 1000 < 900);
+            loop.mixInto(mix, mix.length);
+        }
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+        assertTrue(allocated < 1024, "allocated " + allocated + " bytes");
+    }
+}
@@ -0,0 +1,57 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MazeLayerTest {
+
+    private GameEngine engine;
+    private MazeLayer layer;
+
+    @BeforeEach
+    public void setUp() {
+        engine = new GameEngine(GameEngine.DEFAULT_GHOST_COUNT, 1L);
+        layer = new MazeLayer();
+    }
+
+    @Test
+    public void testRendersOncePerLevel() {
+        BufferedImage first = layer.get(engine, null);
+        BufferedImage second = layer.get(engine, null);
+        assertSame(first, second);
+        assertEquals(1, layer.getRenderCount());
+        assertEquals(engine.getBoardWidth(), first.getWidth());
+        assertEquals(engine.getBoardHeight(), first.getHeight());
+    }
+
+    @Test
+    public void testRegeneratesOnLevelChange() {
+        layer.get(engine, null);
+        engine.loadLevel(1);
+        layer.get(engine, null);
+        assertEquals(2, layer.getRenderCount());
+    }
+
+    @Test
+    public void testInvalidate() {
+        layer.get(engine, null);
+        layer.invalidate();
+        layer.get(engine, null);
+        assertEquals(2, layer.getRenderCount());
+    }
+
+    @Test
+    public void testLayerContents() {
+        BufferedImage image = layer.get(engine, null);
+        // Pared (0, 0): borde cian y relleno azul
+        assertEquals(Color.CYAN.getRGB(), image.getRGB(0, 0));
+        assertEquals(Color.BLUE.getRGB(), image.getRGB(10, 10));
+        // Casa de los fantasmas (fila 9, columna 9)
+        assertEquals(new Color(100, 50, 150).getRGB(), image.getRGB(9 * 20 + 10, 9 * 20 + 10));
+        // Pasillo (1, 1): los puntos no forman parte de la capa estática
+        assertEquals(Color.BLACK.getRGB(), image.getRGB(30, 30));
+    }
+}
@@ -0,0 +1,113 @@
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MctsPolicyTest {
+
+    private static final long BUDGET = 3_000_000L;
+
+    @Test
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new MctsPolicy(1L, 0, 100, 1));
+        assertThrows(IllegalArgumentException.class, () -> new MctsPolicy(1L, BUDGET, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new MctsPolicy(1L, BUDGET, 100, 0));
+    }
+
+    @Test
+    public void testKeepsDirectionBetweenCells() {
+        GameEngine game = new GameEngine(GameEngine.DEFAULT_GHOST_COUNT, 1L);
+        game.getPacman().setDirection(Direction.RIGHT);
+        game.step();
+        try (MctsPolicy policy = new MctsPolicy(1L, BUDGET, 100, 1)) {
+            assertEquals(Direction.RIGHT, policy.chooseDirection(game));
+            assertEquals(0, policy.getTotalRollouts());
+        }
+    }
+
+    @Test
+    public void testLegalMoves() {
+        GameEngine game = new GameEngine(GameEngine.DEFAULT_GHOST_COUNT, 1L);
+        assertEquals(Direction.RIGHT.getMask() | Direction.DOWN.getMask(), MctsPolicy.legalMoves(game));
+        assertTrue(MctsPolicy.isDecisionPoint(game));
+    }
+
+    @Test
+    public void testSearchPicksALegalMoveAndCountsRollouts() {
+        GameEngine game = new GameEngine(GameEngine.DEFAULT_GHOST_COUNT, 2L);
+        byte[] before = game.snapshot();
+        try (MctsPolicy policy = new MctsPolicy(2L, BUDGET, 100, 1)) {
+            Direction choice = policy.chooseDirection(game);
+            assertTrue(choice == Direction.RIGHT || choice == Direction.DOWN);
+            assertTrue(policy.getLastRollouts() > 0);
+            assertEquals(policy.getLastRollouts(), policy.getTotalRollouts());
+            assertTrue(policy.getRolloutsPerSecond() > 0);
+        }
+        // La búsqueda no toca la partida real
+        assertArrayEquals(before, game.snapshot());
+    }
+
+    @Test
+    public void testPerfectInformationIsOptIn() {
+        GameEngine game = new GameEngine(GameEngine.DEFAULT_GHOST_COUNT, 2L);
+        byte[] before = game.snapshot();
+        try (MctsPolicy policy = new MctsPolicy(2L, BUDGET, 100, 1)) {
+            // Por defecto las simulaciones no conocen el azar de los fantasmas
+            assertFalse(policy.isPerfectInformation());
+            policy.setPerfectInformation(true);
+            assertTrue(policy.isPerfectInformation());
+            Direction choice = policy.chooseDirection(game);
+            assertTrue(choice == Direction.RIGHT || choice == Direction.DOWN);
+            assertTrue(policy.getLastRollouts() > 0);
+        }
+        assertArrayEquals(before, game.snapshot());
+    }
+
+    @Test
+    public void testAvoidsAdjacentGhost() {
+        GameEngine game = new GameEngine(GameEngine.DEFAULT_GHOST_COUNT, 3L);
+        game.checkCollisions();
+        game.getPacman().resetPosition();   // sin power-up
+        for (Ghost ghost : game.getGhosts()) {
+            ghost.setFrightened(false);
+        }
+        game.placeGhost(0, 40, 20);
+        // Sin conocer el azar del fantasma hacen falta bastantes simulaciones para ver el riesgo
+        try (MctsPolicy policy = new MctsPolicy(3L, 200_000_000L, 100, 1)) {
+            assertEquals(Direction.DOWN, policy.chooseDirection(game));
+        }
+    }
+
+    @Test
+    public void testParallelWorkers() {
+        GameEngine game = new GameEngine(GameEngine.DEFAULT_GHOST_COUNT, 4L);
+        try (MctsPolicy policy = new MctsPolicy(4L, BUDGET, 100, 3)) {
+            assertEquals(3, policy.getThreads());
+            for (int i = 0; i < 40 && !game.isFinished(); i++) {
+                game.getPacman().setDirection(policy.chooseDirection(game));
+                game.step();
+            }
+            // Cada trabajador hace al menos una simulación por decisión
+            assertTrue(policy.getTotalRollouts() >= 3);
+            assertTrue(game.getPelletsEaten() > 0);
+        }
+    }
+
+    @Test
+    public void testSurvivesBetterThanRandomWalk() {
+        BatchRunner mcts = new BatchRunner(1, GameEngine.DEFAULT_GHOST_COUNT, 1200,
+            seed -> new MctsPolicy(seed, 2_000_000L, MctsPolicy.DEFAULT_HORIZON_TICKS, 1));
+        BatchRunner random = new BatchRunner(1, GameEngine.DEFAULT_GHOST_COUNT, 1200, PacmanPolicy::randomWalk);
+        try {
+            int mctsDeaths = 0;
+            int randomDeaths = 0;
+            for (long seed = 1; seed <= 3; seed++) {
+                mctsDeaths += mcts.play(seed).getLivesLost();
+                randomDeaths += random.play(seed).getLivesLost();
+            }
+            assertTrue(mctsDeaths < randomDeaths, mctsDeaths + " vs " + randomDeaths);
+        } finally {
+            mcts.shutdown();
+            random.shutdown();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+import java.awt.*;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.awt.image.BufferedImageOp;
+import java.awt.image.ImageObserver;
+import java.awt.image.RenderedImage;
+import java.awt.image.renderable.RenderableImage;
+import java.text.AttributedCharacterIterator;
+import java.util.Map;
+
+// Graphics2D que no dibuja nada ni reserva memoria: permite medir lo que reserva el
+// código de pintado del juego sin contar la basura interna del pipeline de Java2D.
+public class NullGraphics2D extends Graphics2D {
+    private static final FontRenderContext CONTEXT = new FontRenderContext(null, false, false);
+
+    private Color color = Color.BLACK;
+    private Color background = Color.BLACK;
+    private Font font;
+    private int drawCalls = 0;
+
+    public int getDrawCalls() {
+        return drawCalls;
+    }
+
+    @Override public Graphics create() { return this; }
+    @Override public void dispose() { }
+
+    @Override public Color getColor() { return color; }
+    @Override public void setColor(Color c) { color = c; }
+    @Override public Color getBackground() { return background; }
+    @Override public void setBackground(Color c) { background = c; }
+    @Override public Font getFont() { return font; }
+    @Override public void setFont(Font f) { font = f; }
+    @Override public FontMetrics getFontMetrics(Font f) { return null; }
+    @Override public FontRenderContext getFontRenderContext() { return CONTEXT; }
+    @Override public GraphicsConfiguration getDeviceConfiguration() { return null; }
+    @Override public Composite getComposite() { return null; }
+    @Override public void setComposite(Composite comp) { }
+    @Override public Paint getPaint() { return color; }
+    @Override public void setPaint(Paint paint) { }
+    @Override public Stroke getStroke() { return null; }
+    @Override public void setStroke(Stroke s) { }
+    @Override public Object getRenderingHint(RenderingHints.Key key) { return null; }
+    @Override public void setRenderingHint(RenderingHints.Key key, Object value) { }
+    @Override public RenderingHints getRenderingHints() { return null; }
+    @Override public void setRenderingHints(Map<?, ?> hints) { }
+    @Override public void addRenderingHints(Map<?, ?> hints) { }
+    @Override public void setPaintMode() { }
+    @Override public void setXORMode(Color c) { }
+
+    @Override public AffineTransform getTransform() { return new AffineTransform(); }
+    @Override public void setTransform(AffineTransform tx) { }
+    @Override public void transform(AffineTransform tx) { }
+    @Override public void translate(int x, int y) { }
+    @Override public void translate(double tx, double ty) { }
+    @Override public void rotate(double theta) { }
+    @Override public void rotate(double theta, double x, double y) { }
+    @Override public void scale(double sx, double sy) { }
+    @Override public void shear(double shx, double shy) { }
+
+    @Override public Shape getClip() { return null; }
+    @Override public Rectangle getClipBounds() { return null; }
+    @Override public void setClip(Shape clip) { }
+    @Override public void setClip(int x, int y, int w, int h) { }
+    @Override public void clip(Shape s) { }
+    @Override public void clipRect(int x, int y, int w, int h) { }
+    @Override public boolean hit(Rectangle rect, Shape s, boolean onStroke) { return false; }
+
+    @Override public void draw(Shape s) { drawCalls++; }
+    @Override public void fill(Shape s) { drawCalls++; }
+    @Override public void copyArea(int x, int y, int w, int h, int dx, int dy) { drawCalls++; }
+    @Override public void clearRect(int x, int y, int w, int h) { drawCalls++; }
+    @Override public void drawLine(int x1, int y1, int x2, int y2) { drawCalls++; }
+    @Override public void fillRect(int x, int y, int w, int h) { drawCalls++; }
+    @Override public void drawRoundRect(int x, int y, int w, int h, int aw, int ah) { drawCalls++; }
+    @Override public void fillRoundRect(int x, int y, int w, int h, int aw, int ah) { drawCalls++; }
+    @Override public void drawOval(int x, int y, int w, int h) { drawCalls++; }
+    @Override public void fillOval(int x, int y, int w, int h) { drawCalls++; }
+    @Override public void drawArc(int x, int y, int w, int h, int start, int arc) { drawCalls++; }
+    @Override public void fillArc(int x, int y, int w, int h, int start, int arc) { drawCalls++; }
+    @Override public void drawPolyline(int[] xs, int[] ys, int n) { drawCalls++; }
+    @Override public void drawPolygon(int[] xs, int[] ys, int n) { drawCalls++; }
+    @Override public void fillPolygon(int[] xs, int[] ys, int n) { drawCalls++; }
+
+    @Override public void drawString(String str, int x, int y) { drawCalls++; }
+    @Override public void drawString(String str, float x, float y) { drawCalls++; }
+    @Override public void drawString(AttributedCharacterIterator it, int x, int y) { drawCalls++; }
+    @Override public void drawString(AttributedCharacterIterator it, float x, float y) { drawCalls++; }
+    @Override public void drawGlyphVector(GlyphVector g, float x, float y) { drawCalls++; }
+
+    @Override public boolean drawImage(Image img, AffineTransform xform, ImageObserver obs) { drawCalls++; return true; }
+    @Override public void drawImage(BufferedImage img, BufferedImageOp op, int x, int y) { drawCalls++; }
+    @Override public void drawRenderedImage(RenderedImage img, AffineTransform xform) { drawCalls++; }
+    @Override public void drawRenderableImage(RenderableImage img, AffineTransform xform) { drawCalls++; }
+    @Override public boolean drawImage(Image img, int x, int y, ImageObserver observer) { drawCalls++; return true; }
+    @Override public boolean drawImage(Image img, int x, int y, Color bg, ImageObserver observer) { drawCalls++; return true; }
+    @Override public boolean drawImage(Image img, int x, int y, int w, int h, ImageObserver observer) { drawCalls++; return true; }
+    @Override public boolean drawImage(Image img, int x, int y, int w, int h, Color bg, ImageObserver observer) {
+        drawCalls++;
+        return true;
+    }
+    @Override public boolean drawImage(Image img, int dx1, int dy1, int dx2, int dy2, int sx1, int sy1, int sx2, int sy2,
+            ImageObserver observer) {
+        drawCalls++;
+        return true;
+    }
+    @Override public boolean drawImage(Image img, int dx1, int dy1, int dx2, int dy2, int sx1, int sy1, int sx2, int sy2,
+            Color bg, ImageObserver observer) {
+        drawCalls++;
+        return true;
+    }
+
+    // También los métodos con cuerpo de java.awt.Graphics: si otro test mockea Graphics, el
+    // mock maker inline los instrumenta para toda la JVM y sus ganchos reservan memoria
+    @Override public Graphics create(int x, int y, int w, int h) { return this; }
+    @Override public FontMetrics getFontMetrics() { return null; }
+    @Override public void drawRect(int x, int y, int w, int h) { drawCalls++; }
+    @Override public void draw3DRect(int x, int y, int w, int h, boolean raised) { drawCalls++; }
+    @Override public void fill3DRect(int x, int y, int w, int h, boolean raised) { drawCalls++; }
+    @Override public void drawPolygon(Polygon p) { drawCalls++; }
+    @Override public void fillPolygon(Polygon p) { drawCalls++; }
+    @Override public void drawChars(char[] data, int offset, int length, int x, int y) { drawCalls++; }
+    @Override public void drawBytes(byte[] data, int offset, int length, int x, int y) { drawCalls++; }
+    @SuppressWarnings("deprecation")
+    @Override public Rectangle getClipRect() { return null; }
+    @Override public boolean hitClip(int x, int y, int w, int h) { return true; }
+    @Override public Rectangle getClipBounds(Rectangle r) { return r; }
+}
@@ -0,0 +1,26 @@
+// Coste de codificar una observación por fotograma en cada formato.
+//   mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=ObservationEncoderBenchmark
+public class ObservationEncoderBenchmark {
+    private static final int FRAMES = 200_000;
+
+    public static void main(String[] args) {
+        GameEngine engine = new GameEngine(GameEngine.DEFAULT_GHOST_COUNT, 1L);
+        PacmanPolicy policy = PacmanPolicy.randomWalk(1L);
+        for (int i = 0; i < 500; i++) {
+            engine.getPacman().setDirection(policy.chooseDirection(engine));
+            engine.step();
+        }
+        for (ObservationEncoder.Layout layout : ObservationEncoder.Layout.values()) {
+            ObservationEncoder encoder = new ObservationEncoder(layout);
+            for (int round = 0; round < 3; round++) {
+                long checksum = 0;
+                long start = System.nanoTime();
+                for (int i = 0; i < FRAMES; i++) {
+                    checksum += encoder.encode(engine).get(i % encoder.getSize());
+                }
+                long elapsed = System.nanoTime() - start;
+                System.out.printf("%s: %.2f us/observation (%d)%n", layout, elapsed / 1e3 / FRAMES, checksum);
+            }
+        }
+    }
+}
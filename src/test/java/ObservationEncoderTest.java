@@ -0,0 +1,144 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ObservationEncoderTest {
+
+    private static final int CELLS = GameEngine.ROWS * GameEngine.COLS;
+
+    private GameEngine engine;
+    private ObservationEncoder planes;
+    private ObservationEncoder image;
+
+    @BeforeEach
+    public void setUp() {
+        engine = new GameEngine(GameEngine.DEFAULT_GHOST_COUNT, 1L);
+        planes = new ObservationEncoder(ObservationEncoder.Layout.PLANES_20);
+        image = new ObservationEncoder(ObservationEncoder.Layout.GRAYSCALE_84);
+    }
+
+    @Test
+    public void testBuffersAreDirectAndReused() {
+        ByteBuffer first = planes.encode(engine);
+        assertTrue(first.isDirect());
+        assertEquals(0, first.position());
+        assertEquals(ObservationEncoder.CHANNELS * CELLS, first.remaining());
+        engine.step();
+        assertSame(first, planes.encode(engine));
+
+        ByteBuffer gray = image.encode(engine);
+        assertTrue(gray.isDirect());
+        assertEquals(84 * 84, gray.remaining());
+        assertEquals(84 * 84, image.getSize());
+    }
+
+    @Test
+    public void testPlanesMatchEngineState() {
+        ByteBuffer obs = planes.encode(engine);
+        for (int row = 0; row < GameEngine.ROWS; row++) {
+            for (int col = 0; col < GameEngine.COLS; col++) {
+                int cell = Bitboard.index(row, col);
+                int type = engine.getCell(row, col);
+                boolean blocked = type == GameEngine.WALL || type == GameEngine.GHOST_HOUSE;
+                assertEquals(blocked ? 1 : 0, obs.get(ObservationEncoder.WALLS * CELLS + cell));
+                assertEquals(engine.hasPoint(row, col) ? 1 : 0, obs.get(ObservationEncoder.POINTS * CELLS + cell));
+                assertEquals(engine.hasPowerPellet(row, col) ? 1 : 0,
+                    obs.get(ObservationEncoder.POWER_PELLETS * CELLS + cell));
+            }
+        }
+        assertEquals(1, count(obs, ObservationEncoder.PACMAN));
+        Pacman pacman = engine.getPacman();
+        assertEquals(1, obs.get(ObservationEncoder.PACMAN * CELLS
+            + Bitboard.index(pacman.getY() / 20, pacman.getX() / 20)));
+    }
+
+    @Test
+    public void testGhostPlanesFollowGhostState() {
+        engine.placeGhost(0, 20, 20);
+        engine.placeGhost(1, 60, 20);
+        engine.placeGhost(2, 100, 20);
+        engine.getGhosts()[1].setFrightened(true);
+        engine.getGhosts()[2].sendToStart();
+
+        ByteBuffer obs = planes.encode(engine);
+
+        assertEquals(1, obs.get(ObservationEncoder.GHOSTS * CELLS + Bitboard.index(1, 1)));
+        assertEquals(1, obs.get(ObservationEncoder.FRIGHTENED_GHOSTS * CELLS + Bitboard.index(1, 3)));
+        // El fantasma comido no aparece
+        assertEquals(1, count(obs, ObservationEncoder.GHOSTS));
+        assertEquals(1, count(obs, ObservationEncoder.FRIGHTENED_GHOSTS));
+    }
+
+    @Test
+    public void testEatenPointDisappearsFromNextObservation() {
+        engine.getPacman().setDirection(Direction.RIGHT);
+        int before = count(planes.encode(engine), ObservationEncoder.POINTS);
+        for (int i = 0; i < 10; i++) {
+            engine.step();
+        }
+        assertTrue(count(planes.encode(engine), ObservationEncoder.POINTS) < before);
+        assertEquals(engine.getPelletsLeft(), count(planes.encode(engine), ObservationEncoder.POINTS)
+            + count(planes.encode(engine), ObservationEncoder.POWER_PELLETS));
+    }
+
+    @Test
+    public void testGhostInTunnelIsSkipped() {
+        engine.placeGhost(0, -18, 9 * 20);
+        assertDoesNotThrow(() -> planes.encode(engine));
+        assertDoesNotThrow(() -> image.encode(engine));
+    }
+
+    @Test
+    public void testLevelChangeRebuildsWalls() {
+        int walls = count(planes.encode(engine), ObservationEncoder.WALLS);
+        engine.loadLevel(2);
+        ByteBuffer obs = planes.encode(engine);
+        int expected = 0;
+        for (int row = 0; row < GameEngine.ROWS; row++) {
+            for (int col = 0; col < GameEngine.COLS; col++) {
+                int type = engine.getCell(row, col);
+                if (type == GameEngine.WALL || type == GameEngine.GHOST_HOUSE) {
+                    expected++;
+                }
+            }
+        }
+        assertEquals(expected, count(obs, ObservationEncoder.WALLS));
+        assertNotEquals(0, walls);
+    }
+
+    @Test
+    public void testGrayscaleImage() {
+        ByteBuffer obs = image.encode(engine);
+        // Pared en la esquina (0, 0)
+        assertEquals(ObservationEncoder.GRAY_WALL, obs.get(0));
+        // Punto en el centro de la celda (1, 2)
+        assertTrue(engine.hasPoint(1, 2));
+        int x = 5 * 84 / 40;
+        int y = 3 * 84 / 40;
+        assertEquals(ObservationEncoder.GRAY_POINT, obs.get(y * 84 + x));
+        // Pac-Man escalado desde su posición en píxeles
+        Pacman pacman = engine.getPacman();
+        int px = pacman.getX() * 84 / 400;
+        int py = pacman.getY() * 84 / 400;
+        assertEquals(ObservationEncoder.GRAY_PACMAN, obs.get(py * 84 + px));
+    }
+
+    @Test
+    public void testGrayscaleFrightenedGhost() {
+        engine.placeGhost(0, 200, 100);
+        engine.getGhosts()[0].setFrightened(true);
+        ByteBuffer obs = image.encode(engine);
+        assertEquals(ObservationEncoder.GRAY_FRIGHTENED, obs.get(100 * 84 / 400 * 84 + 200 * 84 / 400));
+    }
+
+    private static int count(ByteBuffer obs, int channel) {
+        int count = 0;
+        for (int i = 0; i < CELLS; i++) {
+            count += obs.get(channel * CELLS + i);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,36 @@
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PacmanPolicyTest {
+
+    @Test
+    public void testRandomWalkKeepsDirectionBetweenCells() {
+        GameEngine game = new GameEngine(GameEngine.DEFAULT_GHOST_COUNT, 1L);
+        PacmanPolicy policy = PacmanPolicy.randomWalk(1L);
+        game.getPacman().setDirection(Direction.RIGHT);
+        game.step();   // (24, 20): fuera del centro de la celda
+        assertEquals(Direction.RIGHT, policy.chooseDirection(game));
+    }
+
+    @Test
+    public void testRandomWalkNeverPicksAWall() {
+        for (long seed = 0; seed < 50; seed++) {
+            GameEngine game = new GameEngine(GameEngine.DEFAULT_GHOST_COUNT, seed);
+            Direction choice = PacmanPolicy.randomWalk(seed).chooseDirection(game);
+            // Desde (1, 1) solo se puede ir a la derecha o hacia abajo
+            assertTrue(choice == Direction.RIGHT || choice == Direction.DOWN, choice.toString());
+        }
+    }
+
+    @Test
+    public void testRandomWalkExploresTheMaze() {
+        GameEngine game = new GameEngine(GameEngine.DEFAULT_GHOST_COUNT, 2L);
+        PacmanPolicy policy = PacmanPolicy.randomWalk(2L);
+        for (int i = 0; i < 400 && !game.isFinished(); i++) {
+            game.getPacman().setDirection(policy.chooseDirection(game));
+            game.step();
+        }
+        assertTrue(game.getPelletsEaten() > 10);
+    }
+}
@@ -3,8 +3,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
-import java.awt.Graphics;
-import java.awt.event.KeyEvent;
+import java.nio.ByteBuffer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -12,23 +11,17 @@ import static org.mockito.Mockito.*;
 public class PacmanTest {
 
     @Mock
-    private Board mockBoard;
-    
-    @Mock
-    private Graphics mockGraphics;
-    
-    @Mock
-    private KeyEvent mockKeyEvent;
+    private Maze mockMaze;
 
     private Pacman pacman;
 
     @BeforeEach
     public void setUp() {
         MockitoAnnotations.openMocks(this);
-        when(mockBoard.getBlockSize()).thenReturn(20);
-        when(mockBoard.getBoardWidth()).thenReturn(400);
-        when(mockBoard.getBoardHeight()).thenReturn(400);
-        pacman = new Pacman(100, 100, mockBoard);
+        when(mockMaze.getBlockSize()).thenReturn(20);
+        when(mockMaze.getBoardWidth()).thenReturn(400);
+        when(mockMaze.getBoardHeight()).thenReturn(400);
+        pacman = new Pacman(100, 100, mockMaze);
     }
 
     @Test
@@ -66,7 +59,7 @@ public class PacmanTest {
     @Test
     public void testResetPosition() {
         // Move pacman
-        when(mockBoard.isWallForPacman(anyInt(), anyInt())).thenReturn(false);
+        when(mockMaze.canPacmanMove(anyInt(), anyInt(), any(), anyInt())).thenReturn(true);
         pacman.move();
         
         // Activate power-up
@@ -80,42 +73,12 @@ public class PacmanTest {
         assertFalse(pacman.isPoweredUp());
     }
 
-    @Test
-    public void testKeyPressedLeft() {
-        when(mockKeyEvent.getKeyCode()).thenReturn(KeyEvent.VK_LEFT);
-        pacman.keyPressed(mockKeyEvent);
-        // Direction is private, but we can verify movement behavior
-        verify(mockKeyEvent).getKeyCode();
-    }
-
-    @Test
-    public void testKeyPressedRight() {
-        when(mockKeyEvent.getKeyCode()).thenReturn(KeyEvent.VK_RIGHT);
-        pacman.keyPressed(mockKeyEvent);
-        verify(mockKeyEvent).getKeyCode();
-    }
-
-    @Test
-    public void testKeyPressedUp() {
-        when(mockKeyEvent.getKeyCode()).thenReturn(KeyEvent.VK_UP);
-        pacman.keyPressed(mockKeyEvent);
-        verify(mockKeyEvent).getKeyCode();
-    }
-
-    @Test
-    public void testKeyPressedDown() {
-        when(mockKeyEvent.getKeyCode()).thenReturn(KeyEvent.VK_DOWN);
-        pacman.keyPressed(mockKeyEvent);
-        verify(mockKeyEvent).getKeyCode();
-    }
-
     @Test
     public void testMoveLeft() {
-        when(mockKeyEvent.getKeyCode()).thenReturn(KeyEvent.VK_LEFT);
-        pacman.keyPressed(mockKeyEvent);
+        pacman.setDirection(Direction.LEFT);
         
         int initialX = pacman.getX();
-        when(mockBoard.isWallForPacman(anyInt(), anyInt())).thenReturn(false);
+        when(mockMaze.canPacmanMove(anyInt(), anyInt(), any(), anyInt())).thenReturn(true);
         pacman.move();
         
         assertTrue(pacman.getX() < initialX, "Pacman should move left");
@@ -123,11 +86,10 @@ public class PacmanTest {
 
     @Test
     public void testMoveRight() {
-        when(mockKeyEvent.getKeyCode()).thenReturn(KeyEvent.VK_RIGHT);
-        pacman.keyPressed(mockKeyEvent);
+        pacman.setDirection(Direction.RIGHT);
         
         int initialX = pacman.getX();
-        when(mockBoard.isWallForPacman(anyInt(), anyInt())).thenReturn(false);
+        when(mockMaze.canPacmanMove(anyInt(), anyInt(), any(), anyInt())).thenReturn(true);
         pacman.move();
         
         assertTrue(pacman.getX() > initialX, "Pacman should move right");
@@ -135,11 +97,10 @@ public class PacmanTest {
 
     @Test
     public void testMoveUp() {
-        when(mockKeyEvent.getKeyCode()).thenReturn(KeyEvent.VK_UP);
-        pacman.keyPressed(mockKeyEvent);
+        pacman.setDirection(Direction.UP);
         
         int initialY = pacman.getY();
-        when(mockBoard.isWallForPacman(anyInt(), anyInt())).thenReturn(false);
+        when(mockMaze.canPacmanMove(anyInt(), anyInt(), any(), anyInt())).thenReturn(true);
         pacman.move();
         
         assertTrue(pacman.getY() < initialY, "Pacman should move up");
@@ -147,11 +108,10 @@ public class PacmanTest {
 
     @Test
     public void testMoveDown() {
-        when(mockKeyEvent.getKeyCode()).thenReturn(KeyEvent.VK_DOWN);
-        pacman.keyPressed(mockKeyEvent);
+        pacman.setDirection(Direction.DOWN);
         
         int initialY = pacman.getY();
-        when(mockBoard.isWallForPacman(anyInt(), anyInt())).thenReturn(false);
+        when(mockMaze.canPacmanMove(anyInt(), anyInt(), any(), anyInt())).thenReturn(true);
         pacman.move();
         
         assertTrue(pacman.getY() > initialY, "Pacman should move down");
@@ -159,11 +119,10 @@ public class PacmanTest {
 
     @Test
     public void testMoveBlockedByWall() {
-        when(mockKeyEvent.getKeyCode()).thenReturn(KeyEvent.VK_RIGHT);
-        pacman.keyPressed(mockKeyEvent);
+        pacman.setDirection(Direction.RIGHT);
         
         int initialX = pacman.getX();
-        when(mockBoard.isWallForPacman(anyInt(), anyInt())).thenReturn(true);
+        when(mockMaze.canPacmanMove(anyInt(), anyInt(), any(), anyInt())).thenReturn(false);
         pacman.move();
         
         assertEquals(initialX, pacman.getX(), "Pacman should not move when blocked by wall");
@@ -172,8 +131,8 @@ public class PacmanTest {
     @Test
     public void testTeleportLeft() {
         // Create pacman at left edge
-        Pacman leftPacman = new Pacman(-25, 100, mockBoard);
-        when(mockBoard.isWallForPacman(anyInt(), anyInt())).thenReturn(false);
+        Pacman leftPacman = new Pacman(-25, 100, mockMaze);
+        when(mockMaze.canPacmanMove(anyInt(), anyInt(), any(), anyInt())).thenReturn(true);
         
         leftPacman.move();
         
@@ -184,8 +143,8 @@ public class PacmanTest {
     @Test
     public void testTeleportRight() {
         // Create pacman at right edge
-        Pacman rightPacman = new Pacman(405, 100, mockBoard);
-        when(mockBoard.isWallForPacman(anyInt(), anyInt())).thenReturn(false);
+        Pacman rightPacman = new Pacman(405, 100, mockMaze);
+        when(mockMaze.canPacmanMove(anyInt(), anyInt(), any(), anyInt())).thenReturn(true);
         
         rightPacman.move();
         
@@ -195,8 +154,8 @@ public class PacmanTest {
 
     @Test
     public void testVerticalBoundaryTop() {
-        Pacman topPacman = new Pacman(100, -10, mockBoard);
-        when(mockBoard.isWallForPacman(anyInt(), anyInt())).thenReturn(false);
+        Pacman topPacman = new Pacman(100, -10, mockMaze);
+        when(mockMaze.canPacmanMove(anyInt(), anyInt(), any(), anyInt())).thenReturn(true);
         
         topPacman.move();
         
@@ -205,8 +164,8 @@ public class PacmanTest {
 
     @Test
     public void testVerticalBoundaryBottom() {
-        Pacman bottomPacman = new Pacman(100, 400, mockBoard);
-        when(mockBoard.isWallForPacman(anyInt(), anyInt())).thenReturn(false);
+        Pacman bottomPacman = new Pacman(100, 400, mockMaze);
+        when(mockMaze.canPacmanMove(anyInt(), anyInt(), any(), anyInt())).thenReturn(true);
         
         bottomPacman.move();
         
@@ -246,24 +205,16 @@ public class PacmanTest {
         assertFalse(pacman.isPoweredUp());
         
         // When power-up is not active, getRemainingPowerUpTime should return 0
-        Pacman newPacman = new Pacman(100, 100, mockBoard);
+        Pacman newPacman = new Pacman(100, 100, mockMaze);
         assertEquals(0, newPacman.getRemainingPowerUpTime());
     }
 
-    @Test
-    public void testDraw() {
-        assertDoesNotThrow(() -> pacman.draw(mockGraphics, 40));
-        verify(mockGraphics, atLeastOnce()).setColor(any());
-        verify(mockGraphics, atLeastOnce()).fillArc(anyInt(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt());
-    }
-
     @Test
     public void testMultipleMoves() {
-        when(mockBoard.isWallForPacman(anyInt(), anyInt())).thenReturn(false);
+        when(mockMaze.canPacmanMove(anyInt(), anyInt(), any(), anyInt())).thenReturn(true);
         
         int initialX = pacman.getX();
-        when(mockKeyEvent.getKeyCode()).thenReturn(KeyEvent.VK_RIGHT);
-        pacman.keyPressed(mockKeyEvent);
+        pacman.setDirection(Direction.RIGHT);
         
         pacman.move();
         pacman.move();
@@ -307,163 +258,128 @@ public class PacmanTest {
     }
 
     @Test
-    public void testWallCollisionOnAllFourEdges() {
-        when(mockBoard.isWallForPacman(anyInt(), anyInt())).thenAnswer(invocation -> {
-            int x = invocation.getArgument(0);
-            int y = invocation.getArgument(1);
-            // Simulate wall at specific edge position
-            return x == 104 && y == 100; // Right edge of pacman
-        });
+    public void testMoveInAllDirectionsWithNoWalls() {
+        // Ensure all 4 directions in switch statement are covered
+        when(mockMaze.canPacmanMove(anyInt(), anyInt(), any(), anyInt())).thenReturn(true);
+        
+        // Test LEFT
+        pacman.setDirection(Direction.LEFT);
+        int startX = pacman.getX();
+        pacman.move();
+        assertTrue(pacman.getX() < startX, "Should move left");
         
-        when(mockKeyEvent.getKeyCode()).thenReturn(KeyEvent.VK_RIGHT);
-        pacman.keyPressed(mockKeyEvent);
+        // Reset and test RIGHT
+        pacman = new Pacman(100, 100, mockMaze);
+        pacman.setDirection(Direction.RIGHT);
+        startX = pacman.getX();
+        pacman.move();
+        assertTrue(pacman.getX() > startX, "Should move right");
         
-        int initialX = pacman.getX();
+        // Reset and test UP
+        pacman = new Pacman(100, 100, mockMaze);
+        pacman.setDirection(Direction.UP);
+        int startY = pacman.getY();
         pacman.move();
+        assertTrue(pacman.getY() < startY, "Should move up");
         
-        // Should be blocked by wall on the edge
-        assertEquals(initialX, pacman.getX());
+        // Reset and test DOWN
+        pacman = new Pacman(100, 100, mockMaze);
+        pacman.setDirection(Direction.DOWN);
+        startY = pacman.getY();
+        pacman.move();
+        assertTrue(pacman.getY() > startY, "Should move down");
     }
 
     @Test
-    public void testAllKeyEventCodes() {
-        // Test VK_LEFT
-        when(mockKeyEvent.getKeyCode()).thenReturn(KeyEvent.VK_LEFT);
-        pacman.keyPressed(mockKeyEvent);
-        
-        // Test VK_RIGHT
-        when(mockKeyEvent.getKeyCode()).thenReturn(KeyEvent.VK_RIGHT);
-        pacman.keyPressed(mockKeyEvent);
-        
-        // Test VK_UP
-        when(mockKeyEvent.getKeyCode()).thenReturn(KeyEvent.VK_UP);
-        pacman.keyPressed(mockKeyEvent);
-        
-        // Test VK_DOWN
-        when(mockKeyEvent.getKeyCode()).thenReturn(KeyEvent.VK_DOWN);
-        pacman.keyPressed(mockKeyEvent);
-        
-        // Test other key (should not crash)
-        when(mockKeyEvent.getKeyCode()).thenReturn(KeyEvent.VK_SPACE);
-        pacman.keyPressed(mockKeyEvent);
-        
-        verify(mockKeyEvent, atLeast(5)).getKeyCode();
+    public void testRenderPositionInterpolatesBetweenTicks() {
+        when(mockMaze.canPacmanMove(anyInt(), anyInt(), any(), anyInt())).thenReturn(true);
+        pacman.setDirection(Direction.RIGHT);
+        pacman.move();
+
+        assertEquals(100, pacman.getRenderX(0.0));
+        assertEquals(102, pacman.getRenderX(0.5));
+        assertEquals(104, pacman.getRenderX(1.0));
+        assertEquals(100, pacman.getRenderY(0.5));
     }
 
     @Test
-    public void testEdgeCollisionTopRight() {
-        // Test when only top-right corner hits a wall (should still move since other corners are free)
-        when(mockBoard.isWallForPacman(anyInt(), anyInt())).thenAnswer(invocation -> {
-            int x = invocation.getArgument(0);
-            int y = invocation.getArgument(1);
-            // Return true only for a specific position that would be the new top-right corner
-            return (x >= 104 && x <= 118) && y == 100;
-        });
-        
-        when(mockKeyEvent.getKeyCode()).thenReturn(KeyEvent.VK_RIGHT);
-        pacman.keyPressed(mockKeyEvent);
-        
-        int initialX = pacman.getX();
+    public void testResetPositionDoesNotInterpolate() {
+        when(mockMaze.canPacmanMove(anyInt(), anyInt(), any(), anyInt())).thenReturn(true);
+        pacman.setDirection(Direction.DOWN);
         pacman.move();
-        
-        // Should be blocked because top-right corner (newX + 14) hits wall
-        assertEquals(initialX, pacman.getX());
+        pacman.resetPosition();
+
+        assertEquals(100, pacman.getRenderY(0.0));
     }
 
     @Test
-    public void testEdgeCollisionBottomLeft() {
-        // Test when only bottom-left corner hits a wall
-        when(mockBoard.isWallForPacman(anyInt(), anyInt())).thenAnswer(invocation -> {
-            int x = invocation.getArgument(0);
-            int y = invocation.getArgument(1);
-            // Return true for bottom-left corner area
-            return x == 100 && (y >= 104 && y <= 118);
-        });
-        
-        when(mockKeyEvent.getKeyCode()).thenReturn(KeyEvent.VK_DOWN);
-        pacman.keyPressed(mockKeyEvent);
-        
-        int initialY = pacman.getY();
-        pacman.move();
-        
-        // Should be blocked
-        assertEquals(initialY, pacman.getY());
+    public void testSetDirection() {
+        pacman.setDirection(Direction.UP);
+        assertEquals(Direction.UP, pacman.getDirection());
     }
 
     @Test
-    public void testEdgeCollisionBottomRight() {
-        // Test when bottom-right corner hits a wall
-        when(mockBoard.isWallForPacman(anyInt(), anyInt())).thenAnswer(invocation -> {
-            int x = invocation.getArgument(0);
-            int y = invocation.getArgument(1);
-            // Wall at bottom-right area
-            return (x >= 104 && x <= 118) && (y >= 104 && y <= 118);
-        });
-        
-        when(mockKeyEvent.getKeyCode()).thenReturn(KeyEvent.VK_RIGHT);
-        pacman.keyPressed(mockKeyEvent);
-        
-        int initialX = pacman.getX();
-        pacman.move();
-        
-        // Should be blocked by wall at bottom-right
-        assertEquals(initialX, pacman.getX());
+    public void testCustomClockDrivesPowerUp() {
+        long[] now = {0};
+        pacman.setClock(() -> now[0]);
+        pacman.activatePowerUp();
+        now[0] = 4000;
+        assertEquals(6000, pacman.getRemainingPowerUpTime());
+        now[0] = 10001;
+        assertFalse(pacman.isPoweredUp());
     }
 
     @Test
-    public void testEdgeCollisionMiddleEdge() {
-        // Test collision where wall blocks one specific corner check
-        when(mockBoard.isWallForPacman(anyInt(), anyInt())).thenAnswer(invocation -> {
-            int x = invocation.getArgument(0);
-            int y = invocation.getArgument(1);
-            // Block the middle right position more broadly
-            return x >= 114 && y >= 100 && y <= 115;
-        });
-        
-        when(mockKeyEvent.getKeyCode()).thenReturn(KeyEvent.VK_RIGHT);
-        pacman.keyPressed(mockKeyEvent);
-        
-        int initialX = pacman.getX();
+    public void testMoveQueriesMazeWithCurrentPositionAndSpeed() {
+        when(mockMaze.canPacmanMove(anyInt(), anyInt(), any(), anyInt())).thenReturn(false);
+        pacman.setDirection(Direction.RIGHT);
+
         pacman.move();
-        
-        // Should be blocked because corners hit wall
-        assertEquals(initialX, pacman.getX());
+
+        verify(mockMaze).canPacmanMove(100, 100, Direction.RIGHT, 4);
+        verify(mockMaze, never()).isWallForPacman(anyInt(), anyInt());
+        assertEquals(100, pacman.getX());
     }
 
     @Test
-    public void testMoveInAllDirectionsWithNoWalls() {
-        // Ensure all 4 directions in switch statement are covered
-        when(mockBoard.isWallForPacman(anyInt(), anyInt())).thenReturn(false);
-        
-        // Test LEFT
-        when(mockKeyEvent.getKeyCode()).thenReturn(KeyEvent.VK_LEFT);
-        pacman.keyPressed(mockKeyEvent);
-        int startX = pacman.getX();
-        pacman.move();
-        assertTrue(pacman.getX() < startX, "Should move left");
-        
-        // Reset and test RIGHT
-        pacman = new Pacman(100, 100, mockBoard);
-        when(mockKeyEvent.getKeyCode()).thenReturn(KeyEvent.VK_RIGHT);
-        pacman.keyPressed(mockKeyEvent);
-        startX = pacman.getX();
+    public void testMoveBlockedOnlyInOneDirection() {
+        when(mockMaze.canPacmanMove(anyInt(), anyInt(), eq(Direction.DOWN), anyInt())).thenReturn(false);
+        when(mockMaze.canPacmanMove(anyInt(), anyInt(), eq(Direction.UP), anyInt())).thenReturn(true);
+
+        pacman.setDirection(Direction.DOWN);
         pacman.move();
-        assertTrue(pacman.getX() > startX, "Should move right");
-        
-        // Reset and test UP
-        pacman = new Pacman(100, 100, mockBoard);
-        when(mockKeyEvent.getKeyCode()).thenReturn(KeyEvent.VK_UP);
-        pacman.keyPressed(mockKeyEvent);
-        int startY = pacman.getY();
+        assertEquals(100, pacman.getY());
+
+        pacman.setDirection(Direction.UP);
         pacman.move();
-        assertTrue(pacman.getY() < startY, "Should move up");
-        
-        // Reset and test DOWN
-        pacman = new Pacman(100, 100, mockBoard);
-        when(mockKeyEvent.getKeyCode()).thenReturn(KeyEvent.VK_DOWN);
-        pacman.keyPressed(mockKeyEvent);
-        startY = pacman.getY();
+        assertEquals(96, pacman.getY());
+    }
+
+    @Test
+    public void testStateRoundTrip() {
+        when(mockMaze.canPacmanMove(anyInt(), anyInt(), any(), anyInt())).thenReturn(true);
+        pacman.setClock(() -> 1000L);
+        pacman.setDirection(Direction.DOWN);
         pacman.move();
-        assertTrue(pacman.getY() > startY, "Should move down");
+        pacman.addScore(1230);
+        pacman.loseLife();
+        pacman.activatePowerUp();
+        ByteBuffer buffer = ByteBuffer.allocate(Pacman.STATE_BYTES);
+        pacman.writeState(buffer);
+        assertEquals(Pacman.STATE_BYTES, buffer.position());
+
+        Pacman copy = new Pacman(0, 0, mockMaze);
+        copy.setClock(() -> 1000L);
+        buffer.flip();
+        copy.readState(buffer);
+
+        assertEquals(100, copy.getX());
+        assertEquals(104, copy.getY());
+        assertEquals(102, copy.getRenderY(0.5));
+        assertEquals(Direction.DOWN, copy.getDirection());
+        assertEquals(1230, copy.getScore());
+        assertEquals(2, copy.getLives());
+        assertTrue(copy.isPoweredUp());
+        assertEquals(pacman.getRemainingPowerUpTime(), copy.getRemainingPowerUpTime());
     }
 }
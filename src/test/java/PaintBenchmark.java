@@ -0,0 +1,75 @@
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+
+// Tiempo de Board.paintComponent sobre una imagen en memoria (pipeline de software), al
+// tamaño nativo y con la ventana a 4K (capas regeneradas a celdas de 99 px): fotograma
+// completo y fotogramas de juego que solo repintan las regiones sucias, como Board.
+//   mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=PaintBenchmark
+public class PaintBenchmark {
+    private static final int FRAMES = 5_000;
+    // Ticks de juego por ronda: unos 20 s, antes de que el paseo aleatorio pierda las vidas
+    private static final int TICKS = 500;
+
+    public static void main(String[] args) throws Exception {
+        System.setProperty("java.awt.headless", "true");
+        Board board = new Board();
+        board.stopTimer();
+        board.setAutopilot(PacmanPolicy.randomWalk(1L));
+        measure(board, board.getBoardWidth(), board.getBoardHeight() + Board.STATUS_PANEL_HEIGHT, FRAMES);
+        board.rescale(3840, 2160, 1).get();
+        measure(board, 3840, 2160, FRAMES / 10);
+        System.exit(0);
+    }
+
+    private static void measure(Board board, int width, int height, int frames) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int round = 0; round < 5; round++) {
+            Graphics2D g = target.createGraphics();
+            long start = System.nanoTime();
+            for (int i = 0; i < frames; i++) {
+                board.paintComponent(g);
+            }
+            long full = System.nanoTime() - start;
+
+            // Partida nueva en cada ronda: sin vidas no se mueve nada y no hay regiones sucias
+            board.setSeed(round);
+            long time = 0;
+            long painting = 0;
+            long paints = 0;
+            long pixels = 0;
+            Rectangle bounds = new Rectangle();
+            for (int i = 0; i < TICKS; i++) {
+                time += GameEngine.TICK_MS * 1_000_000L;
+                board.getGameLoop().advance(time);
+                DirtyRegions dirty = board.collectChanges();
+                if (dirty.isFull() || dirty.isEmpty()) {
+                    continue;
+                }
+                dirty.getBounds(bounds);
+                start = System.nanoTime();
+                // Igual que Board.repaintChanges: región a región o un solo pintado del rectángulo común
+                if (Board.paintsSeparately(dirty, bounds)) {
+                    for (int r = 0; r < dirty.getCount(); r++) {
+                        pixels += paintClipped(board, g, dirty.get(r));
+                        paints++;
+                    }
+                } else {
+                    pixels += paintClipped(board, g, bounds);
+                    paints++;
+                }
+                painting += System.nanoTime() - start;
+            }
+            g.dispose();
+            System.out.printf("%dx%d: full %.1f us/frame, dirty regions %.1f us/frame (%.1f paints, %d px)%n",
+                width, height, full / 1e3 / frames, painting / 1e3 / TICKS, (double) paints / TICKS, pixels / TICKS);
+        }
+    }
+
+    private static long paintClipped(Board board, Graphics2D g, Rectangle region) {
+        Rectangle clip = board.getViewScale().isIdentity() ? region : board.getViewScale().toComponent(new Rectangle(region));
+        g.setClip(clip);
+        board.paintComponent(g);
+        return (long) region.width * region.height;
+    }
+}
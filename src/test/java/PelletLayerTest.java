@@ -0,0 +1,116 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PelletLayerTest {
+
+    private static final int WHITE = Color.WHITE.getRGB();
+    private static final int BLACK = Color.BLACK.getRGB();
+
+    private GameEngine engine;
+    private MazeLayer mazeLayer;
+    private PelletLayer layer;
+
+    @BeforeEach
+    public void setUp() {
+        engine = new GameEngine(GameEngine.DEFAULT_GHOST_COUNT, 1L);
+        mazeLayer = new MazeLayer();
+        layer = new PelletLayer();
+    }
+
+    private static int centre(BufferedImage image, int row, int col) {
+        return image.getRGB(col * 20 + 10, row * 20 + 10);
+    }
+
+    @Test
+    public void testInitialRenderContainsPointsButNotPowerPellets() {
+        BufferedImage image = layer.get(engine, mazeLayer, null);
+        assertEquals(1, layer.getFullRenderCount());
+        assertEquals(WHITE, centre(image, 1, 2));
+        // Power pellet en (1, 1): va en la superposición, no en la capa
+        assertEquals(BLACK, centre(image, 1, 1));
+        // Pared en (0, 0)
+        assertEquals(Color.BLUE.getRGB(), centre(image, 0, 0));
+    }
+
+    @Test
+    public void testEatingAPointErasesOnlyThatCell() {
+        layer.get(engine, mazeLayer, null);
+        engine.getPacman().setDirection(Direction.RIGHT);
+        for (int i = 0; i < 5; i++) {
+            engine.getPacman().move();
+        }
+        engine.checkCollisions();   // come el punto de (1, 2)
+
+        BufferedImage image = layer.get(engine, mazeLayer, null);
+
+        assertEquals(1, layer.getFullRenderCount());
+        assertEquals(1, layer.getCellUpdateCount());
+        assertEquals(BLACK, centre(image, 1, 2));
+        assertEquals(WHITE, centre(image, 1, 3));
+    }
+
+    @Test
+    public void testUnchangedFramesDoNoWork() {
+        layer.get(engine, mazeLayer, null);
+        for (int i = 0; i < 10; i++) {
+            layer.get(engine, mazeLayer, null);
+        }
+        assertEquals(1, layer.getFullRenderCount());
+        assertEquals(0, layer.getCellUpdateCount());
+    }
+
+    @Test
+    public void testRestoredPointsAreRedrawn() {
+        byte[] saved = engine.snapshot();
+        layer.get(engine, mazeLayer, null);
+        engine.getPacman().setDirection(Direction.RIGHT);
+        for (int i = 0; i < 5; i++) {
+            engine.getPacman().move();
+        }
+        engine.checkCollisions();
+        layer.get(engine, mazeLayer, null);
+
+        engine.restore(saved);
+        BufferedImage image = layer.get(engine, mazeLayer, null);
+
+        assertEquals(WHITE, centre(image, 1, 2));
+        assertEquals(2, layer.getCellUpdateCount());
+    }
+
+    @Test
+    public void testLevelChangeTriggersFullRender() {
+        layer.get(engine, mazeLayer, null);
+        engine.loadLevel(1);
+        layer.get(engine, mazeLayer, null);
+        assertEquals(2, layer.getFullRenderCount());
+    }
+
+    @Test
+    public void testPowerPelletOverlayBlinks() {
+        assertTrue(PelletLayer.isPowerPelletVisible(0));
+        assertTrue(PelletLayer.isPowerPelletVisible(PelletLayer.BLINK_TICKS - 1));
+        assertFalse(PelletLayer.isPowerPelletVisible(PelletLayer.BLINK_TICKS));
+        assertTrue(PelletLayer.isPowerPelletVisible(2 * PelletLayer.BLINK_TICKS));
+
+        BufferedImage target = new BufferedImage(400, 400, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        layer.drawPowerPellets(g, engine, 0);
+        assertEquals(WHITE, centre(target, 1, 1));
+        assertEquals(WHITE, centre(target, 18, 18));
+
+        g.setColor(Color.BLACK);
+        g.fillRect(0, 0, 400, 400);
+        for (int i = 0; i < PelletLayer.BLINK_TICKS; i++) {
+            engine.step();
+        }
+        layer.drawPowerPellets(g, engine, 0);
+        g.dispose();
+        assertEquals(BLACK, centre(target, 18, 18));
+    }
+}
@@ -0,0 +1,58 @@
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+// Fotogramas por segundo del render por software frente a Board.render (Java2D) sobre
+// la misma partida. Cada fotograma avanza un tick para que cambien puntos y sprites;
+// solo se cronometra el dibujo.
+//   mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=SoftwareRendererBenchmark
+public class SoftwareRendererBenchmark {
+    private static final int FRAMES = 5_000;
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        for (int round = 0; round < 5; round++) {
+            System.out.printf("Java2D:   %8.0f fps%n", java2d());
+            System.out.printf("Software: %8.0f fps%n", software());
+        }
+        System.exit(0);
+    }
+
+    private static Board newBoard() {
+        Board board = new Board();
+        board.stopTimer();
+        board.setSeed(1L);
+        board.setAutopilot(PacmanPolicy.randomWalk(1L));
+        board.getGameLoop().advance(0);
+        return board;
+    }
+
+    private static double java2d() {
+        Board board = newBoard();
+        BufferedImage target = new BufferedImage(board.getBoardWidth(), board.getBoardHeight() + Board.STATUS_PANEL_HEIGHT,
+            BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        long elapsed = 0;
+        for (int i = 1; i <= FRAMES; i++) {
+            board.getGameLoop().advance(i * GameEngine.TICK_MS * 1_000_000L);
+            long start = System.nanoTime();
+            board.render(g, null);
+            elapsed += System.nanoTime() - start;
+        }
+        g.dispose();
+        return FRAMES * 1e9 / elapsed;
+    }
+
+    private static double software() {
+        Board board = newBoard();
+        GameEngine engine = board.getEngine();
+        SoftwareRenderer renderer = new SoftwareRenderer(engine.getBoardWidth(), engine.getBoardHeight());
+        long elapsed = 0;
+        for (int i = 1; i <= FRAMES; i++) {
+            board.getGameLoop().advance(i * GameEngine.TICK_MS * 1_000_000L);
+            long start = System.nanoTime();
+            renderer.render(engine, board.getGameLoop().getAlpha());
+            elapsed += System.nanoTime() - start;
+        }
+        return FRAMES * 1e9 / elapsed;
+    }
+}
@@ -0,0 +1,106 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SoftwareRendererTest {
+
+    private static final int WIDTH = 400;
+    private static final int HEIGHT = 435;
+
+    private Board board;
+    private GameEngine engine;
+    private SoftwareRenderer renderer;
+
+    @BeforeEach
+    public void setUp() {
+        board = new Board();
+        board.stopTimer();
+        board.setSeed(7L);
+        engine = board.getEngine();
+        renderer = new SoftwareRenderer(engine.getBoardWidth(), engine.getBoardHeight());
+    }
+
+    @Test
+    public void testFrameIsBackedByIntArray() {
+        BufferedImage image = renderer.render(engine, 0);
+        assertEquals(WIDTH, image.getWidth());
+        assertEquals(HEIGHT, image.getHeight());
+        assertSame(renderer.getImage(), image);
+        assertSame(((DataBufferInt) image.getRaster().getDataBuffer()).getData(), renderer.getPixels());
+    }
+
+    @Test
+    public void testInitialFrameMatchesBoard() {
+        assertMatchesBoard();
+    }
+
+    @Test
+    public void testFramesMatchBoardDuringPlay() {
+        board.setAutopilot(PacmanPolicy.randomWalk(3L));
+        // Recorre ticks con puntos comidos, parpadeo de power pellets y fantasmas moviéndose
+        for (int i = 0; i < 300; i++) {
+            // Desfase variable dentro del tick para que alpha no sea siempre 0
+            long jitter = i * 7_000_000L % 40_000_000L;
+            board.getGameLoop().advance(i * GameEngine.TICK_MS * 1_000_000L + jitter);
+            if (i % 10 == 0) {
+                assertMatchesBoard();
+            }
+        }
+    }
+
+    @Test
+    public void testFrightenedAndReturningGhostsMatchBoard() {
+        engine.getGhosts()[0].setFrightened(true);
+        engine.getGhosts()[1].sendToStart();
+        engine.getPacman().activatePowerUp();
+        assertMatchesBoard();
+    }
+
+    @Test
+    public void testSpriteCrossingTheEdgeIsClipped() {
+        engine.placeGhost(0, -8, 9 * 20);
+        engine.placeGhost(1, 392, 9 * 20);
+        assertMatchesBoard();
+    }
+
+    @Test
+    public void testNewLevelAndCompletionBanner() throws Exception {
+        engine.loadLevel(1);
+        assertMatchesBoard();
+        clearBitboard("points");
+        clearBitboard("powerPellets");
+        engine.checkLevelCompletion();
+        assertTrue(engine.isLevelComplete());
+        assertMatchesBoard();
+    }
+
+    private void clearBitboard(String name) throws Exception {
+        java.lang.reflect.Field field = GameEngine.class.getDeclaredField(name);
+        field.setAccessible(true);
+        java.util.Arrays.fill((long[]) field.get(engine), 0L);
+    }
+
+    private void assertMatchesBoard() {
+        double alpha = board.getGameLoop().getAlpha();
+        BufferedImage expected = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = expected.createGraphics();
+        board.render(g, null);
+        g.dispose();
+
+        BufferedImage actual = renderer.render(engine, alpha);
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                if (expected.getRGB(x, y) != actual.getRGB(x, y)) {
+                    fail("tick " + engine.getTick() + ", pixel (" + x + ", " + y + "): expected "
+                        + Integer.toHexString(expected.getRGB(x, y)) + " but was "
+                        + Integer.toHexString(actual.getRGB(x, y)));
+                }
+            }
+        }
+    }
+}
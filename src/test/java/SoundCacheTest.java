@@ -0,0 +1,88 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SoundCacheTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testGeneratesOnceAndReadsBack() {
+        AtomicInteger generated = new AtomicInteger();
+        short[] samples = {0, 1, -1, Short.MAX_VALUE, Short.MIN_VALUE, 1234};
+        SoundCache cache = new SoundCache(directory);
+        assertArrayEquals(samples, cache.get("beep-100", () -> {
+            generated.incrementAndGet();
+            return samples;
+        }));
+        assertEquals(1, cache.getMisses());
+
+        // Otra ejecución con el mismo directorio: se lee del disco
+        SoundCache reopened = new SoundCache(directory);
+        assertArrayEquals(samples, reopened.get("beep-100", () -> {
+            generated.incrementAndGet();
+            return new short[0];
+        }));
+        assertEquals(1, generated.get());
+        assertEquals(1, reopened.getHits());
+        assertTrue(Files.isRegularFile(directory.resolve("beep-100.pcm")));
+    }
+
+    @Test
+    public void testDifferentParametersAreDifferentEntries() {
+        SoundCache cache = new SoundCache(directory);
+        cache.get("beep-100-0.05", () -> new short[] {1});
+        assertArrayEquals(new short[] {2}, cache.get("beep-100-0.06", () -> new short[] {2}));
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void testKeysBecomeSafeFileNames() {
+        assertEquals("a_b_c-1.5.pcm", SoundCache.fileName("a/b c-1.5"));
+    }
+
+    @Test
+    public void testUnwritableDirectoryStillGenerates() throws Exception {
+        Path file = directory.resolve("not-a-directory");
+        Files.write(file, new byte[] {1});
+        SoundCache cache = new SoundCache(file);
+        assertArrayEquals(new short[] {7}, cache.get("x", () -> new short[] {7}));
+    }
+
+    @Test
+    public void testFailedWriteLeavesNoTemporaryFile() throws Exception {
+        // Un directorio con el nombre de la entrada: se escribe el temporal pero no se puede renombrar
+        Files.createDirectories(directory.resolve("beep-100.pcm").resolve("child"));
+        SoundCache cache = new SoundCache(directory);
+        short[] samples = {1, 2, 3};
+        assertArrayEquals(samples, cache.get("beep-100", () -> samples));
+        assertEquals(1, cache.getFailures());
+        try (java.util.stream.Stream<Path> files = Files.list(directory)) {
+            assertEquals(java.util.List.of(directory.resolve("beep-100.pcm")),
+                files.collect(java.util.stream.Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void testUnwritableDirectoryFallsBackQuietly() throws Exception {
+        // Un fichero donde debería estar el directorio: no se puede guardar nada
+        Path blocked = directory.resolve("blocked");
+        Files.write(blocked, new byte[] {1});
+        SoundCache cache = new SoundCache(blocked);
+        short[] samples = {1, 2, 3};
+        assertArrayEquals(samples, cache.get("beep-100", () -> samples));
+        assertFalse(cache.isWritable());
+        assertEquals(1, cache.getFailures());
+
+        // Ya no se intenta escribir: sigue generando sin más fallos
+        assertArrayEquals(samples, cache.get("beep-200", () -> samples));
+        assertEquals(1, cache.getFailures());
+        assertEquals(2, cache.getMisses());
+    }
+}
@@ -1,6 +1,8 @@
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class SoundManagerTest {
@@ -148,4 +150,161 @@ public class SoundManagerTest {
             assertEquals(i % 2 == 0, soundManager.isSoundEnabled());
         }
     }
+
+    @Test
+    public void testSoundsArePregeneratedAt16BitsMono() {
+        SoundEffect dot = soundManager.getSoundEffect("eat_dot");
+        assertNotNull(dot);
+        // 50 ms a 8 kHz
+        assertEquals((int) (AudioMixer.SAMPLE_RATE * 0.05), dot.getSamples().length);
+        assertEquals((int) (AudioMixer.SAMPLE_RATE * 0.5), soundManager.getSoundEffect("death").getSamples().length);
+        assertNull(soundManager.getSoundEffect("invalid_sound"));
+    }
+
+    @Test
+    public void testVoicePolicies() {
+        SoundEffect dot = soundManager.getSoundEffect("eat_dot");
+        assertEquals(1, dot.getMaxVoices());
+        assertEquals(SoundEffect.Overflow.RETRIGGER, dot.getOverflow());
+        SoundEffect death = soundManager.getSoundEffect("death");
+        SoundEffect complete = soundManager.getSoundEffect("level_complete");
+        assertTrue(death.preempts());
+        assertTrue(complete.preempts());
+        for (String name : new String[] {"eat_dot", "eat_power", "eat_ghost"}) {
+            SoundEffect effect = soundManager.getSoundEffect(name);
+            assertFalse(effect.preempts());
+            assertTrue(effect.getPriority() < death.getPriority());
+            assertTrue(effect.getPriority() < complete.getPriority());
+        }
+    }
+
+    @Test
+    public void testPlaySoundGoesThroughTheSharedMixer() {
+        AudioMixer mixer = soundManager.getMixer();
+        // Sin dispositivo de audio (p. ej. en CI) no hay mezclador y playSound no hace nada
+        if (mixer != null) {
+            assertTrue(mixer.isRunning());
+            soundManager.setSoundEnabled(true);
+            soundManager.playSound("eat_dot");
+            soundManager.playSound("eat_dot");
+            assertSame(mixer, soundManager.getMixer());
+        }
+    }
+
+    @Test
+    public void testWarmUpGeneratesEveryEffect() {
+        soundManager.warmUp();
+        for (String name : new String[] {"eat_dot", "eat_power", "eat_ghost", "death", "level_complete"}) {
+            assertTrue(soundManager.getSoundEffect(name).isGenerated(), name);
+        }
+    }
+
+    @Test
+    public void testLazyEffectIsGeneratedOnFirstUse() {
+        AtomicInteger calls = new AtomicInteger();
+        SoundEffect effect = new SoundEffect("lazy", () -> {
+            calls.incrementAndGet();
+            return new short[] {1, 2, 3};
+        }, 0, 1, SoundEffect.Overflow.DROP, false);
+        assertFalse(effect.isGenerated());
+        assertEquals(3, effect.getSamples().length);
+        assertSame(effect.getSamples(), effect.getSamples());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void testBackgroundLoopsFollowTheGame() {
+        soundManager.setSoundEnabled(true);
+        LoopVoice siren = soundManager.getLoop("siren");
+        LoopVoice frightened = soundManager.getLoop("frightened");
+
+        soundManager.updateBackground(0, false);
+        assertTrue(siren.isPlaying());
+        assertFalse(frightened.isPlaying());
+        assertEquals(1, siren.getRate(), 1e-4);
+
+        // La sirena sube de tono con los puntos comidos
+        soundManager.updateBackground(0.5, false);
+        assertEquals(1 + (SoundManager.SIREN_MAX_RATE - 1) / 2, siren.getRate(), 1e-4);
+        soundManager.updateBackground(2, false);
+        assertEquals(SoundManager.SIREN_MAX_RATE, siren.getRate(), 1e-4);
+
+        soundManager.updateBackground(0.5, true);
+        assertFalse(siren.isPlaying());
+        assertTrue(frightened.isPlaying());
+
+        soundManager.setSoundEnabled(false);
+        assertFalse(frightened.isPlaying());
+        soundManager.updateBackground(0.5, true);
+        assertFalse(frightened.isPlaying());
+
+        soundManager.setSoundEnabled(true);
+        soundManager.stopBackground();
+        assertFalse(siren.isPlaying());
+        assertFalse(frightened.isPlaying());
+    }
+
+    @Test
+    public void testWailJoinsItselfSeamlessly() {
+        short[] samples = SoundManager.generateWail(300, 700, 0.15, 250);
+        assertEquals(1200, samples.length);
+        // El salto de la última muestra a la primera es como cualquier otro paso de la onda
+        int maxStep = 0;
+        for (int i = 1; i < samples.length; i++) {
+            maxStep = Math.max(maxStep, Math.abs(samples[i] - samples[i - 1]));
+        }
+        assertTrue(Math.abs(samples[0] - samples[samples.length - 1]) <= maxStep);
+        assertEquals(0, samples[0]);
+    }
+
+    @Test
+    public void testFailedGenerationIsRetriedOnNextUse() {
+        AtomicInteger calls = new AtomicInteger();
+        SoundEffect flaky = new SoundEffect("flaky", () -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new IllegalStateException("disk error");
+            }
+            return new short[] {1, 2};
+        }, 0, 1, SoundEffect.Overflow.DROP, false);
+        // Un fallo no desactiva el sonido: el efecto queda sin generar y se reintenta
+        assertFalse(SoundManager.generate(flaky));
+        assertFalse(flaky.isGenerated());
+        assertTrue(SoundManager.generate(flaky));
+        assertTrue(flaky.isGenerated());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void testPlaySoundLeavesGenerationToTheWarmUpThread() {
+        AtomicInteger calls = new AtomicInteger();
+        SoundEffect lazy = new SoundEffect("lazy", () -> {
+            calls.incrementAndGet();
+            return new short[] {1, 2};
+        }, 0, 1, SoundEffect.Overflow.DROP, false);
+        // El hilo del juego no sintetiza: el disparo se pierde y se pide en segundo plano
+        assertFalse(soundManager.isReady(lazy));
+        assertEquals(0, calls.get());
+        assertFalse(lazy.isGenerated());
+
+        lazy.getSamples();
+        assertTrue(soundManager.isReady(lazy));
+    }
+
+    @Test
+    public void testWarmUpThreadServesLaterRequests() throws Exception {
+        Thread warmUp = null;
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().equals("pacman-sound-warmup")) {
+                warmUp = thread;
+            }
+        }
+        assertNotNull(warmUp);
+        // Tras el calentamiento el hilo sigue vivo, esperando peticiones de playSound
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (warmUp.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(Thread.State.WAITING, warmUp.getState());
+        assertTrue(warmUp.isDaemon());
+    }
 }
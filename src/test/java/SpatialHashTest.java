@@ -0,0 +1,109 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SpatialHashTest {
+
+    private SpatialHash hash;
+
+    @BeforeEach
+    public void setUp() {
+        hash = new SpatialHash(20, 400, 400);
+        hash.reset(8);
+    }
+
+    private int[] query(int minX, int minY, int maxX, int maxY) {
+        int count = hash.query(minX, minY, maxX, maxY);
+        return Arrays.copyOf(hash.getResults(), count);
+    }
+
+    @Test
+    public void testEmptyQuery() {
+        assertEquals(0, hash.query(0, 0, 399, 399));
+    }
+
+    @Test
+    public void testQueryFindsOnlyNearbyBuckets() {
+        hash.update(0, 100, 100);
+        hash.update(1, 105, 110);
+        hash.update(2, 300, 300);
+
+        assertArrayEquals(new int[] {0, 1}, query(90, 90, 115, 115));
+        assertArrayEquals(new int[] {2}, query(290, 290, 310, 310));
+    }
+
+    @Test
+    public void testResultsAreSortedById() {
+        hash.update(5, 100, 100);
+        hash.update(2, 100, 100);
+        hash.update(7, 120, 100);
+        hash.update(0, 100, 120);
+
+        assertArrayEquals(new int[] {0, 2, 5, 7}, query(100, 100, 139, 139));
+    }
+
+    @Test
+    public void testUpdateMovesBetweenBuckets() {
+        hash.update(3, 100, 100);
+        hash.update(3, 104, 100);   // same bucket
+        assertArrayEquals(new int[] {3}, query(100, 100, 119, 119));
+
+        hash.update(3, 200, 200);
+        assertEquals(0, hash.query(100, 100, 119, 119));
+        assertArrayEquals(new int[] {3}, query(200, 200, 219, 219));
+    }
+
+    @Test
+    public void testUnlinkFromMiddleHeadAndTail() {
+        hash.update(0, 50, 50);
+        hash.update(1, 50, 50);
+        hash.update(2, 50, 50);
+
+        hash.update(1, 300, 300);   // middle
+        assertArrayEquals(new int[] {0, 2}, query(50, 50, 50, 50));
+        hash.update(2, 300, 300);   // head
+        hash.update(0, 300, 300);   // tail, bucket now empty
+        assertEquals(0, hash.query(50, 50, 50, 50));
+        assertArrayEquals(new int[] {0, 1, 2}, query(300, 300, 300, 300));
+    }
+
+    @Test
+    public void testRemove() {
+        hash.update(4, 60, 60);
+        hash.remove(4);
+        hash.remove(4);
+        assertEquals(0, hash.query(0, 0, 399, 399));
+    }
+
+    @Test
+    public void testTunnelAndFarPositionsAreClamped() {
+        hash.update(0, -24, 200);
+        hash.update(1, -500, 200);
+        hash.update(2, 404, 200);
+
+        assertArrayEquals(new int[] {0, 1}, query(-40, 190, -10, 210));
+        assertArrayEquals(new int[] {2}, query(395, 190, 420, 210));
+    }
+
+    @Test
+    public void testResultBufferGrows() {
+        hash.reset(100);
+        for (int i = 0; i < 100; i++) {
+            hash.update(i, 100, 100);
+        }
+        assertEquals(100, hash.query(100, 100, 100, 100));
+        assertEquals(99, hash.getResults()[99]);
+    }
+
+    @Test
+    public void testResetClearsAndKeepsCapacity() {
+        hash.update(1, 100, 100);
+        hash.reset(4);
+        assertEquals(0, hash.query(0, 0, 399, 399));
+        hash.update(7, 100, 100);
+        assertEquals(1, hash.query(100, 100, 100, 100));
+    }
+}
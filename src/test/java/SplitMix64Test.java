@@ -0,0 +1,60 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SplitMix64Test {
+
+    @Test
+    public void testMatchesSplittableRandomSequence() {
+        SplitMix64 random = new SplitMix64(12345L);
+        SplittableRandom reference = new SplittableRandom(12345L);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(reference.nextLong(), random.nextLong());
+        }
+    }
+
+    @Test
+    public void testNextIntRange() {
+        SplitMix64 random = new SplitMix64(1L);
+        int[] counts = new int[4];
+        for (int i = 0; i < 40_000; i++) {
+            counts[random.nextInt(4)]++;
+        }
+        for (int count : counts) {
+            assertTrue(count > 9_000 && count < 11_000, "count " + count);
+        }
+        assertEquals(0, random.nextInt(1));
+        assertThrows(IllegalArgumentException.class, () -> random.nextInt(0));
+    }
+
+    @Test
+    public void testStateRoundTrip() {
+        SplitMix64 random = new SplitMix64(99L);
+        random.nextLong();
+        long state = random.getState();
+        long expected = random.nextLong();
+
+        random.setState(state);
+
+        assertEquals(expected, random.nextLong());
+    }
+
+    @Test
+    public void testSplitIsDeterministicAndIndependent() {
+        SplitMix64 a = new SplitMix64(7L).split();
+        SplitMix64 b = new SplitMix64(7L).split();
+        assertEquals(a.nextLong(), b.nextLong());
+
+        SplitMix64 parent = new SplitMix64(7L);
+        SplitMix64 first = parent.split();
+        SplitMix64 second = parent.split();
+        assertNotEquals(first.nextLong(), second.nextLong());
+    }
+
+    @Test
+    public void testUnseededGeneratorsDiffer() {
+        assertNotEquals(new SplitMix64().getState(), new SplitMix64().getState());
+    }
+}
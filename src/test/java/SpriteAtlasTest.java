@@ -0,0 +1,136 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class SpriteAtlasTest {
+
+    private static final int SIZE = SpriteAtlas.FRAME_SIZE;
+
+    private SpriteAtlas atlas;
+    private Maze maze;
+
+    @BeforeEach
+    public void setUp() {
+        atlas = new SpriteAtlas();
+        maze = mock(Maze.class);
+        when(maze.getBlockSize()).thenReturn(20);
+    }
+
+    @Test
+    public void testRendersOncePerBlockSize() {
+        BufferedImage first = atlas.get(null, 20);
+        assertSame(first, atlas.get(null, 20));
+        assertEquals(1, atlas.getRenderCount());
+        assertEquals(SpriteAtlas.getFrameCount() * SIZE, first.getWidth());
+        assertEquals(SIZE, first.getHeight());
+
+        atlas.get(null, 24);
+        assertEquals(2, atlas.getRenderCount());
+        atlas.invalidate();
+        atlas.get(null, 24);
+        assertEquals(3, atlas.getRenderCount());
+    }
+
+    @Test
+    public void testPacmanFramesMatchPrimitives() {
+        Pacman pacman = new Pacman(20, 20, maze);
+        for (Direction direction : Direction.values()) {
+            pacman.setDirection(direction);
+            assertSamePixels(g -> SpriteAtlas.paintPacman(g, 0, 0, direction), g -> atlas.drawPacman(g, pacman, 0, 0));
+        }
+    }
+
+    @Test
+    public void testGhostFramesMatchPrimitives() {
+        Color[] palette = {Color.RED, Color.PINK, Color.CYAN};
+        for (int i = 0; i < palette.length; i++) {
+            Color color = palette[i];
+            Ghost ghost = new Ghost(20, 20, i, maze);
+            assertEquals(color, SpriteAtlas.ghostColor(i));
+            assertSamePixels(g -> SpriteAtlas.paintGhost(g, 0, 0, color), g -> atlas.drawGhost(g, ghost, 0, 0));
+        }
+    }
+
+    @Test
+    public void testFrightenedAndReturningFrames() {
+        Ghost ghost = new Ghost(20, 20, 0, maze);
+        ghost.setFrightened(true);
+        assertSamePixels(g -> SpriteAtlas.paintGhost(g, 0, 0, Color.BLUE), g -> atlas.drawGhost(g, ghost, 0, 0));
+
+        ghost.sendToStart();
+        assertSamePixels(g -> SpriteAtlas.paintEyes(g, 0, 0), g -> atlas.drawGhost(g, ghost, 0, 0));
+    }
+
+    @Test
+    public void testDrawIsSingleImageCopy() {
+        atlas.get(null, 20);
+        Graphics g = mock(Graphics.class);
+        atlas.drawPacman(g, new Pacman(20, 20, maze), 40, 75);
+        atlas.drawGhost(g, new Ghost(60, 20, 1, maze), 60, 55);
+
+        verify(g).drawImage(any(), eq(40), eq(75), eq(40 + SIZE), eq(75 + SIZE), anyInt(), eq(0), anyInt(), eq(SIZE), isNull());
+        verify(g).drawImage(any(), eq(60), eq(55), eq(60 + SIZE), eq(55 + SIZE), anyInt(), eq(0), anyInt(), eq(SIZE), isNull());
+        verify(g, never()).fillArc(anyInt(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt());
+    }
+
+    @Test
+    public void testColourIndexWrapsAroundThePalette() {
+        // Con más fantasmas que colores se repite la paleta, como hacía el motor
+        assertEquals(SpriteAtlas.ghostFrame(new Ghost(20, 20, 0, maze)), SpriteAtlas.ghostFrame(new Ghost(20, 20, 3, maze)));
+        assertEquals(Color.PINK, SpriteAtlas.ghostColor(4));
+        assertEquals(Color.CYAN, SpriteAtlas.ghostColor(-1));
+    }
+
+    @Test
+    public void testPrimitivesForEachCharacter() {
+        Graphics pacman = mock(Graphics.class);
+        SpriteAtlas.paintPacman(pacman, 10, 40, Direction.RIGHT);
+        verify(pacman).setColor(Color.YELLOW);
+        verify(pacman).fillArc(eq(10), eq(40), anyInt(), anyInt(), eq(Direction.RIGHT.getAngle()), anyInt());
+
+        Graphics ghost = mock(Graphics.class);
+        SpriteAtlas.paintGhost(ghost, 100, 140, Color.RED);
+        verify(ghost).setColor(Color.RED);
+        verify(ghost).fillArc(eq(100), eq(140), anyInt(), anyInt(), eq(0), anyInt());
+
+        // Fantasma comido: solo los ojos
+        Graphics eyes = mock(Graphics.class);
+        SpriteAtlas.paintEyes(eyes, 0, 0);
+        verify(eyes, never()).fillArc(anyInt(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt());
+        verify(eyes, never()).fillRect(anyInt(), anyInt(), anyInt(), anyInt());
+        verify(eyes, times(4)).fillOval(anyInt(), anyInt(), anyInt(), anyInt());
+    }
+
+    private interface Painter {
+        void paint(Graphics2D g);
+    }
+
+    private static void assertSamePixels(Painter expected, Painter actual) {
+        BufferedImage a = render(expected);
+        BufferedImage b = render(actual);
+        for (int y = 0; y < SIZE; y++) {
+            for (int x = 0; x < SIZE; x++) {
+                assertEquals(a.getRGB(x, y), b.getRGB(x, y), "pixel (" + x + ", " + y + ")");
+            }
+        }
+    }
+
+    private static BufferedImage render(Painter painter) {
+        BufferedImage image = new BufferedImage(SIZE, SIZE, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            painter.paint(g);
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+}
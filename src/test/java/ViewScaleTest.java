@@ -0,0 +1,64 @@
+import org.junit.jupiter.api.Test;
+
+import java.awt.Rectangle;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ViewScaleTest {
+
+    private static final int WIDTH = 400;
+    private static final int HEIGHT = 435;
+    private static final int BLOCK = 20;
+
+    @Test
+    public void testNativeSizeIsIdentity() {
+        ViewScale view = ViewScale.fit(WIDTH, HEIGHT, 1, WIDTH, HEIGHT, BLOCK);
+        assertTrue(view.isIdentity());
+        assertEquals(37, view.toPixels(37));
+    }
+
+    @Test
+    public void testCellSizeIsAWholeNumberOfPixels() {
+        // 3840 x 2160: cabe una altura de 2160 / 435 = 4,97 -> celdas de 99 px
+        ViewScale view = ViewScale.fit(3840, 2160, 1, WIDTH, HEIGHT, BLOCK);
+        assertEquals(99, view.toPixels(BLOCK));
+        assertEquals(99 * 20, view.toPixels(WIDTH));
+        assertEquals((3840 - 1980) / 2, view.getOffsetX());
+        assertFalse(view.isIdentity());
+    }
+
+    @Test
+    public void testHiDpiScaleCountsDevicePixels() {
+        ViewScale view = ViewScale.fit(WIDTH, HEIGHT, 2, WIDTH, HEIGHT, BLOCK);
+        assertEquals(2.0, view.getZoom());
+        assertEquals(0, view.getOffsetX());
+        assertEquals(0, view.getOffsetY());
+        assertEquals(2.0, view.getDeviceScale());
+
+        // 150 %: 600 x 652,5 píxeles reales -> celdas de 30 px
+        ViewScale fractional = ViewScale.fit(WIDTH, HEIGHT, 1.5, WIDTH, HEIGHT, BLOCK);
+        assertEquals(30, fractional.toPixels(BLOCK));
+        // 125 % en una ventana algo mayor: 562,5 px de ancho -> celdas de 28 px
+        assertEquals(28, ViewScale.fit(450, 500, 1.25, WIDTH, HEIGHT, BLOCK).toPixels(BLOCK));
+    }
+
+    @Test
+    public void testTinyAreaKeepsOnePixelCells() {
+        ViewScale view = ViewScale.fit(5, 5, 1, WIDTH, HEIGHT, BLOCK);
+        assertEquals(1, view.toPixels(BLOCK));
+    }
+
+    @Test
+    public void testToComponentRoundsOutwards() {
+        ViewScale view = new ViewScale(1.5, 2, 10, 0);
+        Rectangle r = view.toComponent(new Rectangle(1, 1, 3, 3));
+        // Dispositivo: 11,5 .. 16 -> componente 5,75 .. 8
+        assertEquals(new Rectangle(5, 0, 3, 3), r);
+    }
+
+    @Test
+    public void testRejectsNonPositiveScale() {
+        assertThrows(IllegalArgumentException.class, () -> new ViewScale(0, 1, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new ViewScale(1, -1, 0, 0));
+    }
+}
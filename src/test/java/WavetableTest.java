@@ -0,0 +1,74 @@
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WavetableTest {
+
+    @Test
+    public void testSineMatchesMathSin() {
+        // Error máximo del seno por tabla: medio paso de 2π/4096
+        double maxError = 0;
+        for (long phase = 0; phase < (1L << 32); phase += 9_999_991L) {
+            double angle = 2 * Math.PI * phase / 4294967296.0;
+            maxError = Math.max(maxError, Math.abs(Wavetable.sine((int) phase) - Math.sin(angle)));
+        }
+        assertTrue(maxError < 2 * Math.PI / Wavetable.SIZE, "max error " + maxError);
+    }
+
+    @Test
+    public void testIncrementIsAFractionOfATurn() {
+        assertEquals(1 << 30, Wavetable.increment(2000, 8000));
+        assertEquals(0, Wavetable.increment(0, 8000));
+        // Por encima de 2^31 el entero da la vuelta, igual que la fase
+        assertEquals(Integer.MIN_VALUE, Wavetable.increment(4000, 8000));
+    }
+
+    @Test
+    public void testPhaseAccumulatorWrapsWithoutDrift() {
+        int step = Wavetable.increment(1000, 8000);
+        int phase = 0;
+        // 1 kHz a 8 kHz: cada 8 muestras la fase vuelve exactamente a 0
+        for (int i = 0; i < 8 * 1000; i++) {
+            phase += step;
+        }
+        assertEquals(0, phase);
+    }
+
+    @Test
+    public void testBeepMatchesDirectSynthesis() {
+        short[] beep = SoundManager.generateBeep(300, 0.3, 600);
+        for (int i = 0; i < beep.length; i++) {
+            double expected = Math.sin(2 * Math.PI * i * 300 / 8000.0) * 600;
+            assertEquals(expected, beep[i], 2.0, "sample " + i);
+        }
+    }
+
+    @Test
+    public void testSweepKeepsTheOriginalTimbre() {
+        // Misma onda que la síntesis original con Math.sin, salvo el error de la tabla
+        short[] sweep = SoundManager.generateSweep(500, 200, 0.5);
+        for (int i = 0; i < sweep.length; i++) {
+            double progress = (double) i / sweep.length;
+            int frequency = (int) (500 + (200 - 500) * progress);
+            double angle = 2.0 * Math.PI * i * frequency / AudioMixer.SAMPLE_RATE;
+            short expected = (short) (Math.sin(angle) * 1000 * (1 - progress));
+            assertEquals(expected, sweep[i], 3, "sample " + i);
+        }
+    }
+
+    @Test
+    public void testSweepFadesOutAndChordStaysInRange() {
+        short[] sweep = SoundManager.generateSweep(500, 200, 0.5);
+        assertEquals(4000, sweep.length);
+        int tail = 0;
+        for (int i = sweep.length - 100; i < sweep.length; i++) {
+            tail = Math.max(tail, Math.abs(sweep[i]));
+        }
+        assertTrue(tail <= 25);
+
+        short[] chord = SoundManager.generateChord(300, 0.5);
+        for (short sample : chord) {
+            assertTrue(Math.abs(sample) <= 900);
+        }
+    }
+}